@@ -0,0 +1,33 @@
+import benchmarks.Workload;
+import java.io.*;
+
+// The BatchWorkload class evaluates a generated scenario file with
+// WindLoadingBatch, which spreads the rows across all cores.
+// args[0]: The number of scenarios in the file.
+
+public class BatchWorkload implements Workload{
+    private final WindLoadingBatch batch;
+    private final File scenarioFile;
+    private final File resultFile;
+
+    // Constructs a BatchWorkload object for the number of rows in args[0].
+
+    public BatchWorkload(String[] args) throws Exception{
+        this.batch = new WindLoadingBatch(
+                new MaterialCatalog(BenchmarkScenarios.dataDirectory()));
+
+        this.scenarioFile = File.createTempFile("scenarios", ".csv");
+        this.resultFile = File.createTempFile("results", ".csv");
+        BenchmarkScenarios.writeScenarioFile(scenarioFile,
+                                            Integer.parseInt(args[0]), 7);
+    }
+
+    public Object run() throws IOException{
+        return batch.evaluateFile(scenarioFile, resultFile);
+    }
+
+    public void close(){
+        scenarioFile.delete();
+        resultFile.delete();
+    }
+}
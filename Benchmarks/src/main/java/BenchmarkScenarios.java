@@ -0,0 +1,138 @@
+import java.io.*;
+import java.util.*;
+
+// The BenchmarkScenarios class generates reproducible wind loading scenarios
+// for the benchmarks. Every scenario lies inside the ranges of the building
+// and material data files, which are read from the directory named by the
+// windloading.data system property ("Data Files" by default).
+
+public class BenchmarkScenarios{
+
+    // Behavior: Returns the directory holding the data files.
+    // Exceptions: None
+    // Returns: The data directory.
+    // Parameters: None
+
+    public static File dataDirectory(){
+        return new File(System.getProperty("windloading.data", "Data Files"));
+    }
+
+    // Behavior: The ranges method reads the minimum and maximum of every
+    // column in WindLoadingBatch.COLUMNS for a material.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file is missing.
+    //
+    // Returns: An array holding the minimum and maximum of each column.
+    //
+    // Parameters: material: The name of a material in
+    //                       MaterialCatalog.MATERIALS.
+
+    public static double[][] ranges(String material)
+                                        throws FileNotFoundException{
+        PropertyTable table = 
+                new MaterialCatalog(dataDirectory()).getRanges(material);
+        double[][] ranges = new double[WindLoadingBatch.COLUMNS.length][2];
+        for(PropertyRange range : table.getRanges()){
+            ranges[range.getProperty().ordinal()][0] = range.getMinimum();
+            ranges[range.getProperty().ordinal()][1] = range.getMaximum();
+        }
+        return ranges;
+    }
+
+    // Behavior: The sample method draws one uniformly distributed value
+    // inside the range of each column.
+    //
+    // Exceptions: None
+    //
+    // Returns: The sampled value of each column.
+    //
+    // Parameters: random: The random number generator to draw from.
+    //             ranges: The ranges returned by the ranges method.
+
+    public static double[] sample(Random random, double[][] ranges){
+        double[] values = new double[ranges.length];
+        for(int i = 0; i < ranges.length; i++){
+            values[i] = ranges[i][0]
+                        + random.nextDouble() * (ranges[i][1] - ranges[i][0]);
+        }
+        return values;
+    }
+
+    // Behavior: The inputs method creates scenarios cycling through all
+    // materials.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file is missing.
+    //
+    // Returns: An array of the requested number of inputs.
+    //
+    // Parameters: count: The number of inputs to create.
+    //             seed: The seed of the random number generator.
+
+    public static WindLoadingInput[] inputs(int count, long seed)
+                                            throws FileNotFoundException{
+        Random random = new Random(seed);
+        String[] materials = MaterialCatalog.MATERIALS;
+        double[][][] ranges = new double[materials.length][][];
+        for(int m = 0; m < materials.length; m++){
+            ranges[m] = ranges(materials[m]);
+        }
+
+        WindLoadingInput[] inputs = new WindLoadingInput[count];
+        for(int i = 0; i < count; i++){
+            double[] v = sample(random, ranges[i % materials.length]);
+            inputs[i] = new WindLoadingInput(v[0], v[1], v[2], v[4] / 3.6,
+                            v[3], v[5], v[6], v[7], v[8], v[9]);
+        }
+        return inputs;
+    }
+
+    // Behavior: The writeScenarioFile method writes a scenario file in the
+    // format read by WindLoadingBatch, cycling through all materials.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file is missing or
+    // the scenario file cannot be created.
+    //
+    // Returns: None
+    //
+    // Parameters: file: The file to write.
+    //             rows: The number of scenarios to write.
+    //             seed: The seed of the random number generator.
+
+    public static void writeScenarioFile(File file, int rows, long seed)
+                                            throws FileNotFoundException{
+        Random random = new Random(seed);
+        String[] materials = MaterialCatalog.MATERIALS;
+        double[][][] ranges = new double[materials.length][][];
+        for(int m = 0; m < materials.length; m++){
+            ranges[m] = ranges(materials[m]);
+        }
+
+        PrintStream output = new PrintStream(new BufferedOutputStream(
+                                            new FileOutputStream(file)));
+        output.println("Material," + String.join(",",
+                                                WindLoadingBatch.COLUMNS));
+        for(int i = 0; i < rows; i++){
+            int m = i % materials.length;
+            double[] values = sample(random, ranges[m]);
+            StringBuilder row = new StringBuilder(materials[m]);
+            for(double value : values){
+                row.append(',').append(value);
+            }
+            output.println(row);
+        }
+        output.close();
+    }
+
+    // Behavior: Replaces System.out with a stream which discards everything
+    // printed to it, so that printing is measured without flooding the
+    // benchmark log.
+    // Exceptions: None
+    // Returns: The previous System.out, to be restored afterwards.
+    // Parameters: None
+
+    public static PrintStream discardOutput(){
+        PrintStream previous = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        return previous;
+    }
+}
@@ -0,0 +1,40 @@
+import benchmarks.Workload;
+import java.util.function.Function;
+
+// The CacheWorkload class evaluates or inverse-solves a rotating set of
+// scenarios, either directly or through a ResultCache large enough to hold
+// all of them, so that a cache hit can be compared with the calculation it
+// saves.
+// args[0]: The calculation: "evaluate" or "inverse".
+// args[1]: "cached" to go through a ResultCache, or "direct".
+
+public class CacheWorkload implements Workload{
+    private static final int SCENARIOS = 1024;
+
+    private final WindLoadingInput[] inputs;
+    private final Function<WindLoadingInput, Object> calculation;
+    private final ResultCache<Object> results;
+    private int next;
+
+    // Constructs a CacheWorkload object for the calculation in args[0] and
+    // the mode in args[1].
+
+    public CacheWorkload(String[] args) throws Exception{
+        this.inputs = BenchmarkScenarios.inputs(SCENARIOS, 5);
+        WindLoadingEvaluator evaluator = new WindLoadingEvaluator();
+        InverseSolver solver = new InverseSolver();
+        this.calculation = args[0].equals("inverse") ? solver::solve
+                                                     : evaluator::evaluate;
+        this.results = args[1].equals("cached") ? new ResultCache<Object>()
+                                                : null;
+    }
+
+    public Object run(){
+        WindLoadingInput input = inputs[next];
+        next = (next + 1) & (SCENARIOS - 1);
+        if(results == null){
+            return calculation.apply(input);
+        }
+        return results.get(input, calculation);
+    }
+}
@@ -0,0 +1,35 @@
+import benchmarks.Workload;
+import java.io.*;
+import java.util.*;
+
+// The CompareWorkload class runs compareWindLoadToCapacityFactors exactly as
+// the interactive calculator does, including all of its console output. The
+// output is sent to a stream which discards it, so that only the cost of
+// formatting and printing is measured.
+
+public class CompareWorkload implements Workload{
+    private final WindLoading windLoading;
+    private final PrintStream previousOutput;
+
+    // Constructs a CompareWorkload object. It takes no arguments.
+
+    public CompareWorkload(String[] args) throws Exception{
+        PropertyTable parameters = new MaterialCatalog
+                (BenchmarkScenarios.dataDirectory()).getRanges("Steel");
+        Scanner values = new Scanner
+                    ("800\n400\n100\n0.97\n21\n2\n450\n150\n200\n750\n");
+
+        this.previousOutput = BenchmarkScenarios.discardOutput();
+        this.windLoading = new WindLoading(parameters, values);
+        this.windLoading.getUserInput();
+    }
+
+    public Object run(){
+        windLoading.compareWindLoadToCapacityFactors();
+        return windLoading;
+    }
+
+    public void close(){
+        System.setOut(previousOutput);
+    }
+}
@@ -0,0 +1,25 @@
+import benchmarks.Workload;
+
+// The DesignWorkload class finds the Pareto front of the cost of a 20 m
+// building against its margin with DesignOptimizer. The lighter the wind,
+// the more beams a design can spread its load over, and the larger the
+// design space and the front.
+// args[0]: The wind velocity in km/h.
+
+public class DesignWorkload implements Workload{
+    private final DesignOptimizer optimizer;
+    private final WindLoadingInput building;
+
+    // Constructs a DesignWorkload object for the argument described above.
+
+    public DesignWorkload(String[] args) throws Exception{
+        this.optimizer = new DesignOptimizer(
+                new MaterialCatalog(BenchmarkScenarios.dataDirectory()));
+        this.building = new WindLoadingInput(20, 10, 10,
+                Double.parseDouble(args[0]) / 3.6, 0.93, 2, 0, 0, 0, 0);
+    }
+
+    public Object run(){
+        return optimizer.optimize(building, DesignObjective.COST);
+    }
+}
@@ -0,0 +1,35 @@
+import benchmarks.Workload;
+
+// The DirectionalWorkload class sweeps a fixed set of buildings, cycling
+// through all materials, over every direction of a DirectionalSweep, or,
+// for comparison, evaluates each of them once with WindLoadingEvaluator.
+// args[0]: "sweep" or "evaluate".
+// args[1]: The number of directions of the sweep.
+// args[2]: The number of buildings, 10000 by default.
+
+public class DirectionalWorkload implements Workload{
+    private final boolean sweep;
+    private final WindLoadingInput[] inputs;
+    private final DirectionalSweep directions;
+    private final WindLoadingEvaluator evaluator;
+
+    // Constructs a DirectionalWorkload object for the method, directions
+    // and number of buildings in args.
+
+    public DirectionalWorkload(String[] args) throws Exception{
+        this.sweep = args[0].equals("sweep");
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        this.inputs = BenchmarkScenarios.inputs(count, 11);
+        this.directions = new DirectionalSweep(Integer.parseInt(args[1]));
+        this.evaluator = new WindLoadingEvaluator();
+    }
+
+    public Object run(){
+        double total = 0;
+        for(WindLoadingInput input : inputs){
+            total += sweep ? directions.evaluate(input).getWindLoad()
+                           : evaluator.evaluate(input).getWindLoad();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,25 @@
+import benchmarks.Workload;
+
+// The EvaluateWorkload class evaluates a rotating set of scenarios with one
+// WindLoadingEvaluator shared by every thread, without printing anything.
+
+public class EvaluateWorkload implements Workload{
+    private static final WindLoadingEvaluator EVALUATOR =
+                                                new WindLoadingEvaluator();
+    private static final int SCENARIOS = 1024;
+
+    private final WindLoadingInput[] inputs;
+    private int next;
+
+    // Constructs an EvaluateWorkload object. It takes no arguments.
+
+    public EvaluateWorkload(String[] args) throws Exception{
+        this.inputs = BenchmarkScenarios.inputs(SCENARIOS, 42);
+    }
+
+    public Object run(){
+        WindLoadingInput input = inputs[next];
+        next = (next + 1) & (SCENARIOS - 1);
+        return EVALUATOR.evaluate(input);
+    }
+}
@@ -0,0 +1,74 @@
+import benchmarks.Workload;
+import java.io.*;
+
+// The ExportWorkload class writes the results of a fixed set of evaluated
+// scenarios to a temporary file, with ResultExporter or, for comparison,
+// with one PrintStream.printf per field like saveParametersToFile.
+// args[0]: The format: "csv", "jsonl", "binary" or "printf".
+// args[1]: Whether the output is compressed: "gzip" or "plain".
+// args[2]: The number of rows, 100000 by default.
+
+public class ExportWorkload implements Workload{
+    private final String format;
+    private final boolean gzip;
+    private final ScenarioColumns scenarios;
+    private final ResultColumns results;
+    private final File file;
+
+    // Constructs an ExportWorkload object for the format, compression and
+    // number of rows in args.
+
+    public ExportWorkload(String[] args) throws Exception{
+        this.format = args[0];
+        this.gzip = args.length > 1 && args[1].equals("gzip");
+        int rows = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+        WindLoadingInput[] inputs = BenchmarkScenarios.inputs(rows, 5);
+        this.scenarios = new ScenarioColumns(rows);
+        for(int row = 0; row < rows; row++){
+            scenarios.set(row, inputs[row]);
+        }
+        this.results = new ResultColumns(rows);
+        BatchKernel.best().evaluateAll(scenarios, results);
+        this.file = File.createTempFile("export", ".out");
+    }
+
+    public Object run() throws IOException{
+        int rows = scenarios.getRows();
+        if(format.equals("printf")){
+            PrintStream output = new PrintStream(new BufferedOutputStream(
+                                            new FileOutputStream(file)));
+            for(int row = 0; row < rows; row++){
+                output.printf("%d,Steel", row + 1);
+                for(int column = 0; column < ScenarioColumns.COLUMNS;
+                                                            column++){
+                    output.printf(",%s", scenarios.get(column, row));
+                }
+                for(int column = 0; column < ResultColumns.COLUMNS;
+                                                            column++){
+                    output.printf(",%s", results.get(column, row));
+                }
+                for(FailureMode mode : FailureMode.values()){
+                    output.printf(",%s", results.getVerdict(row, mode));
+                }
+                output.println();
+            }
+            output.close();
+            return file.length();
+        }
+        ResultExporter exporter = new ResultExporter(file,
+                ExportFormat.of(format), gzip, false, SyncPolicy.NEVER);
+        try{
+            for(int row = 0; row < rows; row++){
+                exporter.write(row + 1, "Steel", scenarios, results, row);
+            }
+        }
+        finally{
+            exporter.close();
+        }
+        return exporter.getBytesWritten();
+    }
+
+    public void close(){
+        file.delete();
+    }
+}
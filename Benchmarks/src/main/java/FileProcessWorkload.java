@@ -0,0 +1,50 @@
+import benchmarks.Workload;
+import java.io.*;
+
+// The FileProcessWorkload class reads a property catalog with
+// WindLoadingClient.fileProcess.
+// args[0]: The name of a file in the data directory, or "synthetic:N" for a
+//          generated catalog of N properties.
+// args[1]: "true" if every property is printed as it is read, like the menu
+//          options do, and "false" otherwise.
+
+public class FileProcessWorkload implements Workload{
+    private final File catalog;
+    private final boolean synthetic;
+    private final boolean echo;
+    private final PrintStream previousOutput;
+
+    // Constructs a FileProcessWorkload object for the catalog in args[0].
+
+    public FileProcessWorkload(String[] args) throws Exception{
+        this.synthetic = args[0].startsWith("synthetic:");
+        this.echo = Boolean.parseBoolean(args[1]);
+        if(synthetic){
+            int properties = Integer.parseInt(args[0].substring(10));
+            this.catalog = File.createTempFile("catalog", ".txt");
+            PrintStream output = new PrintStream(new BufferedOutputStream(
+                                            new FileOutputStream(catalog)));
+            for(int i = 0; i < properties; i++){
+                output.println("Property " + i + "," + i + "," + (i + 100)
+                                + ",MPa");
+            }
+            output.close();
+        }
+        else{
+            this.catalog = new File(BenchmarkScenarios.dataDirectory(),
+                                    args[0]);
+        }
+        this.previousOutput = BenchmarkScenarios.discardOutput();
+    }
+
+    public Object run() throws FileNotFoundException{
+        return WindLoadingClient.fileProcess(catalog, echo);
+    }
+
+    public void close(){
+        System.setOut(previousOutput);
+        if(synthetic){
+            catalog.delete();
+        }
+    }
+}
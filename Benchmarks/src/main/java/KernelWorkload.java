@@ -0,0 +1,54 @@
+import benchmarks.Workload;
+
+// The KernelWorkload class evaluates one chunk of generated scenarios with a
+// batch kernel, or one scenario at a time with WindLoadingEvaluator, so that
+// the kernels can be compared per row.
+// args[0]: The kernel: "scalar", "vector" or "evaluator".
+
+public class KernelWorkload implements Workload{
+    public static final int ROWS = BatchKernel.CHUNK_ROWS;
+
+    private final WindLoadingEvaluator evaluator;
+    private final BatchKernel kernel;
+    private final WindLoadingInput[] inputs;
+    private final ScenarioColumns scenarios;
+    private final ResultColumns results;
+
+    // Constructs a KernelWorkload object for the kernel named in args[0].
+
+    public KernelWorkload(String[] args) throws Exception{
+        this.inputs = BenchmarkScenarios.inputs(ROWS, 11);
+        this.scenarios = new ScenarioColumns(ROWS);
+        for(int row = 0; row < ROWS; row++){
+            scenarios.set(row, inputs[row]);
+        }
+        this.results = new ResultColumns(ROWS);
+        this.evaluator = new WindLoadingEvaluator();
+
+        if(args[0].equals("scalar")){
+            this.kernel = new ScalarBatchKernel();
+        }
+        else if(args[0].equals("vector")){
+            this.kernel = BatchKernel.best();
+            if(!(kernel instanceof VectorBatchKernel)){
+                throw new IllegalStateException("The vector kernel needs "
+                        + "--add-modules jdk.incubator.vector.");
+            }
+        }
+        else{
+            this.kernel = null;
+        }
+    }
+
+    public Object run(){
+        if(kernel == null){
+            Object last = null;
+            for(WindLoadingInput input : inputs){
+                last = evaluator.evaluate(input);
+            }
+            return last;
+        }
+        kernel.evaluate(scenarios, results, 0, ROWS);
+        return results;
+    }
+}
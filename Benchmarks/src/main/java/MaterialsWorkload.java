@@ -0,0 +1,62 @@
+import benchmarks.Workload;
+import java.util.*;
+
+// The MaterialsWorkload class finds the margin of every catalog material for
+// a fixed set of generated buildings, either with MaterialComparison, which
+// shares the geometry and wind terms between the materials, or by evaluating
+// each building once per material like running the calculator once per
+// material.
+// args[0]: "shared" for MaterialComparison.compareAll, "separate" for one
+//          WindLoadingEvaluator.evaluate per building and material.
+// args[1]: The number of buildings, 65536 by default.
+
+public class MaterialsWorkload implements Workload{
+    private final boolean shared;
+    private final MaterialComparison comparison;
+    private final ScenarioColumns buildings;
+    private final WindLoadingInput[][] inputs;
+    private final double[] margins;
+    private final WindLoadingEvaluator evaluator;
+
+    // Constructs a MaterialsWorkload object for the mode and number of
+    // buildings in args.
+
+    public MaterialsWorkload(String[] args) throws Exception{
+        this.shared = args[0].equals("shared");
+        int rows = args.length > 1 ? Integer.parseInt(args[1]) : 65536;
+        this.comparison = new MaterialComparison(
+                new MaterialCatalog(BenchmarkScenarios.dataDirectory()));
+        int materials = comparison.getMaterials().size();
+        WindLoadingInput[] generated = BenchmarkScenarios.inputs(rows, 17);
+        this.buildings = new ScenarioColumns(rows);
+        this.inputs = new WindLoadingInput[rows][materials];
+        for(int row = 0; row < rows; row++){
+            buildings.set(row, generated[row]);
+            for(int i = 0; i < materials; i++){
+                inputs[row][i] = comparison.getInput(i, generated[row]);
+            }
+        }
+        this.margins = new double[rows * materials];
+        this.evaluator = new WindLoadingEvaluator();
+    }
+
+    public Object run(){
+        if(shared){
+            comparison.compareAll(buildings, margins, null);
+            return margins;
+        }
+        int materials = inputs[0].length;
+        for(int row = 0; row < inputs.length; row++){
+            for(int i = 0; i < materials; i++){
+                WindLoadingResult result = evaluator.evaluate(inputs[row][i]);
+                double margin = Double.POSITIVE_INFINITY;
+                for(FailureMode mode : FailureMode.values()){
+                    margin = Math.min(margin, result.getSafetyStrength(mode)
+                                            / result.getWindLoad() - 1);
+                }
+                margins[row * materials + i] = margin;
+            }
+        }
+        return margins;
+    }
+}
@@ -0,0 +1,35 @@
+import benchmarks.Workload;
+
+// The MetricsWorkload class evaluates a rotating set of scenarios like
+// EvaluateWorkload, with WindLoadingMetrics turned on or off, to measure what
+// recording metrics costs an evaluation.
+//
+// Arguments: [on|off], off by default.
+
+public class MetricsWorkload implements Workload{
+    private static final WindLoadingEvaluator EVALUATOR =
+                                                new WindLoadingEvaluator();
+    private static final int SCENARIOS = 1024;
+
+    private final WindLoadingInput[] inputs;
+    private int next;
+
+    // Constructs a MetricsWorkload object for the following arguments
+    // args: Whether metrics are on.
+
+    public MetricsWorkload(String[] args) throws Exception{
+        this.inputs = BenchmarkScenarios.inputs(SCENARIOS, 42);
+        WindLoadingMetrics.setEnabled(args.length > 0
+                                      && args[0].equalsIgnoreCase("on"));
+    }
+
+    public Object run(){
+        WindLoadingInput input = inputs[next];
+        next = (next + 1) & (SCENARIOS - 1);
+        return EVALUATOR.evaluate(input);
+    }
+
+    public void close(){
+        WindLoadingMetrics.setEnabled(false);
+    }
+}
@@ -0,0 +1,143 @@
+import benchmarks.Workload;
+import java.io.*;
+import java.util.*;
+
+// The PortfolioWorkload class follows a generated portfolio of buildings
+// through a generated storm on a 100 x 100 grid, in which a vortex crosses
+// the grid. In the streamed mode the portfolio is run with
+// BuildingPortfolio; in the objects mode every building is evaluated with
+// WindLoadingEvaluator at every step, keeping its worst verdicts.
+// args[0]: The number of buildings.
+// args[1]: The number of steps.
+// args[2]: The mode: "streamed" or "objects".
+
+public class PortfolioWorkload implements Workload{
+    private static final int CELLS = 100;
+
+    private final File portfolioFile;
+    private final File stormFile;
+    private final boolean streamed;
+    private final MaterialCatalog catalog;
+    private final BuildingPortfolio portfolio;
+
+    // Constructs a PortfolioWorkload object for the arguments described
+    // above.
+
+    public PortfolioWorkload(String[] args) throws Exception{
+        int buildings = Integer.parseInt(args[0]);
+        int steps = Integer.parseInt(args[1]);
+        this.streamed = args[2].equals("streamed");
+        this.catalog = new MaterialCatalog(BenchmarkScenarios.dataDirectory());
+        this.portfolioFile = File.createTempFile("portfolio", ".csv");
+        this.stormFile = File.createTempFile("storm", ".bin");
+
+        Random random = new Random(13);
+        String[] materials = MaterialCatalog.MATERIALS;
+        PrintStream output = new PrintStream(new BufferedOutputStream(
+                                    new FileOutputStream(portfolioFile)));
+        output.println("Region,Material,Latitude,Longitude,Height,Width,"
+                       + "Length,Safety Factor");
+        for(int i = 0; i < buildings; i++){
+            output.println("R" + random.nextInt(20) + ","
+                    + materials[i % materials.length] + ","
+                    + (40 + random.nextDouble()) + ","
+                    + (-75 + random.nextDouble()) + ","
+                    + (3 + random.nextDouble() * 60) + ","
+                    + (5 + random.nextDouble() * 40) + ","
+                    + (5 + random.nextDouble() * 40) + ","
+                    + (1.5 + random.nextDouble() * 2.5));
+        }
+        output.close();
+
+        WindField.Writer writer = new WindField.Writer(stormFile, CELLS,
+                                            CELLS, 40, -75, 0.01, 0.01);
+        double[] velocities = new double[CELLS * CELLS];
+        for(int step = 0; step < steps; step++){
+            double row = 20 + step * 60.0 / steps;
+            double column = 10 + step * 75.0 / steps;
+            for(int i = 0; i < CELLS; i++){
+                for(int j = 0; j < CELLS; j++){
+                    double distance = Math.hypot(i - row, j - column);
+                    velocities[i * CELLS + j] = 20 + 5 * random.nextDouble()
+                            + 250 * Math.exp(-distance * distance / 400);
+                }
+            }
+            writer.writeStep(velocities);
+        }
+        writer.close();
+        this.portfolio = BuildingPortfolio.read(portfolioFile, catalog);
+    }
+
+    public Object run() throws Exception{
+        if(streamed){
+            try(WindField field = WindField.open(stormFile)){
+                return portfolio.run(field);
+            }
+        }
+
+        BufferedReader reader = new BufferedReader(
+                                        new FileReader(portfolioFile));
+        reader.readLine();
+        List<WindLoadingInput> inputs = new ArrayList<WindLoadingInput>();
+        List<double[]> locations = new ArrayList<double[]>();
+        String line = reader.readLine();
+        while(line != null){
+            String[] parts = line.split(",");
+            PropertyTable ranges = catalog.getRanges(parts[1]);
+            double[] minimums = ranges.getMinimums();
+            double[] maximums = ranges.getMaximums();
+            double[] v = new double[minimums.length];
+            for(int j = 0; j < v.length; j++){
+                v[j] = (minimums[j] + maximums[j]) / 2;
+            }
+            v[0] = Double.parseDouble(parts[4]);
+            v[1] = Double.parseDouble(parts[5]);
+            v[2] = Double.parseDouble(parts[6]);
+            v[5] = Double.parseDouble(parts[7]);
+            inputs.add(new WindLoadingInput(v[0], v[1], v[2], 0, v[3], v[5],
+                                            v[6], v[7], v[8], v[9]));
+            locations.add(new double[]{Double.parseDouble(parts[2]),
+                                       Double.parseDouble(parts[3])});
+            line = reader.readLine();
+        }
+        reader.close();
+
+        WindLoadingEvaluator evaluator = new WindLoadingEvaluator();
+        FailureMode[] modes = FailureMode.values();
+        int[][] worst = new int[inputs.size()][modes.length];
+        try(WindField field = WindField.open(stormFile)){
+            int[] cells = new int[inputs.size()];
+            for(int b = 0; b < cells.length; b++){
+                cells[b] = field.cellOf(locations.get(b)[0],
+                                        locations.get(b)[1]);
+            }
+            double[] velocities = new double[field.getCells()];
+            while(field.readStep(velocities)){
+                for(int b = 0; b < cells.length; b++){
+                    if(cells[b] < 0){
+                        continue;
+                    }
+                    WindLoadingInput x = inputs.get(b);
+                    WindLoadingResult result = evaluator.evaluate(
+                            new WindLoadingInput(x.getHeight(), x.getWidth(),
+                                x.getLength(), velocities[cells[b]],
+                                x.getAirDensity(), x.getSafetyFactor(),
+                                x.getYieldStrength(),
+                                x.getAverageShearStrength(),
+                                x.getElasticModulus(), x.getLoadCapacity()));
+                    for(FailureMode mode : modes){
+                        worst[b][mode.ordinal()] = Math.max(
+                                worst[b][mode.ordinal()],
+                                result.getVerdict(mode).ordinal());
+                    }
+                }
+            }
+        }
+        return worst;
+    }
+
+    public void close(){
+        portfolioFile.delete();
+        stormFile.delete();
+    }
+}
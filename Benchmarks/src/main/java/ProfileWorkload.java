@@ -0,0 +1,64 @@
+import benchmarks.Workload;
+
+// The ProfileWorkload class finds the base shear and overturning moment of a
+// set of generated scenarios in suburban terrain with the power law, either
+// from the tables of WindProfile or directly, with one Math.pow per storey as
+// a storey by storey calculation without tables would.
+// args[0]: The number of scenarios.
+// args[1]: "table" to use WindProfile.evaluateAll, or "direct".
+
+public class ProfileWorkload implements Workload{
+    private final ScenarioColumns scenarios;
+    private final WindProfile profile;
+    private final boolean direct;
+    private final double[] baseShears;
+    private final double[] moments;
+
+    // Constructs a ProfileWorkload object for the number of scenarios in
+    // args[0] and the method in args[1].
+
+    public ProfileWorkload(String[] args) throws Exception{
+        int rows = Integer.parseInt(args[0]);
+        WindLoadingInput[] inputs = BenchmarkScenarios.inputs(rows, 13);
+        this.scenarios = new ScenarioColumns(rows);
+        for(int row = 0; row < rows; row++){
+            scenarios.set(row, inputs[row]);
+        }
+        this.profile = WindProfile.of(TerrainCategory.SUBURBAN,
+                                      ProfileLaw.POWER);
+        this.direct = args[1].equals("direct");
+        this.baseShears = new double[rows];
+        this.moments = new double[rows];
+    }
+
+    public Object run(){
+        if(!direct){
+            profile.evaluateAll(scenarios, baseShears, moments);
+            return baseShears;
+        }
+        double storey = WindLoadingEvaluator.FLOOR_HEIGHT;
+        for(int row = 0; row < baseShears.length; row++){
+            WindLoadingInput input = scenarios.getInput(row);
+            double height = input.getHeight();
+            double shear = 0;
+            double moment = 0;
+            for(double bottom = 0; bottom < height; bottom += storey){
+                double top = Math.min(height, bottom + storey);
+                double middle = (bottom + top) / 2;
+                double load = profile.pressureFactor(middle) * (top - bottom);
+                shear += load;
+                moment += load * middle;
+            }
+            double dragCoefficient =
+                    WindLoadingEvaluator.ALPHA * (height / input.getWidth())
+                    + WindLoadingEvaluator.BETA * (height / input.getLength());
+            double velocity = input.getWindVelocity();
+            double pressureWidth = 0.5 * input.getAirDensity()
+                    * dragCoefficient * (velocity * velocity)
+                    * input.getWidth();
+            baseShears[row] = pressureWidth * shear;
+            moments[row] = pressureWidth * moment;
+        }
+        return baseShears;
+    }
+}
@@ -0,0 +1,35 @@
+import benchmarks.Workload;
+import java.io.*;
+import java.util.*;
+
+// The SaveParametersWorkload class saves the parameters of a calculation with
+// WindLoading.saveParametersToFile, overwriting a temporary file each time.
+
+public class SaveParametersWorkload implements Workload{
+    private final WindLoading windLoading;
+    private final File saveFile;
+    private final PrintStream previousOutput;
+
+    // Constructs a SaveParametersWorkload object. It takes no arguments.
+
+    public SaveParametersWorkload(String[] args) throws Exception{
+        PropertyTable parameters = new MaterialCatalog
+                (BenchmarkScenarios.dataDirectory()).getRanges("Steel");
+        Scanner values = new Scanner
+                    ("800\n400\n100\n0.97\n21\n2\n450\n150\n200\n750\n");
+
+        this.previousOutput = BenchmarkScenarios.discardOutput();
+        this.windLoading = new WindLoading(parameters, values);
+        this.windLoading.getUserInput();
+        this.saveFile = File.createTempFile("UserInputs", ".txt");
+    }
+
+    public Object run() throws FileNotFoundException{
+        return windLoading.saveParametersToFile(saveFile.getPath());
+    }
+
+    public void close(){
+        System.setOut(previousOutput);
+        saveFile.delete();
+    }
+}
@@ -0,0 +1,57 @@
+import benchmarks.Workload;
+import java.nio.*;
+
+// The SensitivityWorkload class estimates the Sobol indices of Steel from a
+// fixed seed, either through the columnar kernels SensitivityAnalysis uses by
+// default or through a kernel which builds a WindLoadingInput and a
+// WindLoadingResult per scenario, like a study built on
+// WindLoadingEvaluator.evaluate would.
+// args[0]: "batched" for BatchKernel.best, "objects" for one evaluate call
+//          per scenario.
+// args[1]: The number of base samples, 16384 by default.
+
+public class SensitivityWorkload implements Workload{
+    private final SensitivityAnalysis analysis;
+    private final int samples;
+
+    // Constructs a SensitivityWorkload object for the mode and number of
+    // samples in args.
+
+    public SensitivityWorkload(String[] args) throws Exception{
+        PropertyTable ranges = new MaterialCatalog(
+                BenchmarkScenarios.dataDirectory()).getRanges("Steel");
+        BatchKernel kernel = args[0].equals("batched") ? BatchKernel.best()
+                                                       : new ObjectKernel();
+        this.analysis = new SensitivityAnalysis(ranges.getMinimums(),
+                                                ranges.getMaximums(), kernel);
+        this.samples = args.length > 1 ? Integer.parseInt(args[1]) : 16384;
+    }
+
+    public Object run(){
+        return analysis.run(42, samples);
+    }
+
+    // The ObjectKernel class evaluates one scenario at a time through
+    // WindLoadingEvaluator and copies the wind load and safety strengths,
+    // the only results SensitivityAnalysis reads, into the columns.
+
+    private static class ObjectKernel implements BatchKernel{
+        private final WindLoadingEvaluator evaluator =
+                new WindLoadingEvaluator();
+
+        public void evaluate(ScenarioColumns scenarios, ResultColumns results,
+                             int from, int to){
+            ByteBuffer windLoads = results.getColumn(ResultColumns.WIND_LOAD);
+            for(int row = from; row < to; row++){
+                WindLoadingResult result =
+                        evaluator.evaluate(scenarios.getInput(row));
+                windLoads.putDouble(row * Double.BYTES, result.getWindLoad());
+                for(FailureMode mode : FailureMode.values()){
+                    results.getSafetyStrengthColumn(mode).putDouble(
+                            row * Double.BYTES,
+                            result.getSafetyStrength(mode));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import benchmarks.Workload;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+// The SeriesWorkload class reads a generated wind velocity time series with
+// WindTimeSeries, from a text file with one velocity per line or from a
+// binary file of doubles.
+// args[0]: The number of samples in the series.
+// args[1]: The format of the file: "text" or "binary".
+
+public class SeriesWorkload implements Workload{
+    private final WindLoadingInput structure;
+    private final File seriesFile;
+    private final boolean binary;
+
+    // Constructs a SeriesWorkload object for the number of samples in
+    // args[0] and the format in args[1].
+
+    public SeriesWorkload(String[] args) throws Exception{
+        this.structure = BenchmarkScenarios.inputs(1, 11)[0];
+        this.binary = args[1].equals("binary");
+        this.seriesFile = File.createTempFile("series",
+                                              binary ? ".bin" : ".txt");
+
+        int samples = Integer.parseInt(args[0]);
+        Random random = new Random(11);
+        double velocity = 60;
+        ByteBuffer buffer = ByteBuffer.allocate(samples * Double.BYTES)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        StringBuilder text = new StringBuilder();
+        for(int i = 0; i < samples; i++){
+            velocity += random.nextGaussian() * 3 - (velocity - 60) * 0.01;
+            velocity = Math.max(0, Math.min(400, velocity));
+            double rounded = Math.round(velocity * 10) / 10.0;
+            buffer.putDouble(rounded);
+            text.append(i).append(',').append(rounded).append('\n');
+        }
+        if(binary){
+            buffer.flip();
+            try(FileChannel channel = FileChannel.open(seriesFile.toPath(),
+                                            StandardOpenOption.WRITE)){
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+            }
+        }
+        else{
+            try(Writer writer = new FileWriter(seriesFile)){
+                writer.write(text.toString());
+            }
+        }
+    }
+
+    public Object run() throws IOException{
+        WindTimeSeries series = new WindTimeSeries(structure, 1, 3600,
+                                                   400 / 3.6, null);
+        if(binary){
+            series.readBinary(seriesFile);
+        }
+        else{
+            series.readText(seriesFile);
+        }
+        return series.getTotal();
+    }
+
+    public void close(){
+        seriesFile.delete();
+    }
+}
@@ -0,0 +1,62 @@
+import benchmarks.Workload;
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The ShardWorkload class evaluates a generated scenario file through a
+// ShardCoordinator on the loopback address, with the workers running as
+// threads of this process. The workers share the cores of the machine, so
+// the workload measures what sharding costs over BatchWorkload rather than
+// how it scales over machines.
+// args[0]: The number of scenarios in the file.
+// args[1]: The number of workers.
+// args[2]: The number of rows in a shard.
+
+public class ShardWorkload implements Workload{
+    private final WindLoadingBatch batch;
+    private final File scenarioFile;
+    private final File resultFile;
+    private final int workers;
+    private final int shardRows;
+    private final ExecutorService executor;
+
+    // Constructs a ShardWorkload object for the arguments described above.
+
+    public ShardWorkload(String[] args) throws Exception{
+        this.batch = new WindLoadingBatch(
+                new MaterialCatalog(BenchmarkScenarios.dataDirectory()));
+        this.scenarioFile = File.createTempFile("scenarios", ".csv");
+        this.resultFile = File.createTempFile("results", ".csv");
+        BenchmarkScenarios.writeScenarioFile(scenarioFile,
+                                            Integer.parseInt(args[0]), 7);
+        this.workers = Integer.parseInt(args[1]);
+        this.shardRows = Integer.parseInt(args[2]);
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    public Object run() throws Exception{
+        ShardCoordinator coordinator = new ShardCoordinator(scenarioFile,
+                                                    resultFile, shardRows);
+        coordinator.start(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), 0));
+        InetSocketAddress address = new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), coordinator.getPort());
+        List<Future<Integer>> shards = new ArrayList<Future<Integer>>();
+        for(int i = 0; i < workers; i++){
+            shards.add(executor.submit(() ->
+                    new ShardWorker(batch).work(address)));
+        }
+        int invalid = coordinator.run();
+        for(Future<Integer> count : shards){
+            count.get();
+        }
+        return invalid;
+    }
+
+    public void close(){
+        executor.shutdown();
+        scenarioFile.delete();
+        resultFile.delete();
+    }
+}
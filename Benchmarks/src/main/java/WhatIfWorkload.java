@@ -0,0 +1,59 @@
+import benchmarks.Workload;
+
+// The WhatIfWorkload class drags one property of a fixed building like a
+// slider: it makes 10000 edits of the property and reads the verdicts and
+// wind load after each one, either through a WindLoadingModel, which only
+// recalculates the quantities depending on the property, or through a full
+// WindLoadingEvaluator.evaluate per edit.
+// args[0]: "incremental" for WindLoadingModel, "full" for the evaluator.
+// args[1]: The name of the property which is edited, such as
+//          "Safety Factor".
+
+public class WhatIfWorkload implements Workload{
+    private static final int EDITS = 10000;
+
+    private final boolean incremental;
+    private final Property property;
+    private final WindLoadingInput start;
+    private final WindLoadingModel model;
+    private final WindLoadingEvaluator evaluator;
+    private final double[] values;
+
+    // Constructs a WhatIfWorkload object for the mode and property in args.
+
+    public WhatIfWorkload(String[] args) throws Exception{
+        this.incremental = args[0].equals("incremental");
+        this.property = Property.of(args[1]);
+        this.start = BenchmarkScenarios.inputs(1, 23)[0];
+        this.model = new WindLoadingModel(start);
+        this.evaluator = new WindLoadingEvaluator();
+        double value = model.get(property);
+        this.values = new double[EDITS];
+        for(int i = 0; i < EDITS; i++){
+            values[i] = value * (0.5 + i / (double) EDITS);
+        }
+    }
+
+    public Object run(){
+        long total = 0;
+        double[] v = new double[Property.values().length];
+        for(Property p : Property.values()){
+            v[p.ordinal()] = model.get(p);
+        }
+        for(int i = 0; i < EDITS; i++){
+            if(incremental){
+                model.set(property, values[i]);
+                total += (long) model.get(WindLoadingModel.VERDICTS)
+                         + (long) model.get(WindLoadingModel.WIND_LOAD);
+            }
+            else{
+                v[property.ordinal()] = values[i];
+                WindLoadingResult result = evaluator.evaluate(
+                        new WindLoadingInput(v[0], v[1], v[2], v[4], v[3],
+                                v[5], v[6], v[7], v[8], v[9]));
+                total += Verdict.pack(result) + (long) result.getWindLoad();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The BatchThroughputBenchmark class measures how many scenarios can be
+// evaluated when every core shares one WindLoadingEvaluator, and how long
+// WindLoadingBatch takes to evaluate a whole scenario file.
+
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchThroughputBenchmark{
+
+    @State(Scope.Thread)
+    public static class Evaluate{
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("EvaluateWorkload");
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ScenarioFile{
+        @Param({"10000", "100000"})
+        public String rows;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("BatchWorkload", rows);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object sharedEvaluator(Evaluate state) throws Exception{
+        return state.workload.run();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object scenarioFile(ScenarioFile state) throws Exception{
+        return state.workload.run();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The CacheBenchmark class measures a ResultCache hit against the evaluation
+// or inverse solve it replaces. The benchmark threads share one workload, so
+// running it with -t shows how the cache behaves under concurrent reads.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark{
+
+    @State(Scope.Benchmark)
+    public static class Cache{
+        @Param({"evaluate", "inverse"})
+        public String calculation;
+
+        @Param({"direct", "cached"})
+        public String mode;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("CacheWorkload", calculation, mode);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    public Object lookup(Cache state) throws Exception{
+        return state.workload.run();
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The DesignBenchmark class measures how long DesignOptimizer takes to find
+// the Pareto front of the cost of one building against its margin, in a
+// wind which leaves a few dozen designs to search and in one which leaves
+// hundreds of thousands.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DesignBenchmark{
+    @Param({"3", "0.001"})
+    public String velocity;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("DesignWorkload", velocity);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object optimize() throws Exception{
+        return workload.run();
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The DirectionalBenchmark class measures how long 10000 buildings take to
+// sweep over 8 and 360 wind directions with DirectionalSweep, against one
+// evaluation of each building with WindLoadingEvaluator.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DirectionalBenchmark{
+    @Param({"sweep", "evaluate"})
+    public String method;
+
+    @Param({"8", "360"})
+    public String directions;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("DirectionalWorkload", method,
+                                    directions);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object sweep() throws Exception{
+        return workload.run();
+    }
+}
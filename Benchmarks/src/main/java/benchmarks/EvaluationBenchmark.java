@@ -0,0 +1,56 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The EvaluationBenchmark class measures the latency of a single wind loading
+// calculation, once through WindLoadingEvaluator with no output and once
+// through compareWindLoadToCapacityFactors with its full console report.
+
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluationBenchmark{
+
+    @State(Scope.Thread)
+    public static class Evaluate{
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("EvaluateWorkload");
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Compare{
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("CompareWorkload");
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    public Object evaluate(Evaluate state) throws Exception{
+        return state.workload.run();
+    }
+
+    @Benchmark
+    public Object compareWithReport(Compare state) throws Exception{
+        return state.workload.run();
+    }
+}
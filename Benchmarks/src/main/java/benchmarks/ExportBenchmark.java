@@ -0,0 +1,39 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The ExportBenchmark class measures the time to write 100000 evaluated
+// scenarios with all their quantities and verdicts, in each format of
+// ResultExporter and with one printf per field.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportBenchmark{
+    @Param({"csv", "jsonl", "binary", "printf"})
+    public String format;
+
+    @Param({"plain"})
+    public String compression;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("ExportWorkload", format, compression);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object export() throws Exception{
+        return workload.run();
+    }
+}
@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The FileProcessBenchmark class measures how long WindLoadingClient
+// .fileProcess takes to read the catalogs in Data Files and large generated
+// catalogs, with and without printing every property.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FileProcessBenchmark{
+    @Param({"BuildingParameters.txt", "WoodData.txt", "ConcreteData.txt",
+            "BrickData.txt", "StoneData.txt", "SteelData.txt",
+            "synthetic:10000", "synthetic:1000000"})
+    public String catalog;
+
+    @Param({"false", "true"})
+    public String echo;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("FileProcessWorkload", catalog, echo);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object fileProcess() throws Exception{
+        return workload.run();
+    }
+}
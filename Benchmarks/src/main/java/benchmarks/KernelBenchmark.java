@@ -0,0 +1,41 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The KernelBenchmark class compares the time per scenario of the scalar and
+// vectorized batch kernels with evaluating one WindLoadingInput at a time.
+// Each operation evaluates one chunk of 4096 rows.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class KernelBenchmark{
+    private static final int ROWS = 4096;
+
+    @State(Scope.Thread)
+    public static class Kernel{
+        @Param({"scalar", "vector", "evaluator"})
+        public String kernel;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("KernelWorkload", kernel);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object evaluateChunk(Kernel state) throws Exception{
+        return state.workload.run();
+    }
+}
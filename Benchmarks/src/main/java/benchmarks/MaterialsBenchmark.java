@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The MaterialsBenchmark class measures the time to find the margin of every
+// catalog material for 65536 buildings, sharing the geometry and wind terms
+// between the materials or evaluating each building once per material.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaterialsBenchmark{
+    @Param({"shared", "separate"})
+    public String mode;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("MaterialsWorkload", mode);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object compare() throws Exception{
+        return workload.run();
+    }
+}
@@ -0,0 +1,45 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The MetricsBenchmark class measures the latency of a single wind loading
+// calculation with WindLoadingMetrics off and on, from one thread and from
+// four threads recording into the same counters and histograms at once.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark{
+
+    @State(Scope.Thread)
+    public static class Evaluate{
+        @Param({"off", "on"})
+        String metrics;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("MetricsWorkload", metrics);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    public Object evaluate(Evaluate state) throws Exception{
+        return state.workload.run();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object evaluateConcurrently(Evaluate state) throws Exception{
+        return state.workload.run();
+    }
+}
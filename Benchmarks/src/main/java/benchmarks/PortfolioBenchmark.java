@@ -0,0 +1,47 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The PortfolioBenchmark class measures how long a portfolio of buildings
+// takes to follow through a storm with BuildingPortfolio, which calculates
+// the strengths of each building once, against evaluating every building
+// at every step with WindLoadingEvaluator.
+
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioBenchmark{
+
+    @State(Scope.Benchmark)
+    public static class Storm{
+        @Param({"10000"})
+        public String buildings;
+
+        @Param({"100"})
+        public String steps;
+
+        @Param({"streamed", "objects"})
+        public String mode;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("PortfolioWorkload", buildings,
+                                        steps, mode);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object storm(Storm state) throws Exception{
+        return state.workload.run();
+    }
+}
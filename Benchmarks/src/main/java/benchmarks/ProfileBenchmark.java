@@ -0,0 +1,40 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The ProfileBenchmark class measures how long the base shear and
+// overturning moment of a million scenarios take with the tables of
+// WindProfile, and with one Math.pow per storey.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProfileBenchmark{
+
+    @State(Scope.Benchmark)
+    public static class Profile{
+        @Param({"table", "direct"})
+        public String method;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("ProfileWorkload", "1000000",
+                                        method);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    public Object profile(Profile state) throws Exception{
+        return state.workload.run();
+    }
+}
@@ -0,0 +1,36 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The SensitivityBenchmark class measures the time to estimate the Sobol
+// indices of Steel from 16384 base samples, 180224 scenarios, through the
+// columnar kernels or through one WindLoadingResult per scenario.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SensitivityBenchmark{
+    @Param({"batched", "objects"})
+    public String mode;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("SensitivityWorkload", mode);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object sobol() throws Exception{
+        return workload.run();
+    }
+}
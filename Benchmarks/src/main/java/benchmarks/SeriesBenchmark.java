@@ -0,0 +1,39 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The SeriesBenchmark class measures how long WindTimeSeries takes to read
+// a million samples, about eleven and a half days of 1 Hz data, from a text
+// file and from a binary file.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeriesBenchmark{
+
+    @State(Scope.Benchmark)
+    public static class Series{
+        @Param({"text", "binary"})
+        public String format;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("SeriesWorkload", "1000000", format);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    public Object read(Series state) throws Exception{
+        return state.workload.run();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The ShardBenchmark class measures how long a scenario file takes to
+// evaluate through a ShardCoordinator with in-process workers, against
+// WindLoadingBatch evaluating it directly.
+
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShardBenchmark{
+
+    @State(Scope.Benchmark)
+    public static class Sharded{
+        @Param({"100000"})
+        public String rows;
+
+        @Param({"1", "2", "4"})
+        public String workers;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("ShardWorkload", rows, workers,
+                                        "8192");
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Direct{
+        @Param({"100000"})
+        public String rows;
+
+        Workload workload;
+
+        @Setup
+        public void setUp() throws Exception{
+            workload = Workloads.create("BatchWorkload", rows);
+        }
+
+        @TearDown
+        public void tearDown() throws Exception{
+            workload.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object sharded(Sharded state) throws Exception{
+        return state.workload.run();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object direct(Direct state) throws Exception{
+        return state.workload.run();
+    }
+}
@@ -0,0 +1,39 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// The WhatIfBenchmark class measures the time of 10000 slider edits of one
+// property, each followed by reading the verdicts and wind load, with the
+// incremental WindLoadingModel or a full evaluation per edit.
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WhatIfBenchmark{
+    @Param({"incremental", "full"})
+    public String mode;
+
+    @Param({"Safety Factor", "Elastic Modulus", "Wind Velocity", "Height"})
+    public String property;
+
+    private Workload workload;
+
+    @Setup
+    public void setUp() throws Exception{
+        workload = Workloads.create("WhatIfWorkload", mode, property);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception{
+        workload.close();
+    }
+
+    @Benchmark
+    public Object edit() throws Exception{
+        return workload.run();
+    }
+}
@@ -0,0 +1,27 @@
+package benchmarks;
+
+// A Workload is one operation of the calculator measured by a benchmark. The
+// calculator lives in the default package, which classes in a named package
+// (and therefore JMH benchmarks) cannot refer to. Each operation is instead
+// wrapped by a default-package workload class implementing this interface,
+// and loaded by name through Workloads.create.
+
+public interface Workload extends AutoCloseable{
+
+    // Behavior: Performs the measured operation once.
+    // Exceptions: Any exception thrown by the operation.
+    // Returns: The outcome of the operation, which the benchmark consumes so
+    // that it cannot be optimized away.
+    // Parameters: None
+
+    Object run() throws Exception;
+
+    // Behavior: Releases anything the workload set up, such as temporary
+    // files or a redirected System.out.
+    // Exceptions: Any exception thrown while cleaning up.
+    // Returns: None
+    // Parameters: None
+
+    default void close() throws Exception{
+    }
+}
@@ -0,0 +1,26 @@
+package benchmarks;
+
+// The Workloads class creates the default-package workload classes by name.
+
+public final class Workloads{
+
+    private Workloads(){
+    }
+
+    // Behavior: Creates a workload from its class name and arguments.
+    //
+    // Exceptions: Throws a ReflectiveOperationException if the class does
+    // not exist or has no constructor taking a String array.
+    //
+    // Returns: The created workload.
+    //
+    // Parameters: className: The name of the default-package workload class.
+    //             args: The arguments passed to its constructor.
+
+    public static Workload create(String className, String... args)
+                                    throws ReflectiveOperationException{
+        Class<?> type = Class.forName(className);
+        return (Workload) type.getConstructor(String[].class)
+                                .newInstance((Object) args);
+    }
+}
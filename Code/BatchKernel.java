@@ -0,0 +1,62 @@
+import java.util.stream.*;
+
+// The BatchKernel interface represents a way of evaluating many scenarios
+// held in ScenarioColumns at once. Every kernel performs the same operations
+// in the same order as WindLoadingEvaluator, so all kernels give bit-identical
+// results.
+
+public interface BatchKernel{
+    public static final int CHUNK_ROWS = 4096;
+
+    // Behavior: Evaluates the scenarios in a range of rows and stores their
+    // results in the same rows of the result columns.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row to evaluate.
+
+    void evaluate(ScenarioColumns scenarios, ResultColumns results, int from,
+                  int to);
+
+    // Behavior: Evaluates every scenario, spreading chunks of CHUNK_ROWS
+    // rows across all cores.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+
+    default void evaluateAll(ScenarioColumns scenarios, ResultColumns results){
+        int rows = scenarios.getRows();
+        int chunks = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        IntStream.range(0, chunks).parallel().forEach(chunk ->
+                evaluate(scenarios, results, chunk * CHUNK_ROWS,
+                         Math.min(rows, (chunk + 1) * CHUNK_ROWS)));
+    }
+
+    // Behavior: The best method chooses the fastest kernel available. The
+    // vectorized kernel needs the jdk.incubator.vector module, which is only
+    // present when the program is started with
+    // --add-modules jdk.incubator.vector. Otherwise the scalar kernel is used.
+    //
+    // Exceptions: None
+    //
+    // Returns: A VectorBatchKernel if the vector module is present, or a
+    // ScalarBatchKernel otherwise.
+    //
+    // Parameters: None
+
+    static BatchKernel best(){
+        if(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()){
+            try{
+                return (BatchKernel) Class.forName("VectorBatchKernel")
+                            .getDeclaredConstructor().newInstance();
+            }
+            catch(ReflectiveOperationException | LinkageError e){
+                // Fall back to the scalar kernel below.
+            }
+        }
+        return new ScalarBatchKernel();
+    }
+}
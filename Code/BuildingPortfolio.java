@@ -0,0 +1,442 @@
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+// The BuildingPortfolio class follows a portfolio of buildings through a
+// gridded storm and sums up the damage by region and material. A portfolio
+// file is a CSV file with a header row naming its columns: the Region,
+// Material, Latitude and Longitude of each building, its Height, Width and
+// Length, and optionally any other column of WindLoadingBatch.COLUMNS except
+// the wind velocity, which comes from the storm. A property which is not
+// given is fixed at the middle of the range of the material. Rows which are
+// out of range are left out and counted.
+//
+// Everything about a building which does not depend on the wind, such as
+// its strengths, is calculated once when the portfolio is read. Each step of
+// the storm is then read from a WindField and every building is joined to
+// its grid cell and given the wind load of the step, calculated with the
+// same operations as WindLoadingEvaluator; only the highest load of each
+// building is kept, because the verdicts only get worse as the load grows.
+// The memory used therefore depends on the number of buildings and cells,
+// but not on the number of steps. Buildings are grouped by region and
+// material through a LongIndexMap keyed by both, so summing them up takes
+// no boxing.
+
+public final class BuildingPortfolio{
+    public static final String[] KEY_COLUMNS = {"Region", "Material",
+                                                "Latitude", "Longitude"};
+
+    // The number of buildings given the load of a step in one task.
+    private static final int BLOCK = 8192;
+
+    private final int size;
+    private final int invalid;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] coefficients;
+    private final double[] areas;
+    private final double[][] strengths;
+    private final double[][] safetyStrengths;
+    private final double[] failingLoads;
+    private final int[] groups;
+    private final String[] groupRegions;
+    private final String[] groupMaterials;
+
+    // Constructs a BuildingPortfolio object for the following buildings
+    // buildings: The inputs of the valid buildings, with no wind velocity.
+    // latitudes, longitudes: The location of each building in degrees.
+    // groups: The group of each building.
+    // groupRegions, groupMaterials: The region and material of each group.
+    // invalid: The number of rows which were left out.
+
+    private BuildingPortfolio(WindLoadingInput[] buildings,
+                              double[] latitudes, double[] longitudes,
+                              int[] groups, String[] groupRegions,
+                              String[] groupMaterials, int invalid){
+        FailureMode[] modes = FailureMode.values();
+        this.size = buildings.length;
+        this.invalid = invalid;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.groups = groups;
+        this.groupRegions = groupRegions;
+        this.groupMaterials = groupMaterials;
+        this.coefficients = new double[size];
+        this.areas = new double[size];
+        this.strengths = new double[modes.length][size];
+        this.safetyStrengths = new double[modes.length][size];
+        this.failingLoads = new double[size];
+
+        WindLoadingEvaluator evaluator = new WindLoadingEvaluator();
+        IntStream.range(0, size).parallel().forEach(b -> {
+            WindLoadingResult result = evaluator.evaluate(buildings[b]);
+            coefficients[b] = 0.5 * buildings[b].getAirDensity()
+                                  * result.getDragCoefficient();
+            areas[b] = result.getCrossSectionalArea();
+            double failingLoad = Double.POSITIVE_INFINITY;
+            for(FailureMode mode : modes){
+                double strength = result.getStrength(mode);
+                double safetyStrength = result.getSafetyStrength(mode);
+                strengths[mode.ordinal()][b] = strength;
+                safetyStrengths[mode.ordinal()][b] = safetyStrength;
+                // The lowest load at which Verdict.of gives FAIL.
+                double load = Math.max(strength, safetyStrength);
+                if(load < failingLoad){
+                    failingLoad = load;
+                }
+            }
+            failingLoads[b] = failingLoad;
+        });
+    }
+
+    // Behavior: The read method reads a portfolio file, checking every
+    // building against the ranges of its material.
+    //
+    // Exceptions: Throws an IOException if the portfolio file or a data
+    // file cannot be read. Throws an IllegalArgumentException if the header
+    // is missing one of the KEY_COLUMNS or the Height, Width or Length.
+    //
+    // Returns: The portfolio.
+    //
+    // Parameters: file: The portfolio file.
+    //             catalog: The catalog holding the building data and the
+    //                      data of every material.
+
+    public static BuildingPortfolio read(File file, MaterialCatalog catalog)
+                                                    throws IOException{
+        List<String> names = catalog.getMaterialNames();
+        PropertyTable[] ranges = new PropertyTable[names.size()];
+        for(int m = 0; m < ranges.length; m++){
+            ranges[m] = catalog.getRanges(names.get(m));
+        }
+
+        List<String> rows = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        String header;
+        try{
+            header = reader.readLine();
+            String line = reader.readLine();
+            while(line != null){
+                if(!line.trim().isEmpty()){
+                    rows.add(line);
+                }
+                line = reader.readLine();
+            }
+        }
+        finally{
+            reader.close();
+        }
+        int[] layout = readHeader(header == null ? "" : header);
+
+        int count = rows.size();
+        WindLoadingInput[] inputs = new WindLoadingInput[count];
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        String[] regions = new String[count];
+        int[] materials = new int[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            String[] parts = rows.get(i).split(",", -1);
+            inputs[i] = readBuilding(parts, layout, names, ranges, i,
+                                     regions, materials, latitudes,
+                                     longitudes);
+        });
+
+        Map<String, Integer> regionIndexes = new HashMap<String, Integer>();
+        List<String> regionNames = new ArrayList<String>();
+        LongIndexMap groupIndexes = new LongIndexMap(64);
+        List<WindLoadingInput> buildings = new ArrayList<WindLoadingInput>();
+        int[] groups = new int[count];
+        int valid = 0;
+        for(int i = 0; i < count; i++){
+            if(inputs[i] == null){
+                continue;
+            }
+            Integer region = regionIndexes.get(regions[i]);
+            if(region == null){
+                region = regionNames.size();
+                regionIndexes.put(regions[i], region);
+                regionNames.add(regions[i]);
+            }
+            groups[valid] = groupIndexes.add(((long) region << 32)
+                                             | materials[i]);
+            latitudes[valid] = latitudes[i];
+            longitudes[valid] = longitudes[i];
+            buildings.add(inputs[i]);
+            valid++;
+        }
+
+        String[] groupRegions = new String[groupIndexes.size()];
+        String[] groupMaterials = new String[groupIndexes.size()];
+        for(int g = 0; g < groupRegions.length; g++){
+            long key = groupIndexes.getKey(g);
+            groupRegions[g] = regionNames.get((int) (key >>> 32));
+            groupMaterials[g] = names.get((int) key);
+        }
+        return new BuildingPortfolio(
+                buildings.toArray(new WindLoadingInput[valid]),
+                Arrays.copyOf(latitudes, valid),
+                Arrays.copyOf(longitudes, valid), Arrays.copyOf(groups, valid),
+                groupRegions, groupMaterials, count - valid);
+    }
+
+    // Returns: The number of buildings which were read.
+
+    public int size(){
+        return this.size;
+    }
+
+    // Returns: The number of rows which were left out because they were
+    // invalid.
+
+    public int getInvalid(){
+        return this.invalid;
+    }
+
+    // Behavior: The run method reads every step of a storm, gives every
+    // building inside its grid the wind load of its cell, and sums up the
+    // worst verdict and the highest utilization of every building by region
+    // and material. The buildings of a step are split into blocks which are
+    // loaded in parallel.
+    //
+    // Exceptions: Throws an IOException if the storm cannot be read.
+    //
+    // Returns: The summary of the storm.
+    //
+    // Parameters: field: The storm, positioned before its first step. It is
+    //                    left open.
+
+    public PortfolioSummary run(WindField field) throws IOException{
+        int[] cells = new int[size];
+        int outside = 0;
+        for(int b = 0; b < size; b++){
+            cells[b] = field.cellOf(latitudes[b], longitudes[b]);
+            if(cells[b] < 0){
+                outside++;
+            }
+        }
+
+        double[] peaks = new double[size];
+        double[] velocities = new double[field.getCells()];
+        long[] failingBySteps = new long[16];
+        int steps = 0;
+        int blocks = (size + BLOCK - 1) / BLOCK;
+        while(field.readStep(velocities)){
+            long failing = IntStream.range(0, blocks).parallel()
+                    .mapToLong(k -> loadBlock(k, cells, velocities, peaks))
+                    .sum();
+            if(steps == failingBySteps.length){
+                failingBySteps = Arrays.copyOf(failingBySteps, steps * 2);
+            }
+            failingBySteps[steps++] = failing;
+        }
+        return summarize(cells, peaks, Arrays.copyOf(failingBySteps, steps),
+                         outside);
+    }
+
+    // Behavior: Gives one block of buildings the wind load of a step.
+    // Exceptions: None
+    // Returns: The number of buildings of the block failing at the step.
+    // Parameters: block: The index of the block.
+    //             cells: The cell of each building, or -1 outside the grid.
+    //             velocities: The velocity of every cell in m/s.
+    //             peaks: The highest load of each building so far.
+
+    private long loadBlock(int block, int[] cells, double[] velocities,
+                           double[] peaks){
+        long failing = 0;
+        int end = Math.min(size, (block + 1) * BLOCK);
+        for(int b = block * BLOCK; b < end; b++){
+            int cell = cells[b];
+            if(cell < 0){
+                continue;
+            }
+            double velocity = velocities[cell];
+            double windLoad = (coefficients[b] * (velocity * velocity))
+                                * areas[b];
+            if(windLoad > peaks[b]){
+                peaks[b] = windLoad;
+            }
+            if(windLoad >= failingLoads[b]){
+                failing++;
+            }
+        }
+        return failing;
+    }
+
+    // Behavior: The summarize method finds the worst verdict of every
+    // building from its highest load and sums them up by group.
+    //
+    // Exceptions: None
+    //
+    // Returns: The summary.
+    //
+    // Parameters: cells: The cell of each building, or -1 outside the grid.
+    //             peaks: The highest load of each building.
+    //             failingBySteps: The number of failing buildings at each
+    //                             step.
+    //             outside: The number of buildings outside the grid.
+
+    private PortfolioSummary summarize(int[] cells, double[] peaks,
+                                       long[] failingBySteps, int outside){
+        FailureMode[] modes = FailureMode.values();
+        int structure = modes.length;
+        int groupCount = groupRegions.length;
+        long[] buildings = new long[groupCount];
+        long[][] failing = new long[groupCount][structure + 1];
+        long[][] marginal = new long[groupCount][structure + 1];
+        double[][] utilizations = new double[groupCount][structure + 1];
+
+        for(int b = 0; b < size; b++){
+            if(cells[b] < 0){
+                continue;
+            }
+            int g = groups[b];
+            buildings[g]++;
+            boolean failed = false;
+            boolean survived = false;
+            for(int m = 0; m < structure; m++){
+                double strength = strengths[m][b];
+                Verdict verdict = Verdict.of(peaks[b], strength,
+                                             safetyStrengths[m][b]);
+                if(verdict == Verdict.FAIL){
+                    failing[g][m]++;
+                    failed = true;
+                }
+                else if(verdict == Verdict.MARGINAL){
+                    marginal[g][m]++;
+                    survived = true;
+                }
+                double utilization = peaks[b] / strength;
+                if(utilization > utilizations[g][m]){
+                    utilizations[g][m] = utilization;
+                }
+                if(utilization > utilizations[g][structure]){
+                    utilizations[g][structure] = utilization;
+                }
+            }
+            if(failed){
+                failing[g][structure]++;
+            }
+            else if(survived){
+                marginal[g][structure]++;
+            }
+        }
+        return new PortfolioSummary(groupRegions, groupMaterials, buildings,
+                failing, marginal, utilizations, failingBySteps, outside);
+    }
+
+    // Behavior: The readHeader method finds the position of every key
+    // column and of every column in WindLoadingBatch.COLUMNS in the header
+    // row.
+    //
+    // Exceptions: Throws an IllegalArgumentException if a key column or the
+    // Height, Width or Length is missing.
+    //
+    // Returns: An array holding the position of each key column, followed
+    // by the position of every column in WindLoadingBatch.COLUMNS, or -1 if
+    // it is not given.
+    //
+    // Parameters: header: The header row of the portfolio file.
+
+    private static int[] readHeader(String header){
+        String[] names = header.split(",");
+        int keys = KEY_COLUMNS.length;
+        int[] layout = new int[keys + WindLoadingBatch.COLUMNS.length];
+        Arrays.fill(layout, -1);
+        for(int i = 0; i < names.length; i++){
+            String name = names[i].trim();
+            for(int k = 0; k < keys; k++){
+                if(name.equalsIgnoreCase(KEY_COLUMNS[k])){
+                    layout[k] = i;
+                }
+            }
+            int column = WindLoadingBatch.columnIndex(name);
+            if(column >= 0 && column != Property.WIND_VELOCITY.ordinal()){
+                layout[keys + column] = i;
+            }
+        }
+
+        int[] required = {0, 1, 2, 3, keys + Property.HEIGHT.ordinal(),
+                keys + Property.WIDTH.ordinal(),
+                keys + Property.LENGTH.ordinal()};
+        for(int i : required){
+            if(layout[i] < 0){
+                String missing = i < keys ? KEY_COLUMNS[i]
+                                          : WindLoadingBatch.COLUMNS[i - keys];
+                throw new IllegalArgumentException
+                        ("Portfolio file is missing the " + missing
+                         + " column.");
+            }
+        }
+        return layout;
+    }
+
+    // Behavior: The readBuilding method checks one building against the
+    // ranges of its material and, if it is valid, stores its region,
+    // material and location.
+    //
+    // Exceptions: None
+    //
+    // Returns: The input of the building with no wind velocity, or null if
+    // the building is invalid.
+    //
+    // Parameters: parts: The fields of the row.
+    //             layout: The column positions returned by readHeader.
+    //             names: The names of the materials.
+    //             ranges: The ranges of each material.
+    //             row: The index of the row.
+    //             regions, materials, latitudes, longitudes: The arrays the
+    //             region, material index and location are stored in.
+
+    private static WindLoadingInput readBuilding(String[] parts, int[] layout,
+            List<String> names, PropertyTable[] ranges, int row,
+            String[] regions, int[] materials, double[] latitudes,
+            double[] longitudes){
+        int keys = KEY_COLUMNS.length;
+        for(int position : layout){
+            if(position >= parts.length){
+                return null;
+            }
+        }
+        String material = parts[layout[1]].trim();
+        int m = -1;
+        for(int i = 0; i < names.size() && m < 0; i++){
+            if(names.get(i).equalsIgnoreCase(material)){
+                m = i;
+            }
+        }
+        if(m < 0 || ranges[m].findMissing() != null){
+            return null;
+        }
+
+        double[] minimums = ranges[m].getMinimums();
+        double[] maximums = ranges[m].getMaximums();
+        double[] values = new double[WindLoadingBatch.COLUMNS.length];
+        try{
+            latitudes[row] = Double.parseDouble(parts[layout[2]].trim());
+            longitudes[row] = Double.parseDouble(parts[layout[3]].trim());
+            for(int j = 0; j < values.length; j++){
+                int position = layout[keys + j];
+                if(position < 0 || (j > Property.LENGTH.ordinal()
+                                    && parts[position].trim().isEmpty())){
+                    values[j] = (minimums[j] + maximums[j]) / 2;
+                }
+                else{
+                    values[j] = Double.parseDouble(parts[position].trim());
+                    if(!ranges[m].contains(Property.get(j), values[j])){
+                        return null;
+                    }
+                }
+            }
+        }
+        catch(NumberFormatException e){
+            return null;
+        }
+
+        regions[row] = parts[layout[0]].trim();
+        materials[row] = m;
+        return new WindLoadingInput(values[0], values[1], values[2], 0,
+                values[3], values[5], values[6], values[7], values[8],
+                values[9]);
+    }
+}
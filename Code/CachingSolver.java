@@ -0,0 +1,66 @@
+// The CachingSolver class is an InverseSolver which remembers its solutions
+// in a ResultCache, so it can be used anywhere an InverseSolver is expected.
+// A solve costs a forward evaluation and several closed forms, so a hit is
+// several times cheaper, unlike a hit in front of the evaluator. Inputs
+// which round to the same key within the tolerance of the cache get the
+// same solution, solved for the rounded input, so a tolerance of 0 keeps
+// every solution the exact boundary of its own input. When
+// WindLoadingMetrics is enabled a hit is recorded as an evaluation with the
+// verdicts of the cached solution, so the counts match an uncached solver.
+
+public class CachingSolver extends InverseSolver{
+    private final ResultCache<InverseSolution> cache;
+
+    // Constructs a CachingSolver object with a cache of the default size,
+    // which only shares solutions between identical inputs.
+
+    public CachingSolver(){
+        this(new ResultCache<InverseSolution>(
+                        ResultCache.DEFAULT_MAXIMUM_SIZE, 0));
+    }
+
+    // Constructs a CachingSolver object for the following cache
+    // cache: The cache holding the solutions, which may be shared with
+    //        other CachingSolvers.
+
+    public CachingSolver(ResultCache<InverseSolution> cache){
+        this.cache = cache;
+    }
+
+    // Behavior: The solve method returns the cached solution of the input,
+    // and otherwise solves the input rounded to the tolerance of the cache
+    // and caches the solution. A miss records its evaluation through the
+    // solver, and a hit is recorded here when WindLoadingMetrics is enabled.
+    //
+    // Exceptions: None
+    //
+    // Returns: The InverseSolution of the rounded input, which is the input
+    // itself when the tolerance is 0.
+    //
+    // Parameters: input: The parameters of the structure, air and material.
+
+    @Override
+    public InverseSolution solve(WindLoadingInput input){
+        if(!WindLoadingMetrics.isEnabled()){
+            return cache.get(input, super::solve);
+        }
+        long start = System.nanoTime();
+        boolean[] solved = new boolean[1];
+        InverseSolution solution = cache.get(input, key -> {
+            solved[0] = true;
+            return super.solve(key);
+        });
+        if(!solved[0]){
+            WindLoadingMetrics.recordEvaluation(solution.getResult(),
+                                                System.nanoTime() - start);
+        }
+        return solution;
+    }
+
+    // Returns: The cache holding the solutions, with its hit, miss and
+    // eviction counters.
+
+    public ResultCache<InverseSolution> getCache(){
+        return this.cache;
+    }
+}
@@ -0,0 +1,302 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// The ColumnarFile class reads and writes the binary scenario format. A file
+// starts with a fixed header, followed by one column of little-endian doubles
+// per parameter in ScenarioColumns, one column per quantity in ResultColumns,
+// one byte per scenario holding its material and one byte per scenario
+// holding its packed verdicts (see Verdict.pack):
+//
+//     header      HEADER_BYTES bytes
+//     scenarios   ScenarioColumns.COLUMNS columns of rows doubles
+//     results     ResultColumns.COLUMNS columns of rows doubles
+//     materials   rows bytes, the index in WindLoadingBatch.getMaterials, or
+//                 INVALID for a scenario which failed validation
+//     verdicts    rows bytes
+//
+// The header holds, all little-endian, the magic number, the version, the
+// header size, the number of scenario and result columns, the flags and the
+// number of rows, padded with zeros.
+//
+// The columns are never read into the Java heap. They are mapped with
+// FileChannel.map one segment of at most SEGMENT_ROWS rows at a time, and the
+// batch kernels read and write the mapped buffers directly, so a file may hold
+// far more scenarios than fit in memory.
+
+public final class ColumnarFile implements Closeable{
+    public static final int MAGIC = 0x4c4f4357;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 64;
+    public static final int SEGMENT_ROWS = 1 << 20;
+    public static final byte INVALID = -1;
+    public static final int EVALUATED = 1;
+
+    private static final int COLUMNS = ScenarioColumns.COLUMNS
+                                        + ResultColumns.COLUMNS;
+
+    private final FileChannel channel;
+    private final long rows;
+    private final boolean writable;
+    private int flags;
+
+    // Constructs a ColumnarFile object for the following file
+    // channel: The open channel of the file.
+    // rows: The number of scenarios in the file.
+    // flags: The flags read from the header.
+    // writable: Whether the channel was opened for writing.
+
+    private ColumnarFile(FileChannel channel, long rows, int flags,
+                         boolean writable){
+        this.channel = channel;
+        this.rows = rows;
+        this.flags = flags;
+        this.writable = writable;
+    }
+
+    // Behavior: The create method creates a file with room for the given
+    // number of scenarios, replacing any existing file. The columns start out
+    // filled with zeros.
+    //
+    // Exceptions: Throws an IOException if the file cannot be written.
+    //
+    // Returns: The new ColumnarFile, open for reading and writing.
+    //
+    // Parameters: file: The file to create.
+    //             rows: The number of scenarios the file holds.
+
+    public static ColumnarFile create(File file, long rows)
+                                                    throws IOException{
+        if(rows < 0){
+            throw new IllegalArgumentException
+                    ("The number of rows cannot be negative.");
+        }
+        FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ColumnarFile columnar = new ColumnarFile(channel, rows, 0, true);
+        try{
+            columnar.writeHeader();
+            // Writing the last byte sets the size of the file without
+            // writing the columns in between.
+            long size = columnar.verdictOffset() + rows;
+            if(size > HEADER_BYTES){
+                channel.write(ByteBuffer.allocate(1), size - 1);
+            }
+        }
+        catch(IOException e){
+            channel.close();
+            throw e;
+        }
+        return columnar;
+    }
+
+    // Behavior: The open method opens an existing file and checks its header.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read, is not in
+    // the binary scenario format, or is shorter than its header says.
+    //
+    // Returns: The open ColumnarFile.
+    //
+    // Parameters: file: The file to open.
+    //             writable: Whether the results may be written.
+
+    public static ColumnarFile open(File file, boolean writable)
+                                                    throws IOException{
+        FileChannel channel = writable
+                ? FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                                   StandardOpenOption.WRITE)
+                : FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try{
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            while(header.hasRemaining()){
+                if(channel.read(header, header.position()) < 0){
+                    throw new IOException(file + " is not a binary scenario "
+                            + "file.");
+                }
+            }
+            header.flip();
+            if(header.getInt() != MAGIC){
+                throw new IOException(file + " is not a binary scenario "
+                        + "file.");
+            }
+            int version = header.getInt();
+            if(version != VERSION || header.getInt() != HEADER_BYTES
+                    || header.getInt() != ScenarioColumns.COLUMNS
+                    || header.getInt() != ResultColumns.COLUMNS){
+                throw new IOException(file + " has the unsupported version "
+                        + version + ".");
+            }
+            int flags = header.getInt();
+            long rows = header.getLong();
+            ColumnarFile columnar =
+                        new ColumnarFile(channel, rows, flags, writable);
+            if(rows < 0 || channel.size() < columnar.verdictOffset() + rows){
+                throw new IOException(file + " is truncated.");
+            }
+            return columnar;
+        }
+        catch(IOException e){
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Behavior: Checks whether a file starts with the magic number of the
+    // binary scenario format.
+    // Exceptions: None
+    // Returns: True if the file is a binary scenario file.
+    // Parameters: file: The file to check.
+
+    public static boolean isColumnar(File file){
+        try(DataInputStream input =
+                    new DataInputStream(new FileInputStream(file))){
+            return Integer.reverseBytes(input.readInt()) == MAGIC;
+        }
+        catch(IOException e){
+            return false;
+        }
+    }
+
+    public long getRows(){
+        return this.rows;
+    }
+
+    // Behavior: Checks whether the results of the file have been written.
+    // Exceptions: None
+    // Returns: True once evaluate has finished on the file.
+    // Parameters: None
+
+    public boolean isEvaluated(){
+        return (flags & EVALUATED) != 0;
+    }
+
+    // Behavior: The mapScenarios method maps the scenario columns of a
+    // segment of rows. Changes to the columns are written to the file.
+    //
+    // Exceptions: Throws an IOException if the file cannot be mapped.
+    //
+    // Returns: The mapped scenario columns.
+    //
+    // Parameters: first: The first row of the segment.
+    //             count: The number of rows, at most SEGMENT_ROWS.
+
+    public ScenarioColumns mapScenarios(long first, int count)
+                                                    throws IOException{
+        ByteBuffer[] columns = new ByteBuffer[ScenarioColumns.COLUMNS];
+        for(int c = 0; c < columns.length; c++){
+            columns[c] = map(columnOffset(c) + first * Double.BYTES,
+                             (long) count * Double.BYTES);
+        }
+        return new ScenarioColumns(columns, count);
+    }
+
+    // Behavior: The mapResults method maps the result columns and the
+    // verdicts of a segment of rows. Changes to the columns are written to
+    // the file.
+    //
+    // Exceptions: Throws an IOException if the file cannot be mapped.
+    //
+    // Returns: The mapped result columns.
+    //
+    // Parameters: first: The first row of the segment.
+    //             count: The number of rows, at most SEGMENT_ROWS.
+
+    public ResultColumns mapResults(long first, int count)
+                                                    throws IOException{
+        ByteBuffer[] columns = new ByteBuffer[ResultColumns.COLUMNS];
+        for(int c = 0; c < columns.length; c++){
+            columns[c] = map(columnOffset(ScenarioColumns.COLUMNS + c)
+                             + first * Double.BYTES,
+                             (long) count * Double.BYTES);
+        }
+        return new ResultColumns(columns,
+                                 map(verdictOffset() + first, count), count);
+    }
+
+    // Behavior: Maps the material bytes of a segment of rows.
+    // Exceptions: Throws an IOException if the file cannot be mapped.
+    // Returns: The mapped bytes, one per row.
+    // Parameters: first: The first row of the segment.
+    //             count: The number of rows, at most SEGMENT_ROWS.
+
+    public ByteBuffer mapMaterials(long first, int count) throws IOException{
+        return map(verdictOffset() - rows + first, count);
+    }
+
+    // Behavior: The evaluate method evaluates every scenario of the file
+    // with a batch kernel, one mapped segment at a time, and marks the file
+    // as evaluated. Scenarios marked INVALID are evaluated as well, but
+    // their results should not be used.
+    //
+    // Exceptions: Throws an IOException if the file cannot be mapped or its
+    // header cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: kernel: The kernel evaluating each segment.
+
+    public void evaluate(BatchKernel kernel) throws IOException{
+        for(long first = 0; first < rows; first += SEGMENT_ROWS){
+            int count = (int) Math.min(SEGMENT_ROWS, rows - first);
+            kernel.evaluateAll(mapScenarios(first, count),
+                               mapResults(first, count));
+        }
+        flags |= EVALUATED;
+        writeHeader();
+    }
+
+    public void close() throws IOException{
+        channel.close();
+    }
+
+    // Behavior: Writes the header at the start of the file.
+    // Exceptions: Throws an IOException if the header cannot be written.
+    // Returns: None
+    // Parameters: None
+
+    private void writeHeader() throws IOException{
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(HEADER_BYTES)
+              .putInt(ScenarioColumns.COLUMNS).putInt(ResultColumns.COLUMNS)
+              .putInt(flags).putLong(rows);
+        header.rewind();
+        while(header.hasRemaining()){
+            channel.write(header, header.position());
+        }
+    }
+
+    // Behavior: Finds where a column starts in the file.
+    // Exceptions: None
+    // Returns: The offset of the column in bytes.
+    // Parameters: column: The index of the column, the scenario columns
+    //                     coming before the result columns.
+
+    private long columnOffset(int column){
+        return HEADER_BYTES + column * rows * Double.BYTES;
+    }
+
+    // Behavior: Finds where the verdict bytes start in the file.
+    // Exceptions: None
+    // Returns: The offset of the verdicts in bytes.
+    // Parameters: None
+
+    private long verdictOffset(){
+        return columnOffset(COLUMNS) + rows;
+    }
+
+    // Behavior: Maps a region of the file as a little-endian buffer.
+    // Exceptions: Throws an IOException if the region cannot be mapped.
+    // Returns: The mapped buffer.
+    // Parameters: offset: The start of the region in bytes.
+    //             size: The size of the region in bytes.
+
+    private ByteBuffer map(long offset, long size) throws IOException{
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE
+                                            : FileChannel.MapMode.READ_ONLY;
+        return channel.map(mode, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
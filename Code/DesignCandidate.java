@@ -0,0 +1,92 @@
+// The DesignCandidate class is the immutable outcome of one design found by
+// DesignOptimizer: the material, the load capacity grade, the number of
+// beams and the proportions of their section, with the full result of the
+// building built that way, the mass and cost of its beams, and its margin,
+// the safety-reduced strength of the governing failure mode over the wind
+// load minus one, as in MaterialMargin.
+
+public final class DesignCandidate{
+    private final String material;
+    private final WindLoadingResult result;
+    private final double sectionRatio;
+    private final double mass;
+    private final double cost;
+    private final FailureMode governingMode;
+    private final double margin;
+
+    // Constructs a DesignCandidate object for the following design
+    // material: The name of the material.
+    // result: The result of the building built with the design, whose input
+    //         holds the load capacity.
+    // sectionRatio: The width of a beam over its height.
+    // mass: The mass of the beams in kg.
+    // cost: The cost of the beams.
+    // governingMode: The failure mode with the smallest margin.
+    // margin: The margin of that mode.
+
+    DesignCandidate(String material, WindLoadingResult result,
+                    double sectionRatio, double mass, double cost,
+                    FailureMode governingMode, double margin){
+        this.material = material;
+        this.result = result;
+        this.sectionRatio = sectionRatio;
+        this.mass = mass;
+        this.cost = cost;
+        this.governingMode = governingMode;
+        this.margin = margin;
+    }
+
+    public String getMaterial(){
+        return this.material;
+    }
+
+    public WindLoadingResult getResult(){
+        return this.result;
+    }
+
+    public double getLoadCapacity(){
+        return this.result.getInput().getLoadCapacity();
+    }
+
+    public int getBeamAmount(){
+        return this.result.getBeamAmount();
+    }
+
+    // Returns: The width of a beam over its height.
+
+    public double getSectionRatio(){
+        return this.sectionRatio;
+    }
+
+    // Returns: The mass of the beams in kg.
+
+    public double getMass(){
+        return this.mass;
+    }
+
+    public double getCost(){
+        return this.cost;
+    }
+
+    // Behavior: Returns the value of the design for an objective.
+    // Exceptions: None
+    // Returns: The mass or the cost of the beams.
+    // Parameters: objective: The objective.
+
+    public double get(DesignObjective objective){
+        return objective == DesignObjective.MASS ? this.mass : this.cost;
+    }
+
+    // Returns: The failure mode with the least strength to spare.
+
+    public FailureMode getGoverningMode(){
+        return this.governingMode;
+    }
+
+    // Returns: The safety-reduced strength of the governing mode over the
+    // wind load, minus one.
+
+    public double getMargin(){
+        return this.margin;
+    }
+}
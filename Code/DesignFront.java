@@ -0,0 +1,88 @@
+import java.util.*;
+
+// The DesignFront class is the immutable outcome of a DesignOptimizer run:
+// the Pareto front of the passing designs of a building, those which no
+// other passing design beats on both the objective and the margin, ordered
+// from the lowest objective, and therefore the smallest margin, to the
+// highest. It also holds how much of the design space the search had to
+// look at.
+
+public final class DesignFront{
+    private final DesignObjective objective;
+    private final double windLoad;
+    private final List<DesignCandidate> candidates;
+    private final long boxes;
+    private final long pruned;
+    private final long evaluated;
+
+    // Constructs a DesignFront object for the following search
+    // objective: The objective which was minimized.
+    // windLoad: The wind load on the building in N.
+    // candidates: The designs of the front, lowest objective first.
+    // boxes: The number of boxes of the design space the search visited.
+    // pruned: How many of those were discarded by their bounds.
+    // evaluated: The number of designs whose strengths were calculated.
+
+    DesignFront(DesignObjective objective, double windLoad,
+                List<DesignCandidate> candidates, long boxes, long pruned,
+                long evaluated){
+        this.objective = objective;
+        this.windLoad = windLoad;
+        this.candidates = Collections.unmodifiableList(
+                                new ArrayList<DesignCandidate>(candidates));
+        this.boxes = boxes;
+        this.pruned = pruned;
+        this.evaluated = evaluated;
+    }
+
+    public DesignObjective getObjective(){
+        return this.objective;
+    }
+
+    // Returns: The wind load on the building in N.
+
+    public double getWindLoad(){
+        return this.windLoad;
+    }
+
+    // Returns: The designs of the front, lowest objective first, in an
+    // unmodifiable list which is empty when no design passes.
+
+    public List<DesignCandidate> getCandidates(){
+        return this.candidates;
+    }
+
+    // Returns: The passing design with the lowest objective, or null if no
+    // design passes.
+
+    public DesignCandidate getCheapest(){
+        return candidates.isEmpty() ? null : candidates.get(0);
+    }
+
+    // Returns: The passing design with the largest margin, or null if no
+    // design passes.
+
+    public DesignCandidate getStrongest(){
+        return candidates.isEmpty() ? null
+                                    : candidates.get(candidates.size() - 1);
+    }
+
+    // Returns: The number of boxes of the design space the search visited.
+
+    public long getBoxes(){
+        return this.boxes;
+    }
+
+    // Returns: How many of the visited boxes were discarded by their bounds
+    // without evaluating a design in them.
+
+    public long getPruned(){
+        return this.pruned;
+    }
+
+    // Returns: The number of designs whose strengths were calculated.
+
+    public long getEvaluated(){
+        return this.evaluated;
+    }
+}
@@ -0,0 +1,43 @@
+// The DesignObjective enum represents what DesignOptimizer minimizes: the
+// mass of the beams of a design, or their cost, the mass times the price of
+// the material per kilogram, raised for higher load capacity grades.
+
+public enum DesignObjective{
+    MASS("mass", "kg"),
+    COST("cost", "");
+
+    private final String name;
+    private final String unit;
+
+    // Constructs a DesignObjective with the following name
+    // name: The name of the objective used on the command line and in
+    //       messages.
+    // unit: The unit the objective is printed in, or an empty string.
+
+    private DesignObjective(String name, String unit){
+        this.name = name;
+        this.unit = unit;
+    }
+
+    public String getName(){
+        return this.name;
+    }
+
+    public String getUnit(){
+        return this.unit;
+    }
+
+    // Behavior: Finds the objective with a name, ignoring case.
+    // Exceptions: None
+    // Returns: The objective, or null if there is none with that name.
+    // Parameters: name: The name of the objective.
+
+    public static DesignObjective of(String name){
+        for(DesignObjective objective : values()){
+            if(objective.name.equalsIgnoreCase(name)){
+                return objective;
+            }
+        }
+        return null;
+    }
+}
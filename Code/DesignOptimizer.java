@@ -0,0 +1,692 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// The DesignOptimizer class searches for the cheapest designs of a building
+// which pass every failure mode at its safety factor. Where
+// WindLoadingEvaluator derives the beams from fixed rules, a beam count of
+// the total load over the load capacity and a beam width of half the beam
+// height, a design here chooses the material, the load capacity grade
+// inside the range of the material, the number of beams and the width of a
+// beam over its height among the section ratios. The beam height stays the
+// height of the building over the number of beams, and the strengths are
+// calculated with the same operations as the evaluator, with the material
+// at the middle of its other ranges, like MaterialComparison.
+//
+// The beams must carry the total load, so a design needs a load capacity of
+// at least the total load over the number of beams. Each beam spans the
+// length of the building, so the mass of a design is the density of the
+// material times the number of beams times the beam section times the
+// length, and its cost is the mass times the price of the material per
+// kilogram, raised by up to the capacity premium for the highest load
+// capacity grade of the material. Only the cost depends on the grade, so
+// each number of beams takes the lowest grade which carries the load.
+//
+// The search is a parallel branch and bound over boxes of beam counts of
+// one material, split in halves across the common ForkJoinPool. More beams
+// are lighter but weaker: the flexural strength falls with the cube of the
+// number of beams and the buckling strength with its square, while a wider
+// section is heavier but only stronger in buckling. So the lowest objective
+// in a box is that of its most beams at the narrowest section, and its
+// largest margin that of its fewest beams at the widest, and a box is
+// discarded as soon as those bounds cannot pass or are beaten by a design
+// already on the front. The range of beam counts of each material is
+// bounded up front from the flexural and buckling strengths in closed form,
+// and a material whose tensile or shear strength fails, which no design
+// changes, is discarded whole. Boxes of at most LEAF_BEAMS beam counts are
+// evaluated at every section ratio.
+
+public final class DesignOptimizer{
+    public static final double MIN_SECTION_RATIO = 0.25;
+    public static final double MAX_SECTION_RATIO = 1.0;
+    public static final int SECTION_STEPS = 16;
+    public static final double CAPACITY_PREMIUM = 0.5;
+    public static final int MAX_BEAMS = 1 << 20;
+    public static final int LEAF_BEAMS = 64;
+
+    // The densities in kg/m^3 and prices per kg of the built-in materials,
+    // in the order of MaterialCatalog.MATERIALS.
+    private static final double[] DENSITIES = {500, 2400, 1900, 2600, 7850};
+    private static final double[] PRICES = {1.5, 0.12, 0.35, 0.4, 1.0};
+
+    // The relative slack of the bounds, so that rounding never discards a
+    // box holding a design of the front.
+    private static final double BOUND_SLACK = 1e-9;
+
+    private final String[] names;
+    private final double[] yieldStrengths;
+    private final double[] shearStrengths;
+    private final double[] elasticModuli;
+    private final double[] minimumCapacities;
+    private final double[] maximumCapacities;
+    private final double[] densities;
+    private final double[] prices;
+    private double[] sectionRatios;
+    private double capacityPremium;
+
+    // Constructs a DesignOptimizer object for every material of a catalog,
+    // in the order of getMaterialNames.
+    // catalog: The catalog whose data files are read.
+
+    public DesignOptimizer(MaterialCatalog catalog)
+                                            throws FileNotFoundException{
+        this(tables(catalog));
+    }
+
+    // Constructs a DesignOptimizer object for the following materials,
+    // each at the middle of its ranges but for its load capacity
+    // materials: The properties of each material, which must have a range
+    //            for the yield strength, average shear strength, elastic
+    //            modulus and load capacity.
+    // The built-in materials have a density and a price; any other material
+    // is left out of the search until setDensity and, for the cost, setPrice
+    // are called for it. The section ratios are SECTION_STEPS ratios from
+    // MIN_SECTION_RATIO to MAX_SECTION_RATIO.
+
+    public DesignOptimizer(List<PropertyTable> materials){
+        int count = materials.size();
+        this.names = new String[count];
+        this.yieldStrengths = new double[count];
+        this.shearStrengths = new double[count];
+        this.elasticModuli = new double[count];
+        this.minimumCapacities = new double[count];
+        this.maximumCapacities = new double[count];
+        this.densities = new double[count];
+        this.prices = new double[count];
+        for(int i = 0; i < count; i++){
+            PropertyTable table = materials.get(i);
+            this.names[i] = table.getName();
+            this.yieldStrengths[i] = middle(table, Property.YIELD_STRENGTH);
+            this.shearStrengths[i] =
+                    middle(table, Property.AVERAGE_SHEAR_STRENGTH);
+            this.elasticModuli[i] = middle(table, Property.ELASTIC_MODULUS);
+            PropertyRange capacity = range(table, Property.LOAD_CAPACITY);
+            this.minimumCapacities[i] = capacity.getMinimum();
+            this.maximumCapacities[i] = capacity.getMaximum();
+            this.densities[i] = Double.NaN;
+            this.prices[i] = Double.NaN;
+            for(int j = 0; j < MaterialCatalog.MATERIALS.length; j++){
+                if(MaterialCatalog.MATERIALS[j]
+                                  .equalsIgnoreCase(names[i])){
+                    this.densities[i] = DENSITIES[j];
+                    this.prices[i] = PRICES[j];
+                }
+            }
+        }
+        setSections(MIN_SECTION_RATIO, MAX_SECTION_RATIO, SECTION_STEPS);
+        this.capacityPremium = CAPACITY_PREMIUM;
+    }
+
+    // Returns: A new list of the names of the materials.
+
+    public List<String> getMaterials(){
+        return new ArrayList<String>(Arrays.asList(names));
+    }
+
+    // Behavior: Sets the density of a material.
+    // Exceptions: Throws an IllegalArgumentException if there is no
+    // material with that name or the density is not positive.
+    // Returns: None
+    // Parameters: material: The name of the material, ignoring case.
+    //             density: The density in kg/m^3.
+
+    public void setDensity(String material, double density){
+        if(!(density > 0)){
+            throw new IllegalArgumentException("The density of " + material
+                    + " must be positive.");
+        }
+        this.densities[indexOf(material)] = density;
+    }
+
+    // Behavior: Sets the price of a material.
+    // Exceptions: Throws an IllegalArgumentException if there is no
+    // material with that name or the price is negative.
+    // Returns: None
+    // Parameters: material: The name of the material, ignoring case.
+    //             price: The price per kg at the lowest load capacity
+    //                    grade.
+
+    public void setPrice(String material, double price){
+        if(!(price >= 0)){
+            throw new IllegalArgumentException("The price of " + material
+                    + " cannot be negative.");
+        }
+        this.prices[indexOf(material)] = price;
+    }
+
+    // Behavior: Sets how much more the highest load capacity grade of a
+    // material costs per kg than the lowest; the grades in between cost in
+    // proportion.
+    // Exceptions: Throws an IllegalArgumentException if the premium is
+    // negative.
+    // Returns: None
+    // Parameters: premium: The premium, such as 0.5 for half as much again.
+
+    public void setCapacityPremium(double premium){
+        if(!(premium >= 0)){
+            throw new IllegalArgumentException
+                    ("The capacity premium cannot be negative.");
+        }
+        this.capacityPremium = premium;
+    }
+
+    // Behavior: Sets the section ratios, the widths of a beam over its
+    // height, which a design can choose from.
+    // Exceptions: Throws an IllegalArgumentException if the ratios are not
+    // positive, the minimum is above the maximum or there are no steps.
+    // Returns: None
+    // Parameters: minimum, maximum: The narrowest and widest ratios.
+    //             steps: The number of evenly spaced ratios, or 1 for the
+    //                    minimum only.
+
+    public void setSections(double minimum, double maximum, int steps){
+        if(!(minimum > 0) || !(maximum >= minimum) || steps < 1){
+            throw new IllegalArgumentException("Invalid section ratios: "
+                    + minimum + " to " + maximum + " in " + steps + ".");
+        }
+        double[] ratios = new double[steps];
+        for(int i = 0; i < steps; i++){
+            ratios[i] = steps == 1 ? minimum
+                    : minimum + (maximum - minimum) * i / (steps - 1);
+        }
+        this.sectionRatios = ratios;
+    }
+
+    // Behavior: The optimize method finds the Pareto front of the passing
+    // designs of a building, minimizing the objective and maximizing the
+    // margin, over every material with a density and, for the cost, a
+    // price.
+    //
+    // Exceptions: None
+    //
+    // Returns: The front, which is empty when no design passes.
+    //
+    // Parameters: building: The building, wind and safety factor, whose
+    //                       material properties are ignored.
+    //             objective: What to minimize.
+
+    public DesignFront optimize(WindLoadingInput building,
+                                DesignObjective objective){
+        Search search = new Search(building, objective);
+        List<Box> roots = new ArrayList<Box>();
+        for(int i = 0; i < names.length; i++){
+            Box root = search.root(i);
+            if(root != null){
+                roots.add(root);
+            }
+        }
+        if(!roots.isEmpty()){
+            ForkJoinPool.commonPool().invoke(new RecursiveAction(){
+                protected void compute(){
+                    invokeAll(roots);
+                }
+            });
+        }
+        return new DesignFront(objective, search.windLoad,
+                search.front.candidates(), search.boxes.get(),
+                search.pruned.get(), search.evaluated.get());
+    }
+
+    // Behavior: Finds a material by its name, ignoring case.
+    // Exceptions: Throws an IllegalArgumentException if there is no such
+    // material.
+    // Returns: The index of the material.
+    // Parameters: material: The name of the material.
+
+    private int indexOf(String material){
+        for(int i = 0; i < names.length; i++){
+            if(names[i].equalsIgnoreCase(material)){
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown material: " + material);
+    }
+
+    // Behavior: Reads every material of a catalog.
+    // Exceptions: Throws a FileNotFoundException if a data file cannot be
+    // found.
+    // Returns: The properties of each material.
+    // Parameters: catalog: The catalog.
+
+    private static List<PropertyTable> tables(MaterialCatalog catalog)
+                                            throws FileNotFoundException{
+        List<PropertyTable> tables = new ArrayList<PropertyTable>();
+        for(String name : catalog.getMaterialNames()){
+            tables.add(catalog.getMaterial(name));
+        }
+        return tables;
+    }
+
+    // Behavior: Finds the range of a material property.
+    // Exceptions: Throws an IllegalArgumentException if the material has
+    // no range for the property.
+    // Returns: The range.
+    // Parameters: table: The properties of the material.
+    //             property: The property.
+
+    private static PropertyRange range(PropertyTable table,
+                                       Property property){
+        PropertyRange range = table.get(property);
+        if(range == null){
+            throw new IllegalArgumentException(table.getName() + " has no "
+                    + property.getName() + " range.");
+        }
+        return range;
+    }
+
+    // Behavior: Finds the middle of the range of a material property.
+    // Exceptions: Throws an IllegalArgumentException if the material has
+    // no range for the property.
+    // Returns: The middle of the range.
+    // Parameters: table: The properties of the material.
+    //             property: The property.
+
+    private static double middle(PropertyTable table, Property property){
+        PropertyRange range = range(table, property);
+        return (range.getMinimum() + range.getMaximum()) / 2;
+    }
+
+    // The Search class holds one run of optimize: the terms of the building
+    // which no design changes, the front found so far and the counts of the
+    // run.
+
+    private final class Search{
+        private final WindLoadingInput building;
+        private final DesignObjective objective;
+        private final double[] ratios;
+        private final double premium;
+        private final double dragCoefficient;
+        private final double windPressure;
+        private final double crossSectionalArea;
+        private final double windLoad;
+        private final int floors;
+        private final double floorArea;
+        private final double totalLoad;
+        private final double safetyFactor;
+        private final Front front;
+        private final AtomicLong boxes;
+        private final AtomicLong pruned;
+        private final AtomicLong evaluated;
+
+        // Constructs a Search object for the following building
+        // building: The building, wind and safety factor.
+        // objective: What to minimize.
+
+        Search(WindLoadingInput building, DesignObjective objective){
+            double height = building.getHeight();
+            double width = building.getWidth();
+            double length = building.getLength();
+            double windVelocity = building.getWindVelocity();
+
+            this.building = building;
+            this.objective = objective;
+            this.ratios = sectionRatios;
+            this.premium = capacityPremium;
+            this.dragCoefficient =
+                    WindLoadingEvaluator.ALPHA * (height / width)
+                    + WindLoadingEvaluator.BETA * (height / length);
+            this.windPressure = 0.5 * building.getAirDensity()
+                    * dragCoefficient * (windVelocity * windVelocity);
+            this.crossSectionalArea = height * width;
+            this.windLoad = windPressure * crossSectionalArea;
+            this.floors = (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+            this.floorArea = length * width;
+            this.totalLoad = floors * floorArea
+                                * WindLoadingEvaluator.FLOOR_LOAD;
+            this.safetyFactor = building.getSafetyFactor();
+            this.front = new Front();
+            this.boxes = new AtomicLong();
+            this.pruned = new AtomicLong();
+            this.evaluated = new AtomicLong();
+        }
+
+        // Behavior: The root method bounds the beam counts of a material in
+        // closed form. The tensile and shear strengths do not depend on the
+        // design, so the material is left out if either does not pass. At
+        // least the total load over the highest load capacity is needed to
+        // carry the load, and beyond the count at which the beam height
+        // leaves too little flexural strength, or too little buckling
+        // strength at the widest section, no design passes.
+        //
+        // Exceptions: None
+        //
+        // Returns: The box of every beam count worth searching, or null if
+        // the material has none or lacks a density or price.
+        //
+        // Parameters: material: The index of the material.
+
+        Box root(int material){
+            if(!(densities[material] > 0) || (objective == DesignObjective.COST
+                                    && !(prices[material] >= 0))){
+                return null;
+            }
+            if(!passes(yieldStrengths[material] * crossSectionalArea)
+                    || !passes(shearStrengths[material]
+                               * crossSectionalArea)){
+                return null;
+            }
+
+            double fewest = Math.ceil(totalLoad
+                                      / maximumCapacities[material]);
+            double flexuralHeight = Math.cbrt(12 * safetyFactor * windLoad
+                                              / yieldStrengths[material]);
+            double factor = WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR;
+            double bucklingHeight = Math.sqrt(12 * factor * factor
+                    * safetyFactor * windLoad
+                    / (WindLoadingEvaluator.PI_SQUARED
+                       * elasticModuli[material]
+                       * ratios[ratios.length - 1]));
+            double most = Math.floor(building.getHeight()
+                    / Math.max(flexuralHeight, bucklingHeight)) + 1;
+            int from = (int) Math.max(1, Math.min(fewest, MAX_BEAMS + 1.0));
+            int to = (int) Math.min(MAX_BEAMS, most);
+            return from <= to && to >= 1 ? new Box(this, material, from, to)
+                                         : null;
+        }
+
+        // Behavior: Checks whether a strength passes at the safety factor,
+        // like InverseSolver and Verdict.of.
+        // Exceptions: None
+        // Returns: True for a PASS.
+        // Parameters: strength: The strength in N.
+
+        boolean passes(double strength){
+            return !(windLoad >= strength / safetyFactor);
+        }
+
+        // Behavior: Finds the lowest load capacity grade of a material which
+        // carries the total load on a number of beams.
+        // Exceptions: None
+        // Returns: The load capacity, or NaN if even the highest grade does
+        // not carry the load.
+        // Parameters: material: The index of the material.
+        //             beams: The number of beams.
+
+        double capacity(int material, int beams){
+            double capacity = Math.max(minimumCapacities[material],
+                                       totalLoad / beams);
+            return capacity <= maximumCapacities[material] ? capacity
+                                                          : Double.NaN;
+        }
+
+        // Behavior: Calculates the mass of the beams of a design.
+        // Exceptions: None
+        // Returns: The mass in kg.
+        // Parameters: material: The index of the material.
+        //             beams: The number of beams.
+        //             beamHeight, beamWidth: The section of a beam.
+
+        double mass(int material, int beams, double beamHeight,
+                    double beamWidth){
+            return densities[material] * beams
+                    * (beamWidth * beamHeight * building.getLength());
+        }
+
+        // Behavior: Calculates the cost of the beams of a design.
+        // Exceptions: None
+        // Returns: The cost.
+        // Parameters: material: The index of the material.
+        //             mass: The mass of the beams in kg.
+        //             capacity: The load capacity grade.
+
+        double cost(int material, double mass, double capacity){
+            double minimum = minimumCapacities[material];
+            double span = maximumCapacities[material] - minimum;
+            double grade = span > 0 ? Math.min(1, Math.max(0,
+                                        (capacity - minimum) / span)) : 0;
+            return mass * prices[material] * (1 + premium * grade);
+        }
+
+        // Behavior: The lowerBound method finds the lowest objective any
+        // design of a box can reach: that of its most beams at the
+        // narrowest section, less the slack.
+        //
+        // Exceptions: None
+        //
+        // Returns: The bound.
+        //
+        // Parameters: box: The box.
+
+        double lowerBound(Box box){
+            double beamHeight = building.getHeight() / box.to;
+            double mass = mass(box.material, box.to, beamHeight,
+                               ratios[0] * beamHeight);
+            double value = objective == DesignObjective.MASS ? mass
+                    : cost(box.material, mass, Math.max(
+                            minimumCapacities[box.material],
+                            totalLoad / box.to));
+            return value * (1 - BOUND_SLACK);
+        }
+
+        // Behavior: The upperBound method finds the largest margin any
+        // design of a box can reach: the smallest margin of its fewest
+        // beams at the widest section, plus the slack.
+        //
+        // Exceptions: None
+        //
+        // Returns: The bound.
+        //
+        // Parameters: box: The box.
+
+        double upperBound(Box box){
+            int material = box.material;
+            double beamHeight = building.getHeight() / box.from;
+            double beamWidth = ratios[ratios.length - 1] * beamHeight;
+            double momentInertia = (beamWidth
+                    * (beamHeight * beamHeight * beamHeight)) / 12;
+            double effectiveLength =
+                    WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                    * beamHeight;
+            double margin = Math.min(
+                    Math.min(margin(yieldStrengths[material]
+                                    * crossSectionalArea),
+                             margin(shearStrengths[material]
+                                    * crossSectionalArea)),
+                    Math.min(margin((yieldStrengths[material]
+                                     * momentInertia) / beamWidth),
+                             margin((WindLoadingEvaluator.PI_SQUARED
+                                     * elasticModuli[material]
+                                     * momentInertia)
+                                    / (effectiveLength * effectiveLength))));
+            return margin + BOUND_SLACK * Math.abs(margin);
+        }
+
+        // Behavior: Calculates the margin of a strength, its safety-reduced
+        // strength over the wind load minus one, like MaterialComparison.
+        // Exceptions: None
+        // Returns: The margin.
+        // Parameters: strength: The strength in N.
+
+        double margin(double strength){
+            return (strength / safetyFactor) / windLoad - 1;
+        }
+
+        // Behavior: Calculates every design of a box at every section ratio
+        // and offers the passing ones to the front.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: box: The box.
+
+        void evaluate(Box box){
+            int material = box.material;
+            double height = building.getHeight();
+            double yieldStrength = yieldStrengths[material];
+            double tensileStrength = yieldStrength * crossSectionalArea;
+            double shearStrength = shearStrengths[material]
+                                    * crossSectionalArea;
+            long count = 0;
+            for(int beams = box.from; beams <= box.to; beams++){
+                double capacity = capacity(material, beams);
+                if(capacity != capacity){
+                    continue;
+                }
+                double beamHeight = height / beams;
+                for(double ratio : ratios){
+                    count++;
+                    double beamWidth = ratio * beamHeight;
+                    double momentInertia = (beamWidth
+                            * (beamHeight * beamHeight * beamHeight)) / 12;
+                    double effectiveLength =
+                            WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                            * beamHeight;
+                    double flexuralStrength = (yieldStrength * momentInertia)
+                                                / beamWidth;
+                    double bucklingStrength =
+                            (WindLoadingEvaluator.PI_SQUARED
+                                    * elasticModuli[material] * momentInertia)
+                            / (effectiveLength * effectiveLength);
+                    if(!passes(tensileStrength) || !passes(shearStrength)
+                            || !passes(flexuralStrength)
+                            || !passes(bucklingStrength)){
+                        continue;
+                    }
+
+                    double[] margins = {margin(tensileStrength),
+                            margin(shearStrength), margin(flexuralStrength),
+                            margin(bucklingStrength)};
+                    FailureMode governing = FailureMode.TENSILE;
+                    for(FailureMode mode : FailureMode.values()){
+                        if(margins[mode.ordinal()]
+                                < margins[governing.ordinal()]){
+                            governing = mode;
+                        }
+                    }
+                    double margin = margins[governing.ordinal()];
+                    double mass = mass(material, beams, beamHeight,
+                                       beamWidth);
+                    double cost = cost(material, mass, capacity);
+                    double value = objective == DesignObjective.MASS ? mass
+                                                                     : cost;
+                    if(!front.covers(value, margin)){
+                        WindLoadingInput input = new WindLoadingInput(height,
+                                building.getWidth(), building.getLength(),
+                                building.getWindVelocity(),
+                                building.getAirDensity(), safetyFactor,
+                                yieldStrength, shearStrengths[material],
+                                elasticModuli[material], capacity);
+                        WindLoadingResult result = new WindLoadingResult(
+                                input, dragCoefficient, windPressure,
+                                crossSectionalArea, windLoad, floors,
+                                floorArea, totalLoad, beams, beamHeight,
+                                beamWidth, momentInertia, tensileStrength,
+                                shearStrength, flexuralStrength,
+                                bucklingStrength);
+                        front.add(value, new DesignCandidate(names[material],
+                                result, ratio, mass, cost, governing,
+                                margin));
+                    }
+                }
+            }
+            evaluated.addAndGet(count);
+        }
+    }
+
+    // The Box class is the task of one box of the search: the beam counts
+    // from and to, inclusive, of one material at every section ratio. It
+    // discards itself if its bounds cannot beat the front, and otherwise
+    // evaluates itself or splits in halves, the half with more beams, and
+    // so the lighter designs, first.
+
+    private static final class Box extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int material;
+        private final int from;
+        private final int to;
+
+        // Constructs a Box object for the following beam counts
+        // search: The search the box belongs to.
+        // material: The index of the material.
+        // from, to: The fewest and most beams, inclusive.
+
+        Box(Search search, int material, int from, int to){
+            this.search = search;
+            this.material = material;
+            this.from = from;
+            this.to = to;
+        }
+
+        // Behavior: Bounds, evaluates or splits the box.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: None
+
+        protected void compute(){
+            search.boxes.incrementAndGet();
+            double upper = search.upperBound(this);
+            if(!(upper > 0)
+                    || search.front.covers(search.lowerBound(this), upper)){
+                search.pruned.incrementAndGet();
+                return;
+            }
+            if(to - from < LEAF_BEAMS){
+                search.evaluate(this);
+                return;
+            }
+            int middle = from + (to - from) / 2;
+            invokeAll(new Box(search, material, middle + 1, to),
+                      new Box(search, material, from, middle));
+        }
+    }
+
+    // The Front class is the Pareto front of a search, shared by its tasks.
+    // Its designs are kept by their objective, so their margins rise with
+    // it, and a design is beaten when the design with the highest objective
+    // not above its own has at least its margin.
+
+    private static final class Front{
+        private final TreeMap<Double, DesignCandidate> designs;
+
+        // Constructs an empty Front object.
+
+        Front(){
+            this.designs = new TreeMap<Double, DesignCandidate>();
+        }
+
+        // Behavior: Checks whether a design on the front is at least as
+        // good on both the objective and the margin.
+        // Exceptions: None
+        // Returns: True if such a design exists.
+        // Parameters: value: The objective.
+        //             margin: The margin.
+
+        synchronized boolean covers(double value, double margin){
+            Map.Entry<Double, DesignCandidate> entry =
+                                        designs.floorEntry(value);
+            return entry != null && entry.getValue().getMargin() >= margin;
+        }
+
+        // Behavior: The add method puts a design on the front unless a
+        // design on it is at least as good, and takes off the designs it
+        // beats.
+        //
+        // Exceptions: None
+        //
+        // Returns: None
+        //
+        // Parameters: value: The objective of the design.
+        //             design: The design.
+
+        synchronized void add(double value, DesignCandidate design){
+            double margin = design.getMargin();
+            if(covers(value, margin)){
+                return;
+            }
+            Map.Entry<Double, DesignCandidate> next =
+                                        designs.ceilingEntry(value);
+            while(next != null && next.getValue().getMargin() <= margin){
+                designs.remove(next.getKey());
+                next = designs.higherEntry(next.getKey());
+            }
+            designs.put(value, design);
+        }
+
+        // Returns: The designs of the front, lowest objective first.
+
+        synchronized List<DesignCandidate> candidates(){
+            return new ArrayList<DesignCandidate>(designs.values());
+        }
+    }
+}
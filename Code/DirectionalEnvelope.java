@@ -0,0 +1,108 @@
+// The DirectionalEnvelope class is the immutable outcome of one building in
+// a DirectionalSweep: the result of the building with the wind on its width
+// face, which holds the strengths of every failure mode, and the highest
+// wind load over the directions of the sweep, whose wind load from any
+// other direction is calculated when it is asked for. The strengths do not
+// change with the direction, so the direction with the highest wind load
+// governs every failure mode, and the envelope of the utilization of a
+// mode, its wind load over its strength, is the highest wind load over that
+// strength.
+
+public final class DirectionalEnvelope{
+    private final WindLoadingResult result;
+    private final DirectionalSweep sweep;
+    private final double pressure;
+    private final int governingDirection;
+    private final double windLoad;
+
+    // Constructs a DirectionalEnvelope object for the following building
+    // result: The result of the building at 0 degrees.
+    // sweep: The sweep which calculated it.
+    // pressure: Half the air density times the wind velocity squared times
+    //           the height squared.
+    // governingDirection: The direction with the highest wind load.
+    // windLoad: That wind load in N.
+
+    DirectionalEnvelope(WindLoadingResult result, DirectionalSweep sweep,
+                        double pressure, int governingDirection,
+                        double windLoad){
+        this.result = result;
+        this.sweep = sweep;
+        this.pressure = pressure;
+        this.governingDirection = governingDirection;
+        this.windLoad = windLoad;
+    }
+
+    // Returns: The result of the building with the wind on its width face,
+    // at 0 degrees.
+
+    public WindLoadingResult getResult(){
+        return this.result;
+    }
+
+    public int getDirections(){
+        return sweep.getDirections();
+    }
+
+    // Returns: The angle of a direction in degrees.
+
+    public double getAngle(int direction){
+        return sweep.getAngle(direction);
+    }
+
+    // Returns: The wind load from a direction in N.
+
+    public double getWindLoad(int direction){
+        return sweep.windLoad(direction, pressure, result.getInput());
+    }
+
+    // Returns: The direction with the highest wind load, the first of them
+    // if several tie.
+
+    public int getGoverningDirection(){
+        return this.governingDirection;
+    }
+
+    // Returns: The angle of the governing direction in degrees.
+
+    public double getGoverningAngle(){
+        return sweep.getAngle(governingDirection);
+    }
+
+    // Returns: The highest wind load over all directions in N.
+
+    public double getWindLoad(){
+        return this.windLoad;
+    }
+
+    // Behavior: Returns the utilization of a failure mode from one
+    // direction.
+    // Exceptions: None
+    // Returns: The wind load from the direction over the strength of the
+    //          mode, which is NaN if the strength is undefined.
+    // Parameters: mode: The failure mode.
+    //             direction: The direction.
+
+    public double getUtilization(FailureMode mode, int direction){
+        return getWindLoad(direction) / result.getStrength(mode);
+    }
+
+    // Returns: The envelope of the utilization of a failure mode, its
+    // highest wind load over its strength.
+
+    public double getUtilization(FailureMode mode){
+        return this.windLoad / result.getStrength(mode);
+    }
+
+    // Behavior: Returns the verdict of a failure mode under the highest
+    // wind load, which is the worst verdict of any direction since the
+    // verdict only worsens as the wind load grows.
+    // Exceptions: None
+    // Returns: The verdict of the mode in the governing direction.
+    // Parameters: mode: The failure mode.
+
+    public Verdict getVerdict(FailureMode mode){
+        return Verdict.of(getWindLoad(), result.getStrength(mode),
+                          result.getSafetyStrength(mode));
+    }
+}
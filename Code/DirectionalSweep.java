@@ -0,0 +1,169 @@
+import java.util.*;
+
+// The DirectionalSweep class evaluates a building for wind from many
+// directions and finds the envelope of its wind load. WindLoadingEvaluator
+// takes the wind to blow onto the width face. Wind from an angle to the
+// normal of that face sees a projected width of the width times the
+// absolute cosine of the angle plus the length times its absolute sine, and
+// a depth along the wind of the length times the absolute cosine plus the
+// width times the absolute sine. Both enter the drag coefficient and the
+// exposed area, and the wind velocity can also be scaled by a directional
+// factor for each of a number of equal sectors centred on 0 degrees, like
+// the directional factors of wind codes.
+//
+// The strengths belong to the structure, not to the wind, so they are
+// calculated once per building, by one evaluation at 0 degrees. Only the
+// wind load changes with the direction: with the drag coefficient times
+// the exposed area written out, it is half the air density times the
+// velocity squared times the height squared times the square of the
+// directional factor, times ALPHA plus BETA times the projected width over
+// the depth. The absolute cosines and sines and the squared factors are
+// calculated once per sweep. Within a quarter turn from a face the
+// projected width over the depth only rises or only falls with the angle,
+// so among directions of one quarter and one sector the highest wind load
+// is at the first or the last of them. The sweep keeps only those ends, at
+// most two per sector and quarter, and a building is only calculated at
+// them, so even 360 directions cost about as much as a handful of
+// evaluations; the envelope calculates any other direction when it is
+// asked for. The loads agree with those of WindLoadingEvaluator for the
+// rotated building to within rounding.
+//
+// DirectionalSweep holds no state beyond its directions, so one sweep can
+// be shared by many threads.
+
+public final class DirectionalSweep{
+    private final double[] angles;
+    private final double[] cosines;
+    private final double[] sines;
+    private final double[] squaredFactors;
+    private final int[] candidates;
+    private final WindLoadingEvaluator evaluator;
+
+    // Constructs a DirectionalSweep object for the following directions,
+    // without directional factors
+    // directions: The number of directions, equally spaced from 0 degrees.
+
+    public DirectionalSweep(int directions){
+        this(directions, new double[]{1});
+    }
+
+    // Constructs a DirectionalSweep object for the following directions
+    // directions: The number of directions, equally spaced from 0 degrees.
+    // factors: The factor the wind velocity is multiplied by in each of
+    //          factors.length equal sectors, the first centred on 0 degrees
+    //          and the others following anticlockwise.
+
+    public DirectionalSweep(int directions, double[] factors){
+        if(directions < 1){
+            throw new IllegalArgumentException
+                    ("A sweep needs at least one direction.");
+        }
+        if(factors.length < 1){
+            throw new IllegalArgumentException
+                    ("A sweep needs at least one directional factor.");
+        }
+        for(double factor : factors){
+            if(!(factor > 0 && factor < Double.POSITIVE_INFINITY)){
+                throw new IllegalArgumentException("Invalid directional "
+                        + "factor: " + factor);
+            }
+        }
+        this.angles = new double[directions];
+        this.cosines = new double[directions];
+        this.sines = new double[directions];
+        this.squaredFactors = new double[directions];
+        double sector = 360.0 / factors.length;
+        int[] runs = new int[directions];
+        for(int i = 0; i < directions; i++){
+            double angle = 360.0 * i / directions;
+            int index = (int) Math.round(angle / sector) % factors.length;
+            this.angles[i] = angle;
+            this.cosines[i] = Math.abs(Math.cos(Math.toRadians(angle)));
+            this.sines[i] = Math.abs(Math.sin(Math.toRadians(angle)));
+            this.squaredFactors[i] = factors[index] * factors[index];
+            runs[i] = index * 4 + (int)(angle / 90);
+        }
+
+        List<Integer> ends = new ArrayList<Integer>();
+        for(int i = 0; i < directions; i++){
+            if(i == 0 || i == directions - 1 || runs[i] != runs[i - 1]
+                                             || runs[i] != runs[i + 1]){
+                ends.add(i);
+            }
+        }
+        this.candidates = new int[ends.size()];
+        for(int i = 0; i < candidates.length; i++){
+            this.candidates[i] = ends.get(i);
+        }
+        this.evaluator = new WindLoadingEvaluator();
+    }
+
+    // Returns: The number of directions.
+
+    public int getDirections(){
+        return this.angles.length;
+    }
+
+    // Returns: The angle of a direction in degrees.
+
+    public double getAngle(int direction){
+        return this.angles[direction];
+    }
+
+    // Returns: The number of directions a building is calculated at, the
+    // first and last direction of every sector and quarter turn.
+
+    public int getCandidates(){
+        return this.candidates.length;
+    }
+
+    // Behavior: The evaluate method calculates the strengths of a building
+    // once and finds the direction with the highest wind load among the
+    // candidate directions.
+    //
+    // Exceptions: None
+    //
+    // Returns: The envelope of the building.
+    //
+    // Parameters: input: The building, wind and material, with the wind
+    //                    blowing onto the width face at 0 degrees.
+
+    public DirectionalEnvelope evaluate(WindLoadingInput input){
+        WindLoadingResult result = evaluator.evaluate(input);
+        double height = input.getHeight();
+        double velocity = input.getWindVelocity();
+        double pressure = 0.5 * input.getAirDensity() * (velocity * velocity)
+                            * (height * height);
+
+        int governing = candidates[0];
+        double highest = windLoad(governing, pressure, input);
+        for(int i = 1; i < candidates.length; i++){
+            double load = windLoad(candidates[i], pressure, input);
+            if(load > highest){
+                governing = candidates[i];
+                highest = load;
+            }
+        }
+        return new DirectionalEnvelope(result, this, pressure, governing,
+                                       highest);
+    }
+
+    // Behavior: Calculates the wind load on a building from one direction.
+    // Exceptions: None
+    // Returns: The wind load in N.
+    // Parameters: direction: The direction.
+    //             pressure: Half the air density times the wind velocity
+    //                       squared times the height squared.
+    //             input: The building.
+
+    double windLoad(int direction, double pressure, WindLoadingInput input){
+        double width = input.getWidth();
+        double length = input.getLength();
+        double projected = width * cosines[direction]
+                            + length * sines[direction];
+        double depth = length * cosines[direction] + width * sines[direction];
+        return pressure * squaredFactors[direction]
+                * (WindLoadingEvaluator.ALPHA
+                   + WindLoadingEvaluator.BETA * (projected / depth));
+    }
+}
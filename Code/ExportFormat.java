@@ -0,0 +1,37 @@
+// The ExportFormat enum represents the file formats ResultExporter writes:
+// comma separated values with a header row, one JSON object per line, or the
+// compact binary layout described in ResultExporter.
+
+public enum ExportFormat{
+    CSV("csv"),
+    JSONL("jsonl"),
+    BINARY("bin");
+
+    private final String extension;
+
+    // Constructs an ExportFormat with the following extension
+    // extension: The usual file name extension of the format.
+
+    private ExportFormat(String extension){
+        this.extension = extension;
+    }
+
+    public String getExtension(){
+        return this.extension;
+    }
+
+    // Behavior: Finds the format with a name or extension, ignoring case.
+    // Exceptions: None
+    // Returns: The format, or null if there is none with that name.
+    // Parameters: name: The name or extension of the format.
+
+    public static ExportFormat of(String name){
+        for(ExportFormat format : values()){
+            if(format.name().equalsIgnoreCase(name)
+                    || format.extension.equalsIgnoreCase(name)){
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,27 @@
+// The FailureMode enum represents the four strength parameters that the wind
+// load on a structure is compared against.
+
+public enum FailureMode{
+    TENSILE("tensile strength"),
+    SHEAR("shear strength"),
+    FLEXURAL("maximum flexural strength"),
+    BUCKLING("buckling strength");
+
+    private final String description;
+
+    // Constructs a FailureMode with the following description
+    // description: The name of the strength parameter used in messages.
+
+    private FailureMode(String description){
+        this.description = description;
+    }
+
+    // Behavior: Returns the name of the strength parameter used in messages.
+    // Exceptions: None
+    // Returns: The description of this failure mode.
+    // Parameters: None
+
+    public String getDescription(){
+        return this.description;
+    }
+}
@@ -0,0 +1,108 @@
+// The InverseSolution class is the immutable answer of InverseSolver for one
+// building and material: for every failure mode, the wind velocities at which
+// the verdict first gets worse, and for the structure as a whole, the smallest
+// load capacity and the largest safety factor with which it still passes.
+// A velocity or load capacity of positive infinity means the limit is never
+// reached, and NaN means no value passes.
+
+public final class InverseSolution{
+    private final WindLoadingResult result;
+    private final double[] marginalVelocities;
+    private final double[] failureVelocities;
+    private final double minimumLoadCapacity;
+    private final double maximumSafetyFactor;
+
+    // Constructs an InverseSolution object for the following limits
+    // result: The forward evaluation the limits were solved from.
+    // marginalVelocities: The velocity in m/s at which each failure mode,
+    //                     in the order of FailureMode, stops passing.
+    // failureVelocities: The velocity in m/s at which each mode fails.
+    // minimumLoadCapacity: The smallest load capacity which passes.
+    // maximumSafetyFactor: The largest safety factor which passes.
+
+    InverseSolution(WindLoadingResult result, double[] marginalVelocities,
+                    double[] failureVelocities, double minimumLoadCapacity,
+                    double maximumSafetyFactor){
+        this.result = result;
+        this.marginalVelocities = marginalVelocities;
+        this.failureVelocities = failureVelocities;
+        this.minimumLoadCapacity = minimumLoadCapacity;
+        this.maximumSafetyFactor = maximumSafetyFactor;
+    }
+
+    // Returns: The forward evaluation of the input the limits were solved
+    // from.
+
+    public WindLoadingResult getResult(){
+        return this.result;
+    }
+
+    // Behavior: Returns the lowest wind velocity at which a failure mode is
+    // no longer a PASS. Every lower velocity passes.
+    // Exceptions: None
+    // Returns: The velocity in m/s.
+    // Parameters: mode: The failure mode.
+
+    public double getMarginalVelocity(FailureMode mode){
+        return marginalVelocities[mode.ordinal()];
+    }
+
+    // Behavior: Returns the lowest wind velocity at which a failure mode
+    // fails. Every lower velocity passes or is marginal.
+    // Exceptions: None
+    // Returns: The velocity in m/s.
+    // Parameters: mode: The failure mode.
+
+    public double getFailureVelocity(FailureMode mode){
+        return failureVelocities[mode.ordinal()];
+    }
+
+    // Behavior: Returns the lowest wind velocity at which any failure mode
+    // is no longer a PASS.
+    // Exceptions: None
+    // Returns: The velocity in m/s.
+    // Parameters: None
+
+    public double getMarginalVelocity(){
+        return minimum(marginalVelocities);
+    }
+
+    // Behavior: Returns the lowest wind velocity at which any failure mode
+    // fails, which is the highest velocity the structure survives.
+    // Exceptions: None
+    // Returns: The velocity in m/s.
+    // Parameters: None
+
+    public double getFailureVelocity(){
+        return minimum(failureVelocities);
+    }
+
+    // Returns: The smallest load capacity with which every failure mode
+    // passes at the wind velocity of the input, 0 if any load capacity
+    // does, or NaN if none does.
+
+    public double getMinimumLoadCapacity(){
+        return this.minimumLoadCapacity;
+    }
+
+    // Returns: The largest safety factor with which every failure mode
+    // passes at the wind velocity of the input, positive infinity if every
+    // safety factor does, or NaN if none does.
+
+    public double getMaximumSafetyFactor(){
+        return this.maximumSafetyFactor;
+    }
+
+    // Behavior: Finds the smallest of the velocities of the four modes.
+    // Exceptions: None
+    // Returns: The smallest velocity.
+    // Parameters: velocities: The velocity of each failure mode.
+
+    private static double minimum(double[] velocities){
+        double minimum = Double.POSITIVE_INFINITY;
+        for(double velocity : velocities){
+            minimum = Math.min(minimum, velocity);
+        }
+        return minimum;
+    }
+}
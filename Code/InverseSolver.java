@@ -0,0 +1,349 @@
+import java.util.function.*;
+import java.util.stream.*;
+
+// The InverseSolver class answers the reverse of the questions answered by
+// WindLoadingEvaluator: given a building and material, at which wind velocity
+// does each failure mode stop passing or fail, and which load capacity and
+// safety factor still let the structure pass.
+//
+// The wind load is quadratic in the wind velocity and the strengths do not
+// depend on it, so the critical velocities follow from a square root. The
+// flexural and buckling strengths only depend on the load capacity through
+// the whole number of beams, so the largest number of beams which passes is
+// estimated from the closed forms of the strengths and then bracketed, and the
+// load capacity giving that number of beams follows from a division. The
+// safety factor only divides the strengths, so its limit is a division too.
+//
+// Every closed form is checked against the same floating point operations as
+// WindLoadingEvaluator, and moved by the few units in the last place needed,
+// so the answers are the exact boundaries of the forward model: evaluating at
+// the answer and at the next smaller or larger double gives different
+// verdicts. A solve costs one forward evaluation and a handful of arithmetic
+// checks, instead of the dozens of evaluations of a bisection.
+
+public class InverseSolver{
+
+    // How many units in the last place around a closed form are checked
+    // before falling back to a bisection.
+    private static final int WINDOW = 4;
+
+    private final WindLoadingEvaluator evaluator;
+
+    // Constructs an InverseSolver object. It holds no state, so one solver
+    // can be shared by many threads.
+
+    public InverseSolver(){
+        this.evaluator = new WindLoadingEvaluator();
+    }
+
+    // Behavior: The solve method finds the critical wind velocities of every
+    // failure mode, and the smallest load capacity and largest safety factor
+    // with which every failure mode passes at the wind velocity of the input.
+    //
+    // Exceptions: None
+    //
+    // Returns: The InverseSolution for the input.
+    //
+    // Parameters: input: The parameters of the structure, air and material.
+
+    public InverseSolution solve(WindLoadingInput input){
+        WindLoadingResult result = evaluator.evaluate(input);
+        double coefficient = 0.5 * input.getAirDensity()
+                                 * result.getDragCoefficient();
+        double area = result.getCrossSectionalArea();
+
+        FailureMode[] modes = FailureMode.values();
+        double[] marginal = new double[modes.length];
+        double[] failure = new double[modes.length];
+        for(FailureMode mode : modes){
+            double strength = result.getStrength(mode);
+            double safetyStrength = result.getSafetyStrength(mode);
+            // A verdict is only a PASS while the load stays below the
+            // safety strength, and only a FAIL once it reaches both.
+            marginal[mode.ordinal()] = criticalVelocity(coefficient, area,
+                                                        safetyStrength);
+            failure[mode.ordinal()] = criticalVelocity(coefficient, area,
+                                        Math.max(strength, safetyStrength));
+        }
+        return new InverseSolution(result, marginal, failure,
+                                   minimumLoadCapacity(input, result),
+                                   maximumSafetyFactor(input, result));
+    }
+
+    // Behavior: The solveAll method solves every scenario of a set of
+    // scenario columns in parallel.
+    //
+    // Exceptions: None
+    //
+    // Returns: The InverseSolution of each row, in the order of the rows.
+    //
+    // Parameters: scenarios: The scenarios to solve.
+
+    public InverseSolution[] solveAll(ScenarioColumns scenarios){
+        InverseSolution[] solutions =
+                            new InverseSolution[scenarios.getRows()];
+        IntStream.range(0, solutions.length).parallel().forEach(i ->
+                        solutions[i] = solve(scenarios.getInput(i)));
+        return solutions;
+    }
+
+    // Behavior: The solveAll method solves many scenarios in parallel.
+    //
+    // Exceptions: None
+    //
+    // Returns: The InverseSolution of each input, in the same order.
+    //
+    // Parameters: inputs: The scenarios to solve.
+
+    public InverseSolution[] solveAll(WindLoadingInput[] inputs){
+        InverseSolution[] solutions = new InverseSolution[inputs.length];
+        IntStream.range(0, inputs.length).parallel().forEach(i ->
+                        solutions[i] = solve(inputs[i]));
+        return solutions;
+    }
+
+    // Behavior: The criticalVelocity method finds the lowest wind velocity
+    // at which the wind load reaches a strength. The wind load is
+    // coefficient * v^2 * area, so the velocity is the square root of
+    // strength / (coefficient * area).
+    //
+    // Exceptions: None
+    //
+    // Returns: The velocity in m/s, or positive infinity if the wind load
+    // never reaches the strength.
+    //
+    // Parameters: coefficient: Half the air density times the drag
+    //                          coefficient.
+    //             area: The cross sectional area.
+    //             strength: The strength the wind load is compared to.
+
+    private static double criticalVelocity(double coefficient, double area,
+                                           double strength){
+        double guess = Math.sqrt(strength / (coefficient * area));
+        return smallest(velocity -> windLoad(coefficient, area, velocity)
+                                        >= strength, guess);
+    }
+
+    // Behavior: The minimumLoadCapacity method finds the smallest load
+    // capacity with which every failure mode passes. The tensile and shear
+    // strengths do not depend on it, and the flexural and buckling strengths
+    // fall as the number of beams grows, so the largest passing number of
+    // beams is found first and then the smallest load capacity which gives
+    // no more beams than that.
+    //
+    // Exceptions: None
+    //
+    // Returns: The load capacity, 0 if every load capacity passes, or NaN if
+    // none does.
+    //
+    // Parameters: input: The scenario being solved.
+    //             result: The forward evaluation of the scenario.
+
+    private static double minimumLoadCapacity(WindLoadingInput input,
+                                              WindLoadingResult result){
+        double windLoad = result.getWindLoad();
+        if(!passes(windLoad, result.getSafetyStrength(FailureMode.TENSILE))
+                || !passes(windLoad,
+                           result.getSafetyStrength(FailureMode.SHEAR))){
+            return Double.NaN;
+        }
+
+        IntPredicate beamsPass = beams -> beamsPass(input, windLoad, beams);
+        if(beamsPass.test(Integer.MAX_VALUE)){
+            return 0;
+        }
+        // flexural = Y h^3 / (12 n^3) and buckling = pi^2 E h^2 / (24 n^2).
+        double reduced = input.getSafetyFactor() * windLoad;
+        double height = input.getHeight();
+        double guess = Math.min(
+                Math.cbrt(input.getYieldStrength() * height * height * height
+                          / (12 * reduced)),
+                Math.sqrt(WindLoadingEvaluator.PI_SQUARED
+                          * input.getElasticModulus() * height * height
+                          / (24 * reduced)));
+        int beams = largestBeams(beamsPass, guess);
+
+        double totalLoad = result.getTotalLoad();
+        return smallest(capacity -> (int)(totalLoad / capacity) <= beams,
+                        totalLoad / (beams + 1.0));
+    }
+
+    // Behavior: The maximumSafetyFactor method finds the largest safety
+    // factor with which every failure mode passes, which is the smallest
+    // strength divided by the wind load. Lowering the safety factor can only
+    // make a verdict better, so this is the limit worth knowing.
+    //
+    // Exceptions: None
+    //
+    // Returns: The safety factor, positive infinity if every safety factor
+    // passes, or NaN if none does.
+    //
+    // Parameters: input: The scenario being solved.
+    //             result: The forward evaluation of the scenario.
+
+    private static double maximumSafetyFactor(WindLoadingInput input,
+                                              WindLoadingResult result){
+        double windLoad = result.getWindLoad();
+        FailureMode[] modes = FailureMode.values();
+        double[] strengths = new double[modes.length];
+        double guess = Double.POSITIVE_INFINITY;
+        for(FailureMode mode : modes){
+            strengths[mode.ordinal()] = result.getStrength(mode);
+            guess = Math.min(guess, strengths[mode.ordinal()] / windLoad);
+        }
+        double failing = smallest(factor -> {
+            for(double strength : strengths){
+                if(!passes(windLoad, strength / factor)){
+                    return true;
+                }
+            }
+            return false;
+        }, guess);
+        if(failing == Double.POSITIVE_INFINITY){
+            return failing;
+        }
+        return failing > 0 ? Math.nextDown(failing) : Double.NaN;
+    }
+
+    // Behavior: Checks whether the flexural and buckling strengths with a
+    // given number of beams pass, using the same operations as
+    // WindLoadingEvaluator.
+    // Exceptions: None
+    // Returns: True if both modes pass.
+    // Parameters: input: The scenario being solved.
+    //             windLoad: The wind load of the scenario.
+    //             beams: The number of beams.
+
+    private static boolean beamsPass(WindLoadingInput input, double windLoad,
+                                     int beams){
+        double beamHeight = input.getHeight() / beams;
+        double beamWidth = beamHeight / 2;
+        double momentInertia = (beamWidth
+                        * (beamHeight * beamHeight * beamHeight)) / 12;
+        double flexural = (input.getYieldStrength() * momentInertia)
+                                / beamWidth;
+        double effectiveLength =
+                WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR * beamHeight;
+        double buckling =
+                (WindLoadingEvaluator.PI_SQUARED * input.getElasticModulus()
+                 * momentInertia) / (effectiveLength * effectiveLength);
+        double safetyFactor = input.getSafetyFactor();
+        return passes(windLoad, flexural / safetyFactor)
+                && passes(windLoad, buckling / safetyFactor);
+    }
+
+    // Behavior: Checks whether a verdict is a PASS. Like Verdict.of, it is
+    // unless the wind load reaches the safety strength.
+    // Exceptions: None
+    // Returns: True for a PASS.
+    // Parameters: windLoad: The wind load.
+    //             safetyStrength: The strength divided by the safety factor.
+
+    private static boolean passes(double windLoad, double safetyStrength){
+        return !(windLoad >= safetyStrength);
+    }
+
+    // Behavior: Calculates the wind load with the same operations as
+    // WindLoadingEvaluator.
+    // Exceptions: None
+    // Returns: The wind load in N.
+    // Parameters: coefficient: Half the air density times the drag
+    //                          coefficient.
+    //             area: The cross sectional area.
+    //             velocity: The wind velocity in m/s.
+
+    private static double windLoad(double coefficient, double area,
+                                   double velocity){
+        return (coefficient * (velocity * velocity)) * area;
+    }
+
+    // Behavior: The largestBeams method finds the largest number of beams
+    // for which a test passes, given that it passes for every smaller
+    // number and fails for Integer.MAX_VALUE. The bracket starts around the
+    // guess and grows until it holds the boundary, and is then bisected.
+    //
+    // Exceptions: None
+    //
+    // Returns: The largest passing number of beams, at least 0.
+    //
+    // Parameters: test: The test, which passes up to some number of beams.
+    //             guess: An estimate of the answer.
+
+    private static int largestBeams(IntPredicate test, double guess){
+        long low = Math.max(0, Math.min((long) guess, Integer.MAX_VALUE - 1));
+        long high = low + 1;
+        long step = 1;
+        while(low > 0 && !test.test((int) low)){
+            high = low;
+            low = Math.max(0, low - step);
+            step *= 2;
+        }
+        step = 1;
+        while(test.test((int) high)){
+            low = high;
+            high = Math.min(Integer.MAX_VALUE, high + step);
+            step *= 2;
+        }
+        // low passes (or is 0) and high fails.
+        while(high - low > 1){
+            long middle = (low + high) >>> 1;
+            if(test.test((int) middle)){
+                low = middle;
+            }
+            else{
+                high = middle;
+            }
+        }
+        return (int) low;
+    }
+
+    // Behavior: The smallest method finds the smallest non-negative double
+    // for which a test is true, given that the test is false below some
+    // value and true from there on. The doubles within WINDOW units in the
+    // last place of the guess are checked first; otherwise the bit patterns
+    // of the doubles, which are ordered like the doubles, are bisected.
+    //
+    // Exceptions: None
+    //
+    // Returns: The smallest double passing the test, or positive infinity if
+    // no finite double passes.
+    //
+    // Parameters: test: The monotone test.
+    //             guess: An estimate of the answer.
+
+    private static double smallest(DoublePredicate test, double guess){
+        if(!test.test(Double.MAX_VALUE)){
+            return Double.POSITIVE_INFINITY;
+        }
+        if(test.test(0)){
+            return 0;
+        }
+        // The answer lies in (low, high].
+        long low = 0;
+        long high = Double.doubleToRawLongBits(Double.MAX_VALUE);
+        if(guess > 0 && guess < Double.MAX_VALUE){
+            long bits = Double.doubleToRawLongBits(guess);
+            long below = Math.max(low, bits - WINDOW);
+            long above = Math.min(high, bits + WINDOW);
+            if(test.test(Double.longBitsToDouble(above))){
+                high = above;
+                if(!test.test(Double.longBitsToDouble(below))){
+                    low = below;
+                }
+            }
+            else{
+                low = above;
+            }
+        }
+        while(high - low > 1){
+            long middle = (low + high) >>> 1;
+            if(test.test(Double.longBitsToDouble(middle))){
+                high = middle;
+            }
+            else{
+                low = middle;
+            }
+        }
+        return Double.longBitsToDouble(high);
+    }
+}
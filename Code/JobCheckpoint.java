@@ -0,0 +1,211 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+// The JobCheckpoint class holds the progress of a ResumableJob: which of its
+// numbered chunks are complete, the aggregates added up from them, and
+// whether the job has finished. It is written to disk as a small
+// little-endian file: the magic number, the version, the fingerprint of the
+// job as UTF-8, the number of chunks, the finished flag, the aggregates, the
+// bitmap of completed chunks and a CRC-32 of everything before it. The file
+// is written next to its target and moved over it atomically, so a crash
+// leaves either the old checkpoint or the new one, never a mix.
+
+public final class JobCheckpoint{
+    public static final int MAGIC = 0x4b434c57;
+    public static final int VERSION = 1;
+
+    private final String fingerprint;
+    private final int chunks;
+    private final BitSet completed;
+    private final long[] aggregates;
+    private boolean finished;
+
+    // Constructs a JobCheckpoint object for a job which has not started
+    // fingerprint: A description of the job and its parameters, which must
+    //              match for a checkpoint to be resumed.
+    // chunks: The number of chunks of the job.
+    // aggregates: The number of aggregates the chunks add up.
+
+    public JobCheckpoint(String fingerprint, int chunks, int aggregates){
+        this(fingerprint, chunks, new BitSet(chunks), new long[aggregates],
+             false);
+    }
+
+    // Constructs a JobCheckpoint object for the following progress
+    // fingerprint: The description of the job.
+    // chunks: The number of chunks of the job.
+    // completed: The completed chunks.
+    // aggregates: The aggregates of the completed chunks.
+    // finished: Whether the job has finished.
+
+    private JobCheckpoint(String fingerprint, int chunks, BitSet completed,
+                          long[] aggregates, boolean finished){
+        this.fingerprint = fingerprint;
+        this.chunks = chunks;
+        this.completed = completed;
+        this.aggregates = aggregates;
+        this.finished = finished;
+    }
+
+    public String getFingerprint(){
+        return this.fingerprint;
+    }
+
+    public int getChunks(){
+        return this.chunks;
+    }
+
+    // Returns: The number of completed chunks.
+
+    public int getCompletedChunks(){
+        return this.completed.cardinality();
+    }
+
+    // Returns: Whether a chunk is complete.
+
+    public boolean isCompleted(int chunk){
+        return this.completed.get(chunk);
+    }
+
+    // Returns: A copy of the aggregates of the completed chunks.
+
+    public long[] getAggregates(){
+        return this.aggregates.clone();
+    }
+
+    // Returns: Whether the job has finished, either because every chunk is
+    // complete or because it stopped early.
+
+    public boolean isFinished(){
+        return this.finished;
+    }
+
+    // Behavior: Records a completed chunk and adds its aggregates.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: chunk: The chunk.
+    //             values: The aggregates of the chunk.
+
+    void complete(int chunk, long[] values){
+        for(int i = 0; i < aggregates.length; i++){
+            aggregates[i] += values[i];
+        }
+        completed.set(chunk);
+    }
+
+    // Behavior: Marks the job as finished.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    void finish(){
+        this.finished = true;
+    }
+
+    // Behavior: The read method loads a checkpoint file.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read or is not
+    // a valid checkpoint.
+    //
+    // Returns: The checkpoint, or null if the file does not exist.
+    //
+    // Parameters: file: The checkpoint file.
+
+    public static JobCheckpoint read(File file) throws IOException{
+        if(!file.exists()){
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()))
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        try{
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), 0, buffer.limit() - Integer.BYTES);
+            if(buffer.getInt(buffer.limit() - Integer.BYTES)
+                    != (int) crc.getValue()){
+                throw new IOException(file + " is damaged.");
+            }
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION){
+                throw new IOException(file + " is not a job checkpoint.");
+            }
+            byte[] name = new byte[buffer.getInt()];
+            buffer.get(name);
+            int chunks = buffer.getInt();
+            boolean finished = buffer.get() != 0;
+            long[] aggregates = new long[buffer.getInt()];
+            for(int i = 0; i < aggregates.length; i++){
+                aggregates[i] = buffer.getLong();
+            }
+            long[] words = new long[buffer.getInt()];
+            for(int i = 0; i < words.length; i++){
+                words[i] = buffer.getLong();
+            }
+            return new JobCheckpoint(new String(name, StandardCharsets.UTF_8),
+                    chunks, BitSet.valueOf(words), aggregates, finished);
+        }
+        catch(BufferUnderflowException | IndexOutOfBoundsException
+              | NegativeArraySizeException e){
+            throw new IOException(file + " is damaged.");
+        }
+    }
+
+    // Behavior: The write method saves the checkpoint atomically: it is
+    // written and forced to a temporary file beside the target, which is
+    // then moved over the target.
+    //
+    // Exceptions: Throws an IOException if the file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: file: The checkpoint file.
+
+    public void write(File file) throws IOException{
+        byte[] name = fingerprint.getBytes(StandardCharsets.UTF_8);
+        long[] words = completed.toLongArray();
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES
+                + name.length + Integer.BYTES + 1 + Integer.BYTES
+                + (aggregates.length + words.length) * Long.BYTES
+                + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(name.length).put(name)
+              .putInt(chunks).put((byte) (finished ? 1 : 0))
+              .putInt(aggregates.length);
+        for(long aggregate : aggregates){
+            buffer.putLong(aggregate);
+        }
+        buffer.putInt(words.length);
+        for(long word : words){
+            buffer.putLong(word);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Path target = file.getAbsoluteFile().toPath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try{
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        finally{
+            channel.close();
+        }
+        try{
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING,
+                       StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch(AtomicMoveNotSupportedException e){
+            Files.move(temporary, target,
+                       StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+import java.util.*;
+
+// The Json class reads and writes the small JSON documents exchanged by
+// WindLoadingService. Objects are read into LinkedHashMaps, arrays into
+// ArrayLists, numbers into Doubles, and strings, booleans and null into their
+// Java equivalents. Numbers which are not finite are written as null, since
+// JSON has no way to write them. Arrays and objects may only be nested
+// MAXIMUM_DEPTH deep, since each level is read by a recursive call and a
+// document of nothing but brackets would otherwise overflow the stack.
+
+final class Json{
+    static final int MAXIMUM_DEPTH = 64;
+
+    private final String text;
+    private int position;
+    private int depth;
+
+    // Constructs a Json object reading the following text
+    // text: The JSON document.
+
+    private Json(String text){
+        this.text = text;
+    }
+
+    // Behavior: The parse method reads a JSON document.
+    //
+    // Exceptions: Throws an IllegalArgumentException naming the position of
+    // the problem if the text is not valid JSON.
+    //
+    // Returns: The value of the document.
+    //
+    // Parameters: text: The JSON document.
+
+    static Object parse(String text){
+        Json json = new Json(text);
+        Object value = json.readValue();
+        json.skipSpace();
+        if(json.position < text.length()){
+            throw json.error("Unexpected text after the document");
+        }
+        return value;
+    }
+
+    // Behavior: Writes a string as a JSON string, with quotes and escapes.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: output: The builder to write to.
+    //             value: The string to write.
+
+    static void writeString(StringBuilder output, String value){
+        output.append('"');
+        for(int i = 0; i < value.length(); i++){
+            char c = value.charAt(i);
+            if(c == '"' || c == '\\'){
+                output.append('\\').append(c);
+            }
+            else if(c < 0x20){
+                output.append(String.format("\\u%04x", (int) c));
+            }
+            else{
+                output.append(c);
+            }
+        }
+        output.append('"');
+    }
+
+    // Behavior: Writes a number as a JSON number, or null if it is not
+    // finite.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: output: The builder to write to.
+    //             value: The number to write.
+
+    static void writeNumber(StringBuilder output, double value){
+        if(Double.isNaN(value) || Double.isInfinite(value)){
+            output.append("null");
+        }
+        else{
+            output.append(value);
+        }
+    }
+
+    // Behavior: Reads the value at the current position.
+    // Exceptions: Throws an IllegalArgumentException if there is none, or if
+    // it would nest arrays and objects more than MAXIMUM_DEPTH deep.
+    // Returns: The value.
+    // Parameters: None
+
+    private Object readValue(){
+        skipSpace();
+        if(position >= text.length()){
+            throw error("Unexpected end of the document");
+        }
+        char c = text.charAt(position);
+        if(c == '{' || c == '['){
+            if(depth == MAXIMUM_DEPTH){
+                throw error("Arrays and objects are nested more than "
+                            + MAXIMUM_DEPTH + " deep");
+            }
+            depth++;
+            Object value = c == '{' ? readObject() : readArray();
+            depth--;
+            return value;
+        }
+        if(c == '"'){
+            return readString();
+        }
+        if(text.startsWith("true", position)){
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if(text.startsWith("false", position)){
+            position += 5;
+            return Boolean.FALSE;
+        }
+        if(text.startsWith("null", position)){
+            position += 4;
+            return null;
+        }
+        return readNumber();
+    }
+
+    // Behavior: Reads an object starting at the current position.
+    // Exceptions: Throws an IllegalArgumentException if it is malformed.
+    // Returns: The members of the object, in order.
+    // Parameters: None
+
+    private Map<String, Object> readObject(){
+        Map<String, Object> object = new LinkedHashMap<String, Object>();
+        position++;
+        skipSpace();
+        if(position < text.length() && text.charAt(position) == '}'){
+            position++;
+            return object;
+        }
+        while(true){
+            skipSpace();
+            if(position >= text.length() || text.charAt(position) != '"'){
+                throw error("Expected a member name");
+            }
+            String name = readString();
+            expect(':');
+            object.put(name, readValue());
+            skipSpace();
+            if(position < text.length() && text.charAt(position) == ','){
+                position++;
+            }
+            else{
+                expect('}');
+                return object;
+            }
+        }
+    }
+
+    // Behavior: Reads an array starting at the current position.
+    // Exceptions: Throws an IllegalArgumentException if it is malformed.
+    // Returns: The elements of the array.
+    // Parameters: None
+
+    private List<Object> readArray(){
+        List<Object> array = new ArrayList<Object>();
+        position++;
+        skipSpace();
+        if(position < text.length() && text.charAt(position) == ']'){
+            position++;
+            return array;
+        }
+        while(true){
+            array.add(readValue());
+            skipSpace();
+            if(position < text.length() && text.charAt(position) == ','){
+                position++;
+            }
+            else{
+                expect(']');
+                return array;
+            }
+        }
+    }
+
+    // Behavior: Reads a string starting at the current position.
+    // Exceptions: Throws an IllegalArgumentException if it is malformed.
+    // Returns: The string without quotes and escapes.
+    // Parameters: None
+
+    private String readString(){
+        StringBuilder value = new StringBuilder();
+        position++;
+        while(position < text.length()){
+            char c = text.charAt(position++);
+            if(c == '"'){
+                return value.toString();
+            }
+            if(c != '\\'){
+                value.append(c);
+            }
+            else if(position >= text.length()){
+                break;
+            }
+            else{
+                char escaped = text.charAt(position++);
+                switch(escaped){
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if(position + 4 > text.length()){
+                            throw error("Unfinished escape");
+                        }
+                        try{
+                            value.append((char) Integer.parseInt
+                                    (text.substring(position, position + 4),
+                                     16));
+                        }
+                        catch(NumberFormatException e){
+                            throw error("Invalid escape");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+        }
+        throw error("Unfinished string");
+    }
+
+    // Behavior: Reads a number starting at the current position.
+    // Exceptions: Throws an IllegalArgumentException if there is no number.
+    // Returns: The number.
+    // Parameters: None
+
+    private Double readNumber(){
+        int start = position;
+        while(position < text.length()
+                && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0){
+            position++;
+        }
+        try{
+            return Double.valueOf(text.substring(start, position));
+        }
+        catch(NumberFormatException e){
+            position = start;
+            throw error("Expected a value");
+        }
+    }
+
+    // Behavior: Skips white space and then reads the given character.
+    // Exceptions: Throws an IllegalArgumentException if it is not there.
+    // Returns: None
+    // Parameters: c: The expected character.
+
+    private void expect(char c){
+        skipSpace();
+        if(position >= text.length() || text.charAt(position) != c){
+            throw error("Expected '" + c + "'");
+        }
+        position++;
+    }
+
+    // Behavior: Moves the position past any white space.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    private void skipSpace(){
+        while(position < text.length()
+                && Character.isWhitespace(text.charAt(position))){
+            position++;
+        }
+    }
+
+    // Behavior: Creates the exception for a problem at the current position.
+    // Exceptions: None
+    // Returns: The exception to throw.
+    // Parameters: message: The problem.
+
+    private IllegalArgumentException error(String message){
+        return new IllegalArgumentException(message + " at position "
+                                            + position + ".");
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.concurrent.atomic.*;
+
+// The LatencyHistogram class counts durations in nanoseconds into buckets
+// whose width grows with the duration, in the manner of HdrHistogram: the
+// durations below SUB_BUCKETS each have their own bucket, and every power of
+// two above is split into SUB_BUCKETS buckets, so a duration is known to
+// within about three percent from a nanosecond to well past an hour with a
+// couple of thousand buckets. Recording is one atomic increment of a bucket
+// and of the total, without locks, so many threads can record at once and a
+// reader never holds a recorder up.
+
+public final class LatencyHistogram{
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_BUCKETS
+                                        + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong total;
+    private final AtomicLong maximum;
+
+    // Constructs an empty LatencyHistogram object.
+
+    public LatencyHistogram(){
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.total = new AtomicLong();
+        this.maximum = new AtomicLong();
+    }
+
+    // Behavior: Counts one duration. Negative durations count as 0.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: nanos: The duration in nanoseconds.
+
+    public void record(long nanos){
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        total.addAndGet(value);
+        long largest = maximum.get();
+        while(value > largest && !maximum.compareAndSet(largest, value)){
+            largest = maximum.get();
+        }
+    }
+
+    // Behavior: Adds up the counts of every bucket. While durations are
+    // being recorded the answer is the count at some moment during the
+    // call.
+    // Exceptions: None
+    // Returns: The number of durations recorded.
+    // Parameters: None
+
+    public long getCount(){
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++){
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    // Returns: The mean duration in nanoseconds, or NaN if there is none.
+
+    public double getMean(){
+        long count = getCount();
+        return count == 0 ? Double.NaN : (double) total.get() / count;
+    }
+
+    // Returns: The longest duration recorded in nanoseconds.
+
+    public long getMaximum(){
+        return this.maximum.get();
+    }
+
+    // Behavior: The getPercentile method finds the duration below which a
+    // given share of the recorded durations lie, as the upper end of the
+    // bucket holding it, so it may be up to about three percent too high.
+    //
+    // Exceptions: None
+    //
+    // Returns: The duration in nanoseconds, or 0 if there is none.
+    //
+    // Parameters: percentile: The share, from 0 to 100.
+
+    public long getPercentile(double percentile){
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++){
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        if(count == 0){
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++){
+            seen += copy[i];
+            if(seen >= rank){
+                return Math.min(upperBound(i), getMaximum());
+            }
+        }
+        return getMaximum();
+    }
+
+    // Behavior: Empties the histogram. Durations recorded during the call
+    // may be kept or lost.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    public void reset(){
+        for(int i = 0; i < BUCKETS; i++){
+            counts.set(i, 0);
+        }
+        total.set(0);
+        maximum.set(0);
+    }
+
+    // Behavior: Finds the bucket of a duration: the duration itself below
+    // SUB_BUCKETS, and otherwise its power of two and the SUB_BITS bits
+    // after its leading one.
+    // Exceptions: None
+    // Returns: The index of the bucket.
+    // Parameters: value: The duration, at least 0.
+
+    private static int bucket(long value){
+        if(value < SUB_BUCKETS){
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int mantissa = (int)(value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + mantissa;
+    }
+
+    // Behavior: Finds the largest duration which falls in a bucket.
+    // Exceptions: None
+    // Returns: The duration in nanoseconds.
+    // Parameters: bucket: The index of the bucket.
+
+    private static long upperBound(int bucket){
+        if(bucket < SUB_BUCKETS){
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
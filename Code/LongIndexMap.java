@@ -0,0 +1,129 @@
+import java.util.*;
+
+// The LongIndexMap class numbers long keys, giving each distinct key a dense
+// index from 0 in the order the keys are first added. It is an open
+// addressing hash table with linear probing over a power-of-two array of
+// primitive keys, so looking up a key neither boxes it nor follows a
+// pointer, which makes it suited to group-bys over millions of rows. Keys
+// are never removed.
+
+public final class LongIndexMap{
+    // The table is grown once it is more than three quarters full.
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    private long[] keys;
+    private int[] slots;
+    private long[] order;
+    private int size;
+
+    // Constructs a LongIndexMap object for the following number of keys
+    // expected: How many keys the map is expected to hold; it grows past
+    //           that when needed.
+
+    public LongIndexMap(int expected){
+        int capacity = Integer.highestOneBit(
+                Math.max(2, expected * LOAD_DENOMINATOR / LOAD_NUMERATOR)
+                - 1) << 1;
+        this.keys = new long[capacity];
+        this.slots = new int[capacity];
+        this.order = new long[Math.max(1, expected)];
+    }
+
+    // Returns: The number of distinct keys.
+
+    public int size(){
+        return this.size;
+    }
+
+    // Behavior: Finds the index of a key.
+    // Exceptions: None
+    // Returns: The index of the key, or -1 if it has not been added.
+    // Parameters: key: The key.
+
+    public int indexOf(long key){
+        int mask = keys.length - 1;
+        for(int slot = hash(key) & mask; slots[slot] != 0;
+                                        slot = (slot + 1) & mask){
+            if(keys[slot] == key){
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    // Behavior: The add method finds the index of a key, giving it the next
+    // index if it has not been added yet.
+    //
+    // Exceptions: None
+    //
+    // Returns: The index of the key.
+    //
+    // Parameters: key: The key.
+
+    public int add(long key){
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for(; slots[slot] != 0; slot = (slot + 1) & mask){
+            if(keys[slot] == key){
+                return slots[slot] - 1;
+            }
+        }
+        if(size == order.length){
+            order = Arrays.copyOf(order, size * 2);
+        }
+        order[size] = key;
+        keys[slot] = key;
+        slots[slot] = ++size;
+        if(size * LOAD_DENOMINATOR > keys.length * LOAD_NUMERATOR){
+            grow();
+        }
+        return size - 1;
+    }
+
+    // Behavior: Returns the key with an index.
+    // Exceptions: Throws an IndexOutOfBoundsException if there is no such
+    // index.
+    // Returns: The key.
+    // Parameters: index: The index, from 0 to size() - 1.
+
+    public long getKey(int index){
+        Objects.checkIndex(index, size);
+        return order[index];
+    }
+
+    // Behavior: Doubles the table and inserts every key again.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    private void grow(){
+        long[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new long[oldKeys.length * 2];
+        slots = new int[oldSlots.length * 2];
+        int mask = keys.length - 1;
+        for(int i = 0; i < oldKeys.length; i++){
+            if(oldSlots[i] != 0){
+                int slot = hash(oldKeys[i]) & mask;
+                while(slots[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                slots[slot] = oldSlots[i];
+            }
+        }
+    }
+
+    // Behavior: Spreads the bits of a key, so keys differing only in their
+    // high bits, such as a region in the high half and a material in the low
+    // half, land in different slots.
+    // Exceptions: None
+    // Returns: The hash of the key.
+    // Parameters: key: The key.
+
+    private static int hash(long key){
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
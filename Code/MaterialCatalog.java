@@ -0,0 +1,295 @@
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The MaterialCatalog class gives access to the building and material data
+// files of a directory. Each file is parsed once into a PropertyTable and
+// kept until the modification time or size of the file changes, so looking up
+// a material costs one map lookup and one check of the file instead of
+// reading the file again. Besides the five built-in MATERIALS, every other
+// "<Name>Data.txt" file in the directory is a material, and further materials
+// can be added with addMaterial. A MaterialCatalog can be shared by many
+// threads.
+
+public final class MaterialCatalog{
+    public static final String BUILDING_FILE = "BuildingParameters.txt";
+    public static final String DATA_SUFFIX = "Data.txt";
+    public static final String[] MATERIALS = {"Wood", "Concrete", "Brick",
+                                              "Stone", "Steel"};
+
+    private final File directory;
+    private final ConcurrentMap<String, Entry> entries;
+    private final ConcurrentMap<String, PropertyTable> added;
+    private final ConcurrentMap<String, Joined> joins;
+    private volatile Listing listing;
+
+    // Constructs a MaterialCatalog object for the following directory
+    // directory: The directory holding the data files.
+
+    public MaterialCatalog(File directory){
+        this.directory = directory;
+        this.entries = new ConcurrentHashMap<String, Entry>();
+        this.added = new ConcurrentHashMap<String, PropertyTable>();
+        this.joins = new ConcurrentHashMap<String, Joined>();
+    }
+
+    public File getDirectory(){
+        return this.directory;
+    }
+
+    // Behavior: Returns the building parameters, reading BUILDING_FILE if it
+    // has not been read yet or has changed since.
+    // Exceptions: Throws a FileNotFoundException if the file is not found.
+    // Returns: The building parameters.
+    // Parameters: None
+
+    public PropertyTable getBuilding() throws FileNotFoundException{
+        return load(BUILDING_FILE, "Building",
+                    new File(directory, BUILDING_FILE)).table;
+    }
+
+    // Behavior: The getMaterial method returns the properties of a material,
+    // ignoring the case of its name. Materials added with addMaterial come
+    // first; otherwise the data file of the material is read if it has not
+    // been read yet or has changed since.
+    //
+    // Exceptions: Throws a FileNotFoundException if the data file of the
+    // material is not found.
+    //
+    // Returns: The properties of the material.
+    //
+    // Parameters: name: The name of the material.
+
+    public PropertyTable getMaterial(String name)
+                                            throws FileNotFoundException{
+        String key = name.toLowerCase(Locale.ROOT);
+        PropertyTable table = added.get(key);
+        if(table != null){
+            return table;
+        }
+        return load(key, displayName(name), materialFile(name)).table;
+    }
+
+    // Behavior: The getRanges method returns the building parameters joined
+    // with the properties of a material, which are all the ranges a scenario
+    // of that material is checked against. The joined table is cached along
+    // with the tables it was made from.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file is not found.
+    //
+    // Returns: The building and material ranges, named after the material.
+    //
+    // Parameters: name: The name of the material.
+
+    public PropertyTable getRanges(String name) throws FileNotFoundException{
+        PropertyTable building = getBuilding();
+        PropertyTable material = getMaterial(name);
+        String key = name.toLowerCase(Locale.ROOT);
+        Joined joined = joins.get(key);
+        if(joined == null || joined.building != building
+                          || joined.material != material){
+            joined = new Joined(building, material,
+                                PropertyTable.join(building, material));
+            joins.put(key, joined);
+        }
+        return joined.table;
+    }
+
+    // Behavior: Checks whether a material is known to the catalog.
+    // Exceptions: None
+    // Returns: True if the material was added or has a data file.
+    // Parameters: name: The name of the material.
+
+    public boolean hasMaterial(String name){
+        return added.containsKey(name.toLowerCase(Locale.ROOT))
+                || materialFile(name).isFile();
+    }
+
+    // Behavior: The getMaterialNames method lists the materials of the
+    // catalog: the built-in MATERIALS first, in their usual order, then the
+    // other data files of the directory by name, then the added materials by
+    // name. The listing of the directory is cached until the directory
+    // changes.
+    //
+    // Exceptions: None
+    //
+    // Returns: A new list of the material names.
+    //
+    // Parameters: None
+
+    public List<String> getMaterialNames(){
+        List<String> names = new ArrayList<String>(Arrays.asList(MATERIALS));
+        Set<String> known = new HashSet<String>();
+        for(String name : MATERIALS){
+            known.add(name.toLowerCase(Locale.ROOT));
+        }
+        for(String name : listDirectory()){
+            if(known.add(name.toLowerCase(Locale.ROOT))){
+                names.add(name);
+            }
+        }
+        List<String> extra = new ArrayList<String>();
+        for(PropertyTable table : added.values()){
+            if(known.add(table.getName().toLowerCase(Locale.ROOT))){
+                extra.add(table.getName());
+            }
+        }
+        Collections.sort(extra);
+        names.addAll(extra);
+        return names;
+    }
+
+    // Behavior: Adds a material whose properties are read from a file which
+    // need not be in the directory of the catalog. The file is read once,
+    // when the material is added.
+    // Exceptions: Throws a FileNotFoundException if the file is not found.
+    // Returns: The properties of the material.
+    // Parameters: name: The name of the material.
+    //             file: The data file of the material.
+
+    public PropertyTable addMaterial(String name, File file)
+                                            throws FileNotFoundException{
+        PropertyTable table = PropertyTable.read(name, file);
+        addMaterial(table);
+        return table;
+    }
+
+    // Behavior: Adds a material, or replaces a material with the same name,
+    // ignoring case. The name of the table is the name of the material.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: table: The properties of the material.
+
+    public void addMaterial(PropertyTable table){
+        added.put(table.getName().toLowerCase(Locale.ROOT), table);
+    }
+
+    // Behavior: The load method returns the cached entry of a data file, and
+    // reads the file again when it has no entry or the modification time or
+    // size of the file no longer match the entry.
+    //
+    // Exceptions: Throws a FileNotFoundException if the file is not found.
+    //
+    // Returns: The entry of the file.
+    //
+    // Parameters: key: The key of the entry.
+    //             name: The name of the table read from the file.
+    //             file: The data file.
+
+    private Entry load(String key, String name, File file)
+                                            throws FileNotFoundException{
+        long modified = file.lastModified();
+        long size = file.length();
+        Entry entry = entries.get(key);
+        if(entry != null && entry.modified == modified && entry.size == size
+                         && modified != 0){
+            return entry;
+        }
+        // Two threads may both read a changed file; either entry is correct.
+        entry = new Entry(modified, size, PropertyTable.read(name, file));
+        entries.put(key, entry);
+        return entry;
+    }
+
+    // Behavior: Lists the names of the materials with a data file in the
+    // directory, reusing the last listing until the directory changes.
+    // Exceptions: None
+    // Returns: The names of the materials, sorted.
+    // Parameters: None
+
+    private List<String> listDirectory(){
+        long modified = directory.lastModified();
+        Listing current = listing;
+        if(current != null && current.modified == modified && modified != 0){
+            return current.names;
+        }
+        List<String> names = new ArrayList<String>();
+        String[] files = directory.list();
+        if(files != null){
+            for(String file : files){
+                if(file.endsWith(DATA_SUFFIX)
+                        && file.length() > DATA_SUFFIX.length()){
+                    names.add(file.substring(0,
+                                    file.length() - DATA_SUFFIX.length()));
+                }
+            }
+        }
+        Collections.sort(names);
+        listing = new Listing(modified, names);
+        return names;
+    }
+
+    // Behavior: Finds the data file of a material, using the spelling of the
+    // built-in material names or of the data files in the directory when the
+    // name is one of them.
+    // Exceptions: None
+    // Returns: The data file, which may not exist.
+    // Parameters: name: The name of the material.
+
+    private File materialFile(String name){
+        return new File(directory, displayName(name) + DATA_SUFFIX);
+    }
+
+    // Behavior: Returns the spelling of a material name used by MATERIALS or
+    // by the data files in the directory, or the name itself.
+    // Exceptions: None
+    // Returns: The name of the material.
+    // Parameters: name: The name of the material.
+
+    private String displayName(String name){
+        for(String material : MATERIALS){
+            if(material.equalsIgnoreCase(name)){
+                return material;
+            }
+        }
+        for(String material : listDirectory()){
+            if(material.equalsIgnoreCase(name)){
+                return material;
+            }
+        }
+        return name;
+    }
+
+    // The Entry class holds a parsed data file and the modification time and
+    // size it was read at.
+
+    private static final class Entry{
+        private final long modified;
+        private final long size;
+        private final PropertyTable table;
+
+        private Entry(long modified, long size, PropertyTable table){
+            this.modified = modified;
+            this.size = size;
+            this.table = table;
+        }
+    }
+
+    // The Joined class holds a joined table and the tables it was made from.
+
+    private static final class Joined{
+        private final PropertyTable building;
+        private final PropertyTable material;
+        private final PropertyTable table;
+
+        private Joined(PropertyTable building, PropertyTable material,
+                       PropertyTable table){
+            this.building = building;
+            this.material = material;
+            this.table = table;
+        }
+    }
+
+    // The Listing class holds the material names found in the directory and
+    // the modification time of the directory when it was listed.
+
+    private static final class Listing{
+        private final long modified;
+        private final List<String> names;
+
+        private Listing(long modified, List<String> names){
+            this.modified = modified;
+            this.names = Collections.unmodifiableList(names);
+        }
+    }
+}
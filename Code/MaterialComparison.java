@@ -0,0 +1,319 @@
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+// The MaterialComparison class evaluates one building made of each of several
+// materials at once and ranks the materials by their margin to the failure
+// mode which governs them (see MaterialMargin). The drag coefficient, wind
+// pressure, cross-sectional area, wind load, floors, floor area and total
+// load depend only on the building and the wind, so they are calculated once
+// per building, and only the strengths are calculated per material, with the
+// same operations as WindLoadingEvaluator, so every result is the one the
+// evaluator gives for that material.
+//
+// Each material is represented by one value of each of its properties: the
+// middle of its ranges when it comes from the data files, like the fixed
+// structures of the sweep and profile commands.
+
+public final class MaterialComparison{
+    private final String[] names;
+    private final double[] yieldStrengths;
+    private final double[] shearStrengths;
+    private final double[] elasticModuli;
+    private final double[] loadCapacities;
+
+    // Constructs a MaterialComparison object for every material of a
+    // catalog, in the order of getMaterialNames.
+    // catalog: The catalog whose data files are read.
+
+    public MaterialComparison(MaterialCatalog catalog)
+                                            throws FileNotFoundException{
+        this(tables(catalog));
+    }
+
+    // Constructs a MaterialComparison object for the following materials,
+    // each at the middle of its ranges
+    // materials: The properties of each material, which must have a range
+    //            for the yield strength, average shear strength, elastic
+    //            modulus and load capacity.
+
+    public MaterialComparison(List<PropertyTable> materials){
+        int count = materials.size();
+        this.names = new String[count];
+        this.yieldStrengths = new double[count];
+        this.shearStrengths = new double[count];
+        this.elasticModuli = new double[count];
+        this.loadCapacities = new double[count];
+        for(int i = 0; i < count; i++){
+            PropertyTable table = materials.get(i);
+            this.names[i] = table.getName();
+            this.yieldStrengths[i] =
+                    middle(table, Property.YIELD_STRENGTH);
+            this.shearStrengths[i] =
+                    middle(table, Property.AVERAGE_SHEAR_STRENGTH);
+            this.elasticModuli[i] = middle(table, Property.ELASTIC_MODULUS);
+            this.loadCapacities[i] = middle(table, Property.LOAD_CAPACITY);
+        }
+    }
+
+    // Returns: A new list of the names of the materials, in the order of
+    // the margins of compareAll.
+
+    public List<String> getMaterials(){
+        return new ArrayList<String>(Arrays.asList(names));
+    }
+
+    // Behavior: Returns the input of a building made of one of the
+    // materials.
+    // Exceptions: None
+    // Returns: The building with the properties of the material.
+    // Parameters: material: The index of the material.
+    //             building: The building, whose material properties are
+    //                       ignored.
+
+    public WindLoadingInput getInput(int material, WindLoadingInput building){
+        return new WindLoadingInput(building.getHeight(),
+                building.getWidth(), building.getLength(),
+                building.getWindVelocity(), building.getAirDensity(),
+                building.getSafetyFactor(), yieldStrengths[material],
+                shearStrengths[material], elasticModuli[material],
+                loadCapacities[material]);
+    }
+
+    // Behavior: The compare method evaluates a building made of every
+    // material and ranks the materials from the largest margin to the
+    // smallest. A material whose margin is NaN, because one of its
+    // strengths is undefined, comes last.
+    //
+    // Exceptions: None
+    //
+    // Returns: A new list of the margins, best first.
+    //
+    // Parameters: building: The building and wind, whose material
+    //                       properties are ignored.
+
+    public List<MaterialMargin> compare(WindLoadingInput building){
+        double height = building.getHeight();
+        double width = building.getWidth();
+        double length = building.getLength();
+        double windVelocity = building.getWindVelocity();
+
+        double dragCoefficient = WindLoadingEvaluator.ALPHA * (height / width)
+                                + WindLoadingEvaluator.BETA * (height / length);
+        double windPressure = 0.5 * building.getAirDensity() * dragCoefficient
+                                * (windVelocity * windVelocity);
+        double crossSectionalArea = height * width;
+        double windLoad = windPressure * crossSectionalArea;
+        int floors = (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+        double floorArea = length * width;
+        double totalLoad = floors * floorArea
+                                * WindLoadingEvaluator.FLOOR_LOAD;
+
+        List<MaterialMargin> margins = new ArrayList<MaterialMargin>();
+        for(int i = 0; i < names.length; i++){
+            double yieldStrength = yieldStrengths[i];
+            int beamAmount = (int)(totalLoad / loadCapacities[i]);
+            double beamHeight = height / beamAmount;
+            double beamWidth = beamHeight / 2;
+            double momentInertia = (beamWidth
+                            * (beamHeight * beamHeight * beamHeight)) / 12;
+            double effectiveLength =
+                    WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                    * beamHeight;
+            WindLoadingResult result = new WindLoadingResult(
+                    getInput(i, building), dragCoefficient, windPressure,
+                    crossSectionalArea, windLoad, floors, floorArea,
+                    totalLoad, beamAmount, beamHeight, beamWidth,
+                    momentInertia, yieldStrength * crossSectionalArea,
+                    shearStrengths[i] * crossSectionalArea,
+                    (yieldStrength * momentInertia) / beamWidth,
+                    (WindLoadingEvaluator.PI_SQUARED * elasticModuli[i]
+                            * momentInertia)
+                    / (effectiveLength * effectiveLength));
+
+            FailureMode governing = FailureMode.TENSILE;
+            double margin = result.getSafetyStrength(governing) / windLoad - 1;
+            for(FailureMode mode : FailureMode.values()){
+                double modeMargin =
+                        result.getSafetyStrength(mode) / windLoad - 1;
+                if(governs(modeMargin, margin)){
+                    governing = mode;
+                    margin = modeMargin;
+                }
+            }
+            margins.add(new MaterialMargin(names[i], result, governing,
+                                           margin));
+        }
+        margins.sort((first, second) -> rank(second.getMargin(),
+                                             first.getMargin()));
+        return margins;
+    }
+
+    // Behavior: The compareAll method finds the margin and governing mode
+    // of every building made of every material, spreading chunks of
+    // BatchKernel.CHUNK_ROWS buildings across all cores. The terms shared by
+    // the materials are calculated once per building, including the
+    // reciprocal of the safety factor times the wind load, so each strength
+    // costs a multiplication where compare divides twice, and nothing is
+    // allocated per building. The margins therefore agree with those of
+    // compare to within rounding.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: buildings: The buildings and winds, whose material
+    //                        columns are ignored.
+    //             margins: Receives the margin of material m for row r at
+    //                      r * getMaterials().size() + m.
+    //             governing: Receives the ordinal of the governing mode at
+    //                        the same index, or is null.
+
+    public void compareAll(ScenarioColumns buildings, double[] margins,
+                           byte[] governing){
+        int rows = buildings.getRows();
+        int materials = names.length;
+        int chunkRows = BatchKernel.CHUNK_ROWS;
+        int chunks = (rows + chunkRows - 1) / chunkRows;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int end = Math.min(rows, (chunk + 1) * chunkRows);
+            for(int row = chunk * chunkRows; row < end; row++){
+                double height = buildings.get(ScenarioColumns.HEIGHT, row);
+                double width = buildings.get(ScenarioColumns.WIDTH, row);
+                double length = buildings.get(ScenarioColumns.LENGTH, row);
+                double velocity =
+                        buildings.get(ScenarioColumns.WIND_VELOCITY, row);
+                double safetyFactor =
+                        buildings.get(ScenarioColumns.SAFETY_FACTOR, row);
+
+                double dragCoefficient =
+                        WindLoadingEvaluator.ALPHA * (height / width)
+                        + WindLoadingEvaluator.BETA * (height / length);
+                double windPressure = 0.5
+                        * buildings.get(ScenarioColumns.AIR_DENSITY, row)
+                        * dragCoefficient * (velocity * velocity);
+                double crossSectionalArea = height * width;
+                double windLoad = windPressure * crossSectionalArea;
+                int floors = (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+                double totalLoad = floors * (length * width)
+                                    * WindLoadingEvaluator.FLOOR_LOAD;
+                double scale = 1 / (safetyFactor * windLoad);
+                double areaScale = crossSectionalArea * scale;
+
+                for(int i = 0; i < materials; i++){
+                    int beamAmount = (int)(totalLoad / loadCapacities[i]);
+                    double beamHeight = height / beamAmount;
+                    double beamWidth = beamHeight / 2;
+                    double momentInertia = (beamWidth
+                            * (beamHeight * beamHeight * beamHeight)) / 12;
+                    double effectiveLength =
+                            WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                            * beamHeight;
+                    double tensile = yieldStrengths[i] * areaScale - 1;
+                    double shear = shearStrengths[i] * areaScale - 1;
+                    double flexural = (yieldStrengths[i] * momentInertia)
+                                        / beamWidth * scale - 1;
+                    double buckling =
+                            (WindLoadingEvaluator.PI_SQUARED
+                                    * elasticModuli[i] * momentInertia)
+                            / (effectiveLength * effectiveLength)
+                            * scale - 1;
+                    int mode = FailureMode.TENSILE.ordinal();
+                    double margin = tensile;
+                    if(governs(shear, margin)){
+                        mode = FailureMode.SHEAR.ordinal();
+                        margin = shear;
+                    }
+                    if(governs(flexural, margin)){
+                        mode = FailureMode.FLEXURAL.ordinal();
+                        margin = flexural;
+                    }
+                    if(governs(buckling, margin)){
+                        mode = FailureMode.BUCKLING.ordinal();
+                        margin = buckling;
+                    }
+                    margins[row * materials + i] = margin;
+                    if(governing != null){
+                        governing[row * materials + i] = (byte) mode;
+                    }
+                }
+            }
+        });
+    }
+
+    // Behavior: Finds the material with the largest margin for one row of
+    // the margins of compareAll.
+    // Exceptions: None
+    // Returns: The index of the material, or -1 if every margin is NaN.
+    // Parameters: margins: The margins filled in by compareAll.
+    //             row: The row of the building.
+
+    public int best(double[] margins, int row){
+        int best = -1;
+        for(int i = 0; i < names.length; i++){
+            double margin = margins[row * names.length + i];
+            if(margin == margin
+                    && (best < 0 || margin > margins[row * names.length
+                                                     + best])){
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Behavior: Checks whether the margin of a failure mode governs over
+    // the smallest margin so far. A NaN margin governs, and nothing governs
+    // over it.
+    // Exceptions: None
+    // Returns: True if the mode governs.
+    // Parameters: margin: The margin of the mode.
+    //             smallest: The smallest margin so far.
+
+    private static boolean governs(double margin, double smallest){
+        return smallest == smallest && !(margin >= smallest);
+    }
+
+    // Behavior: Orders two margins, with NaN below every number.
+    // Exceptions: None
+    // Returns: A negative number, zero or a positive number as the first
+    //          margin is smaller than, equal to or larger than the second.
+    // Parameters: first, second: The margins.
+
+    private static int rank(double first, double second){
+        if(first != first || second != second){
+            return (first != first ? 0 : 1) - (second != second ? 0 : 1);
+        }
+        return Double.compare(first, second);
+    }
+
+    // Behavior: Reads every material of a catalog.
+    // Exceptions: Throws a FileNotFoundException if a data file cannot be
+    // found.
+    // Returns: The properties of each material.
+    // Parameters: catalog: The catalog.
+
+    private static List<PropertyTable> tables(MaterialCatalog catalog)
+                                            throws FileNotFoundException{
+        List<PropertyTable> tables = new ArrayList<PropertyTable>();
+        for(String name : catalog.getMaterialNames()){
+            tables.add(catalog.getMaterial(name));
+        }
+        return tables;
+    }
+
+    // Behavior: Finds the middle of the range of a material property.
+    // Exceptions: Throws an IllegalArgumentException if the material has
+    // no range for the property.
+    // Returns: The middle of the range.
+    // Parameters: table: The properties of the material.
+    //             property: The property.
+
+    private static double middle(PropertyTable table, Property property){
+        PropertyRange range = table.get(property);
+        if(range == null){
+            throw new IllegalArgumentException(table.getName() + " has no "
+                    + property.getName() + " range.");
+        }
+        return (range.getMinimum() + range.getMaximum()) / 2;
+    }
+}
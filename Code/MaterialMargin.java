@@ -0,0 +1,60 @@
+// The MaterialMargin class is the immutable outcome of one material in a
+// MaterialComparison: the full result of the building made of that material,
+// the failure mode which governs it, the one with the least strength to spare,
+// and the margin of that mode, the safety-reduced strength over the wind load
+// minus one. A positive margin means every failure mode passes, and a margin
+// of 0.25 means the wind load could grow by a quarter before the structure
+// stops being deemed safe.
+
+public final class MaterialMargin{
+    private final String material;
+    private final WindLoadingResult result;
+    private final FailureMode governingMode;
+    private final double margin;
+
+    // Constructs a MaterialMargin object for the following material
+    // material: The name of the material.
+    // result: The result of the building made of the material.
+    // governingMode: The failure mode with the smallest margin.
+    // margin: The margin of that mode.
+
+    MaterialMargin(String material, WindLoadingResult result,
+                   FailureMode governingMode, double margin){
+        this.material = material;
+        this.result = result;
+        this.governingMode = governingMode;
+        this.margin = margin;
+    }
+
+    public String getMaterial(){
+        return this.material;
+    }
+
+    public WindLoadingResult getResult(){
+        return this.result;
+    }
+
+    // Returns: The failure mode with the least strength to spare.
+
+    public FailureMode getGoverningMode(){
+        return this.governingMode;
+    }
+
+    // Returns: The safety-reduced strength of the governing mode over the
+    // wind load, minus one.
+
+    public double getMargin(){
+        return this.margin;
+    }
+
+    // Returns: Whether every failure mode is a PASS.
+
+    public boolean isPassing(){
+        for(FailureMode mode : FailureMode.values()){
+            if(result.getVerdict(mode) != Verdict.PASS){
+                return false;
+            }
+        }
+        return true;
+    }
+}
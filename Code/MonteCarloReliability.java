@@ -0,0 +1,311 @@
+import java.io.*;
+import java.util.*;
+
+// The MonteCarloReliability class estimates how likely a structure is to fail
+// when its building, air and material parameters are only known to lie inside
+// the ranges of the data files. It samples scenarios inside those ranges,
+// evaluates each of them with WindLoadingEvaluator and counts the verdicts of
+// every failure mode.
+//
+// Sampling is split into chunks of CHUNK_SIZE scenarios. Every chunk gets its
+// own SplittableRandom, split from the seed in chunk order, and the chunks of
+// a round are evaluated in parallel. Because the chunks and their random
+// number generators do not depend on the number of cores, a run is
+// reproducible from its seed. Sampling stops early once every confidence
+// interval is narrower than the target width. A run can keep a checkpoint
+// of its progress and resume from it, through ResumableJob.
+
+public class MonteCarloReliability{
+    public static final int CHUNK_SIZE = 16384;
+    public static final int CHUNKS_PER_ROUND = 64;
+
+    // The counts of a run hold the FAIL and MARGINAL counts of each failure
+    // mode, followed by those of the structure as a whole.
+    private static final int COUNTS = (FailureMode.values().length + 1) * 2;
+
+    private final WindLoadingEvaluator evaluator;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final SamplingDistribution[] distributions;
+
+    // Constructs a MonteCarloReliability object for the following ranges
+    // minimums: The minimum of each column in WindLoadingBatch.COLUMNS.
+    // maximums: The maximum of each column in WindLoadingBatch.COLUMNS.
+    // Every property is sampled uniformly until setDistribution is called.
+
+    public MonteCarloReliability(double[] minimums, double[] maximums){
+        this.evaluator = new WindLoadingEvaluator();
+        this.minimums = minimums.clone();
+        this.maximums = maximums.clone();
+        this.distributions =
+                new SamplingDistribution[WindLoadingBatch.COLUMNS.length];
+        Arrays.fill(this.distributions, SamplingDistribution.UNIFORM);
+    }
+
+    // Behavior: The forMaterial method creates a MonteCarloReliability object
+    // sampling inside the ranges of the building and material data.
+    //
+    // Exceptions: Throws an IllegalArgumentException if one of the columns in
+    // WindLoadingBatch.COLUMNS has no range in the data.
+    //
+    // Returns: A new MonteCarloReliability object.
+    //
+    // Parameters: ranges: The building and material ranges, such as those
+    //                     returned by MaterialCatalog.getRanges.
+
+    public static MonteCarloReliability forMaterial(PropertyTable ranges){
+        Property missing = ranges.findMissing();
+        if(missing != null){
+            throw new IllegalArgumentException
+                    ("No range was found for " + missing.getName() + ".");
+        }
+        return new MonteCarloReliability(ranges.getMinimums(),
+                                         ranges.getMaximums());
+    }
+
+    // Behavior: Sets how a property is sampled inside its range.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: column: The index of the property in
+    //                     WindLoadingBatch.COLUMNS.
+    //             distribution: The distribution to sample from.
+
+    public void setDistribution(int column, SamplingDistribution distribution){
+        this.distributions[column] = distribution;
+    }
+
+    // Behavior: The run method samples scenarios round by round until either
+    // maxSamples scenarios have been evaluated or every confidence interval
+    // is at most targetWidth wide.
+    //
+    // Exceptions: Throws an IllegalArgumentException if maxSamples is not
+    // positive or the confidence level is not between 0 and 1.
+    //
+    // Returns: A ReliabilityEstimate holding the verdict counts.
+    //
+    // Parameters: seed: The seed all random number generators are split from.
+    //             maxSamples: The largest number of scenarios to sample.
+    //             targetWidth: The interval width at which sampling stops
+    //                          early, or 0 to always take maxSamples.
+    //             confidence: The confidence level of the intervals, such
+    //                         as 0.95.
+
+    public ReliabilityEstimate run(long seed, long maxSamples,
+                                   double targetWidth, double confidence){
+        try{
+            return run(seed, maxSamples, targetWidth, confidence, null);
+        }
+        catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Behavior: The run method samples like the run method above, keeping a
+    // checkpoint of the completed chunks and their counts. A run stopped
+    // part way resumes from its checkpoint with the same counts an
+    // uninterrupted run would have: the random number generator of chunk k
+    // is always the k-th split of the seed, so the checkpoint only needs the
+    // seed, which is part of its fingerprint, and the completed chunks.
+    //
+    // Exceptions: Throws an IllegalArgumentException if maxSamples is not
+    // positive or the confidence level is not between 0 and 1. Throws an
+    // IOException if the checkpoint cannot be read or written, or belongs
+    // to a run with other parameters.
+    //
+    // Returns: A ReliabilityEstimate holding the verdict counts.
+    //
+    // Parameters: seed: The seed all random number generators are split from.
+    //             maxSamples: The largest number of scenarios to sample.
+    //             targetWidth: The interval width at which sampling stops
+    //                          early, or 0 to always take maxSamples.
+    //             confidence: The confidence level of the intervals.
+    //             checkpoint: The checkpoint file, or null to run without
+    //                         one.
+
+    public ReliabilityEstimate run(long seed, long maxSamples,
+                                   double targetWidth, double confidence,
+                                   File checkpoint) throws IOException{
+        if(maxSamples <= 0){
+            throw new IllegalArgumentException
+                    ("The number of samples must be positive.");
+        }
+        if(!(confidence > 0 && confidence < 1)){
+            throw new IllegalArgumentException
+                    ("The confidence level must be between 0 and 1.");
+        }
+
+        double z = zScore(confidence);
+        int chunks = (int) ((maxSamples + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        String fingerprint = "reliability seed=" + seed + " samples="
+                + maxSamples + " width=" + targetWidth + " confidence="
+                + confidence + " minimums=" + Arrays.toString(minimums)
+                + " maximums=" + Arrays.toString(maximums)
+                + " distributions=" + Arrays.toString(distributions);
+        ResumableJob job = new ResumableJob(checkpoint, fingerprint, chunks,
+                                            COUNTS + 1, CHUNKS_PER_ROUND);
+        JobCheckpoint done = job.run(new ResumableJob.Task(){
+            private final SplittableRandom root = new SplittableRandom(seed);
+            private final SplittableRandom[] randoms =
+                    new SplittableRandom[CHUNKS_PER_ROUND];
+            private int splits;
+            private int first;
+
+            public void startWave(int first, int end){
+                this.first = first;
+                while(splits < end){
+                    SplittableRandom random = root.split();
+                    if(splits >= first){
+                        randoms[splits - first] = random;
+                    }
+                    splits++;
+                }
+            }
+
+            public long[] runChunk(int chunk){
+                int size = (int) Math.min(CHUNK_SIZE,
+                                maxSamples - (long) chunk * CHUNK_SIZE);
+                long[] counts = Arrays.copyOf(
+                        MonteCarloReliability.this.runChunk(
+                                randoms[chunk - first], size),
+                        COUNTS + 1);
+                counts[COUNTS] = size;
+                return counts;
+            }
+
+            public boolean isDone(long[] totals){
+                return converged(totals, targetWidth, z);
+            }
+        });
+
+        long[] totals = done.getAggregates();
+        return new ReliabilityEstimate(totals[COUNTS],
+                Arrays.copyOf(totals, COUNTS), z,
+                converged(totals, targetWidth, z));
+    }
+
+    // Behavior: Checks whether sampling can stop early.
+    // Exceptions: None
+    // Returns: True if every confidence interval is at most targetWidth
+    // wide.
+    // Parameters: totals: The verdict counts followed by the number of
+    //                     samples.
+    //             targetWidth: The interval width at which sampling stops.
+    //             z: The standard normal quantile of the confidence level.
+
+    private static boolean converged(long[] totals, double targetWidth,
+                                     double z){
+        return targetWidth > 0 && widestInterval(Arrays.copyOf(totals,
+                COUNTS), totals[COUNTS], z) <= targetWidth;
+    }
+
+    // Behavior: The runChunk method samples and evaluates one chunk of
+    // scenarios.
+    //
+    // Exceptions: None
+    //
+    // Returns: The verdict counts of the chunk.
+    //
+    // Parameters: random: The random number generator of the chunk.
+    //             size: The number of scenarios in the chunk.
+
+    private long[] runChunk(SplittableRandom random, int size){
+        long[] counts = new long[COUNTS];
+        FailureMode[] modes = FailureMode.values();
+        int structure = modes.length * 2;
+        double[] values = new double[minimums.length];
+
+        for(int i = 0; i < size; i++){
+            WindLoadingResult result = 
+                                evaluator.evaluate(sample(random, values));
+            boolean failed = false;
+            boolean marginal = false;
+            for(FailureMode mode : modes){
+                Verdict verdict = result.getVerdict(mode);
+                if(verdict == Verdict.FAIL){
+                    counts[mode.ordinal() * 2]++;
+                    failed = true;
+                }
+                else if(verdict == Verdict.MARGINAL){
+                    counts[mode.ordinal() * 2 + 1]++;
+                    marginal = true;
+                }
+            }
+            if(failed){
+                counts[structure]++;
+            }
+            else if(marginal){
+                counts[structure + 1]++;
+            }
+        }
+        return counts;
+    }
+
+    // Behavior: Draws one scenario from the distribution of each property.
+    // Exceptions: None
+    // Returns: The sampled scenario, with the wind velocity in m/s.
+    // Parameters: random: The random number generator to draw from.
+    //             v: An array reused to hold the sampled property values.
+
+    private WindLoadingInput sample(SplittableRandom random, double[] v){
+        for(int j = 0; j < v.length; j++){
+            v[j] = distributions[j].sample(random, minimums[j], maximums[j]);
+        }
+        return new WindLoadingInput(v[0], v[1], v[2], v[4] / 3.6, v[3], v[5],
+                                    v[6], v[7], v[8], v[9]);
+    }
+
+    // Behavior: Finds the widest confidence interval among all counts.
+    // Exceptions: None
+    // Returns: The width of the widest interval.
+    // Parameters: counts: The verdict counts.
+    //             samples: The number of sampled scenarios.
+    //             z: The standard normal quantile of the confidence level.
+
+    private static double widestInterval(long[] counts, long samples,
+                                         double z){
+        double widest = 0;
+        for(long count : counts){
+            double width = ReliabilityEstimate.wilson(count, samples, z, 1)
+                        - ReliabilityEstimate.wilson(count, samples, z, -1);
+            widest = Math.max(widest, width);
+        }
+        return widest;
+    }
+
+    // Behavior: The zScore method finds the standard normal quantile of a
+    // two-sided confidence level, using Acklam's rational approximation of
+    // the inverse normal distribution (relative error below 1.2e-9).
+    //
+    // Exceptions: None
+    //
+    // Returns: The z value, such as 1.96 for a confidence level of 0.95.
+    //
+    // Parameters: confidence: The confidence level, between 0 and 1.
+
+    public static double zScore(double confidence){
+        double p = 1 - (1 - confidence) / 2;
+        double[] a = {-3.969683028665376e+01, 2.209460984245205e+02,
+                      -2.759285104469687e+02, 1.383577518672690e+02,
+                      -3.066479806614716e+01, 2.506628277459239e+00};
+        double[] b = {-5.447609879822406e+01, 1.615858368580409e+02,
+                      -1.556989798598866e+02, 6.680131188771972e+01,
+                      -1.328068155288572e+01};
+        double[] c = {-7.784894002430293e-03, -3.223964580411365e-01,
+                      -2.400758277161838e+00, -2.549732539343734e+00,
+                      4.374664141464968e+00, 2.938163982698783e+00};
+        double[] d = {7.784695709041462e-03, 3.224671290700398e-01,
+                      2.445134137142996e+00, 3.754408661907416e+00};
+
+        if(p > 1 - 0.02425){
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4])
+                    * q + c[5]) / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3])
+                    * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r
+                + a[5]) * q / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3])
+                * r + b[4]) * r + 1);
+    }
+}
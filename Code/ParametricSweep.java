@@ -0,0 +1,483 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The ParametricSweep class evaluates a structure on a grid of building
+// heights, widths, lengths and wind velocities, keeping the air density,
+// safety factor and material properties fixed. Each axis is split into a
+// number of equal steps inside its range from the building data, and the grid
+// point of each step lies in the middle of the step.
+//
+// The grid is processed in blocks which are split recursively across a
+// ForkJoinPool and written to disk in a fixed order (height slowest, wind
+// velocity fastest) before the next block is started, so the grid is never
+// held in memory as a whole. The verdict file starts with a header followed by
+// one byte per grid point, packing the verdict of each failure mode in two
+// bits (see Verdict.pack). Because the wind load grows with the wind velocity
+// while the strengths do not depend on it, the verdicts only change once along
+// the velocity axis. The optional boundary file records, for every height,
+// width and length, the first velocity at which each mode is no longer deemed
+// safe and the first at which it fails. A sweep can keep a checkpoint of the
+// blocks it has written and resume from it, through ResumableJob.
+
+public class ParametricSweep{
+    public static final int MAGIC = 0x57534c57;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 4 * 4 + 4 * 4 + 8 * 8;
+    public static final int[] AXES = {0, 1, 2, 4};
+
+    private static final int BLOCK_BYTES = 1 << 22;
+    private static final int CELLS_PER_TASK = 64;
+
+    private final WindLoadingEvaluator evaluator;
+    private final WindLoadingInput base;
+    private final double[] minimums;
+    private final double[] maximums;
+
+    // Constructs a ParametricSweep object for the following parameters
+    // minimums, maximums: The range of each axis, in the order of AXES
+    //                     (height, width and length in meters and wind
+    //                     velocity in km/h).
+    // base: The input holding the fixed air density, safety factor and
+    //       material properties. Its geometry and wind velocity are ignored.
+
+    public ParametricSweep(double[] minimums, double[] maximums,
+                           WindLoadingInput base){
+        this.evaluator = new WindLoadingEvaluator();
+        this.minimums = minimums.clone();
+        this.maximums = maximums.clone();
+        this.base = base;
+    }
+
+    // Behavior: The axisValue method finds the value of a grid point on an
+    // axis.
+    //
+    // Exceptions: None
+    //
+    // Returns: The value in the middle of the given step.
+    //
+    // Parameters: axis: The index of the axis in AXES.
+    //             step: The step along the axis, starting at 0.
+    //             steps: The number of steps on the axis.
+
+    public double axisValue(int axis, int step, int steps){
+        return minimums[axis]
+                + (maximums[axis] - minimums[axis]) * (step + 0.5) / steps;
+    }
+
+    // Behavior: The run method evaluates every grid point and writes the
+    // verdicts, and optionally the boundaries, to disk.
+    //
+    // Exceptions: Throws an IOException if a file cannot be written. Throws
+    // an IllegalArgumentException if a step count is not positive.
+    //
+    // Returns: None
+    //
+    // Parameters: steps: The number of steps of each axis, in the order of
+    //                    AXES.
+    //             verdictFile: The file to write the verdict of each grid
+    //                          point to.
+    //             boundaryFile: The CSV file to write the velocity
+    //                           boundaries to, or null for none.
+
+    public void run(int[] steps, File verdictFile, File boundaryFile)
+                                                    throws IOException{
+        run(steps, verdictFile, boundaryFile, null);
+    }
+
+    // Behavior: The run method evaluates the grid like the run method above,
+    // keeping a checkpoint of the blocks already written to the verdict
+    // file. A sweep stopped part way resumes from its checkpoint, writing
+    // only the missing blocks into the verdict file it left behind; the
+    // boundary file is then rebuilt from the verdicts, so both files are
+    // the same as those of an uninterrupted sweep.
+    //
+    // Exceptions: Throws an IOException if a file cannot be written, or the
+    // checkpoint belongs to another sweep. Throws an
+    // IllegalArgumentException if a step count is not positive.
+    //
+    // Returns: None
+    //
+    // Parameters: steps: The number of steps of each axis, in the order of
+    //                    AXES.
+    //             verdictFile: The file to write the verdict of each grid
+    //                          point to.
+    //             boundaryFile: The CSV file to write the velocity
+    //                           boundaries to, or null for none.
+    //             checkpoint: The checkpoint file, or null to run without
+    //                         one.
+
+    public void run(int[] steps, File verdictFile, File boundaryFile,
+                    File checkpoint) throws IOException{
+        for(int step : steps){
+            if(step <= 0){
+                throw new IllegalArgumentException
+                        ("Every axis needs at least one step.");
+            }
+        }
+
+        int velocitySteps = steps[3];
+        long cells = (long) steps[0] * steps[1] * steps[2];
+        int cellsPerBlock = Math.max(1, BLOCK_BYTES / velocitySteps);
+        int blocks = (int) ((cells + cellsPerBlock - 1) / cellsPerBlock);
+        double[] velocities = new double[velocitySteps];
+        for(int v = 0; v < velocitySteps; v++){
+            velocities[v] = axisValue(3, v, velocitySteps) / 3.6;
+        }
+
+        ResumableJob job = new ResumableJob(checkpoint,
+                fingerprint(steps, verdictFile), blocks, 0, 1);
+        boolean resuming = job.isResuming();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        FileChannel channel = resuming
+                ? FileChannel.open(verdictFile.toPath(),
+                                   StandardOpenOption.WRITE)
+                : FileChannel.open(verdictFile.toPath(),
+                                   StandardOpenOption.CREATE,
+                                   StandardOpenOption.WRITE,
+                                   StandardOpenOption.TRUNCATE_EXISTING);
+        PrintStream boundaries = boundaryFile == null || resuming ? null
+                : new PrintStream(new BufferedOutputStream
+                                    (new FileOutputStream(boundaryFile)));
+        try{
+            writeHeader(channel, steps);
+            if(boundaries != null){
+                boundaries.println(boundaryHeader());
+            }
+
+            byte[] block = new byte[(int) Math.min(cells, cellsPerBlock)
+                                    * velocitySteps];
+            int[] firstIndexes = new int[(int) Math.min(cells, cellsPerBlock)
+                                    * FailureMode.values().length * 2];
+            job.run(new ResumableJob.Task(){
+                public long[] runChunk(int chunk) throws IOException{
+                    long first = (long) chunk * cellsPerBlock;
+                    int count = (int) Math.min(cellsPerBlock, cells - first);
+                    pool.invoke(new SweepTask(steps, velocities, first, 0,
+                                              count, block, firstIndexes));
+
+                    ByteBuffer buffer = ByteBuffer.wrap(block, 0,
+                                                        count * velocitySteps);
+                    long position = HEADER_BYTES + first * velocitySteps;
+                    while(buffer.hasRemaining()){
+                        position += channel.write(buffer, position);
+                    }
+                    if(boundaries != null){
+                        writeBoundaries(boundaries, steps, first, count,
+                                        firstIndexes);
+                        checkOutput(boundaries, boundaryFile);
+                    }
+                    return new long[0];
+                }
+
+                public void sync() throws IOException{
+                    channel.force(false);
+                }
+            });
+        }
+        finally{
+            channel.close();
+            if(boundaries != null){
+                boundaries.close();
+            }
+        }
+
+        if(resuming && boundaryFile != null){
+            rebuildBoundaries(steps, verdictFile, boundaryFile,
+                              cellsPerBlock);
+        }
+    }
+
+    // Behavior: Describes a sweep and all of its parameters, so a checkpoint
+    // is only resumed by the same sweep.
+    // Exceptions: None
+    // Returns: The fingerprint of the sweep.
+    // Parameters: steps: The number of steps of each axis.
+    //             verdictFile: The verdict file of the sweep.
+
+    private String fingerprint(int[] steps, File verdictFile){
+        return "sweep " + verdictFile.getAbsolutePath() + " steps="
+                + Arrays.toString(steps) + " minimums="
+                + Arrays.toString(minimums) + " maximums="
+                + Arrays.toString(maximums) + " base=["
+                + base.getAirDensity() + ", " + base.getSafetyFactor() + ", "
+                + base.getYieldStrength() + ", "
+                + base.getAverageShearStrength() + ", "
+                + base.getElasticModulus() + ", " + base.getLoadCapacity()
+                + "]";
+    }
+
+    // Behavior: The rebuildBoundaries method writes the boundary file from
+    // the verdicts of a finished sweep, block by block, finding the first
+    // velocity at which each mode is no longer deemed safe and the first at
+    // which it fails from the packed verdicts.
+    //
+    // Exceptions: Throws an IOException if the verdict file cannot be read
+    // or the boundary file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: steps: The number of steps of each axis.
+    //             verdictFile: The verdict file of the sweep.
+    //             boundaryFile: The CSV file to write the boundaries to.
+    //             cellsPerBlock: The number of cells in a block.
+
+    private void rebuildBoundaries(int[] steps, File verdictFile,
+                                   File boundaryFile, int cellsPerBlock)
+                                                    throws IOException{
+        int velocitySteps = steps[3];
+        int modes = FailureMode.values().length;
+        long cells = (long) steps[0] * steps[1] * steps[2];
+        int blockCells = (int) Math.min(cells, cellsPerBlock);
+        ByteBuffer block = ByteBuffer.allocate(blockCells * velocitySteps);
+        int[] firstIndexes = new int[blockCells * modes * 2];
+
+        FileChannel channel = FileChannel.open(verdictFile.toPath(),
+                                               StandardOpenOption.READ);
+        PrintStream boundaries = new PrintStream(new BufferedOutputStream
+                                    (new FileOutputStream(boundaryFile)));
+        try{
+            boundaries.println(boundaryHeader());
+            for(long first = 0; first < cells; first += cellsPerBlock){
+                int count = (int) Math.min(cellsPerBlock, cells - first);
+                block.clear().limit(count * velocitySteps);
+                long position = HEADER_BYTES + first * velocitySteps;
+                while(block.hasRemaining()){
+                    int read = channel.read(block, position);
+                    if(read < 0){
+                        throw new EOFException(verdictFile
+                                + " ends before the last grid point.");
+                    }
+                    position += read;
+                }
+
+                Arrays.fill(firstIndexes, -1);
+                for(int local = 0; local < count; local++){
+                    for(int v = 0; v < velocitySteps; v++){
+                        int packed = block.get(local * velocitySteps + v);
+                        for(int m = 0; m < modes; m++){
+                            int verdict = (packed >> (2 * m)) & 3;
+                            int index = (local * modes + m) * 2;
+                            if(verdict != Verdict.PASS.ordinal()
+                                    && firstIndexes[index] < 0){
+                                firstIndexes[index] = v;
+                            }
+                            if(verdict == Verdict.FAIL.ordinal()
+                                    && firstIndexes[index + 1] < 0){
+                                firstIndexes[index + 1] = v;
+                            }
+                        }
+                    }
+                }
+                writeBoundaries(boundaries, steps, first, count,
+                                firstIndexes);
+            }
+            checkOutput(boundaries, boundaryFile);
+        }
+        finally{
+            channel.close();
+            boundaries.close();
+        }
+    }
+
+    // The SweepTask class evaluates a range of (height, width, length) cells
+    // of a block, splitting the range in half until it is small enough.
+
+    private class SweepTask extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+
+        private final int[] steps;
+        private final double[] velocities;
+        private final long blockStart;
+        private final int from;
+        private final int to;
+        private final byte[] block;
+        private final int[] firstIndexes;
+
+        SweepTask(int[] steps, double[] velocities, long blockStart, int from,
+                  int to, byte[] block, int[] firstIndexes){
+            this.steps = steps;
+            this.velocities = velocities;
+            this.blockStart = blockStart;
+            this.from = from;
+            this.to = to;
+            this.block = block;
+            this.firstIndexes = firstIndexes;
+        }
+
+        protected void compute(){
+            if(to - from > CELLS_PER_TASK){
+                int middle = (from + to) >>> 1;
+                invokeAll(new SweepTask(steps, velocities, blockStart, from,
+                                        middle, block, firstIndexes),
+                          new SweepTask(steps, velocities, blockStart, middle,
+                                        to, block, firstIndexes));
+                return;
+            }
+            for(int cell = from; cell < to; cell++){
+                evaluateCell(steps, velocities, blockStart + cell, cell,
+                             block, firstIndexes);
+            }
+        }
+    }
+
+    // Behavior: The evaluateCell method evaluates every wind velocity for
+    // one height, width and length. The strengths are calculated once with
+    // WindLoadingEvaluator, and the wind load of each velocity is then
+    // calculated in the same way the evaluator does.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: steps: The number of steps of each axis.
+    //             velocities: The wind velocity of each step in m/s.
+    //             cell: The index of the cell in the whole grid.
+    //             local: The index of the cell inside the block.
+    //             block: The verdict bytes of the block.
+    //             firstIndexes: The boundary indexes of the block.
+
+    private void evaluateCell(int[] steps, double[] velocities, long cell,
+                              int local, byte[] block, int[] firstIndexes){
+        int l = (int) (cell % steps[2]);
+        int w = (int) ((cell / steps[2]) % steps[1]);
+        int h = (int) (cell / ((long) steps[2] * steps[1]));
+
+        WindLoadingInput input = new WindLoadingInput(
+                axisValue(0, h, steps[0]), axisValue(1, w, steps[1]),
+                axisValue(2, l, steps[2]), 0, base.getAirDensity(),
+                base.getSafetyFactor(), base.getYieldStrength(),
+                base.getAverageShearStrength(), base.getElasticModulus(),
+                base.getLoadCapacity());
+        WindLoadingResult result = evaluator.evaluate(input);
+
+        FailureMode[] modes = FailureMode.values();
+        double[] strengths = new double[modes.length];
+        double[] safetyStrengths = new double[modes.length];
+        int boundary = local * modes.length * 2;
+        for(FailureMode mode : modes){
+            strengths[mode.ordinal()] = result.getStrength(mode);
+            safetyStrengths[mode.ordinal()] = result.getSafetyStrength(mode);
+            firstIndexes[boundary + mode.ordinal() * 2] = -1;
+            firstIndexes[boundary + mode.ordinal() * 2 + 1] = -1;
+        }
+
+        double dragCoefficient = result.getDragCoefficient();
+        double area = result.getCrossSectionalArea();
+        int offset = local * velocities.length;
+        for(int v = 0; v < velocities.length; v++){
+            double velocity = velocities[v];
+            double windPressure = 0.5 * base.getAirDensity() * dragCoefficient
+                                    * (velocity * velocity);
+            double windLoad = windPressure * area;
+
+            int packed = 0;
+            for(int m = 0; m < modes.length; m++){
+                Verdict verdict = Verdict.of(windLoad, strengths[m],
+                                             safetyStrengths[m]);
+                packed |= verdict.ordinal() << (2 * m);
+                int index = boundary + m * 2;
+                if(verdict != Verdict.PASS && firstIndexes[index] < 0){
+                    firstIndexes[index] = v;
+                }
+                if(verdict == Verdict.FAIL && firstIndexes[index + 1] < 0){
+                    firstIndexes[index + 1] = v;
+                }
+            }
+            block[offset + v] = (byte) packed;
+        }
+    }
+
+    // Behavior: Writes the header of the verdict file: the magic number, the
+    // version, the number of axes, the header size, the steps of each axis
+    // and the range of each axis, all little-endian.
+    // Exceptions: Throws an IOException if the header cannot be written.
+    // Returns: None
+    // Parameters: channel: The channel of the verdict file.
+    //             steps: The number of steps of each axis.
+
+    private void writeHeader(FileChannel channel, int[] steps)
+                                                throws IOException{
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(AXES.length)
+              .putInt(HEADER_BYTES);
+        for(int step : steps){
+            header.putInt(step);
+        }
+        for(int axis = 0; axis < AXES.length; axis++){
+            header.putDouble(minimums[axis]).putDouble(maximums[axis]);
+        }
+        header.flip();
+        while(header.hasRemaining()){
+            channel.write(header);
+        }
+    }
+
+    // Behavior: Returns the header row of the boundary file.
+    // Exceptions: None
+    // Returns: The header row.
+    // Parameters: None
+
+    private static String boundaryHeader(){
+        StringBuilder header = new StringBuilder("Height,Width,Length");
+        for(FailureMode mode : FailureMode.values()){
+            String name = mode.name().charAt(0)
+                            + mode.name().substring(1).toLowerCase();
+            header.append(',').append(name).append(" Marginal Velocity");
+            header.append(',').append(name).append(" Failure Velocity");
+        }
+        return header.toString();
+    }
+
+    // Behavior: Checks that every boundary row so far was written.
+    // Exceptions: Throws an IOException if the output stream hit an error.
+    // Returns: None
+    // Parameters: output: The boundary file.
+    //             boundaryFile: The file, named in the exception.
+
+    private static void checkOutput(PrintStream output, File boundaryFile)
+                                                    throws IOException{
+        if(output.checkError()){
+            throw new IOException("The boundaries could not be written to "
+                                  + boundaryFile + ".");
+        }
+    }
+
+    // Behavior: Writes one boundary row per cell of a block. A velocity is
+    // left empty if the mode never becomes marginal or never fails.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: output: The boundary file.
+    //             steps: The number of steps of each axis.
+    //             first: The index of the first cell of the block.
+    //             count: The number of cells in the block.
+    //             firstIndexes: The boundary indexes of the block.
+
+    private void writeBoundaries(PrintStream output, int[] steps, long first,
+                                 int count, int[] firstIndexes){
+        int perCell = FailureMode.values().length * 2;
+        for(int local = 0; local < count; local++){
+            long cell = first + local;
+            int l = (int) (cell % steps[2]);
+            int w = (int) ((cell / steps[2]) % steps[1]);
+            int h = (int) (cell / ((long) steps[2] * steps[1]));
+
+            StringBuilder row = new StringBuilder();
+            row.append(axisValue(0, h, steps[0])).append(',')
+               .append(axisValue(1, w, steps[1])).append(',')
+               .append(axisValue(2, l, steps[2]));
+            for(int i = 0; i < perCell; i++){
+                row.append(',');
+                int index = firstIndexes[local * perCell + i];
+                if(index >= 0){
+                    row.append(axisValue(3, index, steps[3]));
+                }
+            }
+            output.println(row);
+        }
+    }
+}
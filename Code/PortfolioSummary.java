@@ -0,0 +1,126 @@
+// The PortfolioSummary class holds the outcome of a BuildingPortfolio run
+// through a storm, grouped by region and material: how many buildings of each
+// group failed, or survived without being deemed safe, for each failure mode
+// and for the structure as a whole, and the highest utilization reached. The
+// verdict of a building is the worst one it reached at any step. It also
+// holds how many buildings were failing at each step of the storm.
+
+public final class PortfolioSummary{
+    private final String[] regions;
+    private final String[] materials;
+    private final long[] buildings;
+    private final long[][] failing;
+    private final long[][] marginal;
+    private final double[][] utilizations;
+    private final long[] failingBySteps;
+    private final int outside;
+
+    // Constructs a PortfolioSummary object for the following groups
+    // regions, materials: The region and material of each group.
+    // buildings: The number of buildings in each group.
+    // failing, marginal: The number of failing and marginal buildings of
+    //                    each group, by failure mode and then for the
+    //                    structure.
+    // utilizations: The highest utilization of each group, laid out like
+    //               failing.
+    // failingBySteps: The number of failing buildings at each step.
+    // outside: The number of buildings outside the grid of the storm.
+
+    PortfolioSummary(String[] regions, String[] materials, long[] buildings,
+                     long[][] failing, long[][] marginal,
+                     double[][] utilizations, long[] failingBySteps,
+                     int outside){
+        this.regions = regions;
+        this.materials = materials;
+        this.buildings = buildings;
+        this.failing = failing;
+        this.marginal = marginal;
+        this.utilizations = utilizations;
+        this.failingBySteps = failingBySteps;
+        this.outside = outside;
+    }
+
+    // Returns: The number of region and material groups.
+
+    public int getGroups(){
+        return this.regions.length;
+    }
+
+    public String getRegion(int group){
+        return this.regions[group];
+    }
+
+    public String getMaterial(int group){
+        return this.materials[group];
+    }
+
+    // Returns: The number of buildings of a group inside the grid.
+
+    public long getBuildings(int group){
+        return this.buildings[group];
+    }
+
+    // Behavior: Returns how many buildings of a group failed at some step,
+    // in a failure mode or, if mode is null, in any mode.
+    // Exceptions: None
+    // Returns: The number of buildings.
+    // Parameters: group: The group.
+    //             mode: The failure mode, or null for the whole structure.
+
+    public long getFailing(int group, FailureMode mode){
+        return this.failing[group][index(mode)];
+    }
+
+    // Behavior: Returns how many buildings of a group survived the storm in
+    // a failure mode without being deemed safe at some step. For the whole
+    // structure these are the buildings which did not fail in any mode but
+    // were marginal in at least one.
+    // Exceptions: None
+    // Returns: The number of buildings.
+    // Parameters: group: The group.
+    //             mode: The failure mode, or null for the whole structure.
+
+    public long getMarginal(int group, FailureMode mode){
+        return this.marginal[group][index(mode)];
+    }
+
+    // Behavior: Returns the highest utilization, the wind load over the
+    // strength, any building of a group reached at any step. A utilization
+    // of 1 or more fails the mode when the safety factor is at least 1.
+    // Exceptions: None
+    // Returns: The utilization, highest over every mode if mode is null.
+    // Parameters: group: The group.
+    //             mode: The failure mode, or null for the whole structure.
+
+    public double getMaxUtilization(int group, FailureMode mode){
+        return this.utilizations[group][index(mode)];
+    }
+
+    // Returns: The number of steps of the storm.
+
+    public int getSteps(){
+        return this.failingBySteps.length;
+    }
+
+    // Returns: How many buildings were failing at a step, in any mode.
+
+    public long getFailingAt(int step){
+        return this.failingBySteps[step];
+    }
+
+    // Returns: How many buildings were left out because they lie outside
+    // the grid of the storm.
+
+    public int getOutside(){
+        return this.outside;
+    }
+
+    // Behavior: Finds where a failure mode is kept in the arrays.
+    // Exceptions: None
+    // Returns: The index of the mode, or the last index for the structure.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+
+    private static int index(FailureMode mode){
+        return mode == null ? FailureMode.values().length : mode.ordinal();
+    }
+}
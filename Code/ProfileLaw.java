@@ -0,0 +1,52 @@
+// The ProfileLaw enum represents the ways the wind velocity can grow with
+// height above the ground. POWER scales the velocity with the height to the
+// power of the exponent of the terrain, and LOGARITHMIC with the logarithm of
+// the height over the roughness length of the terrain. Both give the velocity
+// relative to the velocity at REFERENCE_HEIGHT, where wind velocities are
+// usually measured.
+
+public enum ProfileLaw{
+    POWER,
+    LOGARITHMIC;
+
+    public static final double REFERENCE_HEIGHT = 10;
+
+    // Behavior: The velocityFactor method returns the wind velocity at a
+    // height as a multiple of the wind velocity at REFERENCE_HEIGHT. Below
+    // the minimum height of the terrain the velocity stays that at the
+    // minimum height.
+    //
+    // Exceptions: None
+    //
+    // Returns: The velocity factor.
+    //
+    // Parameters: terrain: The terrain upwind of the building.
+    //             height: The height above the ground in meters.
+
+    public double velocityFactor(TerrainCategory terrain, double height){
+        double z = Math.max(height, terrain.getMinimumHeight());
+        if(this == POWER){
+            return Math.pow(z / REFERENCE_HEIGHT, terrain.getExponent());
+        }
+        return Math.log(z / terrain.getRoughnessLength())
+                / Math.log(REFERENCE_HEIGHT / terrain.getRoughnessLength());
+    }
+
+    // Behavior: Finds a law by its name, ignoring case, allowing "log" for
+    // LOGARITHMIC.
+    // Exceptions: None
+    // Returns: The law, or null if there is none by that name.
+    // Parameters: name: The name of the law.
+
+    public static ProfileLaw of(String name){
+        if(name.equalsIgnoreCase("log")){
+            return LOGARITHMIC;
+        }
+        for(ProfileLaw law : values()){
+            if(law.name().equalsIgnoreCase(name)){
+                return law;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+// The Property enum represents the building, air and material properties
+// which can appear in the data files. The order of the properties is the order
+// of the columns in WindLoadingBatch.COLUMNS, so the ordinal of a property is
+// its column.
+
+public enum Property{
+    HEIGHT("Height"),
+    WIDTH("Width"),
+    LENGTH("Length"),
+    AIR_DENSITY("Air Density"),
+    WIND_VELOCITY("Wind Velocity"),
+    SAFETY_FACTOR("Safety Factor"),
+    YIELD_STRENGTH("Yield Strength"),
+    AVERAGE_SHEAR_STRENGTH("Average Shear Strength"),
+    ELASTIC_MODULUS("Elastic Modulus"),
+    LOAD_CAPACITY("Load Capacity");
+
+    private static final Property[] PROPERTIES = values();
+
+    private final String name;
+
+    // Constructs a Property with the following name
+    // name: The name of the property in the data files.
+
+    private Property(String name){
+        this.name = name;
+    }
+
+    // Behavior: Returns the name of the property in the data files.
+    // Exceptions: None
+    // Returns: The name of this property.
+    // Parameters: None
+
+    public String getName(){
+        return this.name;
+    }
+
+    // Behavior: The of method finds the property a name from a data file or
+    // a CSV header refers to. Like the interactive calculator, a name refers
+    // to a property when it starts with the name of the property.
+    //
+    // Exceptions: None
+    //
+    // Returns: The property, or null if the name refers to no property.
+    //
+    // Parameters: name: The name of a property.
+
+    public static Property of(String name){
+        for(Property property : PROPERTIES){
+            if(name.startsWith(property.name)){
+                return property;
+            }
+        }
+        return null;
+    }
+
+    // Behavior: Returns the property of a column.
+    // Exceptions: None
+    // Returns: The property.
+    // Parameters: column: The column, which is the ordinal of the property.
+
+    public static Property get(int column){
+        return PROPERTIES[column];
+    }
+}
@@ -0,0 +1,81 @@
+// The PropertyRange class represents one line of a data file: the range of
+// values a property may take and its unit. The minimum and maximum are parsed
+// once, when the data file is read, so checking a value is a primitive
+// comparison. The original text of the minimum and maximum is kept so that a
+// data file can be printed exactly as it was written.
+
+public final class PropertyRange{
+    private final Property property;
+    private final String label;
+    private final double minimum;
+    private final double maximum;
+    private final String minimumText;
+    private final String maximumText;
+    private final String unit;
+
+    // Constructs a PropertyRange object for the following line of a data file
+    // property: The property the line refers to.
+    // label: The name of the property as written in the data file.
+    // minimumText, maximumText: The range as written in the data file.
+    // unit: The unit of the property.
+
+    public PropertyRange(Property property, String label, String minimumText,
+                         String maximumText, String unit){
+        this.property = property;
+        this.label = label;
+        this.minimumText = minimumText;
+        this.maximumText = maximumText;
+        this.minimum = Double.parseDouble(minimumText);
+        this.maximum = Double.parseDouble(maximumText);
+        this.unit = unit;
+    }
+
+    // Constructs a PropertyRange object for the following range
+    // property: The property the range applies to.
+    // minimum, maximum: The range of the property.
+    // unit: The unit of the property.
+
+    public PropertyRange(Property property, double minimum, double maximum,
+                         String unit){
+        this(property, property.getName(), String.valueOf(minimum),
+             String.valueOf(maximum), unit);
+    }
+
+    public Property getProperty(){
+        return this.property;
+    }
+
+    public String getLabel(){
+        return this.label;
+    }
+
+    public double getMinimum(){
+        return this.minimum;
+    }
+
+    public double getMaximum(){
+        return this.maximum;
+    }
+
+    public String getMinimumText(){
+        return this.minimumText;
+    }
+
+    public String getMaximumText(){
+        return this.maximumText;
+    }
+
+    public String getUnit(){
+        return this.unit;
+    }
+
+    // Behavior: Checks whether a value lies inside the range, bounds
+    // included. NaN never does.
+    // Exceptions: None
+    // Returns: True if the value is inside the range.
+    // Parameters: value: The value to check.
+
+    public boolean contains(double value){
+        return value >= minimum && value <= maximum;
+    }
+}
@@ -0,0 +1,178 @@
+import java.io.*;
+import java.util.*;
+
+// The PropertyTable class holds the property ranges of one data file, such as
+// BuildingParameters.txt or SteelData.txt, or of a building and a material
+// together. The ranges are kept in the order of the file, for prompting and
+// printing, and in an array indexed by Property, so finding or checking the
+// range of a property takes constant time. A PropertyTable never changes once
+// it is built, so it can be shared by many threads.
+
+public final class PropertyTable{
+    private final String name;
+    private final List<PropertyRange> ranges;
+    private final PropertyRange[] byProperty;
+
+    // Constructs a PropertyTable object for the following ranges
+    // name: The name of the table, such as "Steel".
+    // ranges: The ranges in the order they are prompted for. When a property
+    //         appears more than once, the last range is the one looked up.
+
+    public PropertyTable(String name, List<PropertyRange> ranges){
+        this.name = name;
+        this.ranges = Collections.unmodifiableList
+                                (new ArrayList<PropertyRange>(ranges));
+        this.byProperty = new PropertyRange[Property.values().length];
+        for(PropertyRange range : ranges){
+            this.byProperty[range.getProperty().ordinal()] = range;
+        }
+    }
+
+    // Behavior: The read method parses a data file. Like fileProcess, every
+    // line with four comma separated parts is read as the name, minimum,
+    // maximum and unit of a property; lines naming no Property are skipped.
+    //
+    // Exceptions: Throws a FileNotFoundException if the file is not found.
+    // Throws a NumberFormatException if a minimum or maximum is not a
+    // number.
+    //
+    // Returns: A PropertyTable holding the ranges of the file.
+    //
+    // Parameters: name: The name of the table.
+    //             file: The data file to read.
+
+    public static PropertyTable read(String name, File file)
+                                            throws FileNotFoundException{
+        boolean timed = WindLoadingMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        List<PropertyRange> ranges = new ArrayList<PropertyRange>();
+        Scanner fileScan = new Scanner(file);
+        try{
+            while(fileScan.hasNextLine()){
+                String[] parts = fileScan.nextLine().split(",");
+                if(parts.length == 4){
+                    Property property = Property.of(parts[0]);
+                    if(property != null){
+                        ranges.add(new PropertyRange(property, parts[0],
+                                            parts[1], parts[2], parts[3]));
+                    }
+                }
+            }
+        }
+        finally{
+            fileScan.close();
+        }
+        if(timed){
+            WindLoadingMetrics.recordCatalogParse(System.nanoTime() - start);
+        }
+        return new PropertyTable(name, ranges);
+    }
+
+    // Behavior: Joins the ranges of two tables, such as a building and a
+    // material. The ranges of the second table come after those of the
+    // first, and replace them where both have the same property.
+    // Exceptions: None
+    // Returns: The joined table, named after the second table.
+    // Parameters: first: The first table.
+    //             second: The second table.
+
+    public static PropertyTable join(PropertyTable first,
+                                     PropertyTable second){
+        List<PropertyRange> ranges = new ArrayList<PropertyRange>();
+        ranges.addAll(first.ranges);
+        ranges.addAll(second.ranges);
+        return new PropertyTable(second.name, ranges);
+    }
+
+    public String getName(){
+        return this.name;
+    }
+
+    // Behavior: Returns the ranges in the order of the data file.
+    // Exceptions: None
+    // Returns: An unmodifiable list of the ranges.
+    // Parameters: None
+
+    public List<PropertyRange> getRanges(){
+        return this.ranges;
+    }
+
+    // Behavior: Finds the range of a property.
+    // Exceptions: None
+    // Returns: The range, or null if the table has no range for it.
+    // Parameters: property: The property to look up.
+
+    public PropertyRange get(Property property){
+        return this.byProperty[property.ordinal()];
+    }
+
+    // Behavior: Checks whether the table has a range for every property.
+    // Exceptions: None
+    // Returns: The first property without a range, or null if there is none.
+    // Parameters: None
+
+    public Property findMissing(){
+        for(Property property : Property.values()){
+            if(byProperty[property.ordinal()] == null){
+                return property;
+            }
+        }
+        return null;
+    }
+
+    // Behavior: Checks whether a value lies inside the range of a property.
+    // A property without a range accepts every value.
+    // Exceptions: None
+    // Returns: True if the value is allowed.
+    // Parameters: property: The property of the value.
+    //             value: The value to check.
+
+    public boolean contains(Property property, double value){
+        PropertyRange range = byProperty[property.ordinal()];
+        return range == null || range.contains(value);
+    }
+
+    // Behavior: Returns the minimum of every property, in the order of
+    // Property, with negative infinity for properties without a range.
+    // Exceptions: None
+    // Returns: A new array of minimums.
+    // Parameters: None
+
+    public double[] getMinimums(){
+        double[] minimums = new double[byProperty.length];
+        for(int i = 0; i < minimums.length; i++){
+            minimums[i] = byProperty[i] == null ? Double.NEGATIVE_INFINITY
+                                                : byProperty[i].getMinimum();
+        }
+        return minimums;
+    }
+
+    // Behavior: Returns the maximum of every property, in the order of
+    // Property, with positive infinity for properties without a range.
+    // Exceptions: None
+    // Returns: A new array of maximums.
+    // Parameters: None
+
+    public double[] getMaximums(){
+        double[] maximums = new double[byProperty.length];
+        for(int i = 0; i < maximums.length; i++){
+            maximums[i] = byProperty[i] == null ? Double.POSITIVE_INFINITY
+                                                : byProperty[i].getMaximum();
+        }
+        return maximums;
+    }
+
+    // Behavior: Prints every range the way fileProcess does.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: output: The stream to print to.
+
+    public void print(PrintStream output){
+        for(PropertyRange range : ranges){
+            output.println(" Property: " + range.getLabel());
+            output.println(" Min: " + range.getMinimumText());
+            output.println(" Max: " + range.getMaximumText());
+            output.println(" Unit: " + range.getUnit());
+        }
+    }
+}
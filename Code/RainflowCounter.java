@@ -0,0 +1,184 @@
+// The RainflowCounter class counts the load cycles of a signal for fatigue
+// analysis with the rainflow method of ASTM E1049, one value at a time. The
+// values are first rounded to one of a fixed number of evenly spaced levels,
+// as in a rainflow matrix, and values outside the range of the levels are
+// clamped to the nearest end.
+//
+// Only the turning points which have not yet closed a cycle are kept. Their
+// ranges strictly decrease from the oldest to the newest, so with n levels
+// there are never more than n + 1 of them, and the counter works in constant
+// memory however long the signal is. Adding a value allocates nothing.
+
+public final class RainflowCounter{
+    private final int levels;
+    private final double minimum;
+    private final double step;
+    private final double scale;
+
+    // The turning points not yet part of a full cycle, as levels. The last
+    // one is the running extreme of the current rise or fall.
+    private final int[] points;
+    private int size;
+
+    // The number of full cycles closed so far, by range in levels.
+    private final long[] cycles;
+    // The number of half cycles closed at the start of the signal, by range.
+    private final long[] halfCycles;
+
+    // Constructs a RainflowCounter object for the following levels
+    // levels: The number of levels the values are rounded to, at least 2.
+    // minimum: The value of the lowest level.
+    // maximum: The value of the highest level, above minimum.
+
+    public RainflowCounter(int levels, double minimum, double maximum){
+        if(levels < 2 || !(maximum > minimum)){
+            throw new IllegalArgumentException("A rainflow counter needs at "
+                    + "least 2 levels and a maximum above its minimum.");
+        }
+        this.levels = levels;
+        this.minimum = minimum;
+        this.step = (maximum - minimum) / (levels - 1);
+        this.scale = (levels - 1) / (maximum - minimum);
+        this.points = new int[levels + 2];
+        this.cycles = new long[levels];
+        this.halfCycles = new long[levels];
+    }
+
+    // Behavior: The add method adds the next value of the signal. A value
+    // which continues the current rise or fall only moves the running
+    // extreme; a value which turns back makes the running extreme a turning
+    // point and closes every cycle it completes.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: value: The next value. NaN is ignored.
+
+    public void add(double value){
+        if(Double.isNaN(value)){
+            return;
+        }
+        int level = level(value);
+        if(size == 0){
+            points[size++] = level;
+            return;
+        }
+        int last = points[size - 1];
+        if(level == last){
+            return;
+        }
+        if(size >= 2 && (last - points[size - 2] > 0) == (level - last > 0)){
+            points[size - 1] = level;
+            return;
+        }
+        size = closeCycles(points, size, cycles, halfCycles);
+        points[size++] = level;
+    }
+
+    // Behavior: Returns the number of cycles counted with a range of the
+    // given number of levels, as getCycles() does.
+    // Exceptions: None
+    // Returns: The number of cycles, in steps of one half.
+    // Parameters: range: The range in levels, from 1 to getLevels() - 1.
+
+    public double getCycles(int range){
+        return getCycles()[range];
+    }
+
+    // Behavior: The getCycles method returns the number of cycles of every
+    // range for the signal ending at the last value added. The last value
+    // is treated as the final turning point, closing the cycles it
+    // completes, and the turning points left over count as half cycles,
+    // all on a copy, so more values can still be added afterwards.
+    //
+    // Exceptions: None
+    //
+    // Returns: A new array holding the number of cycles of each range, in
+    // steps of one half, by range in levels.
+    //
+    // Parameters: None
+
+    public double[] getCycles(){
+        int[] residue = points.clone();
+        long[] full = cycles.clone();
+        long[] half = halfCycles.clone();
+        int count = closeCycles(residue, size, full, half);
+
+        double[] counts = new double[levels];
+        for(int range = 0; range < levels; range++){
+            counts[range] = full[range] + 0.5 * half[range];
+        }
+        for(int i = 1; i < count; i++){
+            counts[Math.abs(residue[i] - residue[i - 1])] += 0.5;
+        }
+        return counts;
+    }
+
+    // Behavior: Converts a range in levels to a range of the signal.
+    // Exceptions: None
+    // Returns: The range in the units of the values.
+    // Parameters: range: The range in levels.
+
+    public double getRange(int range){
+        return range * step;
+    }
+
+    public int getLevels(){
+        return this.levels;
+    }
+
+    // Behavior: The closeCycles method applies the rainflow rule once the
+    // newest point is known to be a turning point. While the newest range is
+    // at least as large as the one before it, that range is a full cycle,
+    // or a half cycle when it starts at the first point of the signal, and
+    // its two points are removed.
+    //
+    // Exceptions: None
+    //
+    // Returns: The number of points left.
+    //
+    // Parameters: points: The turning points, newest last.
+    //             size: The number of turning points.
+    //             cycles: The full cycle counts, by range.
+    //             halfCycles: The half cycle counts, by range.
+
+    private static int closeCycles(int[] points, int size, long[] cycles,
+                                   long[] halfCycles){
+        while(size >= 3){
+            int newest = Math.abs(points[size - 1] - points[size - 2]);
+            int previous = Math.abs(points[size - 2] - points[size - 3]);
+            if(newest < previous){
+                break;
+            }
+            if(size == 3){
+                halfCycles[previous]++;
+                points[0] = points[1];
+                points[1] = points[2];
+                size = 2;
+            }
+            else{
+                cycles[previous]++;
+                points[size - 3] = points[size - 1];
+                size -= 2;
+            }
+        }
+        return size;
+    }
+
+    // Behavior: Rounds a value to the nearest level, clamped to the levels.
+    // Exceptions: None
+    // Returns: The level.
+    // Parameters: value: The value.
+
+    private int level(double value){
+        double scaled = (value - minimum) * scale + 0.5;
+        if(scaled <= 0){
+            return 0;
+        }
+        if(scaled >= levels - 1){
+            return levels - 1;
+        }
+        return (int) scaled;
+    }
+}
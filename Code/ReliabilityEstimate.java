@@ -0,0 +1,115 @@
+// The ReliabilityEstimate class holds the outcome of a Monte Carlo
+// reliability run: how many scenarios were sampled and how many of them
+// failed, or survived without being deemed safe, for each failure mode and for
+// the structure as a whole. Probabilities are reported with Wilson score
+// confidence intervals.
+
+public final class ReliabilityEstimate{
+    private final long samples;
+    private final long[] counts;
+    private final double z;
+    private final boolean converged;
+
+    // Constructs a ReliabilityEstimate object for the following counts
+    // samples: The number of sampled scenarios.
+    // counts: The counts laid out as described by MonteCarloReliability.
+    // z: The standard normal quantile of the confidence level.
+    // converged: Whether the target interval width was reached.
+
+    ReliabilityEstimate(long samples, long[] counts, double z,
+                        boolean converged){
+        this.samples = samples;
+        this.counts = counts.clone();
+        this.z = z;
+        this.converged = converged;
+    }
+
+    public long getSamples(){
+        return this.samples;
+    }
+
+    // Returns: Whether sampling stopped because every confidence interval
+    // became narrower than the target width.
+
+    public boolean isConverged(){
+        return this.converged;
+    }
+
+    // Behavior: Returns how many sampled scenarios had the given verdict for
+    // a failure mode, or for the structure as a whole if mode is null. The
+    // structure fails when any mode fails, and is marginal when no mode fails
+    // but at least one is marginal.
+    // Exceptions: None
+    // Returns: The number of scenarios.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             verdict: The verdict to count.
+
+    public long getCount(FailureMode mode, Verdict verdict){
+        int base = mode == null ? FailureMode.values().length * 2
+                                : mode.ordinal() * 2;
+        if(verdict == Verdict.FAIL){
+            return counts[base];
+        }
+        else if(verdict == Verdict.MARGINAL){
+            return counts[base + 1];
+        }
+        return samples - counts[base] - counts[base + 1];
+    }
+
+    // Behavior: Returns the estimated probability of a verdict.
+    // Exceptions: None
+    // Returns: The fraction of sampled scenarios with the verdict.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             verdict: The verdict.
+
+    public double getProbability(FailureMode mode, Verdict verdict){
+        return (double) getCount(mode, verdict) / samples;
+    }
+
+    // Behavior: Returns the lower end of the confidence interval of the
+    // probability of a verdict.
+    // Exceptions: None
+    // Returns: The lower bound of the probability.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             verdict: The verdict.
+
+    public double getLowerBound(FailureMode mode, Verdict verdict){
+        return wilson(getCount(mode, verdict), samples, z, -1);
+    }
+
+    // Behavior: Returns the upper end of the confidence interval of the
+    // probability of a verdict.
+    // Exceptions: None
+    // Returns: The upper bound of the probability.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             verdict: The verdict.
+
+    public double getUpperBound(FailureMode mode, Verdict verdict){
+        return wilson(getCount(mode, verdict), samples, z, 1);
+    }
+
+    // Behavior: The wilson method calculates one end of the Wilson score
+    // interval of a binomial proportion.
+    //
+    // Exceptions: None
+    //
+    // Returns: The lower end if sign is negative, otherwise the upper end.
+    //
+    // Parameters: count: The number of successes.
+    //             samples: The number of trials.
+    //             z: The standard normal quantile of the confidence level.
+    //             sign: -1 for the lower end and 1 for the upper end.
+
+    static double wilson(long count, long samples, double z, int sign){
+        if(samples == 0){
+            return sign < 0 ? 0 : 1;
+        }
+        double n = samples;
+        double p = count / n;
+        double zz = z * z;
+        double center = p + zz / (2 * n);
+        double spread = z * Math.sqrt(p * (1 - p) / n + zz / (4 * n * n));
+        double bound = (center + sign * spread) / (1 + zz / n);
+        return Math.min(1, Math.max(0, bound));
+    }
+}
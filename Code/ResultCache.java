@@ -0,0 +1,433 @@
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+// The ResultCache class remembers what was calculated for an input, such as
+// its InverseSolution (see CachingSolver), for callers such as a service
+// where the same buildings, materials and winds come back again and again.
+//
+// Every parameter of an input is rounded to a relative tolerance, and the ten
+// rounded values, as the bits of their doubles, are the key of the result.
+// Inputs which round to the same key share one result, which is the
+// evaluation of the rounded input, so a result never depends on which of them
+// came first. With a tolerance of 0 only identical inputs share a result.
+//
+// The cache holds at most a fixed number of results. It is split into
+// segments by the hash of the key. Each segment keeps its keys in a long
+// array and finds them through an open addressing table of ints, so a lookup
+// allocates nothing but the key. Lookups are optimistic reads of a
+// StampedLock and never block one another; only inserts take the lock. When a
+// segment is full, the CLOCK algorithm evicts a result which has not been
+// looked up since the clock hand last passed it, which approximates evicting
+// the least recently used result without writing to shared state on a hit.
+
+public class ResultCache<V>{
+    public static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+
+    private static final int KEY_LONGS = ScenarioColumns.COLUMNS;
+    private static final int MAXIMUM_SEGMENTS = 16;
+
+    private final int droppedBits;
+    private final int segmentShift;
+    private final List<Segment> segments;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    // Constructs a ResultCache object holding at most DEFAULT_MAXIMUM_SIZE
+    // results, with a relative tolerance of DEFAULT_TOLERANCE.
+
+    public ResultCache(){
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TOLERANCE);
+    }
+
+    // Constructs a ResultCache object for the following limits
+    // maximumSize: The largest number of results the cache holds.
+    // tolerance: The relative difference below which two values of a
+    //            parameter may share a result, or 0 for none. Values are
+    //            rounded to a power of two no larger than the tolerance.
+
+    public ResultCache(int maximumSize, double tolerance){
+        if(maximumSize < 1){
+            throw new IllegalArgumentException
+                    ("The cache must hold at least one result.");
+        }
+        if(!(tolerance >= 0 && tolerance < 1)){
+            throw new IllegalArgumentException
+                    ("The tolerance must be at least 0 and below 1.");
+        }
+        // Keeping k bits of the mantissa rounds to a relative step of 2^-k.
+        int keptBits = tolerance == 0 ? 52
+                : (int) Math.ceil(-Math.log(tolerance) / Math.log(2));
+        this.droppedBits = 52 - Math.min(52, keptBits);
+
+        int count = Math.min(MAXIMUM_SEGMENTS,
+                             Integer.highestOneBit(maximumSize));
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.segments = new ArrayList<Segment>(count);
+        for(int i = 0; i < count; i++){
+            this.segments.add(new Segment(maximumSize / count
+                                    + (i < maximumSize % count ? 1 : 0)));
+        }
+    }
+
+    // Behavior: The get method returns the cached result for the key of the
+    // input, and otherwise calculates the result of the input, rounded to
+    // the tolerance, and caches it. Two threads missing the same key at
+    // once may both calculate it, and the first result cached is kept.
+    //
+    // Exceptions: None
+    //
+    // Returns: The result of the rounded input.
+    //
+    // Parameters: input: The parameters of the structure, air and material.
+    //             calculation: Calculates the result of an input, which
+    //                          must not be null. It is given the rounded
+    //                          input, or the input itself when the tolerance
+    //                          is 0.
+
+    public V get(WindLoadingInput input,
+                 Function<WindLoadingInput, V> calculation){
+        long[] key = new long[KEY_LONGS];
+        key[ScenarioColumns.HEIGHT] = quantize(input.getHeight());
+        key[ScenarioColumns.WIDTH] = quantize(input.getWidth());
+        key[ScenarioColumns.LENGTH] = quantize(input.getLength());
+        key[ScenarioColumns.WIND_VELOCITY] =
+                                    quantize(input.getWindVelocity());
+        key[ScenarioColumns.AIR_DENSITY] = quantize(input.getAirDensity());
+        key[ScenarioColumns.SAFETY_FACTOR] =
+                                    quantize(input.getSafetyFactor());
+        key[ScenarioColumns.YIELD_STRENGTH] =
+                                    quantize(input.getYieldStrength());
+        key[ScenarioColumns.AVERAGE_SHEAR_STRENGTH] =
+                                    quantize(input.getAverageShearStrength());
+        key[ScenarioColumns.ELASTIC_MODULUS] =
+                                    quantize(input.getElasticModulus());
+        key[ScenarioColumns.LOAD_CAPACITY] =
+                                    quantize(input.getLoadCapacity());
+
+        int hash = hash(key);
+        Segment segment = segments.get(segmentShift == 32 ? 0
+                                                : hash >>> segmentShift);
+        V result = segment.get(key, hash);
+        if(result != null){
+            hits.increment();
+            return result;
+        }
+
+        misses.increment();
+        if(droppedBits > 0){
+            input = new WindLoadingInput(value(key, ScenarioColumns.HEIGHT),
+                    value(key, ScenarioColumns.WIDTH),
+                    value(key, ScenarioColumns.LENGTH),
+                    value(key, ScenarioColumns.WIND_VELOCITY),
+                    value(key, ScenarioColumns.AIR_DENSITY),
+                    value(key, ScenarioColumns.SAFETY_FACTOR),
+                    value(key, ScenarioColumns.YIELD_STRENGTH),
+                    value(key, ScenarioColumns.AVERAGE_SHEAR_STRENGTH),
+                    value(key, ScenarioColumns.ELASTIC_MODULUS),
+                    value(key, ScenarioColumns.LOAD_CAPACITY));
+        }
+        return segment.put(key, hash, calculation.apply(input));
+    }
+
+    // Returns: The number of evaluations answered from the cache.
+
+    public long getHits(){
+        return hits.sum();
+    }
+
+    // Returns: The number of evaluations which were not in the cache.
+
+    public long getMisses(){
+        return misses.sum();
+    }
+
+    // Returns: The number of results evicted to make room for others.
+
+    public long getEvictions(){
+        return evictions.sum();
+    }
+
+    // Behavior: Counts the results in the cache. While other threads insert
+    // results, the count may be slightly out of date.
+    // Exceptions: None
+    // Returns: The number of cached results.
+    // Parameters: None
+
+    public int getSize(){
+        int size = 0;
+        for(Segment segment : segments){
+            size += segment.size;
+        }
+        return size;
+    }
+
+    // Behavior: Removes every result from the cache. The counters are kept.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    public void clear(){
+        for(Segment segment : segments){
+            segment.clear();
+        }
+    }
+
+    // Behavior: Rounds a value to the tolerance by rounding its mantissa to
+    // the kept bits, and returns the bits of the rounded double. Both zeros
+    // give the same key, and so do all NaNs.
+    // Exceptions: None
+    // Returns: The key of the value.
+    // Parameters: value: The value of a parameter.
+
+    private long quantize(double value){
+        if(value == 0){
+            return 0;
+        }
+        long bits = Double.doubleToLongBits(value);
+        if(droppedBits == 0){
+            return bits;
+        }
+        // A carry out of the mantissa correctly moves to the next exponent.
+        return (bits + (1L << (droppedBits - 1))) & (-1L << droppedBits);
+    }
+
+    // Behavior: Returns the rounded value of a parameter from its key.
+    // Exceptions: None
+    // Returns: The rounded value.
+    // Parameters: key: The key of an input.
+    //             column: The column of the parameter in ScenarioColumns.
+
+    private static double value(long[] key, int column){
+        return Double.longBitsToDouble(key[column]);
+    }
+
+    // Behavior: Mixes the longs of a key into a hash whose high bits pick
+    // the segment and whose low bits pick the slot in the segment.
+    // Exceptions: None
+    // Returns: The hash of the key.
+    // Parameters: key: The key of an input.
+
+    private static int hash(long[] key){
+        long hash = 0;
+        for(long part : key){
+            hash = hash * 31 + part;
+        }
+        // The finalizer of MurmurHash3 spreads every bit over the hash.
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33));
+    }
+
+    // The Segment class is one part of the cache: a fixed number of entries,
+    // each holding its key in keys, its hash and its result, and a table
+    // holding the index of each entry plus one at the slot of its hash, or
+    // 0 for an empty slot. Collisions move to the next slot, so entries of
+    // one hash are always found before an empty slot.
+
+    private final class Segment{
+        private final StampedLock lock;
+        private final int capacity;
+        private final long[] keys;
+        private final int[] hashes;
+        private final Object[] results;
+        private final byte[] referenced;
+        private final int[] table;
+        private volatile int size;
+        private int hand;
+
+        // Constructs a Segment object holding at most capacity entries.
+
+        private Segment(int capacity){
+            this.lock = new StampedLock();
+            this.capacity = capacity;
+            this.keys = new long[capacity * KEY_LONGS];
+            this.hashes = new int[capacity];
+            this.results = new Object[capacity];
+            this.referenced = new byte[capacity];
+            this.table = new int[Integer.highestOneBit(capacity) * 4];
+        }
+
+        // Behavior: Looks up a key without blocking. If an insert ran at the
+        // same time, the lookup is repeated under the read lock.
+        // Exceptions: None
+        // Returns: The cached result, or null if the key is not cached.
+        // Parameters: key: The key of the input.
+        //             hash: The hash of the key.
+
+        private V get(long[] key, int hash){
+            long stamp = lock.tryOptimisticRead();
+            V result = find(key, hash);
+            if(!lock.validate(stamp)){
+                stamp = lock.readLock();
+                try{
+                    result = find(key, hash);
+                }
+                finally{
+                    lock.unlockRead(stamp);
+                }
+            }
+            return result;
+        }
+
+        // Behavior: Caches a result unless another thread cached the same
+        // key first, evicting an entry if the segment is full.
+        // Exceptions: None
+        // Returns: The result now cached for the key.
+        // Parameters: key: The key of the input.
+        //             hash: The hash of the key.
+        //             result: The result to cache.
+
+        private V put(long[] key, int hash, V result){
+            long stamp = lock.writeLock();
+            try{
+                V cached = find(key, hash);
+                if(cached != null){
+                    return cached;
+                }
+                int entry;
+                if(size == capacity){
+                    entry = evict();
+                    evictions.increment();
+                }
+                else{
+                    entry = size;
+                    size = entry + 1;
+                }
+                System.arraycopy(key, 0, keys, entry * KEY_LONGS, KEY_LONGS);
+                hashes[entry] = hash;
+                results[entry] = result;
+                referenced[entry] = 0;
+
+                int mask = table.length - 1;
+                int slot = hash & mask;
+                while(table[slot] != 0){
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = entry + 1;
+                return result;
+            }
+            finally{
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Behavior: Removes every entry.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: None
+
+        private void clear(){
+            long stamp = lock.writeLock();
+            try{
+                Arrays.fill(table, 0);
+                Arrays.fill(results, null);
+                size = 0;
+                hand = 0;
+            }
+            finally{
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        // Behavior: Searches the table for a key. Under an optimistic read
+        // the arrays may be changing, so the search never leaves the bounds
+        // of the arrays and stops after one pass over the table; any wrong
+        // answer is thrown away when the read fails to validate. A hit marks
+        // the entry as referenced for the clock.
+        // Exceptions: None
+        // Returns: The result of the key, or null if it is not in the table.
+        // Parameters: key: The key of the input.
+        //             hash: The hash of the key.
+
+        @SuppressWarnings("unchecked")
+        private V find(long[] key, int hash){
+            int mask = table.length - 1;
+            int slot = hash & mask;
+            for(int probe = 0; probe < table.length; probe++){
+                int entry = table[slot] - 1;
+                if(entry < 0){
+                    return null;
+                }
+                if(hashes[entry] == hash && matches(entry, key)){
+                    referenced[entry] = 1;
+                    return (V) results[entry];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        // Behavior: Compares the key of an entry with a key.
+        // Exceptions: None
+        // Returns: True if the keys are equal.
+        // Parameters: entry: The index of the entry.
+        //             key: The key to compare with.
+
+        private boolean matches(int entry, long[] key){
+            int offset = entry * KEY_LONGS;
+            for(int i = 0; i < KEY_LONGS; i++){
+                if(keys[offset + i] != key[i]){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Behavior: Moves the clock hand past referenced entries, clearing
+        // their marks, and removes the first entry which is not referenced.
+        // Exceptions: None
+        // Returns: The index of the removed entry, ready to be reused.
+        // Parameters: None
+
+        private int evict(){
+            while(referenced[hand] != 0){
+                referenced[hand] = 0;
+                hand = hand + 1 == capacity ? 0 : hand + 1;
+            }
+            int entry = hand;
+            hand = hand + 1 == capacity ? 0 : hand + 1;
+            remove(entry);
+            return entry;
+        }
+
+        // Behavior: Removes an entry from the table, shifting back the
+        // entries after it so that none is separated from its slot by an
+        // empty slot.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: entry: The index of the entry to remove.
+
+        private void remove(int entry){
+            int mask = table.length - 1;
+            int empty = hashes[entry] & mask;
+            while(table[empty] != entry + 1){
+                empty = (empty + 1) & mask;
+            }
+            int slot = empty;
+            while(true){
+                slot = (slot + 1) & mask;
+                if(table[slot] == 0){
+                    break;
+                }
+                int home = hashes[table[slot] - 1] & mask;
+                // An entry stays where it is if its home slot lies
+                // cyclically after the empty slot and no later than it.
+                boolean stays = empty <= slot ? empty < home && home <= slot
+                                              : empty < home || home <= slot;
+                if(!stays){
+                    table[empty] = table[slot];
+                    empty = slot;
+                }
+            }
+            table[empty] = 0;
+            results[entry] = null;
+        }
+    }
+}
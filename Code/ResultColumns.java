@@ -0,0 +1,114 @@
+import java.nio.*;
+
+// The ResultColumns class holds the results of many wind loading scenarios
+// as columns: one buffer of little-endian doubles per derived quantity and one
+// byte per scenario packing the verdict of each failure mode (see
+// Verdict.pack). Like ScenarioColumns, the buffers either live outside the
+// Java heap or are mapped from a ColumnarFile.
+
+public final class ResultColumns{
+    public static final int DRAG_COEFFICIENT = 0;
+    public static final int WIND_PRESSURE = 1;
+    public static final int CROSS_SECTIONAL_AREA = 2;
+    public static final int WIND_LOAD = 3;
+    public static final int MOMENT_INERTIA = 4;
+    public static final int TENSILE_STRENGTH = 5;
+    public static final int SHEAR_STRENGTH = 6;
+    public static final int FLEXURAL_STRENGTH = 7;
+    public static final int BUCKLING_STRENGTH = 8;
+    public static final int SAFETY_TENSILE_STRENGTH = 9;
+    public static final int SAFETY_SHEAR_STRENGTH = 10;
+    public static final int SAFETY_FLEXURAL_STRENGTH = 11;
+    public static final int SAFETY_BUCKLING_STRENGTH = 12;
+    public static final int COLUMNS = 13;
+
+    private final ByteBuffer[] columns;
+    private final ByteBuffer verdicts;
+    private final int rows;
+
+    // Constructs a ResultColumns object for the following number of rows
+    // rows: The number of results the columns hold, at most
+    //       Integer.MAX_VALUE / 8.
+
+    public ResultColumns(int rows){
+        this(ScenarioColumns.allocate(COLUMNS, rows),
+             ByteBuffer.allocateDirect(rows).order(ByteOrder.LITTLE_ENDIAN),
+             rows);
+    }
+
+    // Constructs a ResultColumns object for the following buffers
+    // columns: One buffer per column holding rows doubles, in the order of
+    //          the column constants.
+    // verdicts: The little-endian buffer holding one packed verdict byte per
+    //           row.
+    // rows: The number of results the columns hold.
+
+    ResultColumns(ByteBuffer[] columns, ByteBuffer verdicts, int rows){
+        this.columns = columns;
+        this.verdicts = verdicts;
+        this.rows = rows;
+    }
+
+    public int getRows(){
+        return this.rows;
+    }
+
+    // Behavior: Returns the buffer holding one quantity of every result, the
+    // value of row i being at byte 8 * i.
+    // Exceptions: None
+    // Returns: The column buffer.
+    // Parameters: column: The column, such as WIND_LOAD.
+
+    public ByteBuffer getColumn(int column){
+        return this.columns[column];
+    }
+
+    // Behavior: Reads one quantity of one result.
+    // Exceptions: None
+    // Returns: The value of the quantity.
+    // Parameters: column: The column of the quantity.
+    //             row: The row of the result.
+
+    public double get(int column, int row){
+        return columns[column].getDouble(row * Double.BYTES);
+    }
+
+    // Behavior: Returns the column of the strength of a failure mode.
+    // Exceptions: None
+    // Returns: The column buffer.
+    // Parameters: mode: The failure mode.
+
+    public ByteBuffer getStrengthColumn(FailureMode mode){
+        return this.columns[TENSILE_STRENGTH + mode.ordinal()];
+    }
+
+    // Behavior: Returns the column of the safety-reduced strength of a
+    // failure mode.
+    // Exceptions: None
+    // Returns: The column buffer.
+    // Parameters: mode: The failure mode.
+
+    public ByteBuffer getSafetyStrengthColumn(FailureMode mode){
+        return this.columns[SAFETY_TENSILE_STRENGTH + mode.ordinal()];
+    }
+
+    // Behavior: Returns the buffer holding the packed verdicts of every
+    // result, one byte per row.
+    // Exceptions: None
+    // Returns: The verdict buffer.
+    // Parameters: None
+
+    public ByteBuffer getVerdicts(){
+        return this.verdicts;
+    }
+
+    // Behavior: Returns the verdict of one failure mode of one result.
+    // Exceptions: None
+    // Returns: The verdict.
+    // Parameters: row: The row of the result.
+    //             mode: The failure mode.
+
+    public Verdict getVerdict(int row, FailureMode mode){
+        return Verdict.unpack(verdicts.get(row), mode);
+    }
+}
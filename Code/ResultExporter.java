@@ -0,0 +1,622 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+// The ResultExporter class writes the results of many scenarios to one file:
+// for every scenario its row, its material, the parameters of
+// WindLoadingInput, the derived quantities of ResultColumns and the verdict of
+// every failure mode. The wind velocity is written in km/h like the scenario
+// files, and every other quantity in the units WindLoadingEvaluator uses.
+//
+// The file is CSV with a header row, JSON Lines with one object per scenario,
+// or a compact little-endian binary layout made of records:
+//
+//     header    int MAGIC, short VERSION, byte the number of parameters and
+//               byte the number of quantities; starts every exporter's output
+//     material  byte 'M', short code, short length and the UTF-8 name, written
+//               before the first row of each material
+//     row       byte 'R', long row, short material code (-1 for none), the
+//               parameters and quantities as doubles and the packed verdicts
+//               (see Verdict.pack)
+//
+// Rows are formatted straight into a byte buffer of BUFFER_BYTES, which is
+// written to a FileChannel when full, optionally through gzip at its fastest
+// level, so compression keeps up with the disk. Numbers are
+// written with DIGITS significant digits by the exporter itself instead of
+// String.valueOf or printf, so writing a row allocates nothing, and the binary
+// layout keeps every double exactly. A file can be appended to, in which case
+// a CSV header is only written to an empty file and gzip output becomes one
+// more gzip member, which gzip tools read as one stream. When the written
+// bytes reach the disk is set by a SyncPolicy.
+
+public final class ResultExporter implements Closeable{
+    public static final int BUFFER_BYTES = 1 << 20;
+    public static final int MAGIC = 0x58524c57;
+    public static final short VERSION = 1;
+    // The significant digits of numbers in CSV and JSON Lines.
+    public static final int DIGITS = 15;
+
+    private static final String[] RESULT_NAMES = {"Drag Coefficient",
+            "Wind Pressure", "Cross Sectional Area", "Wind Load",
+            "Moment Inertia", "Tensile Strength", "Shear Strength",
+            "Flexural Strength", "Buckling Strength",
+            "Safety Tensile Strength", "Safety Shear Strength",
+            "Safety Flexural Strength", "Safety Buckling Strength"};
+    private static final String[] VERDICT_NAMES = {"Tensile Verdict",
+            "Shear Verdict", "Flexural Verdict", "Buckling Verdict"};
+    // The ScenarioColumns column of each of WindLoadingBatch.COLUMNS.
+    private static final int[] INPUT_COLUMNS = {ScenarioColumns.HEIGHT,
+            ScenarioColumns.WIDTH, ScenarioColumns.LENGTH,
+            ScenarioColumns.AIR_DENSITY, ScenarioColumns.WIND_VELOCITY,
+            ScenarioColumns.SAFETY_FACTOR, ScenarioColumns.YIELD_STRENGTH,
+            ScenarioColumns.AVERAGE_SHEAR_STRENGTH,
+            ScenarioColumns.ELASTIC_MODULUS, ScenarioColumns.LOAD_CAPACITY};
+    private static final int INPUTS = INPUT_COLUMNS.length;
+    private static final int VELOCITY = 4;
+    private static final int VALUES = INPUTS + ResultColumns.COLUMNS;
+
+    // The failure modes, since values() copies them on every call.
+    private static final FailureMode[] MODES = FailureMode.values();
+
+    // Powers of ten from 10^0 to 10^308, each the double nearest to it.
+    private static final double[] POWERS = new double[309];
+    private static final long SMALLEST = 100_000_000_000_000L;
+    private static final long LARGEST = 10 * SMALLEST;
+
+    // The JSON keys of the values with their quotes, colon and comma, and
+    // the verdict names, as bytes.
+    private static final byte[][] KEYS = new byte[VALUES + 4][];
+    private static final byte[][] VERDICTS = new byte[3][];
+
+    private final ExportFormat format;
+    private final SyncPolicy sync;
+    private final FileChannel channel;
+    private final OutputStream gzip;
+
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+    private final byte[] digits;
+    private final double[] values;
+
+    private final Map<String, byte[]> materialBytes;
+    private final Map<String, Integer> materialCodes;
+    private long rows;
+    private long written;
+
+    static{
+        for(int i = 0; i < POWERS.length; i++){
+            POWERS[i] = Double.parseDouble("1e" + i);
+        }
+        String[] names = new String[VALUES + 4];
+        System.arraycopy(WindLoadingBatch.COLUMNS, 0, names, 0, INPUTS);
+        System.arraycopy(RESULT_NAMES, 0, names, INPUTS, RESULT_NAMES.length);
+        System.arraycopy(VERDICT_NAMES, 0, names, VALUES, 4);
+        for(int i = 0; i < names.length; i++){
+            String key = names[i].replace(" ", "");
+            key = Character.toLowerCase(key.charAt(0)) + key.substring(1);
+            KEYS[i] = (",\"" + key + "\":").getBytes(StandardCharsets.UTF_8);
+        }
+        for(Verdict verdict : Verdict.values()){
+            VERDICTS[verdict.ordinal()] =
+                    verdict.name().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    // Constructs a ResultExporter object for the following file, writing
+    // the CSV header or binary header right away
+    // file: The file to write to, created if it does not exist.
+    // format: The format to write.
+    // gzip: Whether the output is compressed with gzip.
+    // append: Whether rows are added to the end of an existing file instead
+    //         of replacing it.
+    // sync: When the written bytes are forced to the disk.
+
+    public ResultExporter(File file, ExportFormat format, boolean gzip,
+                          boolean append, SyncPolicy sync)
+                                                    throws IOException{
+        this.format = format;
+        this.sync = sync;
+        this.channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND
+                       : StandardOpenOption.TRUNCATE_EXISTING);
+        long startSize = this.channel.size();
+        this.gzip = gzip ? new GZIPOutputStream(Channels.newOutputStream(
+                                    this.channel), 1 << 16, true){
+                    {
+                        this.def.setLevel(Deflater.BEST_SPEED);
+                    }
+                } : null;
+        this.bytes = new byte[BUFFER_BYTES];
+        this.buffer = ByteBuffer.wrap(this.bytes)
+                                .order(ByteOrder.LITTLE_ENDIAN);
+        this.digits = new byte[20];
+        this.values = new double[VALUES];
+        this.materialBytes = new HashMap<String, byte[]>();
+        this.materialCodes = new HashMap<String, Integer>();
+        if(format == ExportFormat.BINARY){
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            bytes[6] = (byte) INPUTS;
+            bytes[7] = (byte) ResultColumns.COLUMNS;
+            position = 8;
+        }
+        else if(format == ExportFormat.CSV && startSize == 0){
+            StringBuilder header = new StringBuilder("Row,Material");
+            for(String name : WindLoadingBatch.COLUMNS){
+                header.append(',').append(name);
+            }
+            for(String name : RESULT_NAMES){
+                header.append(',').append(name);
+            }
+            for(String name : VERDICT_NAMES){
+                header.append(',').append(name);
+            }
+            writeAscii(header.append('\n').toString());
+        }
+    }
+
+    // Behavior: Writes the result of one evaluation.
+    // Exceptions: Throws an IOException if the file cannot be written.
+    // Returns: None
+    // Parameters: row: The number of the row, written as is.
+    //             material: The name of the material, or null.
+    //             result: The result.
+
+    public void write(long row, String material, WindLoadingResult result)
+                                                    throws IOException{
+        WindLoadingInput input = result.getInput();
+        values[0] = input.getHeight();
+        values[1] = input.getWidth();
+        values[2] = input.getLength();
+        values[3] = input.getAirDensity();
+        values[4] = input.getWindVelocity();
+        values[5] = input.getSafetyFactor();
+        values[6] = input.getYieldStrength();
+        values[7] = input.getAverageShearStrength();
+        values[8] = input.getElasticModulus();
+        values[9] = input.getLoadCapacity();
+        values[INPUTS + ResultColumns.DRAG_COEFFICIENT] =
+                result.getDragCoefficient();
+        values[INPUTS + ResultColumns.WIND_PRESSURE] =
+                result.getWindPressure();
+        values[INPUTS + ResultColumns.CROSS_SECTIONAL_AREA] =
+                result.getCrossSectionalArea();
+        values[INPUTS + ResultColumns.WIND_LOAD] = result.getWindLoad();
+        values[INPUTS + ResultColumns.MOMENT_INERTIA] =
+                result.getMomentInertia();
+        for(FailureMode mode : MODES){
+            values[INPUTS + ResultColumns.TENSILE_STRENGTH + mode.ordinal()] =
+                    result.getStrength(mode);
+            values[INPUTS + ResultColumns.SAFETY_TENSILE_STRENGTH
+                    + mode.ordinal()] = result.getSafetyStrength(mode);
+        }
+        writeRow(row, material, Verdict.pack(result));
+    }
+
+    // Behavior: Writes the result of one row of evaluated columns.
+    // Exceptions: Throws an IOException if the file cannot be written.
+    // Returns: None
+    // Parameters: row: The number of the row, written as is.
+    //             material: The name of the material, or null.
+    //             scenarios: The scenarios.
+    //             results: Their results.
+    //             index: The row of the columns to write.
+
+    public void write(long row, String material, ScenarioColumns scenarios,
+                      ResultColumns results, int index) throws IOException{
+        for(int i = 0; i < INPUTS; i++){
+            values[i] = scenarios.get(INPUT_COLUMNS[i], index);
+        }
+        for(int i = 0; i < ResultColumns.COLUMNS; i++){
+            values[INPUTS + i] = results.get(i, index);
+        }
+        writeRow(row, material, results.getVerdicts().get(index));
+    }
+
+    // Returns: The number of rows written.
+
+    public long getRows(){
+        return this.rows;
+    }
+
+    // Returns: The number of bytes written before compression.
+
+    public long getBytesWritten(){
+        return this.written + this.position;
+    }
+
+    // Behavior: Writes out the buffer, applying the SyncPolicy as if the
+    // buffer were full.
+    // Exceptions: Throws an IOException if the file cannot be written.
+    // Returns: None
+    // Parameters: None
+
+    public void flush() throws IOException{
+        drain();
+    }
+
+    // Behavior: Writes out the buffer, finishes the gzip member, forces the
+    // file to the disk unless the SyncPolicy is NEVER, and closes it. With
+    // gzip the file is closed through the gzip stream, which also frees its
+    // deflater, and only closed directly if that stream fails to close it.
+    // Exceptions: Throws an IOException if the file cannot be written.
+    // Returns: None
+    // Parameters: None
+
+    public void close() throws IOException{
+        if(!channel.isOpen()){
+            return;
+        }
+        try{
+            drain();
+            if(gzip != null){
+                ((GZIPOutputStream) gzip).finish();
+            }
+            if(sync != SyncPolicy.NEVER){
+                channel.force(true);
+            }
+        }
+        finally{
+            if(gzip == null){
+                channel.close();
+            }
+            else{
+                try{
+                    gzip.close();
+                }
+                finally{
+                    if(channel.isOpen()){
+                        channel.close();
+                    }
+                }
+            }
+        }
+    }
+
+    // Behavior: Writes one row from values in the format of the exporter.
+    // Exceptions: Throws an IOException if the buffer cannot be written out.
+    // Returns: None
+    // Parameters: row: The number of the row.
+    //             material: The name of the material, or null.
+    //             verdicts: The packed verdicts.
+
+    private void writeRow(long row, String material, byte verdicts)
+                                                    throws IOException{
+        values[VELOCITY] *= 3.6;
+        if(format == ExportFormat.BINARY){
+            writeBinary(row, material, verdicts);
+        }
+        else{
+            writeText(row, material, verdicts, format == ExportFormat.JSONL);
+        }
+        rows++;
+    }
+
+    // Behavior: Writes one row as a binary record, preceded by a material
+    // record the first time a material is written.
+    // Exceptions: Throws an IOException if the buffer cannot be written out.
+    // Returns: None
+    // Parameters: row: The number of the row.
+    //             material: The name of the material, or null.
+    //             verdicts: The packed verdicts.
+
+    private void writeBinary(long row, String material, byte verdicts)
+                                                    throws IOException{
+        int code = -1;
+        if(material != null){
+            Integer known = materialCodes.get(material);
+            if(known == null){
+                byte[] name = material.getBytes(StandardCharsets.UTF_8);
+                known = materialCodes.size();
+                materialCodes.put(material, known);
+                ensure(5 + name.length);
+                bytes[position] = 'M';
+                buffer.putShort(position + 1, (short)(int) known);
+                buffer.putShort(position + 3, (short) name.length);
+                System.arraycopy(name, 0, bytes, position + 5, name.length);
+                position += 5 + name.length;
+            }
+            code = known;
+        }
+        ensure(12 + VALUES * Double.BYTES);
+        bytes[position] = 'R';
+        buffer.putLong(position + 1, row);
+        buffer.putShort(position + 9, (short) code);
+        position += 11;
+        for(int i = 0; i < VALUES; i++){
+            buffer.putDouble(position, values[i]);
+            position += Double.BYTES;
+        }
+        bytes[position++] = verdicts;
+    }
+
+    // Behavior: Writes one row as a CSV line or a JSON object on its own
+    // line.
+    // Exceptions: Throws an IOException if the buffer cannot be written out.
+    // Returns: None
+    // Parameters: row: The number of the row.
+    //             material: The name of the material, or null.
+    //             verdicts: The packed verdicts.
+    //             json: Whether the row is written as JSON.
+
+    private void writeText(long row, String material, byte verdicts,
+                           boolean json) throws IOException{
+        byte[] name = material == null ? null : materialBytes.get(material);
+        if(material != null && name == null){
+            name = encodeMaterial(material, json);
+            materialBytes.put(material, name);
+        }
+        ensure(64 + (name == null ? 0 : name.length));
+        if(json){
+            writeAscii("{\"row\":");
+            writeLong(row);
+            writeAscii(",\"material\":");
+            if(name == null){
+                writeAscii("null");
+            }
+        }
+        else{
+            writeLong(row);
+            bytes[position++] = ',';
+        }
+        if(name != null){
+            System.arraycopy(name, 0, bytes, position, name.length);
+            position += name.length;
+        }
+        for(int i = 0; i < VALUES; i++){
+            ensure(64);
+            if(json){
+                writeBytes(KEYS[i]);
+            }
+            else{
+                bytes[position++] = ',';
+            }
+            writeDouble(values[i], json);
+        }
+        for(FailureMode mode : MODES){
+            ensure(64);
+            if(json){
+                writeBytes(KEYS[VALUES + mode.ordinal()]);
+                bytes[position++] = '"';
+            }
+            else{
+                bytes[position++] = ',';
+            }
+            writeBytes(VERDICTS[Verdict.unpack(verdicts, mode).ordinal()]);
+            if(json){
+                bytes[position++] = '"';
+            }
+        }
+        if(json){
+            bytes[position++] = '}';
+        }
+        bytes[position++] = '\n';
+    }
+
+    // Behavior: The writeDouble method writes a number with DIGITS
+    // significant digits and without trailing zeros, in plain notation from
+    // 0.00001 up to 10^DIGITS and in E notation otherwise. The number is
+    // scaled by a power of ten to a whole number of DIGITS digits, whose
+    // digits are then written one by one, so nothing is allocated. The
+    // caller makes room for 32 bytes.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: value: The number.
+    //             json: Whether NaN and infinities are written as null.
+
+    private void writeDouble(double value, boolean json){
+        if(Double.isNaN(value) || Double.isInfinite(value)){
+            writeAscii(json ? "null" : Double.isNaN(value) ? "NaN"
+                       : value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if(value == 0){
+            bytes[position++] = '0';
+            return;
+        }
+        if(value < 0){
+            bytes[position++] = '-';
+            value = -value;
+        }
+        int exponent = value < Double.MIN_NORMAL
+                ? (int) Math.floor(Math.log10(value))
+                : (Math.getExponent(value) * 78913) >> 18;
+        long whole = scale(value, exponent);
+        if(whole >= LARGEST){
+            whole = scale(value, ++exponent);
+        }
+        else if(whole < SMALLEST){
+            whole = scale(value, --exponent);
+        }
+        if(whole >= LARGEST){
+            whole /= 10;
+            exponent++;
+        }
+
+        int high = (int)(whole / 100_000_000);
+        int low = (int)(whole - high * 100_000_000L);
+        for(int i = DIGITS - 1; i >= DIGITS - 8; i--){
+            int next = low / 10;
+            digits[i] = (byte)('0' + low - next * 10);
+            low = next;
+        }
+        for(int i = DIGITS - 9; i >= 0; i--){
+            int next = high / 10;
+            digits[i] = (byte)('0' + high - next * 10);
+            high = next;
+        }
+        int count = DIGITS;
+        while(digits[count - 1] == '0'){
+            count--;
+        }
+
+        if(exponent >= 0 && exponent < DIGITS){
+            int integer = Math.min(count, exponent + 1);
+            System.arraycopy(digits, 0, bytes, position, integer);
+            position += integer;
+            for(int i = count; i <= exponent; i++){
+                bytes[position++] = '0';
+            }
+            if(count > integer){
+                bytes[position++] = '.';
+                System.arraycopy(digits, integer, bytes, position,
+                                 count - integer);
+                position += count - integer;
+            }
+        }
+        else if(exponent < 0 && exponent >= -5){
+            bytes[position++] = '0';
+            bytes[position++] = '.';
+            for(int i = exponent; i < -1; i++){
+                bytes[position++] = '0';
+            }
+            System.arraycopy(digits, 0, bytes, position, count);
+            position += count;
+        }
+        else{
+            bytes[position++] = digits[0];
+            if(count > 1){
+                bytes[position++] = '.';
+                System.arraycopy(digits, 1, bytes, position, count - 1);
+                position += count - 1;
+            }
+            bytes[position++] = 'E';
+            writeLong(exponent);
+        }
+    }
+
+    // Behavior: Scales a number so that its digit at a power of ten becomes
+    // the leading one of a whole number of DIGITS digits.
+    // Exceptions: None
+    // Returns: The rounded whole number, which may have a digit more or less
+    //          if the exponent is not that of the leading digit.
+    // Parameters: value: The positive number.
+    //             exponent: The power of ten of its leading digit.
+
+    private static long scale(double value, int exponent){
+        int shift = DIGITS - 1 - exponent;
+        if(shift < 0){
+            return Math.round(value / POWERS[-shift]);
+        }
+        if(shift >= POWERS.length){
+            return Math.round(value * 1e30 * POWERS[shift - 30]);
+        }
+        return Math.round(value * POWERS[shift]);
+    }
+
+    // Behavior: Writes a whole number in decimal. The caller makes room for
+    // 20 bytes.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: value: The number.
+
+    private void writeLong(long value){
+        if(value < 0){
+            bytes[position++] = '-';
+            if(value == Long.MIN_VALUE){
+                writeAscii("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        int count = 0;
+        do{
+            digits[digits.length - 1 - count++] = (byte)('0' + value % 10);
+            value /= 10;
+        }while(value != 0);
+        System.arraycopy(digits, digits.length - count, bytes, position,
+                         count);
+        position += count;
+    }
+
+    // Behavior: Encodes the name of a material once, as a CSV field or a
+    // JSON string.
+    // Exceptions: None
+    // Returns: The encoded name.
+    // Parameters: material: The name of the material.
+    //             json: Whether it is encoded as JSON.
+
+    private static byte[] encodeMaterial(String material, boolean json){
+        if(json){
+            StringBuilder text = new StringBuilder();
+            Json.writeString(text, material);
+            return text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if(material.indexOf(',') >= 0 || material.indexOf('"') >= 0
+                || material.indexOf('\n') >= 0){
+            material = "\"" + material.replace("\"", "\"\"") + "\"";
+        }
+        return material.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Behavior: Writes a string of ASCII characters. The caller makes room
+    // for it.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: text: The string.
+
+    private void writeAscii(String text){
+        for(int i = 0; i < text.length(); i++){
+            bytes[position++] = (byte) text.charAt(i);
+        }
+    }
+
+    // Behavior: Copies bytes to the buffer. The caller makes room for them.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: data: The bytes.
+
+    private void writeBytes(byte[] data){
+        System.arraycopy(data, 0, bytes, position, data.length);
+        position += data.length;
+    }
+
+    // Behavior: Writes out the buffer if fewer than a number of bytes are
+    // free in it.
+    // Exceptions: Throws an IOException if the buffer cannot be written out.
+    // Returns: None
+    // Parameters: room: The number of bytes needed.
+
+    private void ensure(int room) throws IOException{
+        if(position + room > bytes.length){
+            drain();
+        }
+    }
+
+    // Behavior: Writes the buffer to the file, through gzip if the output
+    // is compressed, and forces it to the disk if the SyncPolicy is
+    // EVERY_BUFFER.
+    // Exceptions: Throws an IOException if the file cannot be written.
+    // Returns: None
+    // Parameters: None
+
+    private void drain() throws IOException{
+        if(gzip != null){
+            gzip.write(bytes, 0, position);
+        }
+        else{
+            buffer.clear().limit(position);
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        written += position;
+        position = 0;
+        if(sync == SyncPolicy.EVERY_BUFFER){
+            if(gzip != null){
+                gzip.flush();
+            }
+            channel.force(false);
+        }
+    }
+}
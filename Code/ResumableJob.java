@@ -0,0 +1,225 @@
+import java.io.*;
+import java.util.*;
+import java.util.stream.*;
+
+// The ResumableJob class runs a long job split into numbered chunks and keeps
+// a JobCheckpoint of its progress on disk, so a job stopped by a crash or a
+// restart carries on from where it stopped. The chunks are run in waves of a
+// fixed number of consecutive chunks, the chunks of a wave in parallel. Each
+// chunk returns aggregates, such as verdict counts, which are added to the
+// totals as it completes; because they are whole numbers the totals do not
+// depend on the order chunks complete in, and a resumed job ends with
+// exactly the totals of an uninterrupted one.
+//
+// A checkpoint is written when a chunk completes and the interval has passed
+// since the last one, and when the job finishes. Before a checkpoint is
+// written the task is asked to make the output of its completed chunks
+// durable, so a checkpoint never records a chunk whose output could be lost.
+
+public final class ResumableJob{
+    public static final long DEFAULT_INTERVAL_MILLIS = 10000;
+
+    // The Task interface represents the work of a job.
+
+    public interface Task{
+
+        // Behavior: Runs one chunk. It may be called from several threads at
+        // once for different chunks.
+        // Exceptions: Throws an IOException if the output of the chunk
+        // cannot be written.
+        // Returns: The aggregates of the chunk.
+        // Parameters: chunk: The number of the chunk.
+
+        long[] runChunk(int chunk) throws IOException;
+
+        // Behavior: Prepares a wave of chunks before they are run, such as by
+        // splitting their random number generators.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: first: The first chunk of the wave.
+        //             end: The chunk after the last chunk of the wave.
+
+        default void startWave(int first, int end){
+        }
+
+        // Behavior: Decides after each wave whether the job can stop early.
+        // Exceptions: None
+        // Returns: True to stop.
+        // Parameters: totals: The aggregates of every completed chunk.
+
+        default boolean isDone(long[] totals){
+            return false;
+        }
+
+        // Behavior: Makes the output of every completed chunk durable.
+        // Exceptions: Throws an IOException if the output cannot be forced
+        // to disk.
+        // Returns: None
+        // Parameters: None
+
+        default void sync() throws IOException{
+        }
+    }
+
+    private final File file;
+    private final String fingerprint;
+    private final int chunks;
+    private final int aggregates;
+    private final int waveChunks;
+    private long intervalMillis;
+    private int resumedChunks;
+
+    // Constructs a ResumableJob object for the following job
+    // file: The checkpoint file, or null to run without checkpoints.
+    // fingerprint: A description of the job and all of its parameters. A
+    //              checkpoint is only resumed by a job with the same
+    //              fingerprint.
+    // chunks: The number of chunks.
+    // aggregates: The number of aggregates each chunk returns.
+    // waveChunks: The number of chunks in a wave.
+
+    public ResumableJob(File file, String fingerprint, int chunks,
+                        int aggregates, int waveChunks){
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.chunks = chunks;
+        this.aggregates = aggregates;
+        this.waveChunks = waveChunks;
+        this.intervalMillis = DEFAULT_INTERVAL_MILLIS;
+    }
+
+    // Behavior: Sets the least time between two checkpoints.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: intervalMillis: The interval in milliseconds.
+
+    public void setInterval(long intervalMillis){
+        this.intervalMillis = intervalMillis;
+    }
+
+    // Returns: How many chunks were already complete in the checkpoint the
+    // last run resumed from.
+
+    public int getResumedChunks(){
+        return this.resumedChunks;
+    }
+
+    // Behavior: Checks whether the checkpoint file holds progress of this
+    // job, so run will resume it.
+    // Exceptions: Throws an IOException if the file cannot be read, or
+    // belongs to another job.
+    // Returns: True if there is progress to resume.
+    // Parameters: None
+
+    public boolean isResuming() throws IOException{
+        return load() != null;
+    }
+
+    // Behavior: The run method runs every chunk the checkpoint does not
+    // record as complete, wave by wave, until all chunks are complete or the
+    // task is done early. Waves run one after another, so a complete wave
+    // followed by a wave with completed chunks was already found not to be
+    // done; the task is only asked again about the last complete wave, whose
+    // totals are then exactly those it was asked about before.
+    //
+    // Exceptions: Throws an IOException if a chunk or the checkpoint cannot
+    // be written, or the checkpoint file belongs to another job.
+    //
+    // Returns: The checkpoint of the finished job, holding the totals.
+    //
+    // Parameters: task: The work of the job.
+
+    public JobCheckpoint run(Task task) throws IOException{
+        JobCheckpoint loaded = load();
+        JobCheckpoint checkpoint = loaded != null ? loaded
+                : new JobCheckpoint(fingerprint, chunks, aggregates);
+        this.resumedChunks = checkpoint.getCompletedChunks();
+        if(checkpoint.isFinished()){
+            return checkpoint;
+        }
+
+        long[] last = {System.currentTimeMillis()};
+        int waves = (chunks + waveChunks - 1) / waveChunks;
+        boolean done = false;
+        for(int wave = 0; wave < waves && !done; wave++){
+            int first = wave * waveChunks;
+            int end = Math.min(chunks, first + waveChunks);
+            int[] pending = IntStream.range(first, end)
+                    .filter(chunk -> !checkpoint.isCompleted(chunk))
+                    .toArray();
+            if(pending.length == 0){
+                boolean nextStarted = IntStream.range(end,
+                        Math.min(chunks, end + waveChunks))
+                        .anyMatch(checkpoint::isCompleted);
+                if(!nextStarted){
+                    done = task.isDone(checkpoint.getAggregates());
+                }
+                continue;
+            }
+
+            task.startWave(first, end);
+            try{
+                Arrays.stream(pending).parallel().forEach(chunk -> {
+                    try{
+                        long[] values = task.runChunk(chunk);
+                        completed(task, checkpoint, chunk, values, last);
+                    }
+                    catch(IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            catch(UncheckedIOException e){
+                throw e.getCause();
+            }
+            done = task.isDone(checkpoint.getAggregates());
+        }
+
+        checkpoint.finish();
+        if(file != null){
+            task.sync();
+            checkpoint.write(file);
+        }
+        return checkpoint;
+    }
+
+    // Behavior: Records a completed chunk, and writes a checkpoint if the
+    // interval has passed since the last one.
+    // Exceptions: Throws an IOException if the checkpoint cannot be
+    // written.
+    // Returns: None
+    // Parameters: task: The work of the job.
+    //             checkpoint: The progress of the job.
+    //             chunk: The completed chunk.
+    //             values: The aggregates of the chunk.
+    //             last: Holds the time of the last checkpoint.
+
+    private void completed(Task task, JobCheckpoint checkpoint, int chunk,
+                           long[] values, long[] last) throws IOException{
+        synchronized(checkpoint){
+            checkpoint.complete(chunk, values);
+            long now = System.currentTimeMillis();
+            if(file != null && now - last[0] >= intervalMillis){
+                task.sync();
+                checkpoint.write(file);
+                last[0] = now;
+            }
+        }
+    }
+
+    // Behavior: Loads the checkpoint file of this job.
+    // Exceptions: Throws an IOException if the file cannot be read, or
+    // belongs to another job.
+    // Returns: The checkpoint, or null if there is none.
+    // Parameters: None
+
+    private JobCheckpoint load() throws IOException{
+        JobCheckpoint loaded = file == null ? null : JobCheckpoint.read(file);
+        if(loaded != null && (!loaded.getFingerprint().equals(fingerprint)
+                              || loaded.getChunks() != chunks)){
+            throw new IOException(file + " holds the checkpoint of another "
+                    + "job: " + loaded.getFingerprint());
+        }
+        return loaded;
+    }
+}
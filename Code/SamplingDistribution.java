@@ -0,0 +1,45 @@
+import java.util.*;
+
+// The SamplingDistribution enum represents the ways a property can be sampled
+// inside its minimum and maximum when estimating failure probabilities.
+// UNIFORM gives every value in the range the same chance, TRIANGULAR peaks in
+// the middle of the range, and NORMAL is a normal distribution centered on the
+// middle of the range with the range spanning six standard deviations,
+// truncated to the range.
+
+public enum SamplingDistribution{
+    UNIFORM,
+    TRIANGULAR,
+    NORMAL;
+
+    // Behavior: The sample method draws one value from this distribution.
+    //
+    // Exceptions: None
+    //
+    // Returns: A value between min and max.
+    //
+    // Parameters: random: The random number generator to draw from.
+    //             min: The minimum of the range.
+    //             max: The maximum of the range.
+
+    public double sample(SplittableRandom random, double min, double max){
+        double span = max - min;
+        if(this == TRIANGULAR){
+            double u = random.nextDouble();
+            if(u < 0.5){
+                return min + span * Math.sqrt(u / 2);
+            }
+            return max - span * Math.sqrt((1 - u) / 2);
+        }
+        else if(this == NORMAL && span > 0){
+            double mean = min + span / 2;
+            double value;
+            do{
+                value = mean + random.nextGaussian() * span / 6;
+            }
+            while(value < min || value > max);
+            return value;
+        }
+        return min + random.nextDouble() * span;
+    }
+}
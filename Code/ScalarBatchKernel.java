@@ -0,0 +1,131 @@
+import java.nio.*;
+
+// The ScalarBatchKernel class evaluates scenarios held in ScenarioColumns one
+// row at a time. It is the fallback when the vector module is not available,
+// and evaluates the tail rows which do not fill a whole vector for
+// VectorBatchKernel.
+
+public class ScalarBatchKernel implements BatchKernel{
+
+    // Behavior: Evaluates the scenarios in a range of rows, using exactly the
+    // operations of WindLoadingEvaluator, without allocating anything.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row to evaluate.
+
+    public void evaluate(ScenarioColumns scenarios, ResultColumns results,
+                         int from, int to){
+        ByteBuffer heights = scenarios.getColumn(ScenarioColumns.HEIGHT);
+        ByteBuffer widths = scenarios.getColumn(ScenarioColumns.WIDTH);
+        ByteBuffer lengths = scenarios.getColumn(ScenarioColumns.LENGTH);
+        ByteBuffer velocities =
+                scenarios.getColumn(ScenarioColumns.WIND_VELOCITY);
+        ByteBuffer densities =
+                scenarios.getColumn(ScenarioColumns.AIR_DENSITY);
+        ByteBuffer safetyFactors =
+                scenarios.getColumn(ScenarioColumns.SAFETY_FACTOR);
+        ByteBuffer yields =
+                scenarios.getColumn(ScenarioColumns.YIELD_STRENGTH);
+        ByteBuffer shears =
+                scenarios.getColumn(ScenarioColumns.AVERAGE_SHEAR_STRENGTH);
+        ByteBuffer moduli =
+                scenarios.getColumn(ScenarioColumns.ELASTIC_MODULUS);
+        ByteBuffer capacities =
+                scenarios.getColumn(ScenarioColumns.LOAD_CAPACITY);
+        ByteBuffer[] out = new ByteBuffer[ResultColumns.COLUMNS];
+        for(int c = 0; c < out.length; c++){
+            out[c] = results.getColumn(c);
+        }
+        ByteBuffer verdicts = results.getVerdicts();
+
+        for(int i = from; i < to; i++){
+            int at = i * Double.BYTES;
+            double height = heights.getDouble(at);
+            double width = widths.getDouble(at);
+            double length = lengths.getDouble(at);
+            double windVelocity = velocities.getDouble(at);
+            double safetyFactor = safetyFactors.getDouble(at);
+
+            double dragCoefficient = WindLoadingEvaluator.ALPHA
+                    * (height / width)
+                    + WindLoadingEvaluator.BETA * (height / length);
+            double windPressure = 0.5 * densities.getDouble(at)
+                    * dragCoefficient
+                    * (windVelocity * windVelocity);
+            double crossSectionalArea = height * width;
+            double windLoad = windPressure * crossSectionalArea;
+            double tensileStrength = yields.getDouble(at) * crossSectionalArea;
+            double shearStrength = shears.getDouble(at) * crossSectionalArea;
+
+            double floors =
+                    (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+            double floorArea = length * width;
+            double totalLoad = floors * floorArea
+                                * WindLoadingEvaluator.FLOOR_LOAD;
+            double beamAmount = (int)(totalLoad / capacities.getDouble(at));
+            double beamHeight = height / beamAmount;
+            double beamWidth = beamHeight / 2;
+            double momentInertia = (beamWidth
+                    * (beamHeight * beamHeight * beamHeight)) / 12;
+            double flexuralStrength = (yields.getDouble(at) * momentInertia)
+                                        / beamWidth;
+            double effectiveLength = WindLoadingEvaluator
+                    .COLUMN_EFFECTIVE_LENGTH_FACTOR * beamHeight;
+            double bucklingStrength = (WindLoadingEvaluator.PI_SQUARED
+                    * moduli.getDouble(at) * momentInertia)
+                    / (effectiveLength * effectiveLength);
+
+            double safetyTensile = tensileStrength / safetyFactor;
+            double safetyShear = shearStrength / safetyFactor;
+            double safetyFlexural = flexuralStrength / safetyFactor;
+            double safetyBuckling = bucklingStrength / safetyFactor;
+
+            out[ResultColumns.DRAG_COEFFICIENT].putDouble(at, dragCoefficient);
+            out[ResultColumns.WIND_PRESSURE].putDouble(at, windPressure);
+            out[ResultColumns.CROSS_SECTIONAL_AREA].putDouble(at,
+                    crossSectionalArea);
+            out[ResultColumns.WIND_LOAD].putDouble(at, windLoad);
+            out[ResultColumns.MOMENT_INERTIA].putDouble(at, momentInertia);
+            out[ResultColumns.TENSILE_STRENGTH].putDouble(at, tensileStrength);
+            out[ResultColumns.SHEAR_STRENGTH].putDouble(at, shearStrength);
+            out[ResultColumns.FLEXURAL_STRENGTH].putDouble(at,
+                    flexuralStrength);
+            out[ResultColumns.BUCKLING_STRENGTH].putDouble(at,
+                    bucklingStrength);
+            out[ResultColumns.SAFETY_TENSILE_STRENGTH].putDouble(at,
+                    safetyTensile);
+            out[ResultColumns.SAFETY_SHEAR_STRENGTH].putDouble(at, safetyShear);
+            out[ResultColumns.SAFETY_FLEXURAL_STRENGTH].putDouble(at,
+                    safetyFlexural);
+            out[ResultColumns.SAFETY_BUCKLING_STRENGTH].putDouble(at,
+                    safetyBuckling);
+
+            verdicts.put(i, (byte) (
+                      code(windLoad, tensileStrength, safetyTensile)
+                    | code(windLoad, shearStrength, safetyShear) << 2
+                    | code(windLoad, flexuralStrength, safetyFlexural) << 4
+                    | code(windLoad, bucklingStrength, safetyBuckling) << 6));
+        }
+    }
+
+    // Behavior: Classifies a wind load like Verdict.of, as the ordinal of
+    // the verdict.
+    // Exceptions: None
+    // Returns: 2 for FAIL, 1 for MARGINAL and 0 for PASS.
+    // Parameters: windLoad: The wind load in N.
+    //             strength: The strength in N.
+    //             safetyStrength: The strength divided by the safety factor.
+
+    static int code(double windLoad, double strength, double safetyStrength){
+        if(windLoad >= strength && windLoad >= safetyStrength){
+            return 2;
+        }
+        else if(windLoad < strength && windLoad >= safetyStrength){
+            return 1;
+        }
+        return 0;
+    }
+}
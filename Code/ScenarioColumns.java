@@ -0,0 +1,127 @@
+import java.nio.*;
+
+// The ScenarioColumns class holds many wind loading scenarios as columns: one
+// buffer of little-endian doubles per parameter, with one entry per scenario.
+// Batch kernels read these columns directly, which lets them process several
+// scenarios at a time. The buffers either live outside the Java heap or are
+// mapped from a ColumnarFile, so a kernel works on both without copying. The
+// columns are in the same order and units as the parameters of the
+// WindLoadingInput constructor, so the wind velocity is in m/s.
+
+public final class ScenarioColumns{
+    public static final int HEIGHT = 0;
+    public static final int WIDTH = 1;
+    public static final int LENGTH = 2;
+    public static final int WIND_VELOCITY = 3;
+    public static final int AIR_DENSITY = 4;
+    public static final int SAFETY_FACTOR = 5;
+    public static final int YIELD_STRENGTH = 6;
+    public static final int AVERAGE_SHEAR_STRENGTH = 7;
+    public static final int ELASTIC_MODULUS = 8;
+    public static final int LOAD_CAPACITY = 9;
+    public static final int COLUMNS = 10;
+
+    private final ByteBuffer[] columns;
+    private final int rows;
+
+    // Constructs a ScenarioColumns object for the following number of rows
+    // rows: The number of scenarios the columns hold, at most
+    //       Integer.MAX_VALUE / 8.
+
+    public ScenarioColumns(int rows){
+        this(allocate(COLUMNS, rows), rows);
+    }
+
+    // Constructs a ScenarioColumns object for the following buffers
+    // columns: One buffer per column holding rows doubles, in the order of
+    //          the column constants.
+    // rows: The number of scenarios the columns hold.
+
+    ScenarioColumns(ByteBuffer[] columns, int rows){
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    // Behavior: Allocates little-endian buffers outside the Java heap.
+    // Exceptions: None
+    // Returns: The buffers.
+    // Parameters: count: The number of buffers.
+    //             rows: The number of doubles in each buffer.
+
+    static ByteBuffer[] allocate(int count, int rows){
+        ByteBuffer[] buffers = new ByteBuffer[count];
+        for(int i = 0; i < count; i++){
+            buffers[i] = ByteBuffer.allocateDirect(rows * Double.BYTES)
+                                   .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return buffers;
+    }
+
+    public int getRows(){
+        return this.rows;
+    }
+
+    // Behavior: Returns the buffer holding one parameter of every scenario,
+    // the value of row i being at byte 8 * i. Changes to the buffer change
+    // the scenarios.
+    // Exceptions: None
+    // Returns: The column buffer.
+    // Parameters: column: The column, such as HEIGHT or LOAD_CAPACITY.
+
+    public ByteBuffer getColumn(int column){
+        return this.columns[column];
+    }
+
+    // Behavior: Reads one parameter of one scenario.
+    // Exceptions: None
+    // Returns: The value of the parameter.
+    // Parameters: column: The column of the parameter.
+    //             row: The row of the scenario.
+
+    public double get(int column, int row){
+        return columns[column].getDouble(row * Double.BYTES);
+    }
+
+    // Behavior: Stores one parameter of one scenario.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: column: The column of the parameter.
+    //             row: The row of the scenario.
+    //             value: The value of the parameter.
+
+    public void set(int column, int row, double value){
+        columns[column].putDouble(row * Double.BYTES, value);
+    }
+
+    // Behavior: Stores the parameters of one scenario.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: row: The row of the scenario.
+    //             input: The parameters of the scenario.
+
+    public void set(int row, WindLoadingInput input){
+        set(HEIGHT, row, input.getHeight());
+        set(WIDTH, row, input.getWidth());
+        set(LENGTH, row, input.getLength());
+        set(WIND_VELOCITY, row, input.getWindVelocity());
+        set(AIR_DENSITY, row, input.getAirDensity());
+        set(SAFETY_FACTOR, row, input.getSafetyFactor());
+        set(YIELD_STRENGTH, row, input.getYieldStrength());
+        set(AVERAGE_SHEAR_STRENGTH, row, input.getAverageShearStrength());
+        set(ELASTIC_MODULUS, row, input.getElasticModulus());
+        set(LOAD_CAPACITY, row, input.getLoadCapacity());
+    }
+
+    // Behavior: Reads the parameters of one scenario.
+    // Exceptions: None
+    // Returns: A WindLoadingInput holding the parameters of the scenario.
+    // Parameters: row: The row of the scenario.
+
+    public WindLoadingInput getInput(int row){
+        return new WindLoadingInput(get(HEIGHT, row), get(WIDTH, row),
+                get(LENGTH, row), get(WIND_VELOCITY, row),
+                get(AIR_DENSITY, row), get(SAFETY_FACTOR, row),
+                get(YIELD_STRENGTH, row), get(AVERAGE_SHEAR_STRENGTH, row),
+                get(ELASTIC_MODULUS, row), get(LOAD_CAPACITY, row));
+    }
+}
@@ -0,0 +1,444 @@
+import java.nio.*;
+import java.util.*;
+import java.util.stream.*;
+
+// The SensitivityAnalysis class finds which building, air and material
+// properties drive the reserve of each failure mode (see SensitivityEstimate)
+// when the properties are only known to lie inside the ranges of the data
+// files. The run method estimates first-order and total Sobol indices with
+// Saltelli sampling: two independent scenarios A and B are drawn per base
+// sample, and one more scenario per property takes that property from B and
+// the rest from A, so k varied properties cost k + 2 evaluations per base
+// sample. The first-order indices use the estimator of Saltelli (2010) and
+// the total indices that of Jansen (1999). The gradient method gives the
+// cheaper local picture: central finite differences at one design point.
+//
+// As in MonteCarloReliability, the base samples are split into chunks of
+// CHUNK_SAMPLES, each with its own SplittableRandom split from the seed in
+// chunk order, and the sums of each chunk are added up in chunk order, so a
+// run gives the same indices from the same seed on any number of cores. Each
+// core reuses one set of ScenarioColumns and ResultColumns for all of its
+// chunks and evaluates them with a BatchKernel, so nothing is allocated per
+// scenario.
+
+public class SensitivityAnalysis{
+    public static final int CHUNK_SAMPLES = 1024;
+    public static final double STEP = 1e-3;
+
+    // The columns of WindLoadingBatch.COLUMNS which are not in the order of
+    // ScenarioColumns; the wind velocity is in km/h rather than m/s.
+    private static final int AIR_DENSITY = 3;
+    private static final int WIND_VELOCITY = 4;
+
+    // The reserves of a scenario are those of each failure mode, followed by
+    // that of the structure as a whole.
+    private static final int RESERVES = FailureMode.values().length + 1;
+
+    private final BatchKernel kernel;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final SamplingDistribution[] distributions;
+
+    // Constructs a SensitivityAnalysis object for the following ranges
+    // minimums: The minimum of each column in WindLoadingBatch.COLUMNS.
+    // maximums: The maximum of each column in WindLoadingBatch.COLUMNS.
+    // Every property is sampled uniformly until setDistribution is called,
+    // and scenarios are evaluated with BatchKernel.best.
+
+    public SensitivityAnalysis(double[] minimums, double[] maximums){
+        this(minimums, maximums, BatchKernel.best());
+    }
+
+    // Constructs a SensitivityAnalysis object for the following ranges
+    // minimums: The minimum of each column in WindLoadingBatch.COLUMNS.
+    // maximums: The maximum of each column in WindLoadingBatch.COLUMNS.
+    // kernel: The kernel scenarios are evaluated with.
+
+    public SensitivityAnalysis(double[] minimums, double[] maximums,
+                               BatchKernel kernel){
+        this.kernel = kernel;
+        this.minimums = minimums.clone();
+        this.maximums = maximums.clone();
+        this.distributions =
+                new SamplingDistribution[WindLoadingBatch.COLUMNS.length];
+        Arrays.fill(this.distributions, SamplingDistribution.UNIFORM);
+    }
+
+    // Behavior: The forMaterial method creates a SensitivityAnalysis object
+    // sampling inside the ranges of the building and material data.
+    //
+    // Exceptions: Throws an IllegalArgumentException if one of the columns in
+    // WindLoadingBatch.COLUMNS has no range in the data.
+    //
+    // Returns: A new SensitivityAnalysis object.
+    //
+    // Parameters: ranges: The building and material ranges, such as those
+    //                     returned by MaterialCatalog.getRanges.
+
+    public static SensitivityAnalysis forMaterial(PropertyTable ranges){
+        Property missing = ranges.findMissing();
+        if(missing != null){
+            throw new IllegalArgumentException
+                    ("No range was found for " + missing.getName() + ".");
+        }
+        return new SensitivityAnalysis(ranges.getMinimums(),
+                                       ranges.getMaximums());
+    }
+
+    // Behavior: Sets how a property is sampled inside its range.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: column: The index of the property in
+    //                     WindLoadingBatch.COLUMNS.
+    //             distribution: The distribution to sample from.
+
+    public void setDistribution(int column, SamplingDistribution distribution){
+        this.distributions[column] = distribution;
+    }
+
+    // Behavior: Returns the middle of the range of every property.
+    // Exceptions: None
+    // Returns: A new array in the order of WindLoadingBatch.COLUMNS.
+    // Parameters: None
+
+    public double[] getMidpoint(){
+        double[] midpoint = new double[minimums.length];
+        for(int c = 0; c < midpoint.length; c++){
+            midpoint[c] = (minimums[c] + maximums[c]) / 2;
+        }
+        return midpoint;
+    }
+
+    // Behavior: The run method draws samples base samples, evaluates the
+    // k + 2 scenarios of each of them, and estimates the Sobol indices of
+    // every property whose range holds more than one value.
+    //
+    // Exceptions: Throws an IllegalArgumentException if samples is not
+    // positive.
+    //
+    // Returns: A SensitivityEstimate holding the indices.
+    //
+    // Parameters: seed: The seed all random number generators are split from.
+    //             samples: The number of base samples.
+
+    public SensitivityEstimate run(long seed, int samples){
+        if(samples <= 0){
+            throw new IllegalArgumentException
+                    ("The number of samples must be positive.");
+        }
+        int[] varied = varied();
+        int width = varied.length + 2;
+        int stride = 3 + 2 * varied.length;
+        int chunks = (samples + CHUNK_SAMPLES - 1) / CHUNK_SAMPLES;
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for(int chunk = 0; chunk < chunks; chunk++){
+            randoms[chunk] = root.split();
+        }
+
+        // Every reserve is summed relative to its value at the middle of the
+        // ranges, which keeps the sums of squares from losing precision.
+        double[] shifts = evaluate(new double[][] {getMidpoint()});
+        for(int o = 0; o < RESERVES; o++){
+            if(!Double.isFinite(shifts[o])){
+                shifts[o] = 0;
+            }
+        }
+
+        double[][] sums = new double[chunks][];
+        int lanes = Math.min(chunks,
+                             Runtime.getRuntime().availableProcessors());
+        IntStream.range(0, lanes).parallel().forEach(lane -> {
+            int rows = Math.min(samples, CHUNK_SAMPLES) * width;
+            ScenarioColumns scenarios = new ScenarioColumns(rows);
+            ResultColumns results = new ResultColumns(rows);
+            double[] reserves = new double[rows * RESERVES];
+            double[] a = new double[minimums.length];
+            double[] b = new double[minimums.length];
+            for(int chunk = lane; chunk < chunks; chunk += lanes){
+                int size = Math.min(CHUNK_SAMPLES,
+                                    samples - chunk * CHUNK_SAMPLES);
+                sums[chunk] = new double[RESERVES * stride];
+                runChunk(randoms[chunk], size, varied, shifts, scenarios,
+                         results, reserves, a, b, sums[chunk]);
+            }
+        });
+
+        double[] total = new double[RESERVES * stride];
+        for(int chunk = 0; chunk < chunks; chunk++){
+            for(int s = 0; s < total.length; s++){
+                total[s] += sums[chunk][s];
+            }
+        }
+        return estimate(samples, (long) samples * width, varied, total);
+    }
+
+    // Behavior: The gradient method finds the derivative of every reserve
+    // with respect to every property at one design point, by central finite
+    // differences with a step of STEP times the larger of the value and the
+    // width of its range. The beams of a building are a whole number, often
+    // tens of thousands, so the flexural and buckling reserves are fine
+    // staircases; the step is wide enough to span many of their steps and
+    // give the slope of the trend. Floors are 4 m apart, so a step which
+    // straddles one more floor still adds a jump to the height derivative.
+    //
+    // Exceptions: Throws an IllegalArgumentException if the point does not
+    // hold one value per column.
+    //
+    // Returns: A new array holding the derivative of reserve o with respect
+    // to column c at [o][c], the reserves ordered like FailureMode and
+    // followed by the structure as a whole.
+    //
+    // Parameters: point: The design point, in the order and units of
+    //                    WindLoadingBatch.COLUMNS.
+
+    public double[][] gradient(double[] point){
+        if(point.length != minimums.length){
+            throw new IllegalArgumentException("The design point must hold "
+                    + minimums.length + " values.");
+        }
+        double[][] points = new double[2 * point.length][];
+        double[] steps = new double[point.length];
+        for(int c = 0; c < point.length; c++){
+            steps[c] = STEP * Math.max(Math.abs(point[c]),
+                                       maximums[c] - minimums[c]);
+            if(steps[c] == 0){
+                steps[c] = STEP;
+            }
+            points[2 * c] = point.clone();
+            points[2 * c][c] += steps[c];
+            points[2 * c + 1] = point.clone();
+            points[2 * c + 1][c] -= steps[c];
+        }
+
+        double[] reserves = evaluate(points);
+        double[][] gradient = new double[RESERVES][point.length];
+        for(int c = 0; c < point.length; c++){
+            for(int o = 0; o < RESERVES; o++){
+                gradient[o][c] = (reserves[2 * c * RESERVES + o]
+                                  - reserves[(2 * c + 1) * RESERVES + o])
+                                 / (2 * steps[c]);
+            }
+        }
+        return gradient;
+    }
+
+    // Behavior: The runChunk method draws and evaluates the scenarios of one
+    // chunk of base samples and adds up the sums of the estimators.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: random: The random number generator of the chunk.
+    //             size: The number of base samples in the chunk.
+    //             varied: The columns whose indices are estimated.
+    //             shifts: The value every reserve is summed relative to.
+    //             scenarios: Columns reused to hold the scenarios.
+    //             results: Columns reused to hold the results.
+    //             reserves: An array reused to hold the reserves.
+    //             a, b: Arrays reused to hold the samples A and B.
+    //             sums: Receives, per reserve, the number of valid samples,
+    //                   the sum and the sum of squares of the reserves of A
+    //                   and B, and then the sums of the first-order and
+    //                   total estimators of each varied column.
+
+    private void runChunk(SplittableRandom random, int size, int[] varied,
+                          double[] shifts, ScenarioColumns scenarios,
+                          ResultColumns results, double[] reserves,
+                          double[] a, double[] b, double[] sums){
+        int width = varied.length + 2;
+        int stride = 3 + 2 * varied.length;
+        for(int j = 0; j < size; j++){
+            sample(random, a);
+            sample(random, b);
+            int row = j * width;
+            store(scenarios, row, a);
+            store(scenarios, row + 1, b);
+            for(int i = 0; i < varied.length; i++){
+                store(scenarios, row + 2 + i, a);
+                put(scenarios, row + 2 + i, varied[i], b[varied[i]]);
+            }
+        }
+        kernel.evaluate(scenarios, results, 0, size * width);
+        reserves(results, size * width, reserves);
+
+        for(int j = 0; j < size; j++){
+            int row = j * width * RESERVES;
+            for(int o = 0; o < RESERVES; o++){
+                boolean valid = true;
+                for(int r = 0; r < width; r++){
+                    valid &= Double.isFinite(reserves[row + r * RESERVES + o]);
+                }
+                if(!valid){
+                    continue;
+                }
+                double fa = reserves[row + o] - shifts[o];
+                double fb = reserves[row + RESERVES + o] - shifts[o];
+                int at = o * stride;
+                sums[at]++;
+                sums[at + 1] += fa + fb;
+                sums[at + 2] += fa * fa + fb * fb;
+                for(int i = 0; i < varied.length; i++){
+                    double fab = reserves[row + (2 + i) * RESERVES + o]
+                                    - shifts[o];
+                    sums[at + 3 + 2 * i] += fb * (fab - fa);
+                    sums[at + 4 + 2 * i] += (fa - fab) * (fa - fab);
+                }
+            }
+        }
+    }
+
+    // Behavior: Turns the sums of all chunks into Sobol indices. The
+    // indices of a reserve with no variance are 0, and those of a reserve
+    // without a single valid sample are NaN.
+    //
+    // Exceptions: None
+    //
+    // Returns: The SensitivityEstimate of the sums.
+    //
+    // Parameters: samples: The number of base samples.
+    //             evaluations: The number of scenarios evaluated.
+    //             varied: The columns whose indices are estimated.
+    //             sums: The sums laid out as described by runChunk.
+
+    private SensitivityEstimate estimate(int samples, long evaluations,
+                                         int[] varied, double[] sums){
+        int stride = 3 + 2 * varied.length;
+        long[] valid = new long[RESERVES];
+        double[] variances = new double[RESERVES];
+        double[][] first = new double[RESERVES][minimums.length];
+        double[][] total = new double[RESERVES][minimums.length];
+        for(int o = 0; o < RESERVES; o++){
+            int at = o * stride;
+            double n = sums[at];
+            double mean = sums[at + 1] / (2 * n);
+            double variance = Math.max(0, sums[at + 2] / (2 * n)
+                                          - mean * mean);
+            valid[o] = (long) n;
+            variances[o] = n > 0 ? variance : Double.NaN;
+            for(int i = 0; i < varied.length; i++){
+                if(n == 0){
+                    first[o][varied[i]] = Double.NaN;
+                    total[o][varied[i]] = Double.NaN;
+                }
+                else if(variance > 0){
+                    first[o][varied[i]] =
+                            sums[at + 3 + 2 * i] / n / variance;
+                    total[o][varied[i]] =
+                            sums[at + 4 + 2 * i] / (2 * n) / variance;
+                }
+            }
+        }
+        return new SensitivityEstimate(samples, evaluations, valid,
+                                       variances, first, total);
+    }
+
+    // Behavior: Evaluates a few scenarios given as property values.
+    // Exceptions: None
+    // Returns: The reserves of scenario r at r * RESERVES onwards.
+    // Parameters: points: The property values of each scenario, in the
+    //                     order and units of WindLoadingBatch.COLUMNS.
+
+    private double[] evaluate(double[][] points){
+        ScenarioColumns scenarios = new ScenarioColumns(points.length);
+        ResultColumns results = new ResultColumns(points.length);
+        for(int r = 0; r < points.length; r++){
+            store(scenarios, r, points[r]);
+        }
+        kernel.evaluate(scenarios, results, 0, points.length);
+        double[] reserves = new double[points.length * RESERVES];
+        reserves(results, points.length, reserves);
+        return reserves;
+    }
+
+    // Behavior: Calculates the reserves of evaluated scenarios: the natural
+    // logarithm of each safety strength over the wind load, and the
+    // smallest of them for the structure.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: results: The results of the scenarios.
+    //             rows: The number of scenarios.
+    //             reserves: Receives the reserves of row r at r * RESERVES
+    //                       onwards.
+
+    private static void reserves(ResultColumns results, int rows,
+                                 double[] reserves){
+        ByteBuffer windLoads = results.getColumn(ResultColumns.WIND_LOAD);
+        FailureMode[] modes = FailureMode.values();
+        for(FailureMode mode : modes){
+            ByteBuffer strengths = results.getSafetyStrengthColumn(mode);
+            for(int r = 0; r < rows; r++){
+                int at = r * Double.BYTES;
+                reserves[r * RESERVES + mode.ordinal()] = Math.log(
+                        strengths.getDouble(at) / windLoads.getDouble(at));
+            }
+        }
+        for(int r = 0; r < rows; r++){
+            double smallest = reserves[r * RESERVES];
+            for(int m = 1; m < modes.length; m++){
+                smallest = Math.min(smallest, reserves[r * RESERVES + m]);
+            }
+            reserves[r * RESERVES + modes.length] = smallest;
+        }
+    }
+
+    // Behavior: Finds the properties whose range holds more than one value.
+    // Exceptions: None
+    // Returns: Their indices in WindLoadingBatch.COLUMNS.
+    // Parameters: None
+
+    private int[] varied(){
+        return IntStream.range(0, minimums.length)
+                        .filter(c -> maximums[c] > minimums[c]).toArray();
+    }
+
+    // Behavior: Draws one value of every property from its distribution.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: random: The random number generator to draw from.
+    //             v: Receives the values.
+
+    private void sample(SplittableRandom random, double[] v){
+        for(int c = 0; c < v.length; c++){
+            v[c] = distributions[c].sample(random, minimums[c], maximums[c]);
+        }
+    }
+
+    // Behavior: Stores the property values of one scenario.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The columns to store the scenario in.
+    //             row: The row of the scenario.
+    //             v: The values in the order of WindLoadingBatch.COLUMNS.
+
+    private static void store(ScenarioColumns scenarios, int row, double[] v){
+        for(int c = 0; c < v.length; c++){
+            put(scenarios, row, c, v[c]);
+        }
+    }
+
+    // Behavior: Stores one property value of one scenario, converting the
+    // wind velocity from km/h to m/s.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The columns to store the value in.
+    //             row: The row of the scenario.
+    //             column: The index of the property in
+    //                     WindLoadingBatch.COLUMNS.
+    //             value: The value.
+
+    private static void put(ScenarioColumns scenarios, int row, int column,
+                            double value){
+        if(column == WIND_VELOCITY){
+            scenarios.set(ScenarioColumns.WIND_VELOCITY, row, value / 3.6);
+        }
+        else if(column == AIR_DENSITY){
+            scenarios.set(ScenarioColumns.AIR_DENSITY, row, value);
+        }
+        else{
+            scenarios.set(column, row, value);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+// The SensitivityEstimate class holds the outcome of a global sensitivity
+// analysis: the first-order and total Sobol indices of every property for
+// the reserve of each failure mode and of the structure as a whole. The
+// reserve of a mode is the natural logarithm of its safety strength over the
+// wind load, so it is positive when the mode is deemed safe, and the reserve
+// of the structure is that of its governing mode.
+//
+// The first-order index of a property is the share of the variance of a
+// reserve caused by that property alone; the total index adds every
+// interaction the property takes part in. Properties whose range is a single
+// value have indices of 0.
+
+public final class SensitivityEstimate{
+    private final long samples;
+    private final long evaluations;
+    private final long[] valid;
+    private final double[] variances;
+    private final double[][] first;
+    private final double[][] total;
+
+    // Constructs a SensitivityEstimate object for the following indices
+    // samples: The number of base samples.
+    // evaluations: The number of scenarios evaluated.
+    // valid: The number of base samples whose reserves were all finite, per
+    //        reserve.
+    // variances: The variance of each reserve.
+    // first: The first-order index of each reserve and column of
+    //        WindLoadingBatch.COLUMNS.
+    // total: The total index of each reserve and column.
+    // The reserves are ordered like FailureMode, followed by the structure.
+
+    SensitivityEstimate(long samples, long evaluations, long[] valid,
+                        double[] variances, double[][] first,
+                        double[][] total){
+        this.samples = samples;
+        this.evaluations = evaluations;
+        this.valid = valid.clone();
+        this.variances = variances.clone();
+        this.first = first;
+        this.total = total;
+    }
+
+    public long getSamples(){
+        return this.samples;
+    }
+
+    public long getEvaluations(){
+        return this.evaluations;
+    }
+
+    // Behavior: Returns how many base samples were used for the indices of a
+    // reserve. A sample is left out when a scenario of it has an undefined
+    // or infinite reserve, such as a building too light to need one beam.
+    // Exceptions: None
+    // Returns: The number of base samples used.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+
+    public long getValidSamples(FailureMode mode){
+        return valid[index(mode)];
+    }
+
+    // Behavior: Returns the variance of a reserve over the sampled
+    // scenarios.
+    // Exceptions: None
+    // Returns: The variance.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+
+    public double getVariance(FailureMode mode){
+        return variances[index(mode)];
+    }
+
+    // Behavior: Returns the first-order Sobol index of a property.
+    // Exceptions: None
+    // Returns: The share of the variance caused by the property alone,
+    //          which sampling error can push slightly outside 0 to 1.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             column: The index of the property in
+    //                     WindLoadingBatch.COLUMNS.
+
+    public double getFirstOrder(FailureMode mode, int column){
+        return first[index(mode)][column];
+    }
+
+    // Behavior: Returns the total Sobol index of a property.
+    // Exceptions: None
+    // Returns: The share of the variance caused by the property together
+    //          with all of its interactions.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+    //             column: The index of the property in
+    //                     WindLoadingBatch.COLUMNS.
+
+    public double getTotal(FailureMode mode, int column){
+        return total[index(mode)][column];
+    }
+
+    // Behavior: Finds the position of a reserve in the arrays.
+    // Exceptions: None
+    // Returns: The ordinal of the mode, or the number of modes for null.
+    // Parameters: mode: The failure mode, or null for the whole structure.
+
+    private static int index(FailureMode mode){
+        return mode == null ? FailureMode.values().length : mode.ordinal();
+    }
+}
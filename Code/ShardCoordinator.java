@@ -0,0 +1,498 @@
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The ShardCoordinator class spreads the evaluation of a CSV scenario file
+// over worker processes, which may run on this machine or others. The
+// scenario file is split into shards of consecutive rows, and every
+// ShardWorker connected over TCP pulls one shard at a time, evaluates it with
+// WindLoadingBatch and sends back its result rows. The coordinator writes the
+// results in the order of the scenario file, so the result file is the same
+// as the one evaluateFile writes.
+//
+// Because workers pull shards as they finish them, a fast worker simply takes
+// more of them. Once no shard is left to hand out, an idle worker steals a
+// shard still running on another worker and evaluates it too; whichever
+// result arrives first is kept, so a slow worker does not hold up the end of
+// the run. When a worker dies, the connection to it breaks and its shard is
+// handed to the next worker asking for one. Workers may join at any time.
+//
+// Only a window of shards after the first one not yet written is held in
+// memory, so the scenario file may be larger than memory.
+//
+// The protocol is a stream of big-endian values. A worker opens with MAGIC
+// and VERSION, and the coordinator answers with the header row of the
+// scenario file. Then, until the coordinator sends DONE, the coordinator
+// sends SHARD followed by the index of the shard, the number of rows before
+// it, the number of rows and the rows, and the worker answers with the index
+// of the shard, the number of invalid rows and the result rows. Text is sent
+// as a length followed by UTF-8 bytes.
+
+public class ShardCoordinator{
+    public static final int MAGIC = 0x57534857;
+    public static final int VERSION = 1;
+    public static final int DEFAULT_PORT = 7070;
+    public static final int DEFAULT_SHARD_ROWS = 8192;
+
+    static final byte SHARD = 1;
+    static final byte DONE = 2;
+
+    // How many shards after the first one not yet written may be read.
+    private static final int WINDOW = 64;
+
+    private final File scenarioFile;
+    private final File resultFile;
+    private final int shardRows;
+    private final Deque<Shard> pending;
+    private final SortedMap<Integer, Shard> running;
+    private final Map<Integer, Shard> finished;
+    private ServerSocket server;
+    private ExecutorService executor;
+    private String header;
+    private int read;
+    private boolean exhausted;
+    private boolean closed;
+    private int written;
+    private int reassigned;
+    private int stolen;
+
+    // Constructs a ShardCoordinator object for the following files
+    // scenarioFile: The CSV file holding the scenarios, with a header row
+    //               naming the columns.
+    // resultFile: The CSV file to write the results to.
+    // shardRows: The number of rows in a shard.
+
+    public ShardCoordinator(File scenarioFile, File resultFile, int shardRows){
+        if(shardRows <= 0){
+            throw new IllegalArgumentException
+                    ("A shard needs at least one row.");
+        }
+        this.scenarioFile = scenarioFile;
+        this.resultFile = resultFile;
+        this.shardRows = shardRows;
+        this.pending = new ArrayDeque<Shard>();
+        this.running = new TreeMap<Integer, Shard>();
+        this.finished = new HashMap<Integer, Shard>();
+    }
+
+    // Behavior: The start method starts accepting workers at an address.
+    // Binding to port 0 picks a free port, which getPort then returns.
+    //
+    // Exceptions: Throws an IOException if the address cannot be bound.
+    // Throws an IllegalStateException if the coordinator is already started.
+    //
+    // Returns: None
+    //
+    // Parameters: address: The address to listen at.
+
+    public synchronized void start(InetSocketAddress address)
+                                            throws IOException{
+        if(server != null){
+            throw new IllegalStateException
+                    ("The coordinator is already started.");
+        }
+        server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(address);
+        executor = WindLoadingService.newRequestExecutor();
+        ServerSocket listener = server;
+        Thread acceptor = new Thread(() -> accept(listener),
+                                     "shard-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    // Returns: The port the coordinator listens at.
+
+    public synchronized int getPort(){
+        if(server == null){
+            throw new IllegalStateException
+                    ("The coordinator is not started.");
+        }
+        return server.getLocalPort();
+    }
+
+    // Returns: How many shards were handed out again because their worker
+    // died.
+
+    public synchronized int getReassigned(){
+        return this.reassigned;
+    }
+
+    // Returns: How many shards were stolen from a slow worker.
+
+    public synchronized int getStolen(){
+        return this.stolen;
+    }
+
+    // Behavior: Flushes the result file and checks that nothing written to
+    // it was lost, since a PrintStream only records its errors.
+    // Exceptions: Throws an IOException if writing the result file failed.
+    // Returns: None
+    // Parameters: output: The result file.
+
+    private void checkOutput(PrintStream output) throws IOException{
+        if(output.checkError()){
+            throw new IOException("The results could not be written to "
+                                  + resultFile + ".");
+        }
+    }
+
+    // Behavior: The run method reads the scenario file shard by shard,
+    // waits for the workers to evaluate the shards and writes their results
+    // in order, and stops accepting workers once every shard is written.
+    // Workers which are still running a stolen shard are told they are done
+    // when they ask for the next one.
+    //
+    // Exceptions: Throws an IOException if the scenario file cannot be read
+    // or the result file cannot be written. Throws an
+    // IllegalArgumentException if the header of the scenario file is missing
+    // the Material column or one of the COLUMNS. Throws an
+    // IllegalStateException if the coordinator is not started.
+    //
+    // Returns: The number of scenarios which could not be evaluated because
+    // they were invalid.
+    //
+    // Parameters: None
+
+    public int run() throws IOException{
+        if(server == null){
+            throw new IllegalStateException
+                    ("The coordinator is not started.");
+        }
+        WindLoadingMetrics.Batch batch =
+                WindLoadingMetrics.startBatch("distribute", scenarioFile);
+        BufferedReader reader =
+                new BufferedReader(new FileReader(scenarioFile));
+        PrintStream output = null;
+        long rows = 0;
+        int invalid = 0;
+        try{
+            String first = reader.readLine();
+            WindLoadingBatch.readHeader(first == null ? "" : first);
+            output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(resultFile)));
+            output.println(WindLoadingBatch.RESULT_HEADER);
+            synchronized(this){
+                this.header = first;
+                notifyAll();
+            }
+
+            while(true){
+                Shard shard = null;
+                synchronized(this){
+                    while(finished.get(written) == null
+                          && (exhausted || read - written >= WINDOW)){
+                        if(exhausted && written == read){
+                            break;
+                        }
+                        wait();
+                    }
+                    if(exhausted && written == read){
+                        break;
+                    }
+                    shard = finished.remove(written);
+                    if(shard != null){
+                        written++;
+                        notifyAll();
+                    }
+                }
+
+                if(shard != null){
+                    output.print(shard.result);
+                    invalid += shard.invalid;
+                    checkOutput(output);
+                }
+                else{
+                    Shard next = readShard(reader, rows);
+                    synchronized(this){
+                        if(next == null){
+                            exhausted = true;
+                        }
+                        else{
+                            rows += next.rows;
+                            read++;
+                            pending.addLast(next);
+                        }
+                        notifyAll();
+                    }
+                }
+            }
+            checkOutput(output);
+        }
+        catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The run was interrupted.");
+        }
+        finally{
+            reader.close();
+            if(output != null){
+                output.close();
+            }
+            close();
+        }
+        batch.finish((int) Math.min(rows, Integer.MAX_VALUE), invalid,
+                     resultFile.length());
+        return invalid;
+    }
+
+    // Behavior: Reads the next shard of the scenario file, skipping empty
+    // rows like evaluateFile.
+    // Exceptions: Throws an IOException if the file cannot be read.
+    // Returns: The shard, or null at the end of the file.
+    // Parameters: reader: The reader of the scenario file.
+    //             firstRow: The number of rows before the shard.
+
+    private Shard readShard(BufferedReader reader, long firstRow)
+                                                    throws IOException{
+        StringBuilder text = new StringBuilder();
+        int count = 0;
+        while(count < shardRows){
+            String line = reader.readLine();
+            if(line == null){
+                break;
+            }
+            if(!line.trim().isEmpty()){
+                text.append(line).append('\n');
+                count++;
+            }
+        }
+        if(count == 0){
+            return null;
+        }
+        return new Shard(read, firstRow, count,
+                         text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Behavior: Stops accepting workers and tells every waiting worker it
+    // is done.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    private synchronized void close(){
+        closed = true;
+        notifyAll();
+        try{
+            server.close();
+        }
+        catch(IOException e){
+            // The workers are done either way.
+        }
+        executor.shutdown();
+    }
+
+    // Behavior: Accepts workers until the coordinator is closed, serving
+    // each of them on its own thread.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: listener: The server socket.
+
+    private void accept(ServerSocket listener){
+        while(!listener.isClosed()){
+            try{
+                Socket socket = listener.accept();
+                executor.execute(() -> serve(socket));
+            }
+            catch(IOException | RejectedExecutionException e){
+                // The server socket was closed, or the run is over.
+            }
+        }
+    }
+
+    // Behavior: The serve method hands shards to one worker until every
+    // shard is written, and takes its results. If the connection breaks
+    // the shard the worker was running is handed out again.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: socket: The connection to the worker.
+
+    private void serve(Socket socket){
+        Shard shard = null;
+        try{
+            socket.setTcpNoDelay(true);
+            DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(),
+                                             1 << 16));
+            if(input.readInt() != MAGIC || input.readInt() != VERSION){
+                return;
+            }
+            writeText(output, waitForHeader());
+
+            while(true){
+                shard = take();
+                if(shard == null){
+                    output.writeByte(DONE);
+                    output.flush();
+                    return;
+                }
+                output.writeByte(SHARD);
+                output.writeInt(shard.index);
+                output.writeLong(shard.firstRow);
+                output.writeInt(shard.rows);
+                output.writeInt(shard.text.length);
+                output.write(shard.text);
+                output.flush();
+
+                int index = input.readInt();
+                int invalid = input.readInt();
+                String result = readText(input);
+                if(index != shard.index){
+                    throw new IOException("The worker answered shard "
+                            + index + " instead of " + shard.index + ".");
+                }
+                complete(shard, result, invalid);
+                shard = null;
+            }
+        }
+        catch(IOException | InterruptedException e){
+            if(shard != null){
+                release(shard);
+            }
+        }
+        finally{
+            try{
+                socket.close();
+            }
+            catch(IOException e){
+                // The connection is gone either way.
+            }
+        }
+    }
+
+    // Behavior: Waits until the header row of the scenario file is read.
+    // Exceptions: Throws an InterruptedException if the thread is
+    // interrupted, and an IOException if the run is over.
+    // Returns: The header row.
+    // Parameters: None
+
+    private synchronized String waitForHeader()
+                                throws IOException, InterruptedException{
+        while(header == null && !closed){
+            wait();
+        }
+        if(header == null){
+            throw new IOException("The run is over.");
+        }
+        return header;
+    }
+
+    // Behavior: The take method chooses the next shard for a worker. A
+    // shard no worker is running comes first. When every shard read is
+    // running and no more may be read, the worker steals the oldest shard
+    // only one worker is running, and otherwise waits.
+    //
+    // Exceptions: Throws an InterruptedException if the thread is
+    // interrupted.
+    //
+    // Returns: The shard, or null once every shard is written.
+    //
+    // Parameters: None
+
+    private synchronized Shard take() throws InterruptedException{
+        while(!closed){
+            Shard shard = pending.pollFirst();
+            if(shard != null){
+                shard.workers++;
+                running.put(shard.index, shard);
+                return shard;
+            }
+            if(exhausted || read - written >= WINDOW){
+                for(Shard candidate : running.values()){
+                    if(candidate.workers == 1){
+                        candidate.workers++;
+                        stolen++;
+                        return candidate;
+                    }
+                }
+            }
+            wait();
+        }
+        return null;
+    }
+
+    // Behavior: Keeps the first result of a shard and drops any later one.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: shard: The shard.
+    //             result: The result rows of the shard.
+    //             invalid: The number of invalid rows in the shard.
+
+    private synchronized void complete(Shard shard, String result,
+                                       int invalid){
+        shard.workers--;
+        if(running.remove(shard.index) != null){
+            shard.result = result;
+            shard.invalid = invalid;
+            finished.put(shard.index, shard);
+            notifyAll();
+        }
+    }
+
+    // Behavior: Hands a shard out again when the worker running it died and
+    // no other worker is running it.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: shard: The shard.
+
+    private synchronized void release(Shard shard){
+        shard.workers--;
+        if(shard.workers == 0 && running.remove(shard.index) != null){
+            pending.addFirst(shard);
+            reassigned++;
+            notifyAll();
+        }
+    }
+
+    // Behavior: Writes text as its length followed by its UTF-8 bytes.
+    // Exceptions: Throws an IOException if the text cannot be written.
+    // Returns: None
+    // Parameters: output: The stream to write to.
+    //             text: The text.
+
+    static void writeText(DataOutputStream output, String text)
+                                                    throws IOException{
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        output.flush();
+    }
+
+    // Behavior: Reads text written by writeText.
+    // Exceptions: Throws an IOException if the text cannot be read.
+    // Returns: The text.
+    // Parameters: input: The stream to read from.
+
+    static String readText(DataInputStream input) throws IOException{
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // The Shard class holds a run of consecutive scenario rows, and its
+    // result rows once a worker has evaluated it.
+
+    private static final class Shard{
+        private final int index;
+        private final long firstRow;
+        private final int rows;
+        private final byte[] text;
+        private int workers;
+        private String result;
+        private int invalid;
+
+        Shard(int index, long firstRow, int rows, byte[] text){
+            this.index = index;
+            this.firstRow = firstRow;
+            this.rows = rows;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+
+// The ShardWorker class evaluates shards of a scenario file for a
+// ShardCoordinator. It connects to the coordinator, pulls one shard at a
+// time, evaluates its rows with WindLoadingBatch on all cores of its machine
+// and sends the result rows back, until the coordinator says every shard is
+// done. See ShardCoordinator for the protocol.
+
+public class ShardWorker{
+    private final WindLoadingBatch batch;
+
+    // Constructs a ShardWorker object for the following batch
+    // batch: The batch holding the ranges of every material, which should
+    //        come from the same data files the other workers use.
+
+    public ShardWorker(WindLoadingBatch batch){
+        this.batch = batch;
+    }
+
+    // Behavior: The work method evaluates shards for a coordinator until
+    // it has none left.
+    //
+    // Exceptions: Throws an IOException if the coordinator cannot be
+    // reached or the connection breaks. Throws an IllegalArgumentException
+    // if the header of the scenario file is missing a column.
+    //
+    // Returns: The number of shards this worker evaluated.
+    //
+    // Parameters: coordinator: The address of the coordinator.
+
+    public int work(InetSocketAddress coordinator) throws IOException{
+        Socket socket = new Socket();
+        int shards = 0;
+        try{
+            socket.connect(coordinator);
+            socket.setTcpNoDelay(true);
+            DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(socket.getInputStream(), 1 << 16));
+            DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream(),
+                                             1 << 16));
+            output.writeInt(ShardCoordinator.MAGIC);
+            output.writeInt(ShardCoordinator.VERSION);
+            output.flush();
+            int[] layout = WindLoadingBatch.readHeader(
+                                    ShardCoordinator.readText(input));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            PrintStream results = new PrintStream(bytes, false,
+                                                  StandardCharsets.UTF_8);
+            long[] verdicts = new long[256];
+            while(input.readByte() == ShardCoordinator.SHARD){
+                int index = input.readInt();
+                long firstRow = input.readLong();
+                int count = input.readInt();
+                List<String> rows = new ArrayList<String>(count);
+                for(String row : ShardCoordinator.readText(input)
+                                                  .split("\n")){
+                    if(!row.isEmpty()){
+                        rows.add(row);
+                    }
+                }
+                if(rows.size() != count){
+                    throw new IOException("Shard " + index + " should hold "
+                            + count + " rows but holds " + rows.size() + ".");
+                }
+
+                bytes.reset();
+                int invalid = batch.evaluateRows(layout, rows, firstRow,
+                                                 results, verdicts);
+                results.flush();
+                output.writeInt(index);
+                output.writeInt(invalid);
+                ShardCoordinator.writeText(output,
+                        bytes.toString(StandardCharsets.UTF_8));
+                shards++;
+            }
+            if(WindLoadingMetrics.isEnabled()){
+                WindLoadingMetrics.recordVerdicts(verdicts);
+            }
+        }
+        finally{
+            socket.close();
+        }
+        return shards;
+    }
+}
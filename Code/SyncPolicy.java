@@ -0,0 +1,32 @@
+// The SyncPolicy enum represents when ResultExporter forces what it has
+// written to the disk with FileChannel.force: never, leaving it to the
+// operating system, once when the exporter is closed, or every time its
+// buffer is written out, which survives a crash but costs a disk flush per
+// buffer.
+
+public enum SyncPolicy{
+    NEVER,
+    ON_CLOSE,
+    EVERY_BUFFER;
+
+    // Behavior: Finds the policy with a name, ignoring case, where close
+    // and always also name ON_CLOSE and EVERY_BUFFER.
+    // Exceptions: None
+    // Returns: The policy, or null if there is none with that name.
+    // Parameters: name: The name of the policy.
+
+    public static SyncPolicy of(String name){
+        if(name.equalsIgnoreCase("close")){
+            return ON_CLOSE;
+        }
+        if(name.equalsIgnoreCase("always")){
+            return EVERY_BUFFER;
+        }
+        for(SyncPolicy policy : values()){
+            if(policy.name().equalsIgnoreCase(name)){
+                return policy;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+// The TerrainCategory enum represents the roughness of the ground upwind of a
+// building, which decides how quickly the wind velocity grows with height.
+// The categories and their roughness lengths and minimum heights follow
+// EN 1991-1-4: SEA is open sea, OPEN is flat open country, COUNTRY is
+// farmland with scattered obstacles, SUBURBAN is villages and suburbs, and
+// URBAN is city centres. The power law exponents are the values commonly
+// used with the same categories.
+
+public enum TerrainCategory{
+    SEA(0.003, 1, 0.10),
+    OPEN(0.01, 1, 0.12),
+    COUNTRY(0.05, 2, 0.16),
+    SUBURBAN(0.3, 5, 0.22),
+    URBAN(1.0, 10, 0.30);
+
+    private final double roughnessLength;
+    private final double minimumHeight;
+    private final double exponent;
+
+    // Constructs a TerrainCategory with the following roughness
+    // roughnessLength: The roughness length of the log law in meters.
+    // minimumHeight: The height in meters below which the wind velocity is
+    //                taken to be that at the minimum height.
+    // exponent: The exponent of the power law.
+
+    private TerrainCategory(double roughnessLength, double minimumHeight,
+                            double exponent){
+        this.roughnessLength = roughnessLength;
+        this.minimumHeight = minimumHeight;
+        this.exponent = exponent;
+    }
+
+    public double getRoughnessLength(){
+        return this.roughnessLength;
+    }
+
+    public double getMinimumHeight(){
+        return this.minimumHeight;
+    }
+
+    public double getExponent(){
+        return this.exponent;
+    }
+
+    // Behavior: Finds a category by its name, ignoring case.
+    // Exceptions: None
+    // Returns: The category, or null if there is none by that name.
+    // Parameters: name: The name of the category.
+
+    public static TerrainCategory of(String name){
+        for(TerrainCategory category : values()){
+            if(category.name().equalsIgnoreCase(name)){
+                return category;
+            }
+        }
+        return null;
+    }
+}
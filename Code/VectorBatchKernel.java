@@ -0,0 +1,344 @@
+import java.nio.*;
+import jdk.incubator.vector.*;
+
+// The VectorBatchKernel class evaluates scenarios held in ScenarioColumns
+// several rows at a time with the SIMD instructions of the processor, through
+// the jdk.incubator.vector API. It performs the same operations in the same
+// order as ScalarBatchKernel (never fusing a multiply and an add), so its
+// results are bit-identical. The rows which do not fill a whole vector are
+// evaluated by ScalarBatchKernel. This class needs the program to be started
+// with --add-modules jdk.incubator.vector; use BatchKernel.best to choose a
+// kernel safely.
+
+public class VectorBatchKernel implements BatchKernel{
+    private static final VectorSpecies<Double> SPECIES =
+                                            DoubleVector.SPECIES_PREFERRED;
+    private static final double INT_MIN = Integer.MIN_VALUE;
+    private static final double INT_MAX = Integer.MAX_VALUE;
+    private static final double ROUNDING = 0x1p52;
+
+    // The strength and safety strength columns of each failure mode, in the
+    // order of FailureMode.
+    private static final int[] STRENGTHS = {ResultColumns.TENSILE_STRENGTH,
+            ResultColumns.SHEAR_STRENGTH, ResultColumns.FLEXURAL_STRENGTH,
+            ResultColumns.BUCKLING_STRENGTH};
+    private static final int[] SAFETY_STRENGTHS = {
+            ResultColumns.SAFETY_TENSILE_STRENGTH,
+            ResultColumns.SAFETY_SHEAR_STRENGTH,
+            ResultColumns.SAFETY_FLEXURAL_STRENGTH,
+            ResultColumns.SAFETY_BUCKLING_STRENGTH};
+
+    private final ScalarBatchKernel tail = new ScalarBatchKernel();
+
+    // Behavior: Evaluates the scenarios in a range of rows, one vector of
+    // rows at a time. The work is split in small passes (wind load and area
+    // strengths, beam amounts, beam sizes, beam strengths, verdicts), each
+    // simple enough for the JIT compiler to keep every vector in registers.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row to evaluate.
+
+    public void evaluate(ScenarioColumns scenarios, ResultColumns results,
+                         int from, int to){
+        int end = from + SPECIES.loopBound(to - from);
+        evaluateLoads(scenarios, results, from, end);
+        evaluateBeamAmounts(scenarios, results, from, end);
+        evaluateBeams(scenarios, results, from, end);
+        evaluateStrengths(scenarios, results, from, end);
+        evaluateVerdicts(results, from, end);
+        tail.evaluate(scenarios, results, end, to);
+    }
+
+    // Behavior: Calculates the drag coefficient, wind pressure, cross
+    // sectional area, wind load, and the tensile and shear strengths with
+    // their safety-reduced values.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row, a whole number of vectors
+    //                 after from.
+
+    private static void evaluateLoads(ScenarioColumns scenarios,
+                                      ResultColumns results, int from,
+                                      int to){
+        ByteBuffer heights = scenarios.getColumn(ScenarioColumns.HEIGHT);
+        ByteBuffer widths = scenarios.getColumn(ScenarioColumns.WIDTH);
+        ByteBuffer lengths = scenarios.getColumn(ScenarioColumns.LENGTH);
+        ByteBuffer velocities =
+                scenarios.getColumn(ScenarioColumns.WIND_VELOCITY);
+        ByteBuffer densities = scenarios.getColumn(ScenarioColumns.AIR_DENSITY);
+        ByteBuffer safetyFactors =
+                scenarios.getColumn(ScenarioColumns.SAFETY_FACTOR);
+        ByteBuffer yields = scenarios.getColumn(ScenarioColumns.YIELD_STRENGTH);
+        ByteBuffer shears =
+                scenarios.getColumn(ScenarioColumns.AVERAGE_SHEAR_STRENGTH);
+        ByteBuffer dragOut = results.getColumn(ResultColumns.DRAG_COEFFICIENT);
+        ByteBuffer pressureOut = results.getColumn(ResultColumns.WIND_PRESSURE);
+        ByteBuffer areaOut =
+                results.getColumn(ResultColumns.CROSS_SECTIONAL_AREA);
+        ByteBuffer loadOut = results.getColumn(ResultColumns.WIND_LOAD);
+        ByteBuffer tensileOut =
+                results.getColumn(ResultColumns.TENSILE_STRENGTH);
+        ByteBuffer shearOut = results.getColumn(ResultColumns.SHEAR_STRENGTH);
+        ByteBuffer safetyTensileOut =
+                results.getColumn(ResultColumns.SAFETY_TENSILE_STRENGTH);
+        ByteBuffer safetyShearOut =
+                results.getColumn(ResultColumns.SAFETY_SHEAR_STRENGTH);
+
+        for(int i = from; i < to; i += SPECIES.length()){
+            DoubleVector height = load(heights, i);
+            DoubleVector width = load(widths, i);
+            DoubleVector length = load(lengths, i);
+            DoubleVector windVelocity = load(velocities, i);
+            DoubleVector safetyFactor = load(safetyFactors, i);
+
+            DoubleVector dragCoefficient =
+                    height.div(width).mul(WindLoadingEvaluator.ALPHA).add(
+                    height.div(length).mul(WindLoadingEvaluator.BETA));
+            DoubleVector windPressure = load(densities, i).mul(0.5)
+                    .mul(dragCoefficient)
+                    .mul(windVelocity.mul(windVelocity));
+            DoubleVector crossSectionalArea = height.mul(width);
+            DoubleVector windLoad = windPressure.mul(crossSectionalArea);
+            DoubleVector tensileStrength =
+                    load(yields, i).mul(crossSectionalArea);
+            DoubleVector shearStrength =
+                    load(shears, i).mul(crossSectionalArea);
+
+            store(dragCoefficient, dragOut, i);
+            store(windPressure, pressureOut, i);
+            store(crossSectionalArea, areaOut, i);
+            store(windLoad, loadOut, i);
+            store(tensileStrength, tensileOut, i);
+            store(shearStrength, shearOut, i);
+            store(tensileStrength.div(safetyFactor), safetyTensileOut, i);
+            store(shearStrength.div(safetyFactor), safetyShearOut, i);
+        }
+    }
+
+    // Behavior: Calculates the number of beams of each building. It is kept
+    // in the flexural strength column until evaluateBeams replaces it.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row, a whole number of vectors
+    //                 after from.
+
+    private static void evaluateBeamAmounts(ScenarioColumns scenarios,
+                                            ResultColumns results, int from,
+                                            int to){
+        ByteBuffer heights = scenarios.getColumn(ScenarioColumns.HEIGHT);
+        ByteBuffer widths = scenarios.getColumn(ScenarioColumns.WIDTH);
+        ByteBuffer lengths = scenarios.getColumn(ScenarioColumns.LENGTH);
+        ByteBuffer capacities =
+                scenarios.getColumn(ScenarioColumns.LOAD_CAPACITY);
+        ByteBuffer beamAmountOut =
+                results.getColumn(ResultColumns.FLEXURAL_STRENGTH);
+
+        for(int i = from; i < to; i += SPECIES.length()){
+            DoubleVector floors = truncate(load(heights, i)
+                    .div(WindLoadingEvaluator.FLOOR_HEIGHT));
+            DoubleVector totalLoad = floors
+                    .mul(load(lengths, i).mul(load(widths, i)))
+                    .mul(WindLoadingEvaluator.FLOOR_LOAD);
+            store(truncate(totalLoad.div(load(capacities, i))),
+                  beamAmountOut, i);
+        }
+    }
+
+    // Behavior: Sizes the beams and calculates their moment of inertia. The
+    // beam height is kept in the flexural strength column until
+    // evaluateStrengths replaces it.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row, a whole number of vectors
+    //                 after from.
+
+    private static void evaluateBeams(ScenarioColumns scenarios,
+                                      ResultColumns results, int from,
+                                      int to){
+        ByteBuffer heights = scenarios.getColumn(ScenarioColumns.HEIGHT);
+        ByteBuffer inertiaOut = results.getColumn(ResultColumns.MOMENT_INERTIA);
+        ByteBuffer beamOut = results.getColumn(ResultColumns.FLEXURAL_STRENGTH);
+
+        for(int i = from; i < to; i += SPECIES.length()){
+            DoubleVector beamHeight = load(heights, i).div(load(beamOut, i));
+            DoubleVector beamWidth = beamHeight.div(2);
+            DoubleVector momentInertia = beamWidth.mul(
+                    beamHeight.mul(beamHeight).mul(beamHeight)).div(12);
+
+            store(momentInertia, inertiaOut, i);
+            store(beamHeight, beamOut, i);
+        }
+    }
+
+    // Behavior: Calculates the flexural and buckling strengths of the beams
+    // sized by evaluateBeams, with their safety-reduced values.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: scenarios: The scenarios to evaluate.
+    //             results: The columns the results are stored in.
+    //             from: The first row to evaluate.
+    //             to: The row after the last row, a whole number of vectors
+    //                 after from.
+
+    private static void evaluateStrengths(ScenarioColumns scenarios,
+                                          ResultColumns results, int from,
+                                          int to){
+        ByteBuffer safetyFactors =
+                scenarios.getColumn(ScenarioColumns.SAFETY_FACTOR);
+        ByteBuffer yields = scenarios.getColumn(ScenarioColumns.YIELD_STRENGTH);
+        ByteBuffer moduli =
+                scenarios.getColumn(ScenarioColumns.ELASTIC_MODULUS);
+        ByteBuffer inertias = results.getColumn(ResultColumns.MOMENT_INERTIA);
+        ByteBuffer flexuralOut =
+                results.getColumn(ResultColumns.FLEXURAL_STRENGTH);
+        ByteBuffer bucklingOut =
+                results.getColumn(ResultColumns.BUCKLING_STRENGTH);
+        ByteBuffer safetyFlexuralOut =
+                results.getColumn(ResultColumns.SAFETY_FLEXURAL_STRENGTH);
+        ByteBuffer safetyBucklingOut =
+                results.getColumn(ResultColumns.SAFETY_BUCKLING_STRENGTH);
+        DoubleVector piSquared = DoubleVector.broadcast(SPECIES,
+                                            WindLoadingEvaluator.PI_SQUARED);
+
+        for(int i = from; i < to; i += SPECIES.length()){
+            DoubleVector beamHeight = load(flexuralOut, i);
+            DoubleVector momentInertia = load(inertias, i);
+            DoubleVector safetyFactor = load(safetyFactors, i);
+
+            DoubleVector beamWidth = beamHeight.div(2);
+            DoubleVector flexuralStrength =
+                    load(yields, i).mul(momentInertia).div(beamWidth);
+            DoubleVector effectiveLength = beamHeight.mul(
+                    WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR);
+            DoubleVector bucklingStrength = piSquared
+                    .mul(load(moduli, i))
+                    .mul(momentInertia)
+                    .div(effectiveLength.mul(effectiveLength));
+
+            store(flexuralStrength, flexuralOut, i);
+            store(bucklingStrength, bucklingOut, i);
+            store(flexuralStrength.div(safetyFactor), safetyFlexuralOut, i);
+            store(bucklingStrength.div(safetyFactor), safetyBucklingOut, i);
+        }
+    }
+
+    // Behavior: Classifies the wind load against every strength, as in
+    // Verdict.of, and packs the verdicts of each row in one byte.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: results: The columns holding the wind loads and strengths,
+    //                      and the verdicts are stored in.
+    //             from: The first row to classify.
+    //             to: The row after the last row, a whole number of vectors
+    //                 after from.
+
+    private static void evaluateVerdicts(ResultColumns results, int from,
+                                         int to){
+        ByteBuffer loads = results.getColumn(ResultColumns.WIND_LOAD);
+        ByteBuffer verdicts = results.getVerdicts();
+        ByteBuffer[] strengths = new ByteBuffer[STRENGTHS.length];
+        ByteBuffer[] safetyStrengths = new ByteBuffer[STRENGTHS.length];
+        for(int mode = 0; mode < STRENGTHS.length; mode++){
+            strengths[mode] = results.getColumn(STRENGTHS[mode]);
+            safetyStrengths[mode] = results.getColumn(SAFETY_STRENGTHS[mode]);
+        }
+        DoubleVector zero = DoubleVector.zero(SPECIES);
+        // Narrowing a vector of doubles to bytes is slow on most processors,
+        // so the packed lanes go through a small array instead.
+        double[] lanes = new double[SPECIES.length()];
+
+        for(int i = from; i < to; i += SPECIES.length()){
+            DoubleVector windLoad = load(loads, i);
+            // The ordinal of the verdict of a mode counts how many of its
+            // two strengths are reached, the strength only counting when the
+            // safety-reduced strength is reached as well (see Verdict.of).
+            // Every mode adds its ordinal times 4 to the power of its own
+            // ordinal, which builds the packed byte of Verdict.pack.
+            DoubleVector packed = zero;
+            int weight = 1;
+            for(int mode = 0; mode < STRENGTHS.length; mode++){
+                VectorMask<Double> reachesSafety = windLoad.compare(
+                        VectorOperators.GE,
+                        load(safetyStrengths[mode], i));
+                VectorMask<Double> reachesStrength = windLoad.compare(
+                        VectorOperators.GE,
+                        load(strengths[mode], i))
+                        .and(reachesSafety);
+                packed = packed.add(zero.blend(weight, reachesSafety))
+                               .add(zero.blend(weight, reachesStrength));
+                weight *= 4;
+            }
+            packed.intoArray(lanes, 0);
+            if(lanes.length == Long.BYTES){
+                long bytes = 0;
+                for(int lane = 0; lane < lanes.length; lane++){
+                    bytes |= (long) lanes[lane] << (Byte.SIZE * lane);
+                }
+                verdicts.putLong(i, bytes);
+            }
+            else{
+                for(int lane = 0; lane < lanes.length; lane++){
+                    verdicts.put(i + lane, (byte) lanes[lane]);
+                }
+            }
+        }
+    }
+
+    // Behavior: Loads one vector of rows from a column.
+    // Exceptions: None
+    // Returns: The values of the rows.
+    // Parameters: column: The column buffer.
+    //             i: The first row of the vector.
+
+    private static DoubleVector load(ByteBuffer column, int i){
+        return DoubleVector.fromByteBuffer(SPECIES, column, i * Double.BYTES,
+                                           ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Behavior: Stores one vector of rows into a column.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: values: The values of the rows.
+    //             column: The column buffer.
+    //             i: The first row of the vector.
+
+    private static void store(DoubleVector values, ByteBuffer column, int i){
+        values.intoByteBuffer(column, i * Double.BYTES,
+                              ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // Behavior: Converts every lane to an int and back, exactly like the
+    // (int) cast of the scalar code: values are truncated toward zero,
+    // values beyond the int range saturate and NaN becomes 0. Once a value
+    // is clamped to the int range, adding and subtracting 2^52 rounds it to
+    // a whole number exactly, which is then corrected toward zero; this
+    // avoids the double to long conversion, which not every processor can
+    // do on a whole vector.
+    // Exceptions: None
+    // Returns: The truncated lanes.
+    // Parameters: values: The lanes to truncate.
+
+    private static DoubleVector truncate(DoubleVector values){
+        DoubleVector clamped = values.min(INT_MAX).max(INT_MIN);
+        DoubleVector magnitude = clamped.abs();
+        DoubleVector rounded = magnitude.add(ROUNDING).sub(ROUNDING);
+        rounded = rounded.sub(DoubleVector.zero(SPECIES).blend(1,
+                rounded.compare(VectorOperators.GT, magnitude)));
+        // Adding 0 turns the -0.0 of small negative values into 0.0.
+        DoubleVector truncated = rounded.blend(rounded.neg(),
+                clamped.compare(VectorOperators.LT, 0)).add(0.0);
+        return truncated.blend(0, values.test(VectorOperators.IS_NAN));
+    }
+}
@@ -0,0 +1,70 @@
+// The Verdict enum represents the outcome of comparing the wind load on a
+// structure against one of its strength parameters (tensile, shear, flexural
+// or buckling strength).
+
+public enum Verdict{
+    PASS,
+    MARGINAL,
+    FAIL;
+
+    private static final Verdict[] VERDICTS = values();
+
+    // Behavior: The of method classifies a wind load against a strength and
+    // its safety-reduced strength using the same rules as the interactive
+    // calculator. The structure fails when the wind load reaches both
+    // strengths, survives but is not deemed safe when it only reaches the
+    // safety-reduced strength, and is deemed safe otherwise.
+    //
+    // Exceptions: None
+    //
+    // Returns: The Verdict for the given wind load.
+    //
+    // Parameters: windLoad: The wind load acting on the structure in N.
+    //             strength: The strength of the structure in N.
+    //             safetyStrength: The strength divided by the safety factor.
+
+    public static Verdict of(double windLoad, double strength,
+                             double safetyStrength){
+        if(windLoad >= strength && windLoad >= safetyStrength){
+            return FAIL;
+        }
+        else if(windLoad < strength && windLoad >= safetyStrength){
+            return MARGINAL;
+        }
+        else{
+            return PASS;
+        }
+    }
+
+    // Behavior: Packs the verdicts of the four failure modes in one byte,
+    // with two bits per mode in the order of FailureMode, holding the
+    // ordinal of each verdict.
+    //
+    // Exceptions: None
+    //
+    // Returns: The packed verdicts.
+    //
+    // Parameters: result: The result whose verdicts are packed.
+
+    public static byte pack(WindLoadingResult result){
+        int packed = 0;
+        for(FailureMode mode : FailureMode.values()){
+            packed |= result.getVerdict(mode).ordinal()
+                        << (2 * mode.ordinal());
+        }
+        return (byte) packed;
+    }
+
+    // Behavior: Reads the verdict of one failure mode from a packed byte.
+    //
+    // Exceptions: None
+    //
+    // Returns: The verdict of the mode.
+    //
+    // Parameters: packed: The verdicts packed by the pack method.
+    //             mode: The failure mode to read.
+
+    public static Verdict unpack(byte packed, FailureMode mode){
+        return VERDICTS[(packed >> (2 * mode.ordinal())) & 3];
+    }
+}
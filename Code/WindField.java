@@ -0,0 +1,315 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+// The WindField class reads a gridded storm, the wind velocity of every
+// latitude and longitude cell at every time step, one step at a time, so a
+// storm of any length is read with the memory of a single step. The grid is
+// a rectangle of equal cells starting at its south-west corner, and the
+// cells of a step are ordered by latitude (south first) and then by
+// longitude (west first).
+//
+// Velocities are in km/h, like the scenario files. A binary field starts
+// with a little-endian header (the magic number, the version, the number of
+// latitude and longitude cells, the south and west edges and the size of a
+// cell in degrees) followed by every step as little-endian floats; Writer
+// writes one. A text field holds the same six header values on its first
+// line and then one step per line, with the values separated by commas or
+// spaces.
+
+public final class WindField implements Closeable{
+    public static final int MAGIC = 0x444c4657;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 4 * 4 + 4 * 8;
+
+    // The size of the buffer binary fields are read through.
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final File file;
+    private final int latitudes;
+    private final int longitudes;
+    private final double south;
+    private final double west;
+    private final double cellLatitude;
+    private final double cellLongitude;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final BufferedReader reader;
+    private int steps;
+
+    // Constructs a WindField object for the following grid
+    // file: The file the field is read from.
+    // header: The number of latitude and longitude cells, the south and
+    //         west edges and the size of a cell in degrees.
+    // channel: The channel of a binary field, or null.
+    // reader: The reader of a text field, or null.
+
+    private WindField(File file, double[] header, FileChannel channel,
+                      BufferedReader reader) throws IOException{
+        this.file = file;
+        this.latitudes = (int) header[0];
+        this.longitudes = (int) header[1];
+        this.south = header[2];
+        this.west = header[3];
+        this.cellLatitude = header[4];
+        this.cellLongitude = header[5];
+        if(latitudes <= 0 || longitudes <= 0 || header[0] != latitudes
+                || header[1] != longitudes
+                || (long) latitudes * longitudes > Integer.MAX_VALUE
+                || !(cellLatitude > 0) || !(cellLongitude > 0)){
+            throw new IOException(file + " does not describe a valid grid.");
+        }
+        this.channel = channel;
+        this.reader = reader;
+        this.buffer = channel == null ? null
+                : ByteBuffer.allocateDirect(BUFFER_BYTES)
+                            .order(ByteOrder.LITTLE_ENDIAN).limit(0);
+    }
+
+    // Behavior: The open method opens a field and reads its header. A file
+    // whose name ends in .bin is read as binary, and any other file as
+    // text.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read or its
+    // header is not valid.
+    //
+    // Returns: The open field, positioned before its first step.
+    //
+    // Parameters: file: The field file.
+
+    public static WindField open(File file) throws IOException{
+        if(file.getName().toLowerCase().endsWith(".bin")){
+            FileChannel channel = FileChannel.open(file.toPath(),
+                                                   StandardOpenOption.READ);
+            try{
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                                              .order(ByteOrder.LITTLE_ENDIAN);
+                while(header.hasRemaining()){
+                    if(channel.read(header) < 0){
+                        throw new IOException(file + " is too short.");
+                    }
+                }
+                header.flip();
+                if(header.getInt() != MAGIC || header.getInt() != VERSION){
+                    throw new IOException(file + " is not a wind field.");
+                }
+                double[] values = {header.getInt(), header.getInt(),
+                        header.getDouble(), header.getDouble(),
+                        header.getDouble(), header.getDouble()};
+                return new WindField(file, values, channel, null);
+            }
+            catch(IOException | RuntimeException e){
+                channel.close();
+                throw e;
+            }
+        }
+
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try{
+            String line = reader.readLine();
+            String[] parts = line == null ? new String[0]
+                                          : line.trim().split("[,\\s]+");
+            if(parts.length != 6){
+                throw new IOException(file + " does not start with the "
+                        + "six values of a grid.");
+            }
+            double[] values = new double[6];
+            for(int i = 0; i < values.length; i++){
+                values[i] = Double.parseDouble(parts[i]);
+            }
+            return new WindField(file, values, null, reader);
+        }
+        catch(NumberFormatException e){
+            reader.close();
+            throw new IOException(file + " does not start with the six "
+                    + "values of a grid.");
+        }
+        catch(IOException | RuntimeException e){
+            reader.close();
+            throw e;
+        }
+    }
+
+    public int getLatitudes(){
+        return this.latitudes;
+    }
+
+    public int getLongitudes(){
+        return this.longitudes;
+    }
+
+    // Returns: The number of cells in a step.
+
+    public int getCells(){
+        return this.latitudes * this.longitudes;
+    }
+
+    // Returns: The number of steps read so far.
+
+    public int getSteps(){
+        return this.steps;
+    }
+
+    // Behavior: Finds the cell holding a location. A location on the north
+    // or east edge of a cell belongs to the next cell.
+    // Exceptions: None
+    // Returns: The index of the cell in a step, or -1 if the location is
+    // outside the grid.
+    // Parameters: latitude: The latitude in degrees.
+    //             longitude: The longitude in degrees.
+
+    public int cellOf(double latitude, double longitude){
+        double row = Math.floor((latitude - south) / cellLatitude);
+        double column = Math.floor((longitude - west) / cellLongitude);
+        if(!(row >= 0 && row < latitudes && column >= 0
+                      && column < longitudes)){
+            return -1;
+        }
+        return (int) row * longitudes + (int) column;
+    }
+
+    // Behavior: The readStep method reads the next step of the storm.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read, or the
+    // step is cut short or holds a value which is not a number.
+    //
+    // Returns: True if a step was read, or false at the end of the storm.
+    //
+    // Parameters: velocities: The array to store the velocity of every cell
+    //                         in, in m/s, holding at least getCells()
+    //                         values.
+
+    public boolean readStep(double[] velocities) throws IOException{
+        int cells = getCells();
+        if(channel != null){
+            for(int i = 0; i < cells; i++){
+                if(buffer.remaining() < Float.BYTES){
+                    buffer.compact();
+                    int read = 0;
+                    while(buffer.position() < Float.BYTES && read >= 0){
+                        read = channel.read(buffer);
+                    }
+                    buffer.flip();
+                    if(buffer.remaining() < Float.BYTES){
+                        if(i == 0 && !buffer.hasRemaining()){
+                            return false;
+                        }
+                        throw new IOException(file + " ends part way "
+                                + "through step " + steps + ".");
+                    }
+                }
+                velocities[i] = buffer.getFloat() / 3.6;
+            }
+            steps++;
+            return true;
+        }
+
+        String line = reader.readLine();
+        while(line != null && line.trim().isEmpty()){
+            line = reader.readLine();
+        }
+        if(line == null){
+            return false;
+        }
+        String[] parts = line.trim().split("[,\\s]+");
+        if(parts.length != cells){
+            throw new IOException("Step " + steps + " of " + file + " holds "
+                    + parts.length + " values instead of " + cells + ".");
+        }
+        try{
+            for(int i = 0; i < cells; i++){
+                velocities[i] = Double.parseDouble(parts[i]) / 3.6;
+            }
+        }
+        catch(NumberFormatException e){
+            throw new IOException("Step " + steps + " of " + file
+                    + " holds a value which is not a number.");
+        }
+        steps++;
+        return true;
+    }
+
+    // Behavior: Closes the file.
+    // Exceptions: Throws an IOException if the file cannot be closed.
+    // Returns: None
+    // Parameters: None
+
+    public void close() throws IOException{
+        if(channel != null){
+            channel.close();
+        }
+        else{
+            reader.close();
+        }
+    }
+
+    // The Writer class writes a binary wind field one step at a time.
+
+    public static final class Writer implements Closeable{
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int cells;
+
+        // Constructs a Writer object for the following grid
+        // file: The file to write.
+        // latitudes, longitudes: The number of cells along each axis.
+        // south, west: The south and west edges of the grid in degrees.
+        // cellLatitude, cellLongitude: The size of a cell in degrees.
+
+        public Writer(File file, int latitudes, int longitudes, double south,
+                      double west, double cellLatitude, double cellLongitude)
+                                                    throws IOException{
+            this.channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES)
+                                    .order(ByteOrder.LITTLE_ENDIAN);
+            this.cells = latitudes * longitudes;
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(latitudes)
+                  .putInt(longitudes).putDouble(south).putDouble(west)
+                  .putDouble(cellLatitude).putDouble(cellLongitude);
+        }
+
+        // Behavior: Writes the next step.
+        // Exceptions: Throws an IOException if the file cannot be written.
+        // Returns: None
+        // Parameters: velocities: The velocity of every cell in km/h.
+
+        public void writeStep(double[] velocities) throws IOException{
+            for(int i = 0; i < cells; i++){
+                if(buffer.remaining() < Float.BYTES){
+                    drain();
+                }
+                buffer.putFloat((float) velocities[i]);
+            }
+        }
+
+        // Behavior: Writes what is left in the buffer and closes the file.
+        // Exceptions: Throws an IOException if the file cannot be written.
+        // Returns: None
+        // Parameters: None
+
+        public void close() throws IOException{
+            try{
+                drain();
+            }
+            finally{
+                channel.close();
+            }
+        }
+
+        // Behavior: Writes the buffer to the file.
+        // Exceptions: Throws an IOException if the file cannot be written.
+        // Returns: None
+        // Parameters: None
+
+        private void drain() throws IOException{
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
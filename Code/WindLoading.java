@@ -8,7 +8,7 @@ import java.util.*;
 // supports saving the parameters and results to a file.
 
 public class WindLoading{
-    private final List<String> parameters;
+    private PropertyTable parameters;
     private final Scanner console;
     private double height;
     private double width;
@@ -20,31 +20,29 @@ public class WindLoading{
     private double averageShearStrength;
     private double elasticModulus;
     private double loadCapacity;
+    private WindLoadingModel model;
 
     // Constructs a WindLoading object for the following parameters
-    // parameters: A list of strings which represent the parameters used for
-    //             the calculations
+    // parameters: The ranges of the parameters used for the calculations
     // console: A scanner used to scan the user input.
     
-    public WindLoading(List<String> parameters, Scanner console){
+    public WindLoading(PropertyTable parameters, Scanner console){
         this.parameters = parameters;
         this.console = console;
     }
 
-    // Behavior: Clears the existing list of parameters and adds all elements
-    // from the provided list to the current list of parameters.
+    // Behavior: Replaces the current parameters with the given material
+    // data, so the next call to getUserInput prompts for the material.
     //
     // Exceptions: None 
     //
     // Returns: None
     //
-    // Parameters: parameters: A list of strings representing the new material 
-    //                         data which is set to replace the current list 
-    //                         of parameters.
+    // Parameters: parameters: The ranges of the new material data which 
+    //                         replace the current parameters.
 
-    public void setMaterialData(List<String> parameters){
-        this.parameters.clear();
-        this.parameters.addAll(parameters);
+    public void setMaterialData(PropertyTable parameters){
+        this.parameters = parameters;
     }
 
     // Behavior: The getUserInput method prompts the user to enter values for
@@ -61,46 +59,44 @@ public class WindLoading{
         System.out.println("Please enter the values for the following "
                             + "parameters:");
 
-        for(int i = 0; i < parameters.size(); i += 4){
-            String property = parameters.get(i);
-            String min = parameters.get(i + 1);
-            String max = parameters.get(i + 2);
-            String unit = parameters.get(i + 3);
-
-            double value = getValidInput(property, min, max, unit);
-
-            if(property.startsWith("Height")){
-                this.height = value;
-            }
-            else if(property.startsWith("Width")){
-                this.width = value;
-            }
-            else if(property.startsWith("Length")){
-                this.length = value;
-            }
-            else if(property.startsWith("Wind Velocity")){
-                this.windVelocity = value / 3.6;
-            }
-            else if(property.startsWith("Air Density")){
-                this.airDensity = value;
-            }
-            else if(property.startsWith("Safety Factor")){
-                this.safetyFactor = value;
-            }
-            else if(property.startsWith("Yield Strength")){
-                this.yieldStrength = value;
-            }
-            else if(property.startsWith("Average Shear Strength")){
-                this.averageShearStrength = value;
-            }
-            else if(property.startsWith("Elastic Modulus")){
-                this.elasticModulus = value;
-            }
-            else if(property.startsWith("Load Capacity")){
-                this.loadCapacity = value;
+        for(PropertyRange range : parameters.getRanges()){
+            double value = getValidInput(range);
+
+            switch(range.getProperty()){
+                case HEIGHT:
+                    this.height = value;
+                    break;
+                case WIDTH:
+                    this.width = value;
+                    break;
+                case LENGTH:
+                    this.length = value;
+                    break;
+                case WIND_VELOCITY:
+                    this.windVelocity = value / 3.6;
+                    break;
+                case AIR_DENSITY:
+                    this.airDensity = value;
+                    break;
+                case SAFETY_FACTOR:
+                    this.safetyFactor = value;
+                    break;
+                case YIELD_STRENGTH:
+                    this.yieldStrength = value;
+                    break;
+                case AVERAGE_SHEAR_STRENGTH:
+                    this.averageShearStrength = value;
+                    break;
+                case ELASTIC_MODULUS:
+                    this.elasticModulus = value;
+                    break;
+                case LOAD_CAPACITY:
+                    this.loadCapacity = value;
+                    break;
             }
 
-            System.out.println(property + " set to: " + value + " " + unit);
+            System.out.println(range.getLabel() + " set to: " + value + " " 
+                               + range.getUnit());
             System.out.println();
         }
     }
@@ -113,17 +109,14 @@ public class WindLoading{
     // 
     // Returns: A double value which represents a valid numeric input.
     //
-    // Parameters: property: A string which represents the name of the 
-    //                       parameter being set.
-    //             minStr: A string representing the minimum allowable value. 
-    //             maxStr: A string representing the maximum allowable value.
-    //             unit: A string representing the unit of measurement for the
-    //                   parameter.
+    // Parameters: range: The range of the parameter being set, holding its
+    //                    name, minimum, maximum and unit of measurement.
 
-    public double getValidInput(String property, String minStr, String maxStr,
-                                 String unit){
-        double min = Double.parseDouble(minStr);
-        double max = Double.parseDouble(maxStr);
+    public double getValidInput(PropertyRange range){
+        String property = range.getLabel();
+        double min = range.getMinimum();
+        double max = range.getMaximum();
+        String unit = range.getUnit();
 
         while(true){
             System.out.print("Enter the value for " + property + 
@@ -146,7 +139,9 @@ public class WindLoading{
     // Behavior: The compareWindLoadToCapacityFactors method compares the
     // calculated wind load to various strength parameters (tensile, shear,
     // flexural, and buckling strength) to determine if the structure can
-    // withstand the wind load.
+    // withstand the wind load. The quantities are kept in a
+    // WindLoadingModel between comparisons, so only those depending on the
+    // parameters changed since the last comparison are recalculated.
     // 
     // Exceptions: None
     // 
@@ -155,178 +150,36 @@ public class WindLoading{
     // Parameters: None
         
     public void compareWindLoadToCapacityFactors(){
-        double alpha = 1.2;
-        double beta = 0.6;
-        
-        double dragCoefficient = alpha * (this.height / this.width) + beta 
-                                    * (this.height / this.length);
-        System.out.println("The drag coefficient is: " + dragCoefficient);
-        System.out.println();
-        
-        double windPressure = 0.5 * this.airDensity * dragCoefficient 
-                            * Math.pow(this.windVelocity, 2);
-        System.out.println("The wind pressure is: " + windPressure + " N/m^2");
-        System.out.println();
-        
-        double crossSectionalArea = this.height * this.width;
-        System.out.println("The cross sectional area is: " 
-                            + crossSectionalArea + " m^2");
-        System.out.println();
-        
-        double windLoad = windPressure * crossSectionalArea;
-        System.out.println("\nWind Load: " + windLoad + " N");
-        System.out.println();
-
-        double tensileStrength = this.yieldStrength * crossSectionalArea;
-        System.out.println("The tensile strength is: " + tensileStrength 
-                        + " N");
-        System.out.println();
-
-        double shearStrength = this.averageShearStrength * crossSectionalArea;
-        System.out.println("The shear strength is: " + shearStrength + " N");
-        System.out.println();
-
-        int floors = (int)(this.height / 4);
-        System.out.println("There are " + floors + " floors in your building");
-        System.out.println();
-
-        double floorArea = this.length * this.width;
-        System.out.println("The floor area is: " + floorArea + " m^2");
-        System.out.println();
-
-        double floorLoad = 10.0;
-
-        double totalLoad = floors * floorArea * floorLoad;
-        System.out.println("The total load is: " + totalLoad + " N");
-        System.out.println();
-
-        int beamAmount = (int)(totalLoad / this.loadCapacity);
-        System.out.println("There are " + beamAmount 
-                        + " beams in your building");
-        System.out.println();
-
-        double beamHeight = this.height / beamAmount;
-        System.out.println("The beam height is: " + beamHeight + " m");
-        System.out.println();
-
-        double beamWidth = beamHeight / 2;
-        System.out.println("The beam width is: " + beamWidth + " m");
-        System.out.println();
-
-        double momentInertia = (beamWidth * Math.pow(beamHeight, 3)) / 12;
-        System.out.println("The moment of inertia is: " + momentInertia 
-                            + " m^4");
-        System.out.println();
-
-        double maximumFlexuralStrength = (this.yieldStrength * momentInertia) 
-                                                        / beamWidth;
-        System.out.println("The maximum flexural strength is: " 
-                                            + maximumFlexuralStrength + " N"); 
-        System.out.println();
-     
-        double columnEffectiveLengthFactor = 1.0;
-    
-        double bucklingStrength = 
-                (Math.pow(Math.PI,2) * this.elasticModulus * momentInertia)
-                / Math.pow(columnEffectiveLengthFactor * beamHeight, 2);
-        System.out.println("The buckling strength is: " + bucklingStrength 
-                        + "  N");
-        System.out.println();
-    
-        double safetyTensileStrength = tensileStrength / this.safetyFactor;
-        System.out.println("The tensile strength with a safety facter of " 
-                        + this.safetyFactor + " is: " + safetyTensileStrength 
-                        + " N");
-        System.out.println();
-    
-        double safetyShearStrength = shearStrength / this.safetyFactor;
-        System.out.println("The shear strength with a safey factor of " 
-                        + this.safetyFactor + " is: " + safetyShearStrength 
-                        + " N");
-        System.out.println();
-    
-        double safetyMaximumFlexuralStrength = maximumFlexuralStrength 
-                                                / this.safetyFactor;
-        System.out.println("The maximum flexural strength with a safety factor "
-                        + "of " + this.safetyFactor + " is: " 
-                        + safetyMaximumFlexuralStrength + " N");
-        System.out.println();
-    
-        double safetyBucklingStrength = bucklingStrength / this.safetyFactor;
-        System.out.println("The buckling strength with a safety factor of "
-                         + this.safetyFactor + " is: " + safetyBucklingStrength 
-                         + " N");
-        System.out.println();
-
-        if(windLoad >= tensileStrength && windLoad >= safetyTensileStrength){
-            System.out.println("Structural failure will occur due to a lack of "
-                                + "tensile strength.");
-            System.out.println();
-        } 
-        else if(windLoad < tensileStrength && 
-                windLoad >= safetyTensileStrength){
-            System.out.println("The structure would survive, but is not deemed "
-                                + "safe due to a lack of tensile strength.");
-            System.out.println();
-        } 
-        else{
-            System.out.println("The structure is deemed safe, as the wind load "
-                                + "is less than the tensile strength.");
-            System.out.println();
+        boolean timed = WindLoadingMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        if(this.model == null){
+            this.model = new WindLoadingModel(toInput());
         }
-
-        if(windLoad >= shearStrength && windLoad >= safetyShearStrength){
-            System.out.println("Structural failure will occur due to a lack of " 
-                                + "shear strength.");
-            System.out.println();
-        } 
-        else if(windLoad < shearStrength && windLoad >= safetyShearStrength){
-            System.out.println("The structure would survive, but is not deemed "
-                                + "safe due to a lack of shear strength.");
-            System.out.println();
-        } 
         else{
-            System.out.println("The structure is deemed safe, as the wind load "
-                                + "is less than the shear strength.");
-            System.out.println();
+            this.model.set(toInput());
         }
-
-        if(windLoad >= maximumFlexuralStrength 
-                    && windLoad >= safetyMaximumFlexuralStrength){
-            System.out.println("Structural failure will occur due to a lack of "
-                                + "maximum flexural strength.");
-            System.out.println();
-        } 
-        else if(windLoad < maximumFlexuralStrength 
-                        && windLoad >= safetyMaximumFlexuralStrength){
-            System.out.println("The structure would survive, but is not deemed "
-                                + "safe due to a lack of maximum flexural "
-                                + "strength.");
-            System.out.println();
-        } 
-        else{
-            System.out.println("The structure is deemed safe, as the wind load " 
-                                + "is less than the maximum flexural "
-                                + "strength.");
-            System.out.println();
+        WindLoadingResult result = this.model.toResult();
+        if(timed){
+            WindLoadingMetrics.recordEvaluation(result,
+                                                System.nanoTime() - start);
         }
+        new WindLoadingReporter(System.out).report(result);
+    }
 
-        if(windLoad >= bucklingStrength && windLoad >= safetyBucklingStrength){
-            System.out.println("Structural failure will occur due to a lack of " 
-                                + "buckling strength.");
-            System.out.println();
-        } 
-        else if(windLoad < bucklingStrength 
-                        && windLoad >= safetyBucklingStrength){
-            System.out.println("The structure would survive, but is not deemed "
-                                + "safe due to a lack of buckling strength.");
-            System.out.println();
-        } 
-        else{
-            System.out.println("The structure is deemed safe, as the wind load "
-                                + "is less than the buckling strength.");
-            System.out.println();
-        }
+    // Behavior: The toInput method captures the current values of all 
+    // parameters in an immutable WindLoadingInput.
+    //
+    // Exceptions: None
+    //
+    // Returns: A WindLoadingInput holding the current parameter values.
+    //
+    // Parameters: None
+
+    public WindLoadingInput toInput(){
+        return new WindLoadingInput(this.height, this.width, this.length,
+                this.windVelocity, this.airDensity, this.safetyFactor,
+                this.yieldStrength, this.averageShearStrength, 
+                this.elasticModulus, this.loadCapacity);
     }
 
     // Behavior: The saveParametersToFile method writes all the user defined 
@@ -342,6 +195,8 @@ public class WindLoading{
 
     public boolean saveParametersToFile(String fileName) 
                             throws FileNotFoundException{
+        boolean timed = WindLoadingMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
         File saveFile = new File(fileName);
 
         PrintStream output = createPrintStream(saveFile);
@@ -364,6 +219,10 @@ public class WindLoading{
         output.printf("Load Capacity: %.2f N%n", this.loadCapacity);
 
         output.close();
+        if(timed){
+            WindLoadingMetrics.recordSaveParameters(System.nanoTime() - start,
+                                                    saveFile.length());
+        }
         System.out.println("Parameters saved to " + fileName);
         return true;
     }
@@ -0,0 +1,676 @@
+import java.io.*;
+import java.nio.*;
+import java.util.*;
+import java.util.stream.*;
+
+// The WindLoadingBatch class evaluates many wind loading scenarios without any
+// user interaction. Each scenario is one row of a CSV file holding the
+// material, the building geometry, the air conditions and the material
+// properties. Every row is checked against the ranges from the building and
+// material data files, the valid rows are evaluated in parallel with the
+// fastest available BatchKernel, and one result row with the tensile, shear,
+// flexural and buckling verdicts is written per scenario.
+
+public class WindLoadingBatch{
+    public static final String[] COLUMNS = {"Height", "Width", "Length",
+            "Air Density", "Wind Velocity", "Safety Factor", "Yield Strength",
+            "Average Shear Strength", "Elastic Modulus", "Load Capacity"};
+    public static final String RESULT_HEADER =
+            "Row,Material,Tensile,Shear,Flexural,Buckling,Error";
+    public static final String SOLUTION_HEADER = "Row,Material,"
+            + "Tensile Marginal Velocity,Tensile Failure Velocity,"
+            + "Shear Marginal Velocity,Shear Failure Velocity,"
+            + "Flexural Marginal Velocity,Flexural Failure Velocity,"
+            + "Buckling Marginal Velocity,Buckling Failure Velocity,"
+            + "Minimum Load Capacity,Maximum Safety Factor,Error";
+
+    // The number of CSV rows packFile holds in memory at once.
+    private static final int PACK_ROWS = 1 << 16;
+
+    private final BatchKernel kernel;
+    private final String[] materialNames;
+    private final PropertyTable[] ranges;
+
+    // Constructs a WindLoadingBatch object for the following catalog
+    // catalog: The catalog holding the building data and the data of every
+    //          material a scenario may use. The ranges are looked up once,
+    //          so later changes to the data files are not seen.
+
+    public WindLoadingBatch(MaterialCatalog catalog)
+                                            throws FileNotFoundException{
+        List<String> names = catalog.getMaterialNames();
+        if(names.size() > Byte.MAX_VALUE){
+            throw new IllegalArgumentException("At most " + Byte.MAX_VALUE
+                    + " materials can be evaluated at once.");
+        }
+        this.kernel = BatchKernel.best();
+        this.materialNames = names.toArray(new String[names.size()]);
+        this.ranges = new PropertyTable[materialNames.length];
+        for(int m = 0; m < materialNames.length; m++){
+            this.ranges[m] = catalog.getRanges(materialNames[m]);
+        }
+    }
+
+    // Behavior: Returns the materials scenarios may use. The material bytes
+    // of a binary file made by packFile are indexes in this list.
+    // Exceptions: None
+    // Returns: A new list of the material names.
+    // Parameters: None
+
+    public List<String> getMaterials(){
+        return new ArrayList<String>(Arrays.asList(materialNames));
+    }
+
+    // Behavior: The evaluateFile method reads every scenario from a CSV file,
+    // evaluates all of them in parallel and writes one result row per
+    // scenario, in the same order as the scenario file.
+    //
+    // Exceptions: Throws a FileNotFoundException if the scenario file cannot
+    // be found or the result file cannot be created, and an IOException if
+    // the results cannot be written. Throws an IllegalArgumentException if
+    // the header of the scenario file is missing the Material column or one
+    // of the COLUMNS.
+    //
+    // Returns: The number of scenarios which could not be evaluated because
+    // they were invalid.
+    //
+    // Parameters: scenarioFile: The CSV file holding the scenarios, with a
+    //                           header row naming the columns.
+    //             resultFile: The CSV file to write the results to.
+
+    public int evaluateFile(File scenarioFile, File resultFile)
+                                                    throws IOException{
+        WindLoadingMetrics.Batch batch =
+                    WindLoadingMetrics.startBatch("evaluate", scenarioFile);
+        List<String> rows = new ArrayList<String>();
+        int[] layout = readHeader(readLines(scenarioFile, rows));
+
+        PrintStream output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(resultFile)));
+        output.println(RESULT_HEADER);
+        long[] verdicts = new long[256];
+        int invalid = evaluateRows(layout, rows, 0, output, verdicts);
+        output.close();
+        checkOutput(output, resultFile);
+        if(WindLoadingMetrics.isEnabled()){
+            WindLoadingMetrics.recordVerdicts(verdicts);
+        }
+        batch.finish(rows.size(), invalid, resultFile.length());
+        return invalid;
+    }
+
+    // Behavior: The evaluateRows method evaluates a run of scenario rows in
+    // parallel and prints one result row per scenario in the format of
+    // evaluateFile. It evaluates the whole file for evaluateFile and one
+    // shard of it for a ShardWorker.
+    //
+    // Exceptions: None
+    //
+    // Returns: The number of scenarios which were invalid.
+    //
+    // Parameters: layout: The column positions returned by readHeader.
+    //             rows: The non-empty scenario rows.
+    //             firstRow: The number of rows before the first one in the
+    //                       scenario file, so the result rows are numbered
+    //                       like those of the whole file.
+    //             output: The stream to print the result rows to.
+    //             verdicts: The array counting how many scenarios got each
+    //                       packed verdict.
+
+    int evaluateRows(int[] layout, List<String> rows, long firstRow,
+                     PrintStream output, long[] verdicts){
+        int count = rows.size();
+        String[] errors = new String[count];
+        String[] materials = new String[count];
+        ScenarioColumns scenarios = new ScenarioColumns(count);
+        IntStream.range(0, count).parallel().forEach(i -> errors[i] =
+                    readRow(rows.get(i), layout, i, scenarios, materials));
+
+        ResultColumns results = new ResultColumns(count);
+        kernel.evaluateAll(scenarios, results);
+
+        int invalid = 0;
+        for(int i = 0; i < count; i++){
+            output.print((firstRow + i + 1) + "," + materials[i] + ",");
+            if(errors[i] != null){
+                output.println(",,,," + errors[i]);
+                invalid++;
+            }
+            else{
+                verdicts[results.getVerdicts().get(i) & 0xFF]++;
+                for(FailureMode mode : FailureMode.values()){
+                    output.print(results.getVerdict(i, mode) + ",");
+                }
+                output.println();
+            }
+        }
+        return invalid;
+    }
+
+    // Behavior: The solveFile method reads every scenario from a CSV file
+    // like evaluateFile, solves all of them in parallel with InverseSolver
+    // and writes one solution row per scenario: the wind velocities in km/h
+    // at which each failure mode stops passing and fails, and the smallest
+    // load capacity and largest safety factor which still pass at the wind
+    // velocity of the scenario.
+    //
+    // Exceptions: Throws a FileNotFoundException if the scenario file cannot
+    // be found or the solution file cannot be created, and an IOException if
+    // the solutions cannot be written. Throws an IllegalArgumentException if
+    // the header of the scenario file is missing the Material column or one
+    // of the COLUMNS.
+    //
+    // Returns: The number of scenarios which could not be solved because
+    // they were invalid.
+    //
+    // Parameters: scenarioFile: The CSV file holding the scenarios, with a
+    //                           header row naming the columns.
+    //             solutionFile: The CSV file to write the solutions to.
+
+    public int solveFile(File scenarioFile, File solutionFile)
+                                                    throws IOException{
+        return solveFile(scenarioFile, solutionFile, new InverseSolver());
+    }
+
+    // Behavior: The solveFile method solves a CSV file like the method
+    // above, with a given solver, such as a CachingSolver for files which
+    // repeat scenarios.
+    //
+    // Exceptions: Throws a FileNotFoundException if the scenario file cannot
+    // be found or the solution file cannot be created, and an IOException if
+    // the solutions cannot be written. Throws an IllegalArgumentException if
+    // the header of the scenario file is missing the Material column or one
+    // of the COLUMNS.
+    //
+    // Returns: The number of scenarios which could not be solved because
+    // they were invalid.
+    //
+    // Parameters: scenarioFile: The CSV file holding the scenarios.
+    //             solutionFile: The CSV file to write the solutions to.
+    //             solver: The solver of the scenarios.
+
+    public int solveFile(File scenarioFile, File solutionFile,
+                         InverseSolver solver) throws IOException{
+        WindLoadingMetrics.Batch batch =
+                    WindLoadingMetrics.startBatch("solve", scenarioFile);
+        List<String> rows = new ArrayList<String>();
+        int[] layout = readHeader(readLines(scenarioFile, rows));
+        int count = rows.size();
+        String[] errors = new String[count];
+        String[] materials = new String[count];
+        ScenarioColumns scenarios = new ScenarioColumns(count);
+        IntStream.range(0, count).parallel().forEach(i -> errors[i] =
+                    readRow(rows.get(i), layout, i, scenarios, materials));
+
+        InverseSolution[] solutions = solver.solveAll(scenarios);
+
+        PrintStream output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(solutionFile)));
+        output.println(SOLUTION_HEADER);
+        int invalid = 0;
+        for(int i = 0; i < count; i++){
+            output.print((i + 1) + "," + materials[i] + ",");
+            if(errors[i] != null){
+                output.println(",,,,,,,,,," + errors[i]);
+                invalid++;
+            }
+            else{
+                InverseSolution solution = solutions[i];
+                for(FailureMode mode : FailureMode.values()){
+                    output.print(solution.getMarginalVelocity(mode) * 3.6
+                            + "," + solution.getFailureVelocity(mode) * 3.6
+                            + ",");
+                }
+                output.println(solution.getMinimumLoadCapacity() + ","
+                        + solution.getMaximumSafetyFactor() + ",");
+            }
+        }
+        output.close();
+        checkOutput(output, solutionFile);
+        batch.finish(count, invalid, solutionFile.length());
+        return invalid;
+    }
+
+    // Behavior: The exportFile method writes the scenarios of a file with
+    // all their derived quantities and verdicts through a ResultExporter. A
+    // CSV scenario file is read and evaluated like in evaluateFile, and an
+    // evaluated binary file made by packFile is read one segment at a time,
+    // so it may hold more scenarios than fit in memory. Rows which are not
+    // valid are left out.
+    //
+    // Exceptions: Throws an IOException if the scenario file cannot be read
+    // or the exporter cannot write. Throws an IllegalArgumentException if
+    // the header of a CSV scenario file is missing a column, or a binary
+    // file has not been evaluated.
+    //
+    // Returns: The number of scenarios which were left out because they were
+    // invalid.
+    //
+    // Parameters: scenarioFile: The CSV or binary scenario file.
+    //             exporter: The exporter to write the results with, which
+    //                       is left open.
+
+    public int exportFile(File scenarioFile, ResultExporter exporter)
+                                                    throws IOException{
+        WindLoadingMetrics.Batch batch =
+                    WindLoadingMetrics.startBatch("export", scenarioFile);
+        long before = exporter.getBytesWritten();
+        long[] verdicts = new long[256];
+        int count;
+        int invalid = 0;
+        if(ColumnarFile.isColumnar(scenarioFile)){
+            ColumnarFile binary = ColumnarFile.open(scenarioFile, false);
+            try{
+                if(!binary.isEvaluated()){
+                    throw new IllegalArgumentException
+                            (scenarioFile + " has not been evaluated yet.");
+                }
+                long rows = binary.getRows();
+                count = (int) Math.min(rows, Integer.MAX_VALUE);
+                for(long first = 0; first < rows;
+                                    first += ColumnarFile.SEGMENT_ROWS){
+                    int size = (int) Math.min(ColumnarFile.SEGMENT_ROWS,
+                                              rows - first);
+                    ByteBuffer materials = binary.mapMaterials(first, size);
+                    ScenarioColumns scenarios =
+                                    binary.mapScenarios(first, size);
+                    ResultColumns results = binary.mapResults(first, size);
+                    for(int i = 0; i < size; i++){
+                        byte material = materials.get(i);
+                        if(material == ColumnarFile.INVALID){
+                            invalid++;
+                        }
+                        else{
+                            verdicts[results.getVerdicts().get(i) & 0xFF]++;
+                            exporter.write(first + i + 1,
+                                           materialNames[material],
+                                           scenarios, results, i);
+                        }
+                    }
+                }
+            }
+            finally{
+                binary.close();
+            }
+        }
+        else{
+            List<String> rows = new ArrayList<String>();
+            int[] layout = readHeader(readLines(scenarioFile, rows));
+            count = rows.size();
+            String[] errors = new String[count];
+            String[] materials = new String[count];
+            ScenarioColumns scenarios = new ScenarioColumns(count);
+            IntStream.range(0, count).parallel().forEach(i -> errors[i] =
+                    readRow(rows.get(i), layout, i, scenarios, materials));
+
+            ResultColumns results = new ResultColumns(count);
+            kernel.evaluateAll(scenarios, results);
+            for(int i = 0; i < count; i++){
+                if(errors[i] != null){
+                    invalid++;
+                }
+                else{
+                    verdicts[results.getVerdicts().get(i) & 0xFF]++;
+                    exporter.write(i + 1, materials[i], scenarios, results,
+                                   i);
+                }
+            }
+        }
+        if(WindLoadingMetrics.isEnabled()){
+            WindLoadingMetrics.recordVerdicts(verdicts);
+        }
+        batch.finish(count, invalid, exporter.getBytesWritten() - before);
+        return invalid;
+    }
+
+    // Behavior: The packFile method converts a CSV scenario file to the
+    // binary format of ColumnarFile. Every row is checked against the ranges
+    // of its material like in evaluateFile, and rows which are not valid are
+    // kept but marked INVALID. The CSV file is read one segment at a time, so
+    // it may be larger than memory.
+    //
+    // Exceptions: Throws an IOException if the scenario file cannot be read,
+    // changes while it is packed or the binary file cannot be written.
+    // Throws an IllegalArgumentException if the header of the scenario file
+    // is missing the Material column or one of the COLUMNS.
+    //
+    // Returns: The number of scenarios which were marked INVALID.
+    //
+    // Parameters: scenarioFile: The CSV file holding the scenarios, with a
+    //                           header row naming the columns.
+    //             binaryFile: The binary file to write.
+
+    public int packFile(File scenarioFile, File binaryFile)
+                                                    throws IOException{
+        long count = 0;
+        BufferedReader reader =
+                new BufferedReader(new FileReader(scenarioFile));
+        String header = reader.readLine();
+        String line = reader.readLine();
+        while(line != null){
+            if(!line.trim().isEmpty()){
+                count++;
+            }
+            line = reader.readLine();
+        }
+        reader.close();
+        int[] layout = readHeader(header == null ? "" : header);
+
+        int invalid = 0;
+        reader = new BufferedReader(new FileReader(scenarioFile));
+        reader.readLine();
+        ColumnarFile binary = ColumnarFile.create(binaryFile, count);
+        try{
+            List<String> rows = new ArrayList<String>();
+            for(long first = 0; first < count; first += PACK_ROWS){
+                int size = (int) Math.min(PACK_ROWS, count - first);
+                rows.clear();
+                while(rows.size() < size){
+                    line = reader.readLine();
+                    if(line == null){
+                        throw new IOException(scenarioFile
+                                + " changed while packing.");
+                    }
+                    if(!line.trim().isEmpty()){
+                        rows.add(line);
+                    }
+                }
+
+                String[] errors = new String[size];
+                String[] materials = new String[size];
+                ScenarioColumns scenarios = binary.mapScenarios(first, size);
+                IntStream.range(0, size).parallel().forEach(i -> errors[i] =
+                        readRow(rows.get(i), layout, i, scenarios, materials));
+
+                ByteBuffer materialBytes = binary.mapMaterials(first, size);
+                for(int i = 0; i < size; i++){
+                    if(errors[i] != null){
+                        materialBytes.put(i, ColumnarFile.INVALID);
+                        invalid++;
+                    }
+                    else{
+                        materialBytes.put(i,
+                                    (byte) materialIndex(materials[i]));
+                    }
+                }
+            }
+        }
+        finally{
+            reader.close();
+            binary.close();
+        }
+        return invalid;
+    }
+
+    // Behavior: The unpackResults method writes the results of an evaluated
+    // binary file as a CSV result file in the format of evaluateFile. Rows
+    // marked INVALID get an error instead of verdicts.
+    //
+    // Exceptions: Throws an IOException if the binary file cannot be read or
+    // the result file cannot be written. Throws an IllegalArgumentException
+    // if the binary file has not been evaluated.
+    //
+    // Returns: None
+    //
+    // Parameters: binaryFile: The evaluated binary file.
+    //             resultFile: The CSV file to write the results to.
+
+    public void unpackResults(File binaryFile, File resultFile)
+                                                    throws IOException{
+        ColumnarFile binary = ColumnarFile.open(binaryFile, false);
+        PrintStream output = null;
+        try{
+            if(!binary.isEvaluated()){
+                throw new IllegalArgumentException
+                        (binaryFile + " has not been evaluated yet.");
+            }
+            output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(resultFile)));
+            output.println(RESULT_HEADER);
+            long rows = binary.getRows();
+            for(long first = 0; first < rows;
+                                first += ColumnarFile.SEGMENT_ROWS){
+                int size = (int) Math.min(ColumnarFile.SEGMENT_ROWS,
+                                          rows - first);
+                ByteBuffer materials = binary.mapMaterials(first, size);
+                ResultColumns results = binary.mapResults(first, size);
+                for(int i = 0; i < size; i++){
+                    byte material = materials.get(i);
+                    output.print(first + i + 1);
+                    output.print(',');
+                    if(material == ColumnarFile.INVALID){
+                        output.println(",,,,,Invalid scenario");
+                    }
+                    else{
+                        output.print(materialNames[material] + ",");
+                        for(FailureMode mode : FailureMode.values()){
+                            output.print(results.getVerdict(i, mode) + ",");
+                        }
+                        output.println();
+                    }
+                }
+            }
+            checkOutput(output, resultFile);
+        }
+        finally{
+            binary.close();
+            if(output != null){
+                output.close();
+            }
+        }
+    }
+
+    // Behavior: The unpackScenarios method writes the valid scenarios of a
+    // binary file as a CSV scenario file which evaluateFile and packFile can
+    // read, with the wind velocity converted back to km/h.
+    //
+    // Exceptions: Throws an IOException if the binary file cannot be read or
+    // the scenario file cannot be written.
+    //
+    // Returns: The number of scenarios marked INVALID, which are left out.
+    //
+    // Parameters: binaryFile: The binary file.
+    //             scenarioFile: The CSV file to write the scenarios to.
+
+    public int unpackScenarios(File binaryFile, File scenarioFile)
+                                                    throws IOException{
+        ColumnarFile binary = ColumnarFile.open(binaryFile, false);
+        PrintStream output = null;
+        int invalid = 0;
+        try{
+            output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(scenarioFile)));
+            output.println("Material," + String.join(",", COLUMNS));
+            long rows = binary.getRows();
+            for(long first = 0; first < rows;
+                                first += ColumnarFile.SEGMENT_ROWS){
+                int size = (int) Math.min(ColumnarFile.SEGMENT_ROWS,
+                                          rows - first);
+                ByteBuffer materials = binary.mapMaterials(first, size);
+                ScenarioColumns scenarios = binary.mapScenarios(first, size);
+                for(int i = 0; i < size; i++){
+                    byte material = materials.get(i);
+                    if(material == ColumnarFile.INVALID){
+                        invalid++;
+                    }
+                    else{
+                        WindLoadingInput input = scenarios.getInput(i);
+                        output.println(materialNames[material] + ","
+                                + input.getHeight() + "," + input.getWidth()
+                                + "," + input.getLength() + ","
+                                + input.getAirDensity() + ","
+                                + input.getWindVelocity() * 3.6 + ","
+                                + input.getSafetyFactor() + ","
+                                + input.getYieldStrength() + ","
+                                + input.getAverageShearStrength() + ","
+                                + input.getElasticModulus() + ","
+                                + input.getLoadCapacity());
+                    }
+                }
+            }
+            checkOutput(output, scenarioFile);
+        }
+        finally{
+            binary.close();
+            if(output != null){
+                output.close();
+            }
+        }
+        return invalid;
+    }
+
+    // Behavior: Reads the header row and every non-empty row of a CSV file.
+    // Exceptions: Throws a FileNotFoundException if the file is not found.
+    // Returns: The header row, or an empty string if the file is empty.
+    // Parameters: file: The CSV file to read.
+    //             rows: The list the non-empty rows are added to.
+
+    private static String readLines(File file, List<String> rows)
+                                            throws FileNotFoundException{
+        Scanner fileScan = new Scanner(file);
+        String header = fileScan.hasNextLine() ? fileScan.nextLine() : "";
+        while(fileScan.hasNextLine()){
+            String line = fileScan.nextLine();
+            if(!line.trim().isEmpty()){
+                rows.add(line);
+            }
+        }
+        fileScan.close();
+        return header;
+    }
+
+    // Behavior: Checks that everything printed to a file so far was written.
+    // Exceptions: Throws an IOException if the output stream hit an error.
+    // Returns: None
+    // Parameters: output: The output stream of the file.
+    //             file: The file, named in the exception.
+
+    private static void checkOutput(PrintStream output, File file)
+                                                    throws IOException{
+        if(output.checkError()){
+            throw new IOException(file + " could not be written.");
+        }
+    }
+
+    // Behavior: The readHeader method finds the position of the Material
+    // column and of every column in COLUMNS in the header row.
+    //
+    // Exceptions: Throws an IllegalArgumentException if a column is missing.
+    //
+    // Returns: An array holding the position of the Material column,
+    // followed by the position of every column in COLUMNS.
+    //
+    // Parameters: header: The header row of the scenario file.
+
+    static int[] readHeader(String header){
+        String[] names = header.split(",");
+        int[] layout = new int[COLUMNS.length + 1];
+        Arrays.fill(layout, -1);
+
+        for(int i = 0; i < names.length; i++){
+            String name = names[i].trim();
+            if(name.equalsIgnoreCase("Material")){
+                layout[0] = i;
+            }
+            else{
+                int column = columnIndex(name);
+                if(column >= 0){
+                    layout[column + 1] = i;
+                }
+            }
+        }
+
+        for(int i = 0; i < layout.length; i++){
+            if(layout[i] < 0){
+                String missing = i == 0 ? "Material" : COLUMNS[i - 1];
+                throw new IllegalArgumentException
+                        ("Scenario file is missing the " + missing + " column.");
+            }
+        }
+        return layout;
+    }
+
+    // Behavior: The readRow method checks one scenario against the ranges
+    // of its material and, if it is valid, stores it in the scenario
+    // columns.
+    //
+    // Exceptions: None
+    //
+    // Returns: The reason the scenario is invalid, or null if it is valid.
+    //
+    // Parameters: line: The scenario row of the CSV file.
+    //             layout: The column positions returned by readHeader.
+    //             row: The index of the scenario, starting at 0.
+    //             scenarios: The columns valid scenarios are stored in.
+    //             materials: The array the material of the row is stored in.
+
+    private String readRow(String line, int[] layout, int row,
+                           ScenarioColumns scenarios, String[] materials){
+        String[] parts = line.split(",", -1);
+        String material = layout[0] < parts.length
+                            ? parts[layout[0]].trim() : "";
+        materials[row] = material;
+
+        int m = materialIndex(material);
+        if(m < 0){
+            return "Unknown material";
+        }
+
+        double[] values = new double[COLUMNS.length];
+        for(int j = 0; j < COLUMNS.length; j++){
+            int position = layout[j + 1];
+            if(position >= parts.length){
+                return COLUMNS[j] + " is missing";
+            }
+            try{
+                values[j] = Double.parseDouble(parts[position].trim());
+            }
+            catch(NumberFormatException e){
+                return COLUMNS[j] + " is not a number";
+            }
+            Property property = Property.get(j);
+            if(!ranges[m].contains(property, values[j])){
+                PropertyRange range = ranges[m].get(property);
+                return COLUMNS[j] + " must be between " + range.getMinimum()
+                        + " and " + range.getMaximum() + " " + range.getUnit();
+            }
+        }
+
+        scenarios.set(row, new WindLoadingInput(values[0], values[1],
+                values[2], values[4] / 3.6, values[3], values[5], values[6],
+                values[7], values[8], values[9]));
+        return null;
+    }
+
+    // Behavior: The columnIndex method finds the column in COLUMNS which a
+    // property name refers to.
+    //
+    // Exceptions: None
+    //
+    // Returns: The index of the column, or -1 if there is no such column.
+    //
+    // Parameters: property: The name of a property.
+
+    public static int columnIndex(String property){
+        Property column = Property.of(property);
+        return column == null ? -1 : column.ordinal();
+    }
+
+    // Behavior: The materialIndex method finds the material of this batch
+    // with the given name, ignoring case.
+    //
+    // Exceptions: None
+    //
+    // Returns: The index of the material, or -1 if there is no such material.
+    //
+    // Parameters: material: The name of a material.
+
+    public int materialIndex(String material){
+        for(int i = 0; i < materialNames.length; i++){
+            if(materialNames[i].equalsIgnoreCase(material)){
+                return i;
+            }
+        }
+        return -1;
+    }
+}
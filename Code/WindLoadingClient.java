@@ -1,5 +1,7 @@
 import java.util.*;
 import java.io.*;
+import java.net.*;
+import java.util.concurrent.*;
 
 // The WindLoadingClient class serves as the main client for interacting with
 // the WindLoading application. It allows users to view and input building 
@@ -7,25 +9,97 @@ import java.io.*;
 // properties.
 
 public class WindLoadingClient{
-    public static void main(String args[]) throws FileNotFoundException{
-
-        File buildingList = new File("BuildingParameters.txt");
-        File woodList = new File("WoodData.txt");
-        File concreteList = new File("ConcreteData.txt");
-        File brickList = new File("BrickData.txt");
-        File stoneList = new File("StoneData.txt");
-        File steelList = new File("SteelData.txt");
+    // The most designs of a front the design command prints.
+    public static final int FRONT_ROWS = 20;
+
+    public static void main(String args[]) throws IOException{
+        String metricsFile = System.getProperty(
+                                    WindLoadingMetrics.FILE_PROPERTY);
+        if(metricsFile != null){
+            WindLoadingMetrics.setEnabled(true);
+            WindLoadingMetrics.startExport(new File(metricsFile), 10000);
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("batch")){
+            runBatch(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("reliability")){
+            runReliability(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("sweep")){
+            runSweep(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("inverse")){
+            runInverse(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("series")){
+            runSeries(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("profile")){
+            runProfile(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("serve")){
+            runServe(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("pack")){
+            runPack(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("unpack")){
+            runUnpack(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("export")){
+            runExport(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("compare")){
+            runCompare(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("sensitivity")){
+            runSensitivity(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("coordinate")){
+            runCoordinate(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("work")){
+            runWork(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("portfolio")){
+            runPortfolio(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("design")){
+            runDesign(args);
+            return;
+        }
+        if(args.length > 0 && args[0].equalsIgnoreCase("directions")){
+            runDirections(args);
+            return;
+        }
+
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
         
         Scanner console = new Scanner(System.in);
 
         intro();
 
-        List<String> buildingData = new ArrayList<String>();
-        List<String> woodData = new ArrayList<String>();
-        List<String> concreteData = new ArrayList<String>();
-        List<String> brickData = new ArrayList<String>();
-        List<String> stoneData = new ArrayList<String>();
-        List<String> steelData = new ArrayList<String>();
+        PropertyTable buildingData = empty("Building");
+        PropertyTable woodData = empty("Wood");
+        PropertyTable concreteData = empty("Concrete");
+        PropertyTable brickData = empty("Brick");
+        PropertyTable stoneData = empty("Stone");
+        PropertyTable steelData = empty("Steel");
 
         WindLoading windLoading = null;
 
@@ -36,22 +110,28 @@ public class WindLoadingClient{
 
         while(!input.startsWith("Q")){
             if(input.startsWith("BU")){
-                buildingData = fileProcess(buildingList);
+                buildingData = catalog.getBuilding();
+                buildingData.print(System.out);
             }
             else if(input.startsWith("W")){
-                woodData = fileProcess(woodList);
+                woodData = catalog.getMaterial("Wood");
+                woodData.print(System.out);
             }
             else if(input.startsWith("C")){
-                concreteData = fileProcess(concreteList);
+                concreteData = catalog.getMaterial("Concrete");
+                concreteData.print(System.out);
             }
             else if(input.startsWith("BR")){
-                brickData = fileProcess(brickList);
+                brickData = catalog.getMaterial("Brick");
+                brickData.print(System.out);
             }
             else if(input.startsWith("ST")){
-                stoneData = fileProcess(stoneList);
+                stoneData = catalog.getMaterial("Stone");
+                stoneData.print(System.out);
             }
             else if(input.startsWith("EL")){
-                steelData = fileProcess(steelList);
+                steelData = catalog.getMaterial("Steel");
+                steelData.print(System.out);
             }
             else if(input.startsWith("B")){
                 if(windLoading == null){
@@ -63,7 +143,7 @@ public class WindLoadingClient{
             else if(input.startsWith("M")){
                 windLoading = MaterialParameters(windLoading, woodData,
                             concreteData, brickData, stoneData,
-                            steelData, console);                
+                            steelData, catalog, console);
             }
             else if(input.startsWith("S")){
                 if(windLoading != null){
@@ -115,6 +195,1341 @@ public class WindLoadingClient{
         + "data menu option, which will allow you to save your custom data!");
     }
 
+    // Behavior: The runBatch method evaluates every scenario of a CSV file
+    // without any user interaction, using the data files in the given data
+    // directory to check the ranges of each scenario. A binary scenario file
+    // made by the pack command is instead evaluated in place, without being
+    // read into memory. Only a summary is printed once all scenarios are
+    // evaluated.
+    //
+    // Exceptions: Throws an IOException if a data file or the scenario file
+    // cannot be read, or the results cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "batch", the
+    //                   scenario file, the result file and optionally the
+    //                   directory holding the data files, or "batch" and a
+    //                   binary scenario file.
+
+    public static void runBatch(String args[]) throws IOException{
+        if(args.length == 2 && ColumnarFile.isColumnar(new File(args[1]))){
+            long start = System.nanoTime();
+            ColumnarFile binary = ColumnarFile.open(new File(args[1]), true);
+            try{
+                binary.evaluate(BatchKernel.best());
+            }
+            finally{
+                binary.close();
+            }
+            long elapsed = (System.nanoTime() - start) / 1000000;
+            System.out.println("Batch evaluation of " + binary.getRows()
+                    + " scenarios finished in " + elapsed + " ms, results "
+                    + "saved to " + args[1]);
+            return;
+        }
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient batch "
+                    + "<scenarios.csv> <results.csv> [data directory]");
+            System.out.println("       java WindLoadingClient batch "
+                    + "<scenarios.bin>");
+            return;
+        }
+
+        WindLoadingBatch batch = loadBatch(args.length > 3 ? args[3] : ".");
+        long start = System.nanoTime();
+        int invalid = batch.evaluateFile(new File(args[1]), new File(args[2]));
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        System.out.println("Batch evaluation finished in " + elapsed 
+                + " ms, results saved to " + args[2]);
+        if(invalid > 0){
+            System.out.println(invalid + " scenarios were invalid and were "
+                    + "not evaluated.");
+        }
+    }
+
+    // Behavior: The runInverse method solves every scenario of a CSV file
+    // for its critical wind velocities, smallest passing load capacity and
+    // largest passing safety factor, using the data files in the given data
+    // directory to check the ranges of each scenario.
+    //
+    // Exceptions: Throws an IOException if a data file or the scenario file
+    // cannot be read, or the solutions cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "inverse", the
+    //                   scenario file, the solution file and optionally the
+    //                   directory holding the data files and the number of
+    //                   solutions to cache for repeated scenarios, where 0
+    //                   turns the cache off.
+
+    public static void runInverse(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient inverse "
+                    + "<scenarios.csv> <solutions.csv> [data directory] "
+                    + "[cache size]");
+            return;
+        }
+
+        WindLoadingBatch batch = loadBatch(args.length > 3 ? args[3] : ".");
+        int cacheSize = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        InverseSolver solver = cacheSize > 0
+                ? new CachingSolver(new ResultCache<InverseSolution>(
+                        cacheSize, 0))
+                : new InverseSolver();
+        long start = System.nanoTime();
+        int invalid = batch.solveFile(new File(args[1]), new File(args[2]),
+                                      solver);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        System.out.println("Inverse solve finished in " + elapsed 
+                + " ms, solutions saved to " + args[2]);
+        if(invalid > 0){
+            System.out.println(invalid + " scenarios were invalid and were "
+                    + "not solved.");
+        }
+    }
+
+    // Behavior: The runServe method starts a WindLoadingService on the
+    // loopback address, checking scenarios against the data files in the
+    // given data directory. The service keeps running until the program is
+    // stopped.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read or the
+    // port cannot be bound.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "serve" and
+    //                   optionally the port and the directory holding the
+    //                   data files.
+
+    public static void runServe(String args[]) throws IOException{
+        int port = args.length > 1 ? Integer.parseInt(args[1])
+                                   : WindLoadingService.DEFAULT_PORT;
+        MaterialCatalog catalog =
+                new MaterialCatalog(new File(args.length > 2 ? args[2] : "."));
+        WindLoadingService service = new WindLoadingService(catalog,
+                                                new WindLoadingEvaluator());
+        service.start(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                                            port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                                                        service.stop(1)));
+        System.out.println("Serving on http://"
+                + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + service.getPort() + "/ (/catalog, /evaluate, /batch)");
+    }
+
+    // Behavior: The runCoordinate method evaluates a CSV scenario file with
+    // a ShardCoordinator on the loopback address, writing the same result
+    // file as the batch command. It starts the given number of worker
+    // processes itself, each limited to its share of the cores, and more
+    // workers may join with the work command.
+    //
+    // Exceptions: Throws an IOException if the scenario file cannot be
+    // read, the results cannot be written, the port cannot be bound or a
+    // worker process cannot be started.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are
+    //                   "coordinate", the scenario file, the result file,
+    //                   and optionally the number of worker processes to
+    //                   start, the port and the number of rows in a shard.
+
+    public static void runCoordinate(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient coordinate "
+                    + "<scenarios.csv> <results.csv> [local workers] [port] "
+                    + "[shard rows]");
+            return;
+        }
+        int workers = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int port = args.length > 4 ? Integer.parseInt(args[4])
+                                   : ShardCoordinator.DEFAULT_PORT;
+        int shardRows = args.length > 5 ? Integer.parseInt(args[5])
+                                        : ShardCoordinator.DEFAULT_SHARD_ROWS;
+
+        ShardCoordinator coordinator = new ShardCoordinator(
+                new File(args[1]), new File(args[2]), shardRows);
+        coordinator.start(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port));
+        System.out.println("Coordinating on "
+                + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                + coordinator.getPort());
+
+        List<Process> processes = new ArrayList<Process>();
+        int cores = Math.max(1, Runtime.getRuntime().availableProcessors()
+                                / Math.max(1, workers));
+        for(int i = 0; i < workers; i++){
+            processes.add(new ProcessBuilder(
+                    ProcessHandle.current().info().command().orElse("java"),
+                    "-XX:ActiveProcessorCount=" + cores, "-cp",
+                    System.getProperty("java.class.path"),
+                    "WindLoadingClient", "work",
+                    "localhost:" + coordinator.getPort())
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start());
+        }
+
+        long start = System.nanoTime();
+        int invalid;
+        try{
+            invalid = coordinator.run();
+        }
+        finally{
+            for(Process process : processes){
+                try{
+                    if(!process.waitFor(10, TimeUnit.SECONDS)){
+                        process.destroy();
+                    }
+                }
+                catch(InterruptedException e){
+                    process.destroy();
+                }
+            }
+        }
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        System.out.println("Sharded evaluation finished in " + elapsed
+                + " ms, results saved to " + args[2]);
+        if(coordinator.getReassigned() > 0 || coordinator.getStolen() > 0){
+            System.out.println(coordinator.getReassigned() + " shards were "
+                    + "reassigned from lost workers and "
+                    + coordinator.getStolen() + " were stolen from slow "
+                    + "ones.");
+        }
+        if(invalid > 0){
+            System.out.println(invalid + " scenarios were invalid and were "
+                    + "not evaluated.");
+        }
+    }
+
+    // Behavior: The runWork method evaluates shards for a coordinator
+    // started with the coordinate command, checking scenarios against the
+    // data files in the given data directory, until every shard is done.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read or
+    // the coordinator cannot be reached.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "work", the
+    //                   host and port of the coordinator, and optionally
+    //                   the directory holding the data files.
+
+    public static void runWork(String args[]) throws IOException{
+        if(args.length < 2 || args[1].lastIndexOf(':') < 0){
+            System.out.println("Usage: java WindLoadingClient work "
+                    + "<host>:<port> [data directory]");
+            return;
+        }
+        String host = args[1].substring(0, args[1].lastIndexOf(':'));
+        int port = Integer.parseInt(
+                        args[1].substring(args[1].lastIndexOf(':') + 1));
+        ShardWorker worker = new ShardWorker(
+                loadBatch(args.length > 2 ? args[2] : "."));
+        int shards = worker.work(new InetSocketAddress(host, port));
+        System.out.println(shards + " shards evaluated for " + args[1]);
+    }
+
+    // Behavior: The runPortfolio method follows a portfolio of buildings
+    // through a gridded storm with BuildingPortfolio, using the data files
+    // in the given data directory, and prints the damage by region and
+    // material as CSV: the buildings of each group, and for every failure
+    // mode and the structure as a whole how many failed, how many survived
+    // without being deemed safe and the highest utilization.
+    //
+    // Exceptions: Throws an IOException if a data file, the portfolio file
+    // or the storm cannot be read.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "portfolio",
+    //                   the portfolio file, the storm file and optionally
+    //                   the directory holding the data files.
+
+    public static void runPortfolio(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient portfolio "
+                    + "<buildings.csv> <storm.bin|.txt> [data directory]");
+            return;
+        }
+        long start = System.nanoTime();
+        BuildingPortfolio portfolio = BuildingPortfolio.read(
+                new File(args[1]),
+                new MaterialCatalog(new File(args.length > 3 ? args[3]
+                                                             : ".")));
+        PortfolioSummary summary;
+        WindField field = WindField.open(new File(args[2]));
+        try{
+            summary = portfolio.run(field);
+        }
+        finally{
+            field.close();
+        }
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        StringBuilder header = new StringBuilder("Region,Material,Buildings");
+        for(FailureMode mode : FailureMode.values()){
+            String name = mode.name().charAt(0)
+                            + mode.name().substring(1).toLowerCase();
+            header.append(',').append(name).append(" Failing,").append(name)
+                  .append(" Marginal,").append(name)
+                  .append(" Max Utilization");
+        }
+        header.append(",Structure Failing,Structure Marginal,"
+                      + "Structure Max Utilization");
+        System.out.println(header);
+        for(int g = 0; g < summary.getGroups(); g++){
+            StringBuilder row = new StringBuilder();
+            row.append(summary.getRegion(g)).append(',')
+               .append(summary.getMaterial(g)).append(',')
+               .append(summary.getBuildings(g));
+            for(FailureMode mode : FailureMode.values()){
+                appendDamage(row, summary, g, mode);
+            }
+            appendDamage(row, summary, g, null);
+            System.out.println(row);
+        }
+
+        int worst = 0;
+        for(int step = 1; step < summary.getSteps(); step++){
+            if(summary.getFailingAt(step) > summary.getFailingAt(worst)){
+                worst = step;
+            }
+        }
+        System.out.println();
+        System.out.println(portfolio.size() + " buildings followed through "
+                + summary.getSteps() + " steps in " + elapsed + " ms"
+                + (summary.getSteps() > 0 ? ", at most "
+                   + summary.getFailingAt(worst) + " failing at step "
+                   + worst : ""));
+        if(portfolio.getInvalid() > 0 || summary.getOutside() > 0){
+            System.out.println(portfolio.getInvalid() + " buildings were "
+                    + "invalid and " + summary.getOutside() + " were outside "
+                    + "the storm; they were left out.");
+        }
+    }
+
+    // Behavior: Appends the damage of one group in one failure mode to a
+    // CSV row.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: row: The row to append to.
+    //             summary: The summary of the storm.
+    //             group: The group.
+    //             mode: The failure mode, or null for the whole structure.
+
+    private static void appendDamage(StringBuilder row,
+                                     PortfolioSummary summary, int group,
+                                     FailureMode mode){
+        row.append(',').append(summary.getFailing(group, mode))
+           .append(',').append(summary.getMarginal(group, mode))
+           .append(',').append(String.format("%.4f",
+                            summary.getMaxUtilization(group, mode)));
+    }
+
+    // Behavior: The runPack method converts a CSV scenario file to the
+    // binary format, checking every scenario against the ranges of the data
+    // files in the given data directory.
+    //
+    // Exceptions: Throws an IOException if a data file or the scenario file
+    // cannot be read, or the binary file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "pack", the
+    //                   CSV scenario file, the binary file and optionally the
+    //                   directory holding the data files.
+
+    public static void runPack(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient pack "
+                    + "<scenarios.csv> <scenarios.bin> [data directory]");
+            return;
+        }
+        WindLoadingBatch batch = loadBatch(args.length > 3 ? args[3] : ".");
+        int invalid = batch.packFile(new File(args[1]), new File(args[2]));
+        System.out.println("Scenarios saved to " + args[2]);
+        if(invalid > 0){
+            System.out.println(invalid + " scenarios were invalid and will "
+                    + "not be evaluated.");
+        }
+    }
+
+    // Behavior: The runUnpack method converts an evaluated binary file back
+    // to a CSV result file and, optionally, a CSV scenario file.
+    //
+    // Exceptions: Throws an IOException if the binary file cannot be read or
+    // a CSV file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "unpack", the
+    //                   binary file, the result file and optionally the
+    //                   scenario file and the directory holding the data
+    //                   files the binary file was packed with.
+
+    public static void runUnpack(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient unpack "
+                    + "<scenarios.bin> <results.csv> [scenarios.csv] "
+                    + "[data directory]");
+            return;
+        }
+        WindLoadingBatch batch = loadBatch(args.length > 4 ? args[4] : ".");
+        batch.unpackResults(new File(args[1]), new File(args[2]));
+        System.out.println("Results saved to " + args[2]);
+        if(args.length > 3){
+            batch.unpackScenarios(new File(args[1]), new File(args[3]));
+            System.out.println("Scenarios saved to " + args[3]);
+        }
+    }
+
+    // Behavior: The runExport method writes every valid scenario of a CSV
+    // scenario file or an evaluated binary file with all its derived
+    // quantities and verdicts, as CSV, JSON Lines or the binary layout of
+    // ResultExporter. The format is chosen by a word or else by the
+    // extension of the result file, and the words gzip, append and
+    // fsync=never, fsync=close or fsync=always set the other options. Any
+    // other word is the directory holding the data files.
+    //
+    // Exceptions: Throws an IOException if a data file or the scenario file
+    // cannot be read, or the results cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "export", the
+    //                   scenario file, the result file and the options.
+
+    public static void runExport(String args[]) throws IOException{
+        if(args.length < 3){
+            System.out.println("Usage: java WindLoadingClient export "
+                    + "<scenarios.csv|scenarios.bin> <results> "
+                    + "[csv|jsonl|binary] [gzip] [append] "
+                    + "[fsync=never|close|always] [data directory]");
+            return;
+        }
+        String name = args[2].toLowerCase();
+        if(name.endsWith(".gz")){
+            name = name.substring(0, name.length() - 3);
+        }
+        ExportFormat format = ExportFormat.of(
+                                name.substring(name.lastIndexOf('.') + 1));
+        boolean gzip = args[2].toLowerCase().endsWith(".gz");
+        boolean append = false;
+        SyncPolicy sync = SyncPolicy.NEVER;
+        String directory = ".";
+        for(int i = 3; i < args.length; i++){
+            if(ExportFormat.of(args[i]) != null){
+                format = ExportFormat.of(args[i]);
+            }
+            else if(args[i].equalsIgnoreCase("gzip")){
+                gzip = true;
+            }
+            else if(args[i].equalsIgnoreCase("append")){
+                append = true;
+            }
+            else if(args[i].toLowerCase().startsWith("fsync=")
+                    && SyncPolicy.of(args[i].substring(6)) != null){
+                sync = SyncPolicy.of(args[i].substring(6));
+            }
+            else{
+                directory = args[i];
+            }
+        }
+        if(format == null){
+            format = ExportFormat.CSV;
+        }
+
+        WindLoadingBatch batch = loadBatch(directory);
+        long start = System.nanoTime();
+        ResultExporter exporter = new ResultExporter(new File(args[2]),
+                                            format, gzip, append, sync);
+        int invalid;
+        try{
+            invalid = batch.exportFile(new File(args[1]), exporter);
+        }
+        finally{
+            exporter.close();
+        }
+        long elapsed = (System.nanoTime() - start) / 1000000;
+        System.out.println(exporter.getRows() + " results exported in "
+                + elapsed + " ms to " + args[2]);
+        if(invalid > 0){
+            System.out.println(invalid + " scenarios were invalid and were "
+                    + "not exported.");
+        }
+    }
+
+    // Behavior: Reads the building and material data files of a directory
+    // into a WindLoadingBatch.
+    // Exceptions: Throws a FileNotFoundException if a data file cannot be
+    // found.
+    // Returns: The WindLoadingBatch checking scenarios against the data.
+    // Parameters: directory: The directory holding the data files.
+
+    private static WindLoadingBatch loadBatch(String directory)
+                                            throws FileNotFoundException{
+        return new WindLoadingBatch(new MaterialCatalog(new File(directory)));
+    }
+
+    // Behavior: Creates a table without any ranges, standing in for data
+    // which has not been viewed yet.
+    // Exceptions: None
+    // Returns: The empty table.
+    // Parameters: name: The name of the table.
+
+    private static PropertyTable empty(String name){
+        return new PropertyTable(name, new ArrayList<PropertyRange>());
+    }
+
+    // Behavior: The runReliability method estimates the probability of each
+    // verdict for a material by sampling scenarios inside the ranges of the
+    // data files in the current directory, and prints the probabilities with
+    // their 95% confidence intervals.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file cannot be 
+    // found, and an IOException if the checkpoint cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "reliability",
+    //                   the material, the largest number of samples, the 
+    //                   seed, the target interval width, optionally one
+    //                   "Property=distribution" argument per property that
+    //                   should not be sampled uniformly, and optionally a
+    //                   "checkpoint=file" argument to resume from.
+
+    public static void runReliability(String args[]) throws IOException{
+        if(args.length < 5){
+            System.out.println("Usage: java WindLoadingClient reliability "
+                    + "<material> <max samples> <seed> <target width> "
+                    + "[Property=uniform|triangular|normal ...] "
+                    + "[checkpoint=<file>]");
+            return;
+        }
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        if(!catalog.hasMaterial(args[1])){
+            System.out.println("Unknown material: " + args[1]);
+            return;
+        }
+
+        MonteCarloReliability reliability = 
+                MonteCarloReliability.forMaterial(catalog.getRanges(args[1]));
+
+        long samples = 0;
+        long seed = 0;
+        double width = 0;
+        File checkpoint = null;
+        for(int i = 2; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            int column = WindLoadingBatch.columnIndex(parts[0]);
+            try{
+                if(i == 2){
+                    samples = Long.parseLong(args[i]);
+                    if(samples <= 0){
+                        throw new IllegalArgumentException();
+                    }
+                }
+                else if(i == 3){
+                    seed = Long.parseLong(args[i]);
+                }
+                else if(i == 4){
+                    width = Double.parseDouble(args[i]);
+                }
+                else if(parts.length == 2
+                        && parts[0].equalsIgnoreCase("checkpoint")){
+                    checkpoint = new File(parts[1]);
+                }
+                else if(parts.length != 2 || column < 0){
+                    System.out.println("Ignoring unknown distribution: " 
+                                        + args[i]);
+                }
+                else{
+                    reliability.setDistribution(column, 
+                        SamplingDistribution.valueOf(parts[1].toUpperCase()));
+                }
+            }
+            catch(RuntimeException e){
+                System.out.println("Invalid argument: " + args[i]);
+                System.out.println("Usage: java WindLoadingClient reliability "
+                        + "<material> <max samples> <seed> <target width> "
+                        + "[Property=uniform|triangular|normal ...] "
+                        + "[checkpoint=<file>]");
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        ReliabilityEstimate estimate = reliability.run(seed, samples, width,
+                                                       0.95, checkpoint);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        System.out.println(estimate.getSamples() + " scenarios sampled in " 
+                + elapsed + " ms" 
+                + (estimate.isConverged() ? " (target width reached)" : ""));
+        System.out.println();
+        for(FailureMode mode : FailureMode.values()){
+            printProbability(estimate, mode, mode.getDescription());
+        }
+        printProbability(estimate, null, "the structure as a whole");
+    }
+
+    // Behavior: The runSweep method evaluates a material on a grid of 
+    // heights, widths, lengths and wind velocities inside the ranges of the
+    // data files in the current directory. The air density, safety factor
+    // and material properties are fixed at the middle of their ranges unless
+    // they are given on the command line.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read or a
+    // result file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "sweep", the
+    //                   material, the steps of each axis (such as 
+    //                   200x100x100x100), the verdict file, optionally the
+    //                   boundary file, optionally one "Property=value"
+    //                   argument per fixed property, and optionally a
+    //                   "checkpoint=file" argument to resume from.
+
+    public static void runSweep(String args[]) throws IOException{
+        if(args.length < 4){
+            System.out.println("Usage: java WindLoadingClient sweep "
+                    + "<material> <height>x<width>x<length>x<velocity> "
+                    + "<verdict file> [boundary file] [Property=value ...] "
+                    + "[checkpoint=<file>]");
+            return;
+        }
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        if(!catalog.hasMaterial(args[1])){
+            System.out.println("Unknown material: " + args[1]);
+            return;
+        }
+
+        PropertyTable ranges = catalog.getRanges(args[1]);
+        if(ranges.findMissing() != null){
+            System.out.println("No range was found for " 
+                    + ranges.findMissing().getName() + ".");
+            return;
+        }
+        double[] minimums = ranges.getMinimums();
+        double[] maximums = ranges.getMaximums();
+
+        double[] values = new double[minimums.length];
+        for(int i = 0; i < values.length; i++){
+            values[i] = (minimums[i] + maximums[i]) / 2;
+        }
+        File boundaryFile = null;
+        File checkpoint = null;
+        for(int i = 4; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            if(parts.length == 1){
+                boundaryFile = new File(args[i]);
+                continue;
+            }
+            if(parts[0].equalsIgnoreCase("checkpoint")){
+                checkpoint = new File(parts[1]);
+                continue;
+            }
+            int column = WindLoadingBatch.columnIndex(parts[0]);
+            double value = Double.parseDouble(parts[1]);
+            if(column < 0 || value < minimums[column] 
+                          || value > maximums[column]){
+                System.out.println("Invalid fixed property: " + args[i]);
+                return;
+            }
+            values[column] = value;
+        }
+
+        String[] stepText = args[2].toLowerCase().split("x");
+        int[] steps = new int[ParametricSweep.AXES.length];
+        double[] axisMinimums = new double[steps.length];
+        double[] axisMaximums = new double[steps.length];
+        for(int axis = 0; axis < steps.length; axis++){
+            steps[axis] = Integer.parseInt(stepText[axis]);
+            axisMinimums[axis] = minimums[ParametricSweep.AXES[axis]];
+            axisMaximums[axis] = maximums[ParametricSweep.AXES[axis]];
+        }
+
+        WindLoadingInput base = new WindLoadingInput(0, 0, 0, 0, values[3],
+                values[5], values[6], values[7], values[8], values[9]);
+        ParametricSweep sweep = 
+                new ParametricSweep(axisMinimums, axisMaximums, base);
+
+        long start = System.nanoTime();
+        sweep.run(steps, new File(args[3]), boundaryFile, checkpoint);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+        System.out.println("Sweep of " + ((long) steps[0] * steps[1] 
+                * steps[2] * steps[3]) + " grid points finished in " 
+                + elapsed + " ms, verdicts saved to " + args[3]);
+    }
+
+    // Behavior: The runSeries method follows a structure through a time
+    // series of wind velocities with WindTimeSeries, printing a summary of
+    // every period and then of the whole series with its rainflow count.
+    // The structure is fixed at the middle of the ranges of the data files
+    // in the current directory unless properties are given on the command
+    // line. A file whose name ends in .bin is read as binary, and any other
+    // file as text.
+    //
+    // Exceptions: Throws an IOException if a data file or the series file
+    // cannot be read.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "series", the
+    //                   material, the series file, the seconds between two
+    //                   samples, the seconds in each summary period, and
+    //                   optionally one "Property=value" argument per fixed
+    //                   property.
+
+    public static void runSeries(String args[]) throws IOException{
+        if(args.length < 5){
+            System.out.println("Usage: java WindLoadingClient series "
+                    + "<material> <velocities.txt|.bin> <sample seconds> "
+                    + "<summary seconds> [Property=value ...]");
+            return;
+        }
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        if(!catalog.hasMaterial(args[1])){
+            System.out.println("Unknown material: " + args[1]);
+            return;
+        }
+
+        PropertyTable ranges = catalog.getRanges(args[1]);
+        if(ranges.findMissing() != null){
+            System.out.println("No range was found for " 
+                    + ranges.findMissing().getName() + ".");
+            return;
+        }
+        double[] minimums = ranges.getMinimums();
+        double[] maximums = ranges.getMaximums();
+
+        double[] values = new double[minimums.length];
+        for(int i = 0; i < values.length; i++){
+            values[i] = (minimums[i] + maximums[i]) / 2;
+        }
+        for(int i = 5; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            int column = parts.length == 2
+                    ? WindLoadingBatch.columnIndex(parts[0]) : -1;
+            double value = column < 0 ? Double.NaN
+                                      : Double.parseDouble(parts[1]);
+            if(column < 0 || !ranges.contains(Property.get(column), value)){
+                System.out.println("Invalid fixed property: " + args[i]);
+                return;
+            }
+            values[column] = value;
+        }
+
+        double sampleSeconds = Double.parseDouble(args[3]);
+        long interval = Math.max(1,
+                Math.round(Double.parseDouble(args[4]) / sampleSeconds));
+        WindLoadingInput structure = new WindLoadingInput(values[0],
+                values[1], values[2], 0, values[3], values[5], values[6],
+                values[7], values[8], values[9]);
+        WindTimeSeries series = new WindTimeSeries(structure, sampleSeconds,
+                interval, maximums[Property.WIND_VELOCITY.ordinal()] / 3.6,
+                summary -> printSummary(summary, "Samples "
+                        + summary.getFirstSample() + "-"
+                        + (summary.getFirstSample() + summary.getSamples()
+                           - 1)));
+
+        File file = new File(args[2]);
+        long start = System.nanoTime();
+        long samples = file.getName().endsWith(".bin")
+                            ? series.readBinary(file) : series.readText(file);
+        series.flush();
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        System.out.println();
+        printSummary(series.getTotal(), "Whole series");
+        RainflowCounter rainflow = series.getRainflow();
+        System.out.println("Rainflow cycles of the wind load:");
+        double[] cycles = rainflow.getCycles();
+        for(int range = 1; range < cycles.length; range++){
+            if(cycles[range] > 0){
+                System.out.printf("  %12.1f N: %.1f%n",
+                                  rainflow.getRange(range), cycles[range]);
+            }
+        }
+        System.out.println(samples + " samples read in " + elapsed + " ms");
+    }
+
+    // Behavior: The runProfile method spreads the wind load on a building
+    // over its storeys with a WindProfile, and prints the load on every
+    // storey, the base shear and the overturning moment next to the uniform
+    // wind load of the usual calculation. The building and air are fixed at
+    // the middle of the ranges of the building data file in the current
+    // directory unless properties are given on the command line.
+    //
+    // Exceptions: Throws an IOException if the building data file cannot be
+    // read.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "profile",
+    //                   the terrain category, the profile law ("power" or
+    //                   "log"), and optionally one "Property=value" argument
+    //                   per fixed property.
+
+    public static void runProfile(String args[]) throws IOException{
+        TerrainCategory terrain = args.length > 1
+                ? TerrainCategory.of(args[1]) : null;
+        ProfileLaw law = args.length > 2 ? ProfileLaw.of(args[2]) : null;
+        if(terrain == null || law == null){
+            String terrains = "";
+            for(TerrainCategory category : TerrainCategory.values()){
+                terrains += (terrains.isEmpty() ? "" : "|")
+                        + category.name().toLowerCase();
+            }
+            System.out.println("Usage: java WindLoadingClient profile <"
+                    + terrains + "> <power|log> [Property=value ...]");
+            return;
+        }
+        PropertyTable building =
+                new MaterialCatalog(new File(".")).getBuilding();
+        double[] values = new double[Property.values().length];
+        for(PropertyRange range : building.getRanges()){
+            values[range.getProperty().ordinal()] =
+                    (range.getMinimum() + range.getMaximum()) / 2;
+        }
+        for(int i = 3; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            int column = parts.length == 2
+                    ? WindLoadingBatch.columnIndex(parts[0]) : -1;
+            double value = column < 0 ? Double.NaN
+                                      : Double.parseDouble(parts[1]);
+            if(column < 0 || !building.contains(Property.get(column), value)){
+                System.out.println("Invalid fixed property: " + args[i]);
+                return;
+            }
+            values[column] = value;
+        }
+
+        WindLoadingInput input = new WindLoadingInput(values[0], values[1],
+                values[2], values[4] / 3.6, values[3], values[5], values[6],
+                values[7], values[8], values[9]);
+        WindProfile profile = WindProfile.of(terrain, law);
+        double[] loads = profile.getStoreyLoads(input);
+        for(int i = 0; i < loads.length; i++){
+            System.out.printf("Storey %3d (%6.1f - %6.1f m): %14.1f N%n",
+                    i + 1, i * WindLoadingEvaluator.FLOOR_HEIGHT,
+                    Math.min(input.getHeight(),
+                             (i + 1) * WindLoadingEvaluator.FLOOR_HEIGHT),
+                    loads[i]);
+        }
+        double baseShear = profile.getBaseShear(input);
+        double moment = profile.getOverturningMoment(input);
+        System.out.printf("Base shear: %.1f N%n", baseShear);
+        System.out.printf("Overturning moment: %.1f N m, acting at %.1f m%n",
+                          moment, moment / baseShear);
+        System.out.printf("Uniform wind load at %.0f m: %.1f N%n",
+                          ProfileLaw.REFERENCE_HEIGHT,
+                          new WindLoadingEvaluator().evaluate(input)
+                                                    .getWindLoad());
+    }
+
+    // Behavior: The runCompare method evaluates one building made of every
+    // material of the catalog and prints the materials ranked by their
+    // margin to the failure mode which governs them, printed as the
+    // safety-reduced strength of that mode over the wind load, with the
+    // verdict of every mode. The building is fixed at the middle of the
+    // building data ranges unless properties are given, and each material
+    // at the middle of its own ranges.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "compare" and
+    //                   optionally building properties as Property=value,
+    //                   with the wind velocity in km/h.
+
+    public static void runCompare(String args[]) throws IOException{
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        PropertyTable building = catalog.getBuilding();
+        double[] values = new double[Property.values().length];
+        for(PropertyRange range : building.getRanges()){
+            values[range.getProperty().ordinal()] =
+                    (range.getMinimum() + range.getMaximum()) / 2;
+        }
+        for(int i = 1; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            int column = parts.length == 2
+                    ? WindLoadingBatch.columnIndex(parts[0]) : -1;
+            double value = column < 0 ? Double.NaN
+                                      : Double.parseDouble(parts[1]);
+            if(column < 0 || building.get(Property.get(column)) == null
+                    || !building.contains(Property.get(column), value)){
+                System.out.println("Invalid building property: " + args[i]);
+                System.out.println("Usage: java WindLoadingClient compare "
+                        + "[Property=value ...]");
+                return;
+            }
+            values[column] = value;
+        }
+
+        WindLoadingInput input = new WindLoadingInput(values[0], values[1],
+                values[2], values[4] / 3.6, values[3], values[5], 0, 0, 0, 0);
+        MaterialComparison comparison = new MaterialComparison(catalog);
+        List<MaterialMargin> margins = comparison.compare(input);
+        System.out.printf("Wind load: %.1f N%n",
+                          margins.get(0).getResult().getWindLoad());
+        String passing = "";
+        int rank = 1;
+        for(MaterialMargin margin : margins){
+            WindLoadingResult result = margin.getResult();
+            System.out.printf("%2d. %-10s strength %10.3g x load, "
+                    + "governed by %-25s", rank++, margin.getMaterial(),
+                    margin.getMargin() + 1,
+                    margin.getGoverningMode().getDescription());
+            for(FailureMode mode : FailureMode.values()){
+                System.out.printf(" %-8s", result.getVerdict(mode));
+            }
+            System.out.println();
+            if(margin.isPassing()){
+                passing += (passing.isEmpty() ? "" : ", ")
+                        + margin.getMaterial();
+            }
+        }
+        System.out.println(passing.isEmpty() ? "No material is deemed safe."
+                : "Deemed safe: " + passing);
+    }
+
+    // Behavior: The runDesign method searches for the cheapest designs of
+    // one building with a DesignOptimizer and prints the Pareto front of
+    // the objective against the margin, the safety-reduced strength of the
+    // governing mode over the wind load, spread over at most FRONT_ROWS
+    // rows, and the cheapest passing design. The building is fixed at the
+    // middle of the building data ranges unless properties are given.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read or
+    // the front file cannot be written.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "design" and
+    //                   optionally building properties as Property=value,
+    //                   with the wind velocity in km/h, "objective=mass" or
+    //                   "objective=cost", "density.<material>=kg/m^3",
+    //                   "price.<material>=price per kg", "premium=value"
+    //                   for the highest load capacity grade,
+    //                   "sections=min:max:steps" and "front=file" to write
+    //                   the whole front as CSV.
+
+    public static void runDesign(String args[]) throws IOException{
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        PropertyTable building = catalog.getBuilding();
+        double[] values = new double[Property.values().length];
+        for(PropertyRange range : building.getRanges()){
+            values[range.getProperty().ordinal()] =
+                    (range.getMinimum() + range.getMaximum()) / 2;
+        }
+        DesignOptimizer optimizer = new DesignOptimizer(catalog);
+        DesignObjective objective = DesignObjective.COST;
+        File frontFile = null;
+        for(int i = 1; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            String name = parts[0].toLowerCase();
+            try{
+                if(parts.length != 2){
+                    throw new IllegalArgumentException();
+                }
+                else if(name.equals("objective")){
+                    objective = DesignObjective.of(parts[1]);
+                    if(objective == null){
+                        throw new IllegalArgumentException();
+                    }
+                }
+                else if(name.startsWith("density.")){
+                    optimizer.setDensity(parts[0].substring(8),
+                                         Double.parseDouble(parts[1]));
+                }
+                else if(name.startsWith("price.")){
+                    optimizer.setPrice(parts[0].substring(6),
+                                       Double.parseDouble(parts[1]));
+                }
+                else if(name.equals("premium")){
+                    optimizer.setCapacityPremium(
+                                        Double.parseDouble(parts[1]));
+                }
+                else if(name.equals("sections")){
+                    String[] ratios = parts[1].split(":");
+                    optimizer.setSections(Double.parseDouble(ratios[0]),
+                            Double.parseDouble(ratios[1]),
+                            Integer.parseInt(ratios[2]));
+                }
+                else if(name.equals("front")){
+                    frontFile = new File(parts[1]);
+                }
+                else{
+                    int column = WindLoadingBatch.columnIndex(parts[0]);
+                    double value = column < 0 ? Double.NaN
+                                              : Double.parseDouble(parts[1]);
+                    if(column < 0 || building.get(Property.get(column)) == null
+                            || !building.contains(Property.get(column),
+                                                  value)){
+                        throw new IllegalArgumentException();
+                    }
+                    values[column] = value;
+                }
+            }
+            catch(RuntimeException e){
+                String reason = e.getMessage() == null ? ""
+                                        : " (" + e.getMessage() + ")";
+                System.out.println("Invalid argument: " + args[i] + reason);
+                System.out.println("Usage: java WindLoadingClient design "
+                        + "[Property=value ...] [objective=mass|cost] "
+                        + "[density.<material>=value] "
+                        + "[price.<material>=value] [premium=value] "
+                        + "[sections=<min>:<max>:<steps>] [front=<file>]");
+                return;
+            }
+        }
+
+        WindLoadingInput input = new WindLoadingInput(values[0], values[1],
+                values[2], values[4] / 3.6, values[3], values[5], 0, 0, 0, 0);
+        long start = System.nanoTime();
+        DesignFront front = optimizer.optimize(input, objective);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+
+        List<DesignCandidate> designs = front.getCandidates();
+        String unit = objective.getUnit().isEmpty() ? ""
+                                                    : " " + objective.getUnit();
+        System.out.printf("Wind load: %.1f N%n", front.getWindLoad());
+        System.out.println("Pareto front of " + objective.getName()
+                + " against margin: " + designs.size() + " designs in "
+                + elapsed + " ms (" + front.getBoxes() + " boxes searched, "
+                + front.getPruned() + " pruned, " + front.getEvaluated()
+                + " designs evaluated)");
+        if(designs.isEmpty()){
+            System.out.println("No design passes every failure mode at a "
+                    + "safety factor of " + values[5] + ".");
+            return;
+        }
+        System.out.printf("%-10s %10s %8s %8s %14s %14s %12s  %s%n",
+                "Material", "Capacity", "Beams", "Section", "Mass",
+                "Cost", "Strength", "Governed by");
+        int rows = Math.min(FRONT_ROWS, designs.size());
+        for(int row = 0; row < rows; row++){
+            int index = rows == 1 ? 0
+                    : (int)((long) row * (designs.size() - 1) / (rows - 1));
+            printDesign(designs.get(index));
+        }
+        DesignCandidate cheapest = front.getCheapest();
+        System.out.printf("Cheapest passing design: %s, %d beams of %.4g x "
+                + "%.4g m at a load capacity of %.4g, %.4g%s%n",
+                cheapest.getMaterial(), cheapest.getBeamAmount(),
+                cheapest.getResult().getBeamWidth(),
+                cheapest.getResult().getBeamHeight(),
+                cheapest.getLoadCapacity(), cheapest.get(objective), unit);
+
+        if(frontFile != null){
+            PrintStream output = new PrintStream(new BufferedOutputStream(
+                                        new FileOutputStream(frontFile)));
+            output.println("Material,Load Capacity,Beams,Section Ratio,"
+                    + "Beam Height,Beam Width,Mass,Cost,Margin,Governing Mode");
+            for(DesignCandidate design : designs){
+                WindLoadingResult result = design.getResult();
+                output.println(design.getMaterial() + ","
+                        + design.getLoadCapacity() + ","
+                        + design.getBeamAmount() + ","
+                        + design.getSectionRatio() + ","
+                        + result.getBeamHeight() + ","
+                        + result.getBeamWidth() + "," + design.getMass() + ","
+                        + design.getCost() + "," + design.getMargin() + ","
+                        + design.getGoverningMode());
+            }
+            output.close();
+            if(output.checkError()){
+                throw new IOException("Could not write " + frontFile + ".");
+            }
+            System.out.println("Front saved to " + frontFile);
+        }
+    }
+
+    // Behavior: The runDirections method evaluates one building made of
+    // every material of the catalog for wind from every direction of a
+    // DirectionalSweep, and prints the governing direction, its wind load
+    // against the wind load on the width face, and for every material the
+    // envelope of the utilization of each failure mode with its verdict.
+    // The building is fixed at the middle of the building data ranges
+    // unless properties are given, and each material at the middle of its
+    // own ranges.
+    //
+    // Exceptions: Throws an IOException if a data file cannot be read.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "directions"
+    //                   and optionally building properties as
+    //                   Property=value, with the wind velocity in km/h,
+    //                   "directions=count" (360 by default) and
+    //                   "factors=f1,f2,..." for the directional factors of
+    //                   equal sectors from 0 degrees.
+
+    public static void runDirections(String args[]) throws IOException{
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        PropertyTable building = catalog.getBuilding();
+        double[] values = new double[Property.values().length];
+        for(PropertyRange range : building.getRanges()){
+            values[range.getProperty().ordinal()] =
+                    (range.getMinimum() + range.getMaximum()) / 2;
+        }
+        int directions = 360;
+        double[] factors = {1};
+        for(int i = 1; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            String name = parts[0].toLowerCase();
+            try{
+                if(parts.length != 2){
+                    throw new IllegalArgumentException();
+                }
+                else if(name.equals("directions")){
+                    directions = Integer.parseInt(parts[1]);
+                }
+                else if(name.equals("factors")){
+                    String[] sectors = parts[1].split(",");
+                    factors = new double[sectors.length];
+                    for(int j = 0; j < sectors.length; j++){
+                        factors[j] = Double.parseDouble(sectors[j]);
+                    }
+                }
+                else{
+                    int column = WindLoadingBatch.columnIndex(parts[0]);
+                    double value = column < 0 ? Double.NaN
+                                              : Double.parseDouble(parts[1]);
+                    if(column < 0 || building.get(Property.get(column)) == null
+                            || !building.contains(Property.get(column),
+                                                  value)){
+                        throw new IllegalArgumentException();
+                    }
+                    values[column] = value;
+                }
+            }
+            catch(RuntimeException e){
+                System.out.println("Invalid argument: " + args[i]);
+                System.out.println("Usage: java WindLoadingClient directions "
+                        + "[Property=value ...] [directions=count] "
+                        + "[factors=f1,f2,...]");
+                return;
+            }
+        }
+        DirectionalSweep sweep;
+        try{
+            sweep = new DirectionalSweep(directions, factors);
+        }
+        catch(IllegalArgumentException e){
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        WindLoadingInput input = new WindLoadingInput(values[0], values[1],
+                values[2], values[4] / 3.6, values[3], values[5], 0, 0, 0, 0);
+        MaterialComparison comparison = new MaterialComparison(catalog);
+        List<String> materials = comparison.getMaterials();
+        for(int i = 0; i < materials.size(); i++){
+            DirectionalEnvelope envelope = sweep.evaluate(
+                                        comparison.getInput(i, input));
+            if(i == 0){
+                System.out.printf("Wind load on the width face: %.1f N%n",
+                                  envelope.getWindLoad(0));
+                System.out.printf("Governing direction: %.1f degrees, "
+                        + "%.1f N (%.3f x)%n", envelope.getGoverningAngle(),
+                        envelope.getWindLoad(),
+                        envelope.getWindLoad() / envelope.getWindLoad(0));
+                System.out.println("Verdict and envelope of the wind load "
+                        + "over the strength, for the tensile, shear, "
+                        + "flexural and buckling modes:");
+            }
+            System.out.printf("%-10s", materials.get(i));
+            for(FailureMode mode : FailureMode.values()){
+                System.out.printf(" %-8s %10.3g", envelope.getVerdict(mode),
+                                  envelope.getUtilization(mode));
+            }
+            System.out.println();
+        }
+    }
+
+    // Behavior: Prints one design of a front on one row.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: design: The design.
+
+    private static void printDesign(DesignCandidate design){
+        System.out.printf("%-10s %10.4g %8d %8.3f %14.6g %14.6g %10.4g x  "
+                + "%s%n", design.getMaterial(), design.getLoadCapacity(),
+                design.getBeamAmount(), design.getSectionRatio(),
+                design.getMass(), design.getCost(), design.getMargin() + 1,
+                design.getGoverningMode().getDescription());
+    }
+
+    // Behavior: The runSensitivity method estimates which properties drive
+    // the reserve of each failure mode of a material, sampling inside the
+    // ranges of the data files in the current directory. It prints the
+    // first-order and total Sobol indices of every property and its
+    // elasticity at the middle of the ranges: the relative change of the
+    // safety strength over the wind load per relative change of the
+    // property.
+    //
+    // Exceptions: Throws a FileNotFoundException if a data file cannot be
+    // found.
+    //
+    // Returns: None
+    //
+    // Parameters: args: The command line arguments, which are "sensitivity",
+    //                   the material, the number of base samples, the seed,
+    //                   and optionally one "Property=distribution" argument
+    //                   per property that should not be sampled uniformly.
+
+    public static void runSensitivity(String args[])
+                                            throws FileNotFoundException{
+        if(args.length < 4){
+            System.out.println("Usage: java WindLoadingClient sensitivity "
+                    + "<material> <samples> <seed> "
+                    + "[Property=uniform|triangular|normal ...]");
+            return;
+        }
+        MaterialCatalog catalog = new MaterialCatalog(new File("."));
+        if(!catalog.hasMaterial(args[1])){
+            System.out.println("Unknown material: " + args[1]);
+            return;
+        }
+
+        SensitivityAnalysis analysis =
+                SensitivityAnalysis.forMaterial(catalog.getRanges(args[1]));
+
+        int samples = 0;
+        long seed = 0;
+        for(int i = 2; i < args.length; i++){
+            String[] parts = args[i].split("=");
+            int column = WindLoadingBatch.columnIndex(parts[0]);
+            try{
+                if(i == 2){
+                    samples = Integer.parseInt(args[i]);
+                    if(samples <= 0){
+                        throw new IllegalArgumentException();
+                    }
+                }
+                else if(i == 3){
+                    seed = Long.parseLong(args[i]);
+                }
+                else if(parts.length != 2 || column < 0){
+                    System.out.println("Ignoring unknown distribution: "
+                                        + args[i]);
+                }
+                else{
+                    analysis.setDistribution(column,
+                        SamplingDistribution.valueOf(parts[1].toUpperCase()));
+                }
+            }
+            catch(RuntimeException e){
+                System.out.println("Invalid argument: " + args[i]);
+                System.out.println("Usage: java WindLoadingClient sensitivity "
+                        + "<material> <samples> <seed> "
+                        + "[Property=uniform|triangular|normal ...]");
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
+        SensitivityEstimate estimate = analysis.run(seed, samples);
+        long elapsed = (System.nanoTime() - start) / 1000000;
+        double[] midpoint = analysis.getMidpoint();
+        double[][] gradient = analysis.gradient(midpoint);
+
+        System.out.println(estimate.getSamples() + " samples, "
+                + estimate.getEvaluations() + " scenarios evaluated in "
+                + elapsed + " ms");
+        System.out.println();
+        for(FailureMode mode : FailureMode.values()){
+            printSensitivity(estimate, mode, mode.getDescription(),
+                             gradient[mode.ordinal()], midpoint);
+        }
+        printSensitivity(estimate, null, "the structure as a whole",
+                         gradient[FailureMode.values().length], midpoint);
+    }
+
+    // Behavior: Prints the peak load, mean velocity and the time above the
+    // safety-reduced strength, time failing and exceedances of every
+    // failure mode of a period of a wind time series.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: summary: The summary to print.
+    //             title: The name printed for the period.
+
+    private static void printSummary(WindSeriesSummary summary,
+                                     String title){
+        System.out.printf("%s: peak load %.1f N at %.1f km/h, mean %.1f "
+                + "km/h%n", title, summary.getPeakLoad(),
+                summary.getPeakVelocity() * 3.6,
+                summary.getMeanVelocity() * 3.6);
+        for(FailureMode mode : FailureMode.values()){
+            if(summary.getTimeAbove(mode) > 0){
+                System.out.printf("  %s: %.0f s not safe, %.0f s failing, "
+                        + "%d exceedances%n", mode.getDescription(),
+                        summary.getTimeAbove(mode),
+                        summary.getTimeFailing(mode),
+                        summary.getExceedances(mode));
+            }
+        }
+    }
+
+    // Behavior: Prints the Sobol indices and elasticity of every property
+    // for one reserve.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: estimate: The estimate to print.
+    //             mode: The failure mode, or null for the whole structure.
+    //             description: The name printed for the failure mode.
+    //             gradient: The derivative of the reserve with respect to
+    //                       each property at the point.
+    //             point: The point the gradient was found at.
+
+    private static void printSensitivity(SensitivityEstimate estimate,
+                                FailureMode mode, String description,
+                                double[] gradient, double[] point){
+        System.out.printf("For %s (variance %.4g, %d samples):%n",
+                description, estimate.getVariance(mode),
+                estimate.getValidSamples(mode));
+        System.out.printf("  %-24s %8s %8s %11s%n", "Property", "First",
+                          "Total", "Elasticity");
+        for(int c = 0; c < WindLoadingBatch.COLUMNS.length; c++){
+            System.out.printf("  %-24s %8.4f %8.4f %11.4f%n",
+                    WindLoadingBatch.COLUMNS[c],
+                    estimate.getFirstOrder(mode, c),
+                    estimate.getTotal(mode, c), gradient[c] * point[c]);
+        }
+    }
+
+    // Behavior: Prints the probability of failure and of surviving without
+    // being deemed safe, with their confidence intervals.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: estimate: The estimate to print.
+    //             mode: The failure mode, or null for the whole structure.
+    //             description: The name printed for the failure mode.
+
+    private static void printProbability(ReliabilityEstimate estimate,
+                                FailureMode mode, String description){
+        System.out.println("For " + description + ":");
+        System.out.printf("  Failure: %.6f (%.6f - %.6f)%n",
+                estimate.getProbability(mode, Verdict.FAIL),
+                estimate.getLowerBound(mode, Verdict.FAIL),
+                estimate.getUpperBound(mode, Verdict.FAIL));
+        System.out.printf("  Survives but not safe: %.6f (%.6f - %.6f)%n",
+                estimate.getProbability(mode, Verdict.MARGINAL),
+                estimate.getLowerBound(mode, Verdict.MARGINAL),
+                estimate.getUpperBound(mode, Verdict.MARGINAL));
+    }
+
     // Behavior: The fileProcess method processes a file and extracts info
     // from the file into a list.
     //
@@ -127,6 +1542,24 @@ public class WindLoadingClient{
 
     public static List<String> fileProcess(File file) 
                                                 throws FileNotFoundException{
+        return fileProcess(file, true);
+    }
+
+    // Behavior: The fileProcess method processes a file and extracts info
+    // from the file into a list, printing each property only when asked to.
+    //
+    // Exceptions: Throws a FileNotFoundException if the specified file is 
+    // not found.
+    //
+    // Returns: A list containing the extracted property data.
+    //
+    // Parameters: file: The file from which the property data is to be read.
+    //             echo: Whether each property is printed as it is read.
+
+    public static List<String> fileProcess(File file, boolean echo) 
+                                                throws FileNotFoundException{
+        boolean timed = WindLoadingMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
         List<String> dataSet = new ArrayList<String>();       
         Scanner fileScan = new Scanner(file);
 
@@ -141,10 +1574,12 @@ public class WindLoadingClient{
                         String max = parts[2];
                         String unit = parts[3];
 
-                        System.out.println(" Property: " + property);
-                        System.out.println(" Min: " + min);
-                        System.out.println(" Max: " + max);
-                        System.out.println(" Unit: " + unit);
+                        if(echo){
+                            System.out.println(" Property: " + property);
+                            System.out.println(" Min: " + min);
+                            System.out.println(" Max: " + max);
+                            System.out.println(" Unit: " + unit);
+                        }
 
                         dataSet.add(property);
                         dataSet.add(min);
@@ -154,29 +1589,37 @@ public class WindLoadingClient{
                 }
             }
         }
+        fileScan.close();
+        if(timed){
+            WindLoadingMetrics.recordFileProcess(System.nanoTime() - start);
+        }
         return dataSet;
     }
 
     // Behavior: Allows the user to choose a material type and initializes the 
-    // WindLoading object with the selected material data.
+    // WindLoading object with the selected material data. Besides the five
+    // built-in materials, any other material of the catalog can be chosen
+    // by its name.
     //
-    // Exceptions: None 
+    // Exceptions: Throws a FileNotFoundException if the data file of a
+    // material chosen by its name cannot be found.
     //
     // Returns: None 
     //
     // Parameters: windLoading: An instance of the WindLoading class.
-    //             woodData: A list containing the data for wood material.
-    //             concreteData: A list containing the data for concrete 
-    //                           material.
-    //             brickData: A list containing the data for brick material.
-    //             stoneData: A list containing the data for stone material.
-    //             steelData: A list containing the data for steel material.
+    //             woodData: The data for wood material.
+    //             concreteData: The data for concrete material.
+    //             brickData: The data for brick material.
+    //             stoneData: The data for stone material.
+    //             steelData: The data for steel material.
+    //             catalog: The catalog holding any other materials.
     //             console: A Scanner object for reading user the input.
 
     public static WindLoading MaterialParameters(WindLoading windLoading,
-            List<String> woodData, List<String> concreteData,
-            List<String> brickData, List<String> stoneData,
-            List<String> steelData, Scanner console){
+            PropertyTable woodData, PropertyTable concreteData,
+            PropertyTable brickData, PropertyTable stoneData,
+            PropertyTable steelData, MaterialCatalog catalog, 
+            Scanner console) throws FileNotFoundException{
         System.out.print("Please choose a material type: ");
         System.out.println();
         System.out.println("W for Wood");
@@ -184,9 +1627,14 @@ public class WindLoadingClient{
         System.out.println("Br for Brick");
         System.out.println("St for Stone");
         System.out.println("El for Steel");
+        List<String> materials = catalog.getMaterialNames();
+        for(int i = MaterialCatalog.MATERIALS.length; i < materials.size(); 
+                                                                    i++){
+            System.out.println(materials.get(i) + " for " + materials.get(i));
+        }
 
         String materialChoice = console.nextLine().toUpperCase();
-        List<String> selectedMaterial = null;
+        PropertyTable selectedMaterial = null;
 
         if(materialChoice.equals("W")){
             selectedMaterial = woodData;
@@ -203,8 +1651,16 @@ public class WindLoadingClient{
         else if(materialChoice.equals("EL")){
             selectedMaterial = steelData;
         }
+        else{
+            for(int i = MaterialCatalog.MATERIALS.length; 
+                                            i < materials.size(); i++){
+                if(materials.get(i).equalsIgnoreCase(materialChoice)){
+                    selectedMaterial = catalog.getMaterial(materials.get(i));
+                }
+            }
+        }
         
-        if(selectedMaterial != null && !selectedMaterial.isEmpty()){
+        if(selectedMaterial != null && !selectedMaterial.getRanges().isEmpty()){
             if(windLoading == null){
                 windLoading = new WindLoading(selectedMaterial, console);
             }
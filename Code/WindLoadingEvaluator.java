@@ -0,0 +1,83 @@
+// The WindLoadingEvaluator class performs the wind loading calculation. It
+// takes a WindLoadingInput, calculates the drag coefficient, wind pressure and
+// wind load as well as the tensile, shear, flexural and buckling strength of
+// the structure, and returns everything in a WindLoadingResult. It holds no
+// state and prints nothing, so one evaluator can be shared by many threads.
+
+public class WindLoadingEvaluator{
+    public static final double ALPHA = 1.2;
+    public static final double BETA = 0.6;
+    public static final double FLOOR_HEIGHT = 4;
+    public static final double FLOOR_LOAD = 10.0;
+    public static final double COLUMN_EFFECTIVE_LENGTH_FACTOR = 1.0;
+    public static final double PI_SQUARED = Math.pow(Math.PI, 2);
+
+    // Behavior: The evaluate method calculates the wind load on the
+    // structure and compares it to each strength parameter of the structure.
+    // Only the returned result is allocated. When WindLoadingMetrics is
+    // enabled the evaluation is timed and recorded.
+    //
+    // Exceptions: None
+    //
+    // Returns: A WindLoadingResult holding every derived quantity and the
+    // verdict for each failure mode.
+    //
+    // Parameters: input: The parameters of the structure, air and material.
+
+    public WindLoadingResult evaluate(WindLoadingInput input){
+        if(!WindLoadingMetrics.isEnabled()){
+            return calculate(input);
+        }
+        long start = System.nanoTime();
+        WindLoadingResult result = calculate(input);
+        WindLoadingMetrics.recordEvaluation(result, System.nanoTime() - start);
+        return result;
+    }
+
+    // Behavior: Performs the calculation of evaluate.
+    // Exceptions: None
+    // Returns: The WindLoadingResult of the input.
+    // Parameters: input: The parameters of the structure, air and material.
+
+    private static WindLoadingResult calculate(WindLoadingInput input){
+        double height = input.getHeight();
+        double width = input.getWidth();
+        double length = input.getLength();
+        double windVelocity = input.getWindVelocity();
+        double yieldStrength = input.getYieldStrength();
+
+        double dragCoefficient = ALPHA * (height / width)
+                                    + BETA * (height / length);
+        double windPressure = 0.5 * input.getAirDensity() * dragCoefficient
+                                    * (windVelocity * windVelocity);
+        double crossSectionalArea = height * width;
+        double windLoad = windPressure * crossSectionalArea;
+
+        double tensileStrength = yieldStrength * crossSectionalArea;
+        double shearStrength = input.getAverageShearStrength()
+                                    * crossSectionalArea;
+
+        int floors = (int)(height / FLOOR_HEIGHT);
+        double floorArea = length * width;
+        double totalLoad = floors * floorArea * FLOOR_LOAD;
+
+        int beamAmount = (int)(totalLoad / input.getLoadCapacity());
+        double beamHeight = height / beamAmount;
+        double beamWidth = beamHeight / 2;
+        double momentInertia = (beamWidth
+                        * (beamHeight * beamHeight * beamHeight)) / 12;
+        double maximumFlexuralStrength = (yieldStrength * momentInertia)
+                                            / beamWidth;
+
+        double effectiveLength = COLUMN_EFFECTIVE_LENGTH_FACTOR * beamHeight;
+        double bucklingStrength =
+                (PI_SQUARED * input.getElasticModulus() * momentInertia)
+                / (effectiveLength * effectiveLength);
+
+        return new WindLoadingResult(input, dragCoefficient, windPressure,
+                crossSectionalArea, windLoad, floors, floorArea, totalLoad,
+                beamAmount, beamHeight, beamWidth, momentInertia,
+                tensileStrength, shearStrength, maximumFlexuralStrength,
+                bucklingStrength);
+    }
+}
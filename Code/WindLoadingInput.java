@@ -0,0 +1,83 @@
+// The WindLoadingInput class is an immutable set of the building, air and
+// material parameters used for a single wind loading calculation. Because it
+// cannot change once it is created, it can be shared freely between threads.
+
+public final class WindLoadingInput{
+    private final double height;
+    private final double width;
+    private final double length;
+    private final double windVelocity;
+    private final double airDensity;
+    private final double safetyFactor;
+    private final double yieldStrength;
+    private final double averageShearStrength;
+    private final double elasticModulus;
+    private final double loadCapacity;
+
+    // Constructs a WindLoadingInput object for the following parameters
+    // height, width, length: The building dimensions in meters.
+    // windVelocity: The wind velocity in m/s.
+    // airDensity: The air density.
+    // safetyFactor: The safety factor applied to every strength.
+    // yieldStrength, averageShearStrength, elasticModulus, loadCapacity: The
+    //             material properties of the structure.
+
+    public WindLoadingInput(double height, double width, double length,
+                            double windVelocity, double airDensity,
+                            double safetyFactor, double yieldStrength,
+                            double averageShearStrength, double elasticModulus,
+                            double loadCapacity){
+        this.height = height;
+        this.width = width;
+        this.length = length;
+        this.windVelocity = windVelocity;
+        this.airDensity = airDensity;
+        this.safetyFactor = safetyFactor;
+        this.yieldStrength = yieldStrength;
+        this.averageShearStrength = averageShearStrength;
+        this.elasticModulus = elasticModulus;
+        this.loadCapacity = loadCapacity;
+    }
+
+    public double getHeight(){
+        return this.height;
+    }
+
+    public double getWidth(){
+        return this.width;
+    }
+
+    public double getLength(){
+        return this.length;
+    }
+
+    // Returns: The wind velocity in m/s.
+
+    public double getWindVelocity(){
+        return this.windVelocity;
+    }
+
+    public double getAirDensity(){
+        return this.airDensity;
+    }
+
+    public double getSafetyFactor(){
+        return this.safetyFactor;
+    }
+
+    public double getYieldStrength(){
+        return this.yieldStrength;
+    }
+
+    public double getAverageShearStrength(){
+        return this.averageShearStrength;
+    }
+
+    public double getElasticModulus(){
+        return this.elasticModulus;
+    }
+
+    public double getLoadCapacity(){
+        return this.loadCapacity;
+    }
+}
@@ -0,0 +1,502 @@
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import jdk.jfr.*;
+
+// The WindLoadingMetrics class measures what the calculator spends its time
+// on: how many scenarios are evaluated and how fast, the latency of single
+// evaluations, of reading data files and of saving parameters, how many bytes
+// are written, and how many verdicts of each kind every failure mode gets. It
+// also emits JDK Flight Recorder events when a batch starts and finishes and
+// when a single evaluation is slow.
+//
+// Metrics are off unless the windloading.metrics system property is true or
+// setEnabled turns them on. When off, an evaluation only reads one volatile
+// flag. When on, the counters are LongAdders and the latencies
+// LatencyHistograms, so evaluation threads never wait on each other or on a
+// reader. Verdicts are counted by the byte Verdict.pack makes of them, one
+// LongAdder per byte, so an evaluation adds to a single counter, and the
+// number of evaluations is the sum of those counters. A snapshot reads the
+// counters without stopping the recorders, and startExport writes snapshots
+// from a thread of its own, so exporting never blocks an evaluation.
+
+public final class WindLoadingMetrics{
+    public static final String PROPERTY = "windloading.metrics";
+    // The system property naming the file startExport writes to at startup.
+    public static final String FILE_PROPERTY = "windloading.metrics.file";
+    // Evaluations taking at least this long emit a SlowEvaluation event.
+    public static final long DEFAULT_SLOW_NANOS = 100_000;
+
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+    private static volatile long slowNanos = DEFAULT_SLOW_NANOS;
+
+    private static final long STARTED = System.nanoTime();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    // The number of evaluations by their packed verdicts.
+    private static final LongAdder[] VERDICT_COUNTS = new LongAdder[256];
+    private static final LatencyHistogram EVALUATION_LATENCY =
+                                                    new LatencyHistogram();
+    private static final LatencyHistogram BATCH_LATENCY =
+                                                    new LatencyHistogram();
+    private static final LatencyHistogram CATALOG_PARSE =
+                                                    new LatencyHistogram();
+    private static final LatencyHistogram FILE_PROCESS =
+                                                    new LatencyHistogram();
+    private static final LatencyHistogram SAVE_PARAMETERS =
+                                                    new LatencyHistogram();
+
+    // The evaluation count and time of the previous snapshot, for the rate.
+    private static long lastEvaluations;
+    private static long lastSnapshot = STARTED;
+
+    private static ScheduledExecutorService exporter;
+    // Writes the last snapshot of the export when the JVM exits.
+    private static Thread exportHook;
+
+    static{
+        for(int i = 0; i < VERDICT_COUNTS.length; i++){
+            VERDICT_COUNTS[i] = new LongAdder();
+        }
+    }
+
+    private WindLoadingMetrics(){
+    }
+
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    // Behavior: Turns the metrics on or off. Counts already recorded are
+    // kept.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: on: Whether metrics are recorded from now on.
+
+    public static void setEnabled(boolean on){
+        enabled = on;
+    }
+
+    // Behavior: Sets how long a single evaluation must take to emit a
+    // SlowEvaluation event.
+    // Exceptions: Throws an IllegalArgumentException if it is negative.
+    // Returns: None
+    // Parameters: nanos: The threshold in nanoseconds.
+
+    public static void setSlowThreshold(long nanos){
+        if(nanos < 0){
+            throw new IllegalArgumentException("The slow evaluation "
+                    + "threshold cannot be negative.");
+        }
+        slowNanos = nanos;
+    }
+
+    // Behavior: Records one evaluation, its latency and its verdicts, and
+    // emits a SlowEvaluation event if it took at least the slow threshold.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: result: The result of the evaluation.
+    //             nanos: How long the evaluation took in nanoseconds.
+
+    static void recordEvaluation(WindLoadingResult result, long nanos){
+        VERDICT_COUNTS[Verdict.pack(result) & 0xFF].increment();
+        EVALUATION_LATENCY.record(nanos);
+        if(nanos >= slowNanos){
+            SlowEvaluation event = new SlowEvaluation();
+            if(event.shouldCommit()){
+                WindLoadingInput input = result.getInput();
+                event.latency = nanos;
+                event.height = input.getHeight();
+                event.width = input.getWidth();
+                event.length = input.getLength();
+                event.windVelocity = input.getWindVelocity();
+                event.commit();
+            }
+        }
+    }
+
+    // Behavior: Records the evaluations of a batch by their verdicts,
+    // counted by the caller.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: counts: The number of evaluations by their verdicts
+    //                     packed by Verdict.pack, 256 counts.
+
+    static void recordVerdicts(long[] counts){
+        for(int i = 0; i < VERDICT_COUNTS.length; i++){
+            if(counts[i] != 0){
+                VERDICT_COUNTS[i].add(counts[i]);
+            }
+        }
+    }
+
+    // Behavior: Records how long reading a material data file took.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: nanos: The time in nanoseconds.
+
+    static void recordCatalogParse(long nanos){
+        CATALOG_PARSE.record(nanos);
+    }
+
+    // Behavior: Records how long WindLoadingClient.fileProcess took.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: nanos: The time in nanoseconds.
+
+    static void recordFileProcess(long nanos){
+        FILE_PROCESS.record(nanos);
+    }
+
+    // Behavior: Records how long saving the parameters took and how many
+    // bytes were saved.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: nanos: The time in nanoseconds.
+    //             bytes: The size of the file written.
+
+    static void recordSaveParameters(long nanos, long bytes){
+        SAVE_PARAMETERS.record(nanos);
+        BYTES_WRITTEN.add(bytes);
+    }
+
+    // Behavior: The startBatch method marks the start of a batch, emitting a
+    // BatchStarted event and beginning the BatchFinished event which
+    // Batch.finish commits. The events are emitted whenever a recording
+    // asks for them, even with the metrics off.
+    //
+    // Exceptions: None
+    //
+    // Returns: The running batch.
+    //
+    // Parameters: operation: What the batch does, such as evaluate or solve.
+    //             file: The file the scenarios are read from.
+
+    static Batch startBatch(String operation, File file){
+        BatchStarted started = new BatchStarted();
+        if(started.shouldCommit()){
+            started.operation = operation;
+            started.file = file.getPath();
+            started.commit();
+        }
+        return new Batch(operation, file);
+    }
+
+    public static long getEvaluations(){
+        long evaluations = 0;
+        for(LongAdder count : VERDICT_COUNTS){
+            evaluations += count.sum();
+        }
+        return evaluations;
+    }
+
+    public static long getBytesWritten(){
+        return BYTES_WRITTEN.sum();
+    }
+
+    // Behavior: Returns how many times a failure mode got a verdict.
+    // Exceptions: None
+    // Returns: The number of verdicts.
+    // Parameters: mode: The failure mode.
+    //             verdict: The verdict.
+
+    public static long getVerdicts(FailureMode mode, Verdict verdict){
+        long verdicts = 0;
+        for(int packed = 0; packed < VERDICT_COUNTS.length; packed++){
+            if((packed >> (2 * mode.ordinal()) & 3) == verdict.ordinal()){
+                verdicts += VERDICT_COUNTS[packed].sum();
+            }
+        }
+        return verdicts;
+    }
+
+    // Returns: The latencies of single evaluations.
+
+    public static LatencyHistogram getEvaluationLatency(){
+        return EVALUATION_LATENCY;
+    }
+
+    // Returns: The durations of whole batches.
+
+    public static LatencyHistogram getBatchLatency(){
+        return BATCH_LATENCY;
+    }
+
+    // Returns: The times taken to read material data files.
+
+    public static LatencyHistogram getCatalogParse(){
+        return CATALOG_PARSE;
+    }
+
+    // Returns: The times taken by WindLoadingClient.fileProcess.
+
+    public static LatencyHistogram getFileProcess(){
+        return FILE_PROCESS;
+    }
+
+    // Returns: The times taken to save parameters to a file.
+
+    public static LatencyHistogram getSaveParameters(){
+        return SAVE_PARAMETERS;
+    }
+
+    // Behavior: The snapshot method writes every metric as a JSON object.
+    // The evaluation rate is over the time since the previous snapshot, or
+    // since the class was loaded for the first one. Only callers of
+    // snapshot wait on each other; the recorders are never stopped.
+    //
+    // Exceptions: None
+    //
+    // Returns: The JSON text.
+    //
+    // Parameters: None
+
+    public static synchronized String snapshot(){
+        long now = System.nanoTime();
+        long evaluations = getEvaluations();
+        double seconds = (now - lastSnapshot) / 1e9;
+        double rate = seconds > 0
+                        ? (evaluations - lastEvaluations) / seconds : 0;
+        lastSnapshot = now;
+        lastEvaluations = evaluations;
+
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"enabled\":").append(enabled);
+        json.append(",\"uptimeSeconds\":");
+        Json.writeNumber(json, (now - STARTED) / 1e9);
+        json.append(",\"evaluations\":").append(evaluations);
+        json.append(",\"evaluationsPerSecond\":");
+        Json.writeNumber(json, rate);
+        json.append(",\"bytesWritten\":").append(getBytesWritten());
+        json.append(",\"verdicts\":{");
+        for(FailureMode mode : FailureMode.values()){
+            json.append(mode.ordinal() == 0 ? "" : ",");
+            Json.writeString(json, mode.name());
+            json.append(":{");
+            for(Verdict verdict : Verdict.values()){
+                json.append(verdict.ordinal() == 0 ? "" : ",");
+                Json.writeString(json, verdict.name());
+                json.append(":").append(getVerdicts(mode, verdict));
+            }
+            json.append("}");
+        }
+        json.append("}");
+        writeHistogram(json, "evaluationLatency", EVALUATION_LATENCY);
+        writeHistogram(json, "batchLatency", BATCH_LATENCY);
+        writeHistogram(json, "catalogParse", CATALOG_PARSE);
+        writeHistogram(json, "fileProcess", FILE_PROCESS);
+        writeHistogram(json, "saveParameters", SAVE_PARAMETERS);
+        return json.append("}").toString();
+    }
+
+    // Behavior: The startExport method writes a snapshot to a file every
+    // period from a daemon thread, and once more when the JVM exits. Each
+    // snapshot is written to a temporary file which then replaces the file,
+    // so readers never see half a snapshot. Calling it again replaces the
+    // previous export.
+    //
+    // Exceptions: Throws an IllegalArgumentException if the period is not
+    // positive.
+    //
+    // Returns: None
+    //
+    // Parameters: file: The file to write the snapshots to.
+    //             periodMillis: The time between snapshots in milliseconds.
+
+    public static synchronized void startExport(File file, long periodMillis){
+        if(periodMillis <= 0){
+            throw new IllegalArgumentException("The export period must be "
+                    + "positive.");
+        }
+        stopExport();
+        exporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "windloading-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable export = () -> export(file);
+        exporter.scheduleAtFixedRate(export, periodMillis, periodMillis,
+                                     TimeUnit.MILLISECONDS);
+        exportHook = new Thread(export, "windloading-metrics-exit");
+        Runtime.getRuntime().addShutdownHook(exportHook);
+    }
+
+    // Behavior: Stops the periodic export started by startExport, if any,
+    // and the snapshot it would write when the JVM exits.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    public static synchronized void stopExport(){
+        if(exporter != null){
+            exporter.shutdownNow();
+            exporter = null;
+        }
+        if(exportHook != null){
+            try{
+                Runtime.getRuntime().removeShutdownHook(exportHook);
+            }
+            catch(IllegalStateException e){
+                // The JVM is already exiting and the hook is running.
+            }
+            exportHook = null;
+        }
+    }
+
+    // Behavior: Writes a snapshot to a file through a temporary file. A
+    // failure is reported on System.err and the next period tries again.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: file: The file to write the snapshot to.
+
+    private static void export(File file){
+        Path target = file.getAbsoluteFile().toPath();
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try{
+            Files.write(temporary,
+                        snapshot().getBytes(StandardCharsets.UTF_8));
+            try{
+                Files.move(temporary, target,
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch(AtomicMoveNotSupportedException e){
+                Files.move(temporary, target,
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch(IOException e){
+            System.err.println("Failed to export metrics to " + file + ": "
+                                + e.getMessage());
+        }
+    }
+
+    // Behavior: Writes the count, mean, percentiles and maximum of a
+    // histogram as a member of a JSON object, in microseconds.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: json: The JSON object being written.
+    //             name: The name of the member.
+    //             histogram: The histogram.
+
+    private static void writeHistogram(StringBuilder json, String name,
+                                       LatencyHistogram histogram){
+        json.append(",");
+        Json.writeString(json, name);
+        json.append(":{\"count\":").append(histogram.getCount());
+        json.append(",\"meanMicros\":");
+        Json.writeNumber(json, histogram.getMean() / 1e3);
+        double[] percentiles = {50, 90, 99, 99.9};
+        String[] names = {"p50Micros", "p90Micros", "p99Micros",
+                          "p999Micros"};
+        for(int i = 0; i < percentiles.length; i++){
+            json.append(",");
+            Json.writeString(json, names[i]);
+            json.append(":");
+            Json.writeNumber(json,
+                             histogram.getPercentile(percentiles[i]) / 1e3);
+        }
+        json.append(",\"maxMicros\":");
+        Json.writeNumber(json, histogram.getMaximum() / 1e3);
+        json.append("}");
+    }
+
+    // The Batch class is a batch started by startBatch, holding the time it
+    // started and its BatchFinished event.
+
+    static final class Batch{
+        private final long started;
+        private final BatchFinished event;
+
+        // Constructs a Batch object for the following batch
+        // operation: What the batch does.
+        // file: The file the scenarios are read from.
+
+        private Batch(String operation, File file){
+            this.started = System.nanoTime();
+            this.event = new BatchFinished();
+            this.event.operation = operation;
+            this.event.file = file.getPath();
+            this.event.begin();
+        }
+
+        // Behavior: Marks the end of the batch, recording its duration and
+        // bytes written and committing its BatchFinished event.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: rows: The number of scenarios in the batch.
+        //             invalid: The number of scenarios which were invalid.
+        //             bytes: The size of the file written.
+
+        void finish(int rows, int invalid, long bytes){
+            if(enabled){
+                BATCH_LATENCY.record(System.nanoTime() - started);
+                BYTES_WRITTEN.add(bytes);
+            }
+            event.end();
+            if(event.shouldCommit()){
+                event.rows = rows;
+                event.invalid = invalid;
+                event.bytesWritten = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    @Name("windloading.BatchStarted")
+    @Label("Batch Started")
+    @Category("Wind Loading")
+    @Description("A batch of scenarios started.")
+    static final class BatchStarted extends Event{
+        @Label("Operation")
+        String operation;
+
+        @Label("File")
+        String file;
+    }
+
+    @Name("windloading.BatchFinished")
+    @Label("Batch Finished")
+    @Category("Wind Loading")
+    @Description("A batch of scenarios finished, lasting the whole batch.")
+    static final class BatchFinished extends Event{
+        @Label("Operation")
+        String operation;
+
+        @Label("File")
+        String file;
+
+        @Label("Rows")
+        int rows;
+
+        @Label("Invalid Rows")
+        int invalid;
+
+        @Label("Bytes Written")
+        @DataAmount
+        long bytesWritten;
+    }
+
+    @Name("windloading.SlowEvaluation")
+    @Label("Slow Evaluation")
+    @Category("Wind Loading")
+    @Description("A single evaluation took at least the slow threshold.")
+    static final class SlowEvaluation extends Event{
+        @Label("Latency")
+        @Timespan
+        long latency;
+
+        @Label("Height")
+        double height;
+
+        @Label("Width")
+        double width;
+
+        @Label("Length")
+        double length;
+
+        @Label("Wind Velocity")
+        double windVelocity;
+    }
+}
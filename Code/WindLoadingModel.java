@@ -0,0 +1,519 @@
+// The WindLoadingModel class holds one structure whose properties are edited
+// one at a time, such as by a slider, and keeps every derived quantity of
+// WindLoadingEvaluator as a node of a dependency graph: the drag coefficient
+// feeds the wind pressure and the wind pressure the wind load, the total load
+// feeds the beam amount, beam height, moment of inertia and the flexural and
+// buckling strengths, and so on. Editing a property only marks the quantities
+// which depend on it as stale, and a stale quantity is recalculated the next
+// time it, or a quantity depending on it, is read. Changing the safety factor
+// therefore recalculates only the four safety-reduced strengths and the
+// verdicts, and changing the elastic modulus only the buckling strength, its
+// safety-reduced strength and the verdicts.
+//
+// Every quantity is calculated with exactly the operations of
+// WindLoadingEvaluator, so the results are bit-identical to a full
+// evaluation. The stale quantities are kept in one bit mask, so an edit costs
+// a few bit operations plus the quantities actually read afterwards. A
+// whole evaluation is only a few dozen operations, so an edit takes about as
+// long as one, 30 to 40 ns; WhatIfBenchmark compares the two. A
+// WindLoadingModel is not safe to share between threads.
+
+public final class WindLoadingModel{
+    public static final int DRAG_COEFFICIENT = 0;
+    public static final int WIND_PRESSURE = 1;
+    public static final int CROSS_SECTIONAL_AREA = 2;
+    public static final int WIND_LOAD = 3;
+    public static final int TENSILE_STRENGTH = 4;
+    public static final int SHEAR_STRENGTH = 5;
+    public static final int FLOORS = 6;
+    public static final int FLOOR_AREA = 7;
+    public static final int TOTAL_LOAD = 8;
+    public static final int BEAM_AMOUNT = 9;
+    public static final int BEAM_HEIGHT = 10;
+    public static final int BEAM_WIDTH = 11;
+    public static final int MOMENT_INERTIA = 12;
+    public static final int FLEXURAL_STRENGTH = 13;
+    public static final int EFFECTIVE_LENGTH = 14;
+    public static final int BUCKLING_STRENGTH = 15;
+    public static final int SAFETY_TENSILE_STRENGTH = 16;
+    public static final int SAFETY_SHEAR_STRENGTH = 17;
+    public static final int SAFETY_FLEXURAL_STRENGTH = 18;
+    public static final int SAFETY_BUCKLING_STRENGTH = 19;
+    public static final int VERDICTS = 20;
+    public static final int QUANTITIES = 21;
+
+    // Bit p of a mask stands for the property with ordinal p, and bit
+    // INPUTS + q for quantity q.
+    private static final int INPUTS = Property.values().length;
+
+    // The number of stale quantities above which get recalculates every
+    // quantity at once.
+    private static final int REFRESH_ALL = 8;
+
+    // The properties and quantities each quantity is calculated from.
+    private static final long[] SOURCES = new long[QUANTITIES];
+
+    // The quantities which depend on each bit, directly or through other
+    // quantities.
+    private static final long[] DEPENDENTS = new long[INPUTS + QUANTITIES];
+
+    // The quantities each quantity depends on, directly or through other
+    // quantities, including the quantity itself.
+    private static final long[] ANCESTORS = new long[QUANTITIES];
+
+    static{
+        sources(DRAG_COEFFICIENT, inputs(Property.HEIGHT, Property.WIDTH,
+                                         Property.LENGTH));
+        sources(WIND_PRESSURE, inputs(Property.AIR_DENSITY,
+                Property.WIND_VELOCITY) | quantity(DRAG_COEFFICIENT));
+        sources(CROSS_SECTIONAL_AREA, inputs(Property.HEIGHT,
+                                             Property.WIDTH));
+        sources(WIND_LOAD, quantity(WIND_PRESSURE)
+                           | quantity(CROSS_SECTIONAL_AREA));
+        sources(TENSILE_STRENGTH, inputs(Property.YIELD_STRENGTH)
+                                  | quantity(CROSS_SECTIONAL_AREA));
+        sources(SHEAR_STRENGTH, inputs(Property.AVERAGE_SHEAR_STRENGTH)
+                                | quantity(CROSS_SECTIONAL_AREA));
+        sources(FLOORS, inputs(Property.HEIGHT));
+        sources(FLOOR_AREA, inputs(Property.LENGTH, Property.WIDTH));
+        sources(TOTAL_LOAD, quantity(FLOORS) | quantity(FLOOR_AREA));
+        sources(BEAM_AMOUNT, inputs(Property.LOAD_CAPACITY)
+                             | quantity(TOTAL_LOAD));
+        sources(BEAM_HEIGHT, inputs(Property.HEIGHT)
+                             | quantity(BEAM_AMOUNT));
+        sources(BEAM_WIDTH, quantity(BEAM_HEIGHT));
+        sources(MOMENT_INERTIA, quantity(BEAM_WIDTH)
+                                | quantity(BEAM_HEIGHT));
+        sources(FLEXURAL_STRENGTH, inputs(Property.YIELD_STRENGTH)
+                | quantity(MOMENT_INERTIA) | quantity(BEAM_WIDTH));
+        sources(EFFECTIVE_LENGTH, quantity(BEAM_HEIGHT));
+        sources(BUCKLING_STRENGTH, inputs(Property.ELASTIC_MODULUS)
+                | quantity(MOMENT_INERTIA) | quantity(EFFECTIVE_LENGTH));
+        for(int mode = 0; mode < FailureMode.values().length; mode++){
+            sources(SAFETY_TENSILE_STRENGTH + mode,
+                    inputs(Property.SAFETY_FACTOR)
+                    | quantity(TENSILE_STRENGTH + strengthOffset(mode)));
+            sources(VERDICTS, quantity(TENSILE_STRENGTH + strengthOffset(mode))
+                    | quantity(SAFETY_TENSILE_STRENGTH + mode));
+        }
+        sources(VERDICTS, quantity(WIND_LOAD));
+
+        // The quantities are numbered so every quantity comes after its
+        // sources, so one pass from the last quantity to the first closes
+        // the dependents of every bit, and one pass from the first to the
+        // last the ancestors of every quantity.
+        for(int q = QUANTITIES - 1; q >= 0; q--){
+            long dependents = quantity(q) | DEPENDENTS[INPUTS + q];
+            for(int bit = 0; bit < INPUTS + QUANTITIES; bit++){
+                if((SOURCES[q] & 1L << bit) != 0){
+                    DEPENDENTS[bit] |= dependents;
+                }
+            }
+        }
+        for(int q = 0; q < QUANTITIES; q++){
+            ANCESTORS[q] = quantity(q);
+            for(int source = 0; source < q; source++){
+                if((SOURCES[q] & quantity(source)) != 0){
+                    ANCESTORS[q] |= ANCESTORS[source];
+                }
+            }
+        }
+    }
+
+    private final double[] inputs;
+    private final double[] values;
+    private long stale;
+    private long recalculations;
+
+    // Constructs a WindLoadingModel object for the following structure
+    // input: The starting properties of the structure, air and material.
+
+    public WindLoadingModel(WindLoadingInput input){
+        this.inputs = new double[INPUTS];
+        this.values = new double[QUANTITIES];
+        this.stale = -1L;
+        set(input);
+    }
+
+    // Behavior: Replaces every property of the structure at once.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: input: The new properties, with the wind velocity in m/s.
+
+    public void set(WindLoadingInput input){
+        set(Property.HEIGHT, input.getHeight());
+        set(Property.WIDTH, input.getWidth());
+        set(Property.LENGTH, input.getLength());
+        set(Property.AIR_DENSITY, input.getAirDensity());
+        set(Property.WIND_VELOCITY, input.getWindVelocity());
+        set(Property.SAFETY_FACTOR, input.getSafetyFactor());
+        set(Property.YIELD_STRENGTH, input.getYieldStrength());
+        set(Property.AVERAGE_SHEAR_STRENGTH,
+            input.getAverageShearStrength());
+        set(Property.ELASTIC_MODULUS, input.getElasticModulus());
+        set(Property.LOAD_CAPACITY, input.getLoadCapacity());
+    }
+
+    // Behavior: Edits one property and marks every quantity depending on it
+    // as stale. Setting a property to the value it already has changes
+    // nothing.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: property: The property to edit.
+    //             value: The new value, in the units of WindLoadingInput,
+    //                    so the wind velocity is in m/s.
+
+    public void set(Property property, double value){
+        int p = property.ordinal();
+        if(Double.doubleToLongBits(inputs[p])
+                != Double.doubleToLongBits(value)){
+            inputs[p] = value;
+            stale |= DEPENDENTS[p];
+        }
+    }
+
+    // Returns: The current value of a property, with the wind velocity in
+    // m/s.
+
+    public double get(Property property){
+        return inputs[property.ordinal()];
+    }
+
+    // Behavior: Reads a derived quantity, first recalculating it and every
+    // quantity it depends on which is stale. The stale quantities are
+    // recalculated in the order they are numbered, which puts every
+    // quantity after its sources, so each is calculated straight from the
+    // values of its sources. When more than REFRESH_ALL of them are stale,
+    // as after editing the height or width, one straight pass over every
+    // quantity is cheaper than visiting them one at a time.
+    // Exceptions: None
+    // Returns: The value of the quantity; the floors and beam amount are
+    //          whole numbers, and VERDICTS is the byte of Verdict.pack.
+    // Parameters: quantity: The quantity, such as WIND_LOAD.
+
+    public double get(int quantity){
+        long update = stale & ANCESTORS[quantity];
+        if(Long.bitCount(update) > REFRESH_ALL){
+            refreshAll();
+        }
+        else if(update != 0){
+            stale &= ~update;
+            recalculations += Long.bitCount(update);
+            do{
+                int q = Long.numberOfTrailingZeros(update) - INPUTS;
+                values[q] = calculate(q);
+                update &= update - 1;
+            }
+            while(update != 0);
+        }
+        return values[quantity];
+    }
+
+    // Behavior: Returns the verdict of one failure mode.
+    // Exceptions: None
+    // Returns: The verdict.
+    // Parameters: mode: The failure mode.
+
+    public Verdict getVerdict(FailureMode mode){
+        return Verdict.unpack((byte) get(VERDICTS), mode);
+    }
+
+    // Behavior: Checks whether a quantity will be recalculated when it is
+    // next read.
+    // Exceptions: None
+    // Returns: True if the quantity is stale.
+    // Parameters: quantity: The quantity.
+
+    public boolean isStale(int quantity){
+        return (stale & quantity(quantity)) != 0;
+    }
+
+    // Returns: How many times a quantity has been recalculated since the
+    // model was made.
+
+    public long getRecalculations(){
+        return this.recalculations;
+    }
+
+    // Behavior: The toInput method captures the current properties in an
+    // immutable WindLoadingInput.
+    //
+    // Exceptions: None
+    //
+    // Returns: A WindLoadingInput holding the current properties.
+    //
+    // Parameters: None
+
+    public WindLoadingInput toInput(){
+        return new WindLoadingInput(get(Property.HEIGHT),
+                get(Property.WIDTH), get(Property.LENGTH),
+                get(Property.WIND_VELOCITY), get(Property.AIR_DENSITY),
+                get(Property.SAFETY_FACTOR), get(Property.YIELD_STRENGTH),
+                get(Property.AVERAGE_SHEAR_STRENGTH),
+                get(Property.ELASTIC_MODULUS), get(Property.LOAD_CAPACITY));
+    }
+
+    // Behavior: The toResult method brings every quantity up to date and
+    // returns them as the WindLoadingResult WindLoadingEvaluator would give
+    // for the current properties.
+    //
+    // Exceptions: None
+    //
+    // Returns: A new WindLoadingResult.
+    //
+    // Parameters: None
+
+    public WindLoadingResult toResult(){
+        return new WindLoadingResult(toInput(), get(DRAG_COEFFICIENT),
+                get(WIND_PRESSURE), get(CROSS_SECTIONAL_AREA),
+                get(WIND_LOAD), (int) get(FLOORS), get(FLOOR_AREA),
+                get(TOTAL_LOAD), (int) get(BEAM_AMOUNT), get(BEAM_HEIGHT),
+                get(BEAM_WIDTH), get(MOMENT_INERTIA), get(TENSILE_STRENGTH),
+                get(SHEAR_STRENGTH), get(FLEXURAL_STRENGTH),
+                get(BUCKLING_STRENGTH));
+    }
+
+    // Behavior: The refreshAll method recalculates every quantity in one
+    // pass, with the operations of WindLoadingEvaluator in its order.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: None
+
+    private void refreshAll(){
+        double[] v = this.values;
+        double height = inputs[Property.HEIGHT.ordinal()];
+        double width = inputs[Property.WIDTH.ordinal()];
+        double length = inputs[Property.LENGTH.ordinal()];
+        double windVelocity = inputs[Property.WIND_VELOCITY.ordinal()];
+        double safetyFactor = inputs[Property.SAFETY_FACTOR.ordinal()];
+
+        double dragCoefficient = WindLoadingEvaluator.ALPHA * (height / width)
+                + WindLoadingEvaluator.BETA * (height / length);
+        double windPressure = 0.5 * inputs[Property.AIR_DENSITY.ordinal()]
+                * dragCoefficient * (windVelocity * windVelocity);
+        double crossSectionalArea = height * width;
+        double windLoad = windPressure * crossSectionalArea;
+        double floors = (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+        double floorArea = length * width;
+        double totalLoad = floors * floorArea
+                            * WindLoadingEvaluator.FLOOR_LOAD;
+        double beamAmount = (int)(totalLoad
+                            / inputs[Property.LOAD_CAPACITY.ordinal()]);
+        double beamHeight = height / beamAmount;
+        double beamWidth = beamHeight / 2;
+        double momentInertia = (beamWidth
+                        * (beamHeight * beamHeight * beamHeight)) / 12;
+        double effectiveLength =
+                WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                * beamHeight;
+
+        v[DRAG_COEFFICIENT] = dragCoefficient;
+        v[WIND_PRESSURE] = windPressure;
+        v[CROSS_SECTIONAL_AREA] = crossSectionalArea;
+        v[WIND_LOAD] = windLoad;
+        v[TENSILE_STRENGTH] = inputs[Property.YIELD_STRENGTH.ordinal()]
+                                * crossSectionalArea;
+        v[SHEAR_STRENGTH] = inputs[Property.AVERAGE_SHEAR_STRENGTH.ordinal()]
+                                * crossSectionalArea;
+        v[FLOORS] = floors;
+        v[FLOOR_AREA] = floorArea;
+        v[TOTAL_LOAD] = totalLoad;
+        v[BEAM_AMOUNT] = beamAmount;
+        v[BEAM_HEIGHT] = beamHeight;
+        v[BEAM_WIDTH] = beamWidth;
+        v[MOMENT_INERTIA] = momentInertia;
+        v[FLEXURAL_STRENGTH] = (inputs[Property.YIELD_STRENGTH.ordinal()]
+                                * momentInertia) / beamWidth;
+        v[EFFECTIVE_LENGTH] = effectiveLength;
+        v[BUCKLING_STRENGTH] = (WindLoadingEvaluator.PI_SQUARED
+                * inputs[Property.ELASTIC_MODULUS.ordinal()] * momentInertia)
+                / (effectiveLength * effectiveLength);
+        v[SAFETY_TENSILE_STRENGTH] = v[TENSILE_STRENGTH] / safetyFactor;
+        v[SAFETY_SHEAR_STRENGTH] = v[SHEAR_STRENGTH] / safetyFactor;
+        v[SAFETY_FLEXURAL_STRENGTH] = v[FLEXURAL_STRENGTH] / safetyFactor;
+        v[SAFETY_BUCKLING_STRENGTH] = v[BUCKLING_STRENGTH] / safetyFactor;
+        v[VERDICTS] = calculateSafety(VERDICTS);
+        recalculations += QUANTITIES;
+        stale = 0;
+    }
+
+    // Behavior: The calculate method calculates one quantity from the
+    // properties and the values of its sources, which must be up to date.
+    //
+    // Exceptions: None
+    //
+    // Returns: The value of the quantity.
+    //
+    // Parameters: quantity: The quantity to calculate.
+
+    private double calculate(int quantity){
+        if(quantity < TOTAL_LOAD){
+            return calculateWind(quantity);
+        }
+        else if(quantity < SAFETY_TENSILE_STRENGTH){
+            return calculateBeams(quantity);
+        }
+        return calculateSafety(quantity);
+    }
+
+    // Behavior: Calculates one of the wind, area, tensile, shear and floor
+    // quantities, apart from calculate so each method stays small enough to
+    // be inlined.
+    // Exceptions: None
+    // Returns: The value of the quantity.
+    // Parameters: quantity: The quantity to calculate.
+
+    private double calculateWind(int quantity){
+        double[] v = this.values;
+        double height = inputs[Property.HEIGHT.ordinal()];
+        switch(quantity){
+            case DRAG_COEFFICIENT:
+                return WindLoadingEvaluator.ALPHA
+                        * (height / inputs[Property.WIDTH.ordinal()])
+                        + WindLoadingEvaluator.BETA
+                        * (height / inputs[Property.LENGTH.ordinal()]);
+            case WIND_PRESSURE:
+                double windVelocity =
+                        inputs[Property.WIND_VELOCITY.ordinal()];
+                return 0.5 * inputs[Property.AIR_DENSITY.ordinal()]
+                        * v[DRAG_COEFFICIENT]
+                        * (windVelocity * windVelocity);
+            case CROSS_SECTIONAL_AREA:
+                return height * inputs[Property.WIDTH.ordinal()];
+            case WIND_LOAD:
+                return v[WIND_PRESSURE] * v[CROSS_SECTIONAL_AREA];
+            case TENSILE_STRENGTH:
+                return inputs[Property.YIELD_STRENGTH.ordinal()]
+                        * v[CROSS_SECTIONAL_AREA];
+            case SHEAR_STRENGTH:
+                return inputs[Property.AVERAGE_SHEAR_STRENGTH.ordinal()]
+                        * v[CROSS_SECTIONAL_AREA];
+            case FLOORS:
+                return (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+            default:
+                return inputs[Property.LENGTH.ordinal()]
+                        * inputs[Property.WIDTH.ordinal()];
+        }
+    }
+
+    // Behavior: Calculates one of the quantities from the total load to the
+    // buckling strength, apart from calculate so each method stays small
+    // enough to be inlined.
+    // Exceptions: None
+    // Returns: The value of the quantity.
+    // Parameters: quantity: The quantity to calculate.
+
+    private double calculateBeams(int quantity){
+        double[] v = this.values;
+        switch(quantity){
+            case TOTAL_LOAD:
+                return v[FLOORS] * v[FLOOR_AREA]
+                        * WindLoadingEvaluator.FLOOR_LOAD;
+            case BEAM_AMOUNT:
+                return (int)(v[TOTAL_LOAD]
+                             / inputs[Property.LOAD_CAPACITY.ordinal()]);
+            case BEAM_HEIGHT:
+                return inputs[Property.HEIGHT.ordinal()] / v[BEAM_AMOUNT];
+            case BEAM_WIDTH:
+                return v[BEAM_HEIGHT] / 2;
+            case MOMENT_INERTIA:
+                double beamHeight = v[BEAM_HEIGHT];
+                return (v[BEAM_WIDTH]
+                        * (beamHeight * beamHeight * beamHeight)) / 12;
+            case FLEXURAL_STRENGTH:
+                return (inputs[Property.YIELD_STRENGTH.ordinal()]
+                        * v[MOMENT_INERTIA]) / v[BEAM_WIDTH];
+            case EFFECTIVE_LENGTH:
+                return WindLoadingEvaluator.COLUMN_EFFECTIVE_LENGTH_FACTOR
+                        * v[BEAM_HEIGHT];
+            default:
+                double effectiveLength = v[EFFECTIVE_LENGTH];
+                return (WindLoadingEvaluator.PI_SQUARED
+                        * inputs[Property.ELASTIC_MODULUS.ordinal()]
+                        * v[MOMENT_INERTIA])
+                        / (effectiveLength * effectiveLength);
+        }
+    }
+
+    // Behavior: Calculates one of the safety-reduced strengths or the
+    // verdicts.
+    // Exceptions: None
+    // Returns: The value of the quantity.
+    // Parameters: quantity: The quantity to calculate.
+
+    private double calculateSafety(int quantity){
+        double[] v = this.values;
+        switch(quantity){
+            case SAFETY_TENSILE_STRENGTH:
+                return v[TENSILE_STRENGTH]
+                        / inputs[Property.SAFETY_FACTOR.ordinal()];
+            case SAFETY_SHEAR_STRENGTH:
+                return v[SHEAR_STRENGTH]
+                        / inputs[Property.SAFETY_FACTOR.ordinal()];
+            case SAFETY_FLEXURAL_STRENGTH:
+                return v[FLEXURAL_STRENGTH]
+                        / inputs[Property.SAFETY_FACTOR.ordinal()];
+            case SAFETY_BUCKLING_STRENGTH:
+                return v[BUCKLING_STRENGTH]
+                        / inputs[Property.SAFETY_FACTOR.ordinal()];
+            default:
+                double windLoad = v[WIND_LOAD];
+                return ScalarBatchKernel.code(windLoad, v[TENSILE_STRENGTH],
+                                            v[SAFETY_TENSILE_STRENGTH])
+                    | ScalarBatchKernel.code(windLoad, v[SHEAR_STRENGTH],
+                                            v[SAFETY_SHEAR_STRENGTH]) << 2
+                    | ScalarBatchKernel.code(windLoad, v[FLEXURAL_STRENGTH],
+                                            v[SAFETY_FLEXURAL_STRENGTH]) << 4
+                    | ScalarBatchKernel.code(windLoad, v[BUCKLING_STRENGTH],
+                                            v[SAFETY_BUCKLING_STRENGTH]) << 6;
+        }
+    }
+
+    // Behavior: Finds the strength quantity of a failure mode, whose
+    // strengths are not numbered one after another.
+    // Exceptions: None
+    // Returns: The strength quantity minus TENSILE_STRENGTH.
+    // Parameters: mode: The ordinal of the failure mode.
+
+    private static int strengthOffset(int mode){
+        switch(mode){
+            case 0:
+                return 0;
+            case 1:
+                return SHEAR_STRENGTH - TENSILE_STRENGTH;
+            case 2:
+                return FLEXURAL_STRENGTH - TENSILE_STRENGTH;
+            default:
+                return BUCKLING_STRENGTH - TENSILE_STRENGTH;
+        }
+    }
+
+    // Behavior: Adds sources to a quantity.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: quantity: The quantity.
+    //             sources: The mask of its sources.
+
+    private static void sources(int quantity, long sources){
+        SOURCES[quantity] |= sources;
+    }
+
+    // Returns: The mask of some properties.
+
+    private static long inputs(Property... properties){
+        long mask = 0;
+        for(Property property : properties){
+            mask |= 1L << property.ordinal();
+        }
+        return mask;
+    }
+
+    // Returns: The mask of one quantity.
+
+    private static long quantity(int quantity){
+        return 1L << INPUTS + quantity;
+    }
+}
@@ -0,0 +1,104 @@
+import java.io.*;
+
+// The WindLoadingReporter class prints a WindLoadingResult in the same format
+// as the interactive calculator: every derived quantity followed by whether
+// the structure survives each failure mode.
+
+public class WindLoadingReporter{
+    private final PrintStream output;
+
+    // Constructs a WindLoadingReporter object for the following stream
+    // output: The stream the report is printed to.
+
+    public WindLoadingReporter(PrintStream output){
+        this.output = output;
+    }
+
+    // Behavior: The report method prints every quantity of a result and the
+    // verdict of each failure mode.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: result: The result to print.
+
+    public void report(WindLoadingResult result){
+        double safetyFactor = result.getInput().getSafetyFactor();
+
+        printLine("The drag coefficient is: " + result.getDragCoefficient());
+        printLine("The wind pressure is: " + result.getWindPressure()
+                    + " N/m^2");
+        printLine("The cross sectional area is: "
+                    + result.getCrossSectionalArea() + " m^2");
+        printLine("\nWind Load: " + result.getWindLoad() + " N");
+        printLine("The tensile strength is: "
+                    + result.getStrength(FailureMode.TENSILE) + " N");
+        printLine("The shear strength is: "
+                    + result.getStrength(FailureMode.SHEAR) + " N");
+        printLine("There are " + result.getFloors()
+                    + " floors in your building");
+        printLine("The floor area is: " + result.getFloorArea() + " m^2");
+        printLine("The total load is: " + result.getTotalLoad() + " N");
+        printLine("There are " + result.getBeamAmount()
+                    + " beams in your building");
+        printLine("The beam height is: " + result.getBeamHeight() + " m");
+        printLine("The beam width is: " + result.getBeamWidth() + " m");
+        printLine("The moment of inertia is: " + result.getMomentInertia()
+                    + " m^4");
+        printLine("The maximum flexural strength is: "
+                    + result.getStrength(FailureMode.FLEXURAL) + " N");
+        printLine("The buckling strength is: "
+                    + result.getStrength(FailureMode.BUCKLING) + "  N");
+        printLine("The tensile strength with a safety facter of "
+                    + safetyFactor + " is: "
+                    + result.getSafetyStrength(FailureMode.TENSILE) + " N");
+        printLine("The shear strength with a safey factor of "
+                    + safetyFactor + " is: "
+                    + result.getSafetyStrength(FailureMode.SHEAR) + " N");
+        printLine("The maximum flexural strength with a safety factor of "
+                    + safetyFactor + " is: "
+                    + result.getSafetyStrength(FailureMode.FLEXURAL) + " N");
+        printLine("The buckling strength with a safety factor of "
+                    + safetyFactor + " is: "
+                    + result.getSafetyStrength(FailureMode.BUCKLING) + " N");
+
+        for(FailureMode mode : FailureMode.values()){
+            printLine(describe(result.getVerdict(mode), mode));
+        }
+    }
+
+    // Behavior: The describe method explains a verdict for a failure mode.
+    //
+    // Exceptions: None
+    //
+    // Returns: A sentence describing whether the structure survives.
+    //
+    // Parameters: verdict: The verdict of the failure mode.
+    //             mode: The failure mode.
+
+    public static String describe(Verdict verdict, FailureMode mode){
+        if(verdict == Verdict.FAIL){
+            return "Structural failure will occur due to a lack of "
+                    + mode.getDescription() + ".";
+        }
+        else if(verdict == Verdict.MARGINAL){
+            return "The structure would survive, but is not deemed safe due "
+                    + "to a lack of " + mode.getDescription() + ".";
+        }
+        else{
+            return "The structure is deemed safe, as the wind load is less "
+                    + "than the " + mode.getDescription() + ".";
+        }
+    }
+
+    // Behavior: Prints a line of the report followed by a blank line.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: line: The line to print.
+
+    private void printLine(String line){
+        output.println(line);
+        output.println();
+    }
+}
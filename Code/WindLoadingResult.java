@@ -0,0 +1,185 @@
+// The WindLoadingResult class is the immutable outcome of a single wind
+// loading calculation. It holds the input it was calculated from, every
+// derived quantity (drag coefficient, wind pressure, wind load, the strengths
+// of the structure and the strengths reduced by the safety factor) and the
+// verdict for each failure mode.
+
+public final class WindLoadingResult{
+    private final WindLoadingInput input;
+    private final double dragCoefficient;
+    private final double windPressure;
+    private final double crossSectionalArea;
+    private final double windLoad;
+    private final int floors;
+    private final double floorArea;
+    private final double totalLoad;
+    private final int beamAmount;
+    private final double beamHeight;
+    private final double beamWidth;
+    private final double momentInertia;
+    private final double tensileStrength;
+    private final double shearStrength;
+    private final double maximumFlexuralStrength;
+    private final double bucklingStrength;
+    private final double safetyTensileStrength;
+    private final double safetyShearStrength;
+    private final double safetyMaximumFlexuralStrength;
+    private final double safetyBucklingStrength;
+    private final Verdict tensileVerdict;
+    private final Verdict shearVerdict;
+    private final Verdict flexuralVerdict;
+    private final Verdict bucklingVerdict;
+
+    // Constructs a WindLoadingResult object from the quantities calculated by
+    // WindLoadingEvaluator. The safety-reduced strengths and the verdicts are
+    // derived from the strengths and the safety factor of the input.
+
+    WindLoadingResult(WindLoadingInput input, double dragCoefficient,
+                      double windPressure, double crossSectionalArea,
+                      double windLoad, int floors, double floorArea,
+                      double totalLoad, int beamAmount, double beamHeight,
+                      double beamWidth, double momentInertia,
+                      double tensileStrength, double shearStrength,
+                      double maximumFlexuralStrength, double bucklingStrength){
+        double safetyFactor = input.getSafetyFactor();
+
+        this.input = input;
+        this.dragCoefficient = dragCoefficient;
+        this.windPressure = windPressure;
+        this.crossSectionalArea = crossSectionalArea;
+        this.windLoad = windLoad;
+        this.floors = floors;
+        this.floorArea = floorArea;
+        this.totalLoad = totalLoad;
+        this.beamAmount = beamAmount;
+        this.beamHeight = beamHeight;
+        this.beamWidth = beamWidth;
+        this.momentInertia = momentInertia;
+        this.tensileStrength = tensileStrength;
+        this.shearStrength = shearStrength;
+        this.maximumFlexuralStrength = maximumFlexuralStrength;
+        this.bucklingStrength = bucklingStrength;
+        this.safetyTensileStrength = tensileStrength / safetyFactor;
+        this.safetyShearStrength = shearStrength / safetyFactor;
+        this.safetyMaximumFlexuralStrength = maximumFlexuralStrength
+                                                / safetyFactor;
+        this.safetyBucklingStrength = bucklingStrength / safetyFactor;
+        this.tensileVerdict = Verdict.of(windLoad, tensileStrength,
+                                        this.safetyTensileStrength);
+        this.shearVerdict = Verdict.of(windLoad, shearStrength,
+                                        this.safetyShearStrength);
+        this.flexuralVerdict = Verdict.of(windLoad, maximumFlexuralStrength,
+                                        this.safetyMaximumFlexuralStrength);
+        this.bucklingVerdict = Verdict.of(windLoad, bucklingStrength,
+                                        this.safetyBucklingStrength);
+    }
+
+    public WindLoadingInput getInput(){
+        return this.input;
+    }
+
+    public double getDragCoefficient(){
+        return this.dragCoefficient;
+    }
+
+    // Returns: The wind pressure in N/m^2.
+
+    public double getWindPressure(){
+        return this.windPressure;
+    }
+
+    // Returns: The cross sectional area in m^2.
+
+    public double getCrossSectionalArea(){
+        return this.crossSectionalArea;
+    }
+
+    // Returns: The wind load in N.
+
+    public double getWindLoad(){
+        return this.windLoad;
+    }
+
+    public int getFloors(){
+        return this.floors;
+    }
+
+    public double getFloorArea(){
+        return this.floorArea;
+    }
+
+    public double getTotalLoad(){
+        return this.totalLoad;
+    }
+
+    public int getBeamAmount(){
+        return this.beamAmount;
+    }
+
+    public double getBeamHeight(){
+        return this.beamHeight;
+    }
+
+    public double getBeamWidth(){
+        return this.beamWidth;
+    }
+
+    public double getMomentInertia(){
+        return this.momentInertia;
+    }
+
+    // Behavior: Returns the strength of the structure for a failure mode.
+    // Exceptions: None
+    // Returns: The tensile, shear, maximum flexural or buckling strength in N.
+    // Parameters: mode: The failure mode.
+
+    public double getStrength(FailureMode mode){
+        switch(mode){
+            case TENSILE:
+                return this.tensileStrength;
+            case SHEAR:
+                return this.shearStrength;
+            case FLEXURAL:
+                return this.maximumFlexuralStrength;
+            default:
+                return this.bucklingStrength;
+        }
+    }
+
+    // Behavior: Returns the strength of the structure for a failure mode,
+    // divided by the safety factor.
+    // Exceptions: None
+    // Returns: The safety-reduced strength in N.
+    // Parameters: mode: The failure mode.
+
+    public double getSafetyStrength(FailureMode mode){
+        switch(mode){
+            case TENSILE:
+                return this.safetyTensileStrength;
+            case SHEAR:
+                return this.safetyShearStrength;
+            case FLEXURAL:
+                return this.safetyMaximumFlexuralStrength;
+            default:
+                return this.safetyBucklingStrength;
+        }
+    }
+
+    // Behavior: Returns the verdict for a failure mode.
+    // Exceptions: None
+    // Returns: Whether the structure passes, is marginal or fails.
+    // Parameters: mode: The failure mode.
+
+    public Verdict getVerdict(FailureMode mode){
+        switch(mode){
+            case TENSILE:
+                return this.tensileVerdict;
+            case SHEAR:
+                return this.shearVerdict;
+            case FLEXURAL:
+                return this.flexuralVerdict;
+            default:
+                return this.bucklingVerdict;
+        }
+    }
+}
@@ -0,0 +1,752 @@
+import com.sun.net.httpserver.*;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// The WindLoadingService class is a long-running HTTP service which answers
+// wind loading questions over JSON, using the same physics as WindLoading and
+// the same data files as WindLoadingBatch. It has five endpoints:
+//
+//   GET /catalog             The materials and the building ranges.
+//   GET /catalog/<material>  The building and material ranges of a material.
+//   GET or POST /evaluate    Evaluates one scenario, given as query
+//                            parameters or as a JSON object.
+//   POST /batch              Evaluates a JSON array of scenarios at once.
+//   GET /metrics             A snapshot of WindLoadingMetrics.
+//
+// A scenario names its material and gives every property, with the wind
+// velocity in km/h like the data files. Property names may be written as in
+// the data files or in camel case, so "Wind Velocity", "windVelocity" and
+// "wind_velocity" are the same. A scenario which is out of range is answered
+// with a JSON error naming the property, the value and the range, instead of
+// asking again like getValidInput.
+//
+// The data files are read once, when the service is constructed, and every
+// catalog response is written then too. Each request runs on its own virtual
+// thread when the JDK has them, and on a pooled thread otherwise, so
+// thousands of requests can be in flight at once.
+
+public class WindLoadingService{
+    public static final int DEFAULT_PORT = 8080;
+
+    // How many connections may wait to be accepted.
+    private static final int BACKLOG = 4096;
+
+    // The largest request body read, in bytes.
+    private static final int MAXIMUM_BODY = 64 << 20;
+
+    // The most scenarios a batch may hold, and how many of their results
+    // the response is sized for before it grows.
+    private static final int MAXIMUM_ITEMS = 100000;
+    private static final int PRESIZED_ITEMS = 1024;
+
+    private static final String JSON_TYPE = "application/json";
+
+    // The property turning off Nagle's algorithm in the JDK server. Without
+    // it the body of a response, written after its headers, waits for the
+    // delayed acknowledgement of the headers, adding about 40 ms to every
+    // request on a kept-alive connection.
+    private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+
+    // The property each normalized field name refers to.
+    private static final Map<String, Property> FIELDS = fields();
+
+    private final String[] materialNames;
+    private final Map<String, PropertyTable> ranges;
+    private final Map<String, byte[]> catalogResponses;
+    private final byte[] catalogResponse;
+    private final WindLoadingEvaluator evaluator;
+    private final BatchKernel kernel;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Constructs a WindLoadingService object for the following catalog
+    // catalog: The catalog holding the building data and the data of every
+    //          material a scenario may use. The ranges are looked up once,
+    //          so later changes to the data files are not seen.
+    // evaluator: The evaluator used for single scenarios.
+
+    public WindLoadingService(MaterialCatalog catalog,
+                              WindLoadingEvaluator evaluator)
+                                            throws FileNotFoundException{
+        List<String> names = catalog.getMaterialNames();
+        this.materialNames = names.toArray(new String[names.size()]);
+        this.ranges = new HashMap<String, PropertyTable>();
+        this.catalogResponses = new HashMap<String, byte[]>();
+        for(String name : materialNames){
+            PropertyTable table = catalog.getRanges(name);
+            String key = name.toLowerCase(Locale.ROOT);
+            this.ranges.put(key, table);
+
+            StringBuilder json = new StringBuilder("{\"material\":");
+            Json.writeString(json, name);
+            json.append(",\"ranges\":");
+            writeRanges(json, table);
+            this.catalogResponses.put(key, bytes(json.append('}')));
+        }
+
+        StringBuilder json = new StringBuilder("{\"materials\":[");
+        for(int m = 0; m < materialNames.length; m++){
+            if(m > 0){
+                json.append(',');
+            }
+            Json.writeString(json, materialNames[m]);
+        }
+        json.append("],\"building\":");
+        writeRanges(json, catalog.getBuilding());
+        this.catalogResponse = bytes(json.append('}'));
+
+        this.evaluator = evaluator;
+        this.kernel = BatchKernel.best();
+    }
+
+    // Behavior: The start method starts answering requests at an address.
+    // Binding to port 0 picks a free port, which getPort then returns.
+    //
+    // Exceptions: Throws an IOException if the address cannot be bound.
+    // Throws an IllegalStateException if the service is already started.
+    //
+    // Returns: None
+    //
+    // Parameters: address: The address to listen at, such as the loopback
+    //                      address and DEFAULT_PORT.
+
+    public synchronized void start(InetSocketAddress address)
+                                            throws IOException{
+        if(server != null){
+            throw new IllegalStateException("The service is already started.");
+        }
+        if(System.getProperty(NO_DELAY) == null){
+            System.setProperty(NO_DELAY, "true");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        server.createContext("/", this::handle);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    // Behavior: Stops answering requests, waiting at most the given number
+    // of seconds for the requests in flight to finish.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: delay: The most seconds to wait.
+
+    public synchronized void stop(int delay){
+        if(server != null){
+            server.stop(delay);
+            executor.shutdown();
+            server = null;
+            executor = null;
+        }
+    }
+
+    // Returns: The port the service listens at.
+
+    public synchronized int getPort(){
+        if(server == null){
+            throw new IllegalStateException("The service is not started.");
+        }
+        return server.getAddress().getPort();
+    }
+
+    // Behavior: The newRequestExecutor method creates the executor requests
+    // run on. On JDK 21 and later it starts one virtual thread per request,
+    // so blocked requests cost no platform threads. The program is built for
+    // JDK 17, so the method is looked up by reflection, and a cached thread
+    // pool is used when it is missing.
+    //
+    // Exceptions: None
+    //
+    // Returns: The executor.
+    //
+    // Parameters: None
+
+    static ExecutorService newRequestExecutor(){
+        try{
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch(ReflectiveOperationException | RuntimeException e){
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    // Behavior: The handle method answers one request, choosing the
+    // endpoint from the path. Errors in the request are answered with a JSON
+    // object whose "error" member describes the problem.
+    //
+    // Exceptions: Throws an IOException if the response cannot be sent.
+    //
+    // Returns: None
+    //
+    // Parameters: exchange: The request and its response.
+
+    private void handle(HttpExchange exchange) throws IOException{
+        try{
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if(path.equals("/evaluate")){
+                if(method.equals("GET")){
+                    evaluate(exchange, query(exchange.getRequestURI()));
+                }
+                else if(method.equals("POST")){
+                    Object body = readBody(exchange);
+                    if(!(body instanceof Map)){
+                        respondError(exchange, 400,
+                                     "The body must be a JSON object.");
+                        return;
+                    }
+                    evaluate(exchange, (Map<?, ?>) body);
+                }
+                else{
+                    respondError(exchange, 405, "Use GET or POST.");
+                }
+            }
+            else if(path.equals("/batch")){
+                if(!method.equals("POST")){
+                    respondError(exchange, 405, "Use POST.");
+                    return;
+                }
+                Object body = readBody(exchange);
+                if(!(body instanceof List)){
+                    respondError(exchange, 400,
+                                 "The body must be a JSON array.");
+                    return;
+                }
+                batch(exchange, (List<?>) body);
+            }
+            else if(path.equals("/catalog") || path.startsWith("/catalog/")){
+                if(!method.equals("GET")){
+                    respondError(exchange, 405, "Use GET.");
+                    return;
+                }
+                catalog(exchange, path);
+            }
+            else if(path.equals("/metrics")){
+                if(!method.equals("GET")){
+                    respondError(exchange, 405, "Use GET.");
+                    return;
+                }
+                respond(exchange, 200, WindLoadingMetrics.snapshot()
+                                        .getBytes(StandardCharsets.UTF_8));
+            }
+            else{
+                respondError(exchange, 404, "Unknown endpoint " + path);
+            }
+        }
+        catch(TooLarge e){
+            respondError(exchange, 413, e.getMessage());
+        }
+        catch(IllegalArgumentException e){
+            // Thrown by Json.parse for a malformed body.
+            respondError(exchange, 400, e.getMessage());
+        }
+        catch(RuntimeException | StackOverflowError e){
+            respondError(exchange, 500, "The request could not be "
+                         + "answered: " + e);
+        }
+        finally{
+            exchange.close();
+        }
+    }
+
+    // Behavior: Answers a request for the catalog or for the ranges of one
+    // material.
+    // Exceptions: Throws an IOException if the response cannot be sent.
+    // Returns: None
+    // Parameters: exchange: The request and its response.
+    //             path: The path of the request.
+
+    private void catalog(HttpExchange exchange, String path)
+                                            throws IOException{
+        if(path.equals("/catalog") || path.equals("/catalog/")){
+            respond(exchange, 200, catalogResponse);
+            return;
+        }
+        String name = path.substring("/catalog/".length());
+        byte[] response = catalogResponses.get(name.toLowerCase(Locale.ROOT));
+        if(response == null){
+            StringBuilder json = new StringBuilder();
+            writeUnknownMaterial(json, name);
+            respond(exchange, 404, bytes(json));
+            return;
+        }
+        respond(exchange, 200, response);
+    }
+
+    // Behavior: Answers a request to evaluate one scenario with the full
+    // result of the evaluator, or with the problem of the scenario.
+    // Exceptions: Throws an IOException if the response cannot be sent.
+    // Returns: None
+    // Parameters: exchange: The request and its response.
+    //             fields: The members of the scenario.
+
+    private void evaluate(HttpExchange exchange, Map<?, ?> fields)
+                                            throws IOException{
+        StringBuilder json = new StringBuilder(512);
+        Scenario scenario;
+        try{
+            scenario = readScenario(fields);
+        }
+        catch(InvalidScenario e){
+            e.write(json);
+            respond(exchange, 400, bytes(json));
+            return;
+        }
+
+        WindLoadingResult result = evaluator.evaluate(scenario.input);
+        json.append("{\"material\":");
+        Json.writeString(json, scenario.material);
+        writeMember(json, "dragCoefficient", result.getDragCoefficient());
+        writeMember(json, "windPressure", result.getWindPressure());
+        writeMember(json, "crossSectionalArea",
+                    result.getCrossSectionalArea());
+        writeMember(json, "windLoad", result.getWindLoad());
+        json.append(",\"floors\":").append(result.getFloors());
+        writeMember(json, "totalLoad", result.getTotalLoad());
+        json.append(",\"beamAmount\":").append(result.getBeamAmount());
+        writeMember(json, "momentInertia", result.getMomentInertia());
+        json.append(",\"modes\":{");
+        for(FailureMode mode : FailureMode.values()){
+            writeMode(json, mode, result.getStrength(mode),
+                      result.getSafetyStrength(mode), result.getVerdict(mode));
+        }
+        json.append("}}");
+        respond(exchange, 200, bytes(json));
+    }
+
+    // Behavior: The batch method answers a request to evaluate many
+    // scenarios. The valid scenarios are evaluated together with the
+    // BatchKernel, like WindLoadingBatch does, and the response holds one
+    // result or error per scenario, in the order of the request.
+    //
+    // Exceptions: Throws a TooLarge if there are more than MAXIMUM_ITEMS
+    // scenarios, and an IOException if the response cannot be sent.
+    //
+    // Returns: None
+    //
+    // Parameters: exchange: The request and its response.
+    //             items: The scenarios of the request.
+
+    private void batch(HttpExchange exchange, List<?> items)
+                                            throws IOException{
+        int count = items.size();
+        if(count > MAXIMUM_ITEMS){
+            throw new TooLarge("A batch must hold at most " + MAXIMUM_ITEMS
+                               + " scenarios.");
+        }
+        String[] materials = new String[count];
+        InvalidScenario[] errors = new InvalidScenario[count];
+        ScenarioColumns scenarios = new ScenarioColumns(count);
+        for(int i = 0; i < count; i++){
+            try{
+                if(!(items.get(i) instanceof Map)){
+                    throw new InvalidScenario("A scenario must be a JSON "
+                                              + "object", null, null, null);
+                }
+                Scenario scenario = readScenario((Map<?, ?>) items.get(i));
+                materials[i] = scenario.material;
+                scenarios.set(i, scenario.input);
+            }
+            catch(InvalidScenario e){
+                errors[i] = e;
+            }
+        }
+
+        ResultColumns results = new ResultColumns(count);
+        kernel.evaluateAll(scenarios, results);
+
+        StringBuilder json = new StringBuilder(128
+                                + 512 * Math.min(count, PRESIZED_ITEMS));
+        int invalid = 0;
+        json.append("{\"results\":[");
+        for(int i = 0; i < count; i++){
+            if(i > 0){
+                json.append(',');
+            }
+            json.append("{\"row\":").append(i + 1);
+            if(errors[i] != null){
+                json.append(",\"error\":");
+                errors[i].write(json);
+                json.append('}');
+                invalid++;
+                continue;
+            }
+            json.append(",\"material\":");
+            Json.writeString(json, materials[i]);
+            writeMember(json, "dragCoefficient",
+                        results.get(ResultColumns.DRAG_COEFFICIENT, i));
+            writeMember(json, "windPressure",
+                        results.get(ResultColumns.WIND_PRESSURE, i));
+            writeMember(json, "crossSectionalArea",
+                        results.get(ResultColumns.CROSS_SECTIONAL_AREA, i));
+            writeMember(json, "windLoad",
+                        results.get(ResultColumns.WIND_LOAD, i));
+            writeMember(json, "momentInertia",
+                        results.get(ResultColumns.MOMENT_INERTIA, i));
+            json.append(",\"modes\":{");
+            for(FailureMode mode : FailureMode.values()){
+                writeMode(json, mode,
+                    results.get(ResultColumns.TENSILE_STRENGTH
+                                + mode.ordinal(), i),
+                    results.get(ResultColumns.SAFETY_TENSILE_STRENGTH
+                                + mode.ordinal(), i),
+                    results.getVerdict(i, mode));
+            }
+            json.append("}}");
+        }
+        json.append("],\"invalid\":").append(invalid).append('}');
+        respond(exchange, 200, bytes(json));
+    }
+
+    // Behavior: The readScenario method reads the material and properties
+    // of a scenario and checks every property against the ranges of the
+    // material, the way WindLoadingBatch checks a row of a scenario file.
+    //
+    // Exceptions: Throws an InvalidScenario describing the first problem
+    // found: an unknown field or material, or a property which is missing,
+    // not a number or out of range.
+    //
+    // Returns: The material and input of the scenario.
+    //
+    // Parameters: fields: The members of the scenario, whose values are
+    //                     numbers or strings.
+
+    private Scenario readScenario(Map<?, ?> fields){
+        Object materialValue = null;
+        Object[] values = new Object[Property.values().length];
+        for(Map.Entry<?, ?> field : fields.entrySet()){
+            String key = normalize(String.valueOf(field.getKey()));
+            if(key.equals("material")){
+                materialValue = field.getValue();
+                continue;
+            }
+            Property property = FIELDS.get(key);
+            if(property == null){
+                throw new InvalidScenario("Unknown field "
+                        + field.getKey(), String.valueOf(field.getKey()),
+                        null, null);
+            }
+            values[property.ordinal()] = field.getValue();
+        }
+
+        if(materialValue == null){
+            throw new InvalidScenario("Material is missing", "Material",
+                                      null, null);
+        }
+        String material = String.valueOf(materialValue).trim();
+        PropertyTable table = ranges.get(material.toLowerCase(Locale.ROOT));
+        if(table == null){
+            throw new InvalidScenario("Unknown material", "Material",
+                                      material, null);
+        }
+
+        double[] numbers = new double[values.length];
+        for(Property property : Property.values()){
+            Object value = values[property.ordinal()];
+            String name = property.getName();
+            if(value == null){
+                throw new InvalidScenario(name + " is missing", name, null,
+                                          null);
+            }
+            double number;
+            if(value instanceof Double){
+                number = (Double) value;
+            }
+            else{
+                try{
+                    number = Double.parseDouble(String.valueOf(value).trim());
+                }
+                catch(NumberFormatException e){
+                    throw new InvalidScenario(name + " is not a number", name,
+                                              value, null);
+                }
+            }
+            if(!table.contains(property, number)){
+                PropertyRange range = table.get(property);
+                throw new InvalidScenario(name + " must be between "
+                        + range.getMinimum() + " and " + range.getMaximum()
+                        + " " + range.getUnit(), name, number, range);
+            }
+            numbers[property.ordinal()] = number;
+        }
+
+        WindLoadingInput input = new WindLoadingInput(
+                numbers[Property.HEIGHT.ordinal()],
+                numbers[Property.WIDTH.ordinal()],
+                numbers[Property.LENGTH.ordinal()],
+                numbers[Property.WIND_VELOCITY.ordinal()] / 3.6,
+                numbers[Property.AIR_DENSITY.ordinal()],
+                numbers[Property.SAFETY_FACTOR.ordinal()],
+                numbers[Property.YIELD_STRENGTH.ordinal()],
+                numbers[Property.AVERAGE_SHEAR_STRENGTH.ordinal()],
+                numbers[Property.ELASTIC_MODULUS.ordinal()],
+                numbers[Property.LOAD_CAPACITY.ordinal()]);
+        return new Scenario(table.getName(), input);
+    }
+
+    // Behavior: Reads the body of a request as JSON.
+    // Exceptions: Throws an IOException if the body cannot be read, a
+    // TooLarge if it is longer than MAXIMUM_BODY and an
+    // IllegalArgumentException if it is not valid JSON.
+    // Returns: The value of the body.
+    // Parameters: exchange: The request.
+
+    private static Object readBody(HttpExchange exchange) throws IOException{
+        InputStream input = exchange.getRequestBody();
+        byte[] body = input.readNBytes(MAXIMUM_BODY + 1);
+        if(body.length > MAXIMUM_BODY){
+            throw new TooLarge("The body must be at most " + MAXIMUM_BODY
+                               + " bytes.");
+        }
+        return Json.parse(new String(body, StandardCharsets.UTF_8));
+    }
+
+    // Behavior: Reads the query parameters of a request.
+    // Exceptions: None
+    // Returns: The parameters by name, in order.
+    // Parameters: uri: The URI of the request.
+
+    private static Map<String, String> query(URI uri){
+        Map<String, String> parameters = new LinkedHashMap<String, String>();
+        String query = uri.getRawQuery();
+        if(query == null || query.isEmpty()){
+            return parameters;
+        }
+        for(String pair : query.split("&")){
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                           URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    // Behavior: Sends a JSON response.
+    // Exceptions: Throws an IOException if the response cannot be sent.
+    // Returns: None
+    // Parameters: exchange: The request and its response.
+    //             status: The HTTP status code.
+    //             body: The JSON of the response.
+
+    private static void respond(HttpExchange exchange, int status,
+                                byte[] body) throws IOException{
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        OutputStream output = exchange.getResponseBody();
+        output.write(body);
+        output.close();
+    }
+
+    // Behavior: Sends a JSON error which only has a message.
+    // Exceptions: Throws an IOException if the response cannot be sent.
+    // Returns: None
+    // Parameters: exchange: The request and its response.
+    //             status: The HTTP status code.
+    //             message: The problem with the request.
+
+    private static void respondError(HttpExchange exchange, int status,
+                                     String message) throws IOException{
+        StringBuilder json = new StringBuilder("{\"error\":");
+        Json.writeString(json, message);
+        respond(exchange, status, bytes(json.append('}')));
+    }
+
+    // Behavior: Writes the error for an unknown material, listing the known
+    // materials.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: json: The builder to write to.
+    //             name: The unknown material.
+
+    private void writeUnknownMaterial(StringBuilder json, String name){
+        json.append("{\"error\":\"Unknown material\",\"field\":\"Material\","
+                    + "\"value\":");
+        Json.writeString(json, name);
+        json.append(",\"materials\":[");
+        for(int m = 0; m < materialNames.length; m++){
+            if(m > 0){
+                json.append(',');
+            }
+            Json.writeString(json, materialNames[m]);
+        }
+        json.append("]}");
+    }
+
+    // Behavior: Writes the ranges of a table as a JSON array.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: json: The builder to write to.
+    //             table: The ranges.
+
+    private static void writeRanges(StringBuilder json, PropertyTable table){
+        json.append('[');
+        boolean first = true;
+        for(PropertyRange range : table.getRanges()){
+            if(!first){
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"property\":");
+            Json.writeString(json, range.getProperty().getName());
+            writeMember(json, "minimum", range.getMinimum());
+            writeMember(json, "maximum", range.getMaximum());
+            json.append(",\"unit\":");
+            Json.writeString(json, range.getUnit());
+            json.append('}');
+        }
+        json.append(']');
+    }
+
+    // Behavior: Writes the strengths and verdict of one failure mode as a
+    // member of the "modes" object, preceded by a comma unless it is the
+    // first mode.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: json: The builder to write to.
+    //             mode: The failure mode.
+    //             strength: The strength of the mode.
+    //             safetyStrength: The strength divided by the safety factor.
+    //             verdict: The verdict of the mode.
+
+    private static void writeMode(StringBuilder json, FailureMode mode,
+                                  double strength, double safetyStrength,
+                                  Verdict verdict){
+        if(mode.ordinal() > 0){
+            json.append(',');
+        }
+        json.append('"').append(mode.name().toLowerCase(Locale.ROOT))
+            .append("\":{\"strength\":");
+        Json.writeNumber(json, strength);
+        writeMember(json, "safetyStrength", safetyStrength);
+        json.append(",\"verdict\":\"").append(verdict).append("\"}");
+    }
+
+    // Behavior: Writes a comma and a numeric member.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: json: The builder to write to.
+    //             name: The name of the member.
+    //             value: The value of the member.
+
+    private static void writeMember(StringBuilder json, String name,
+                                    double value){
+        json.append(",\"").append(name).append("\":");
+        Json.writeNumber(json, value);
+    }
+
+    // Behavior: Reduces a field name to its lower case letters, so the
+    // spellings of a property name match.
+    // Exceptions: None
+    // Returns: The normalized name.
+    // Parameters: name: The field name.
+
+    private static String normalize(String name){
+        StringBuilder normalized = new StringBuilder(name.length());
+        for(int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            if(Character.isLetter(c)){
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    // Behavior: Maps the normalized name of every property to the property.
+    // Exceptions: None
+    // Returns: The map.
+    // Parameters: None
+
+    private static Map<String, Property> fields(){
+        Map<String, Property> fields = new HashMap<String, Property>();
+        for(Property property : Property.values()){
+            fields.put(normalize(property.getName()), property);
+        }
+        return fields;
+    }
+
+    // Behavior: Encodes JSON text as UTF-8.
+    // Exceptions: None
+    // Returns: The bytes of the text.
+    // Parameters: json: The JSON text.
+
+    private static byte[] bytes(StringBuilder json){
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // The Scenario class holds a checked scenario and the name of its
+    // material.
+
+    private static final class Scenario{
+        private final String material;
+        private final WindLoadingInput input;
+
+        private Scenario(String material, WindLoadingInput input){
+            this.material = material;
+            this.input = input;
+        }
+    }
+
+    // The InvalidScenario class describes why a scenario was rejected. It is
+    // written as a JSON object with the message, the field, the value given
+    // and the range the value must lie in, leaving out what is not known.
+
+    private static final class InvalidScenario
+                                        extends IllegalArgumentException{
+        private static final long serialVersionUID = 1L;
+
+        private final String field;
+        private final transient Object value;
+        private final transient PropertyRange range;
+
+        private InvalidScenario(String message, String field, Object value,
+                                PropertyRange range){
+            super(message);
+            this.field = field;
+            this.value = value;
+            this.range = range;
+        }
+
+        // Behavior: Writes the problem as a JSON object.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: json: The builder to write to.
+
+        private void write(StringBuilder json){
+            json.append("{\"error\":");
+            Json.writeString(json, getMessage());
+            if(field != null){
+                json.append(",\"field\":");
+                Json.writeString(json, field);
+            }
+            if(value instanceof Double){
+                writeMember(json, "value", (Double) value);
+            }
+            else if(value != null){
+                json.append(",\"value\":");
+                Json.writeString(json, String.valueOf(value));
+            }
+            if(range != null){
+                writeMember(json, "minimum", range.getMinimum());
+                writeMember(json, "maximum", range.getMaximum());
+                json.append(",\"unit\":");
+                Json.writeString(json, range.getUnit());
+            }
+            json.append('}');
+        }
+    }
+
+    // The TooLarge class is thrown when a request body is too long to read.
+
+    private static final class TooLarge extends IOException{
+        private static final long serialVersionUID = 1L;
+
+        private TooLarge(String message){
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+// The WindProfile class spreads the wind load over the height of a building
+// storey by storey, instead of applying the velocity at the reference height
+// to the whole face like WindLoadingEvaluator. The wind velocity of a scenario
+// is taken as the velocity at ProfileLaw.REFERENCE_HEIGHT, and the pressure at
+// every height is the pressure there times the square of the velocity factor
+// of the profile law and terrain.
+//
+// The pressure factor is integrated once per terrain and law, when the
+// profile is first used, into two tables holding for every whole meter of
+// height the integral of the factor and of the factor times the height from
+// the ground up. The load on a storey is then the difference of two table
+// entries, and the base shear and overturning moment of a whole building are
+// one table lookup each, plus the integral of a parabola over the last part
+// of a meter, so a 200 storey tower costs no more than a bungalow and no
+// Math.pow is called per scenario. The results are within a few parts per
+// million of the exact integrals for buildings above 10 meters, and within
+// 0.3 percent for buildings only a few meters high, where the profile bends
+// most.
+
+public final class WindProfile{
+    // The highest building the tables reach, in meters.
+    public static final int TABLE_HEIGHT = 1024;
+
+    // The number of Simpson intervals each meter is integrated with.
+    private static final int INTERVALS = 8;
+
+    private static final ConcurrentMap<String, WindProfile> PROFILES =
+                            new ConcurrentHashMap<String, WindProfile>();
+
+    private final TerrainCategory terrain;
+    private final ProfileLaw law;
+    // The integral of the pressure factor from the ground to each meter.
+    private final double[] shear;
+    // The integral of the pressure factor times the height.
+    private final double[] moment;
+    // The pressure factor at each meter, and one more.
+    private final double[] factors;
+
+    // Constructs a WindProfile object for the following terrain and law,
+    // integrating its tables.
+    // terrain: The terrain upwind of the building.
+    // law: The law the wind velocity grows with height by.
+
+    private WindProfile(TerrainCategory terrain, ProfileLaw law){
+        this.terrain = terrain;
+        this.law = law;
+        this.shear = new double[TABLE_HEIGHT + 1];
+        this.moment = new double[TABLE_HEIGHT + 1];
+        this.factors = new double[TABLE_HEIGHT + 2];
+        for(int k = 0; k < factors.length; k++){
+            this.factors[k] = pressureFactor(k);
+        }
+        double step = 1.0 / INTERVALS;
+        for(int k = 0; k < TABLE_HEIGHT; k++){
+            double shearSum = 0;
+            double momentSum = 0;
+            for(int j = 0; j <= INTERVALS; j++){
+                double z = k + j * step;
+                double factor = pressureFactor(z);
+                int weight = j == 0 || j == INTERVALS ? 1 : j % 2 == 1 ? 4 : 2;
+                shearSum += weight * factor;
+                momentSum += weight * factor * z;
+            }
+            this.shear[k + 1] = this.shear[k] + shearSum * step / 3;
+            this.moment[k + 1] = this.moment[k] + momentSum * step / 3;
+        }
+    }
+
+    // Behavior: Returns the profile of a terrain and law, integrating its
+    // tables the first time it is asked for. Profiles are shared, and can be
+    // used by many threads.
+    // Exceptions: None
+    // Returns: The profile.
+    // Parameters: terrain: The terrain upwind of the building.
+    //             law: The law the wind velocity grows with height by.
+
+    public static WindProfile of(TerrainCategory terrain, ProfileLaw law){
+        return PROFILES.computeIfAbsent(terrain + " " + law,
+                                        key -> new WindProfile(terrain, law));
+    }
+
+    public TerrainCategory getTerrain(){
+        return this.terrain;
+    }
+
+    public ProfileLaw getLaw(){
+        return this.law;
+    }
+
+    // Behavior: Returns the wind pressure at a height as a multiple of the
+    // pressure at ProfileLaw.REFERENCE_HEIGHT.
+    // Exceptions: None
+    // Returns: The square of the velocity factor.
+    // Parameters: height: The height above the ground in meters.
+
+    public double pressureFactor(double height){
+        double factor = law.velocityFactor(terrain, height);
+        return factor * factor;
+    }
+
+    // Behavior: The getBaseShear method returns the total wind load on the
+    // face of a building, the sum of the loads on its storeys, which is the
+    // shear force at its base.
+    //
+    // Exceptions: Throws an IllegalArgumentException if the building is
+    // taller than TABLE_HEIGHT.
+    //
+    // Returns: The base shear in N.
+    //
+    // Parameters: input: The parameters of the structure and air, with the
+    //                    wind velocity at the reference height.
+
+    public double getBaseShear(WindLoadingInput input){
+        double height = checkHeight(input.getHeight());
+        return pressureWidth(input) * shear(height);
+    }
+
+    // Behavior: The getOverturningMoment method returns the moment of the
+    // wind loads on the face of a building about its base.
+    //
+    // Exceptions: Throws an IllegalArgumentException if the building is
+    // taller than TABLE_HEIGHT.
+    //
+    // Returns: The overturning moment in N m.
+    //
+    // Parameters: input: The parameters of the structure and air, with the
+    //                    wind velocity at the reference height.
+
+    public double getOverturningMoment(WindLoadingInput input){
+        double height = checkHeight(input.getHeight());
+        return pressureWidth(input) * moment(height);
+    }
+
+    // Behavior: The getStoreyLoads method returns the wind load on every
+    // storey of a building, from the ground up. Storeys are
+    // WindLoadingEvaluator.FLOOR_HEIGHT meters high, and when the height is
+    // not a whole number of storeys the part above the last full storey is
+    // one more, shorter storey.
+    //
+    // Exceptions: Throws an IllegalArgumentException if the building is
+    // taller than TABLE_HEIGHT.
+    //
+    // Returns: The load on each storey in N.
+    //
+    // Parameters: input: The parameters of the structure and air, with the
+    //                    wind velocity at the reference height.
+
+    public double[] getStoreyLoads(WindLoadingInput input){
+        double height = checkHeight(input.getHeight());
+        double pressureWidth = pressureWidth(input);
+        int floors = (int)(height / WindLoadingEvaluator.FLOOR_HEIGHT);
+        boolean partial = floors * WindLoadingEvaluator.FLOOR_HEIGHT < height;
+        double[] loads = new double[floors + (partial ? 1 : 0)];
+        double below = 0;
+        for(int i = 0; i < loads.length; i++){
+            double top = Math.min(height,
+                            (i + 1) * WindLoadingEvaluator.FLOOR_HEIGHT);
+            double above = shear(top);
+            loads[i] = pressureWidth * (above - below);
+            below = above;
+        }
+        return loads;
+    }
+
+    // Behavior: The evaluateAll method finds the base shear and overturning
+    // moment of every scenario, spreading chunks of BatchKernel.CHUNK_ROWS
+    // rows across all cores. Buildings taller than TABLE_HEIGHT get NaN.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: scenarios: The scenarios, with the wind velocity at the
+    //                        reference height.
+    //             baseShears: Receives the base shear of each row.
+    //             moments: Receives the overturning moment of each row.
+
+    public void evaluateAll(ScenarioColumns scenarios, double[] baseShears,
+                            double[] moments){
+        int rows = scenarios.getRows();
+        int chunkRows = BatchKernel.CHUNK_ROWS;
+        int chunks = (rows + chunkRows - 1) / chunkRows;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int end = Math.min(rows, (chunk + 1) * chunkRows);
+            for(int row = chunk * chunkRows; row < end; row++){
+                double height = scenarios.get(ScenarioColumns.HEIGHT, row);
+                double width = scenarios.get(ScenarioColumns.WIDTH, row);
+                double length = scenarios.get(ScenarioColumns.LENGTH, row);
+                double velocity =
+                        scenarios.get(ScenarioColumns.WIND_VELOCITY, row);
+                double dragCoefficient =
+                        WindLoadingEvaluator.ALPHA * (height / width)
+                        + WindLoadingEvaluator.BETA * (height / length);
+                double pressureWidth = 0.5
+                        * scenarios.get(ScenarioColumns.AIR_DENSITY, row)
+                        * dragCoefficient * (velocity * velocity) * width;
+                if(height >= 0 && height <= TABLE_HEIGHT){
+                    baseShears[row] = pressureWidth * shear(height);
+                    moments[row] = pressureWidth * moment(height);
+                }
+                else{
+                    baseShears[row] = Double.NaN;
+                    moments[row] = Double.NaN;
+                }
+            }
+        });
+    }
+
+    // Behavior: Calculates the wind pressure at the reference height times
+    // the width of the face, with the same operations as
+    // WindLoadingEvaluator.
+    // Exceptions: None
+    // Returns: The load per meter of height at the reference height in N/m.
+    // Parameters: input: The parameters of the structure and air.
+
+    private static double pressureWidth(WindLoadingInput input){
+        double height = input.getHeight();
+        double width = input.getWidth();
+        double windVelocity = input.getWindVelocity();
+        double dragCoefficient =
+                WindLoadingEvaluator.ALPHA * (height / width)
+                + WindLoadingEvaluator.BETA * (height / input.getLength());
+        double windPressure = 0.5 * input.getAirDensity() * dragCoefficient
+                                    * (windVelocity * windVelocity);
+        return windPressure * width;
+    }
+
+    // Behavior: Integrates the pressure factor from the ground to a height.
+    // The table gives the integral up to the whole meter below, and the
+    // rest of the meter is added by integrating the parabola through the
+    // pressure factors of that meter and the next two.
+    // Exceptions: None
+    // Returns: The integral in meters.
+    // Parameters: height: The height, from 0 to TABLE_HEIGHT.
+
+    private double shear(double height){
+        int k = Math.min((int) height, TABLE_HEIGHT - 1);
+        double t = height - k;
+        return shear[k] + rest(k, t, 0);
+    }
+
+    // Behavior: Integrates the pressure factor times the height from the
+    // ground to a height, the same way as shear.
+    // Exceptions: None
+    // Returns: The integral in square meters.
+    // Parameters: height: The height, from 0 to TABLE_HEIGHT.
+
+    private double moment(double height){
+        int k = Math.min((int) height, TABLE_HEIGHT - 1);
+        double t = height - k;
+        return moment[k] + k * rest(k, t, 0) + rest(k, t, 1);
+    }
+
+    // Behavior: The rest method integrates s^power times the parabola
+    // through the pressure factors at meters k, k + 1 and k + 2, for s from
+    // 0 to t. Below the minimum height of the terrain, which is a whole
+    // meter, the factor is flat, so a meter which starts flat is integrated
+    // as a straight line to keep the kink out of the parabola.
+    //
+    // Exceptions: None
+    //
+    // Returns: The integral.
+    //
+    // Parameters: k: The whole meter the rest starts at.
+    //             t: The length of the rest, from 0 to 1.
+    //             power: 0 for the shear table, 1 for the moment table.
+
+    private double rest(int k, double t, int power){
+        double f0 = factors[k];
+        double slope = factors[k + 1] - f0;
+        double curve = slope == 0 ? 0
+                : factors[k + 2] - 2 * factors[k + 1] + f0;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        if(power == 0){
+            return f0 * t + slope * t2 / 2 + curve / 2 * (t3 / 3 - t2 / 2);
+        }
+        return f0 * t2 / 2 + slope * t3 / 3
+                + curve / 2 * (t3 * t / 4 - t3 / 3);
+    }
+
+    // Behavior: Checks that a building fits in the tables.
+    // Exceptions: Throws an IllegalArgumentException if it does not.
+    // Returns: The height.
+    // Parameters: height: The height of the building in meters.
+
+    private static double checkHeight(double height){
+        if(!(height >= 0 && height <= TABLE_HEIGHT)){
+            throw new IllegalArgumentException("The height must be between 0 "
+                    + "and " + TABLE_HEIGHT + " meters.");
+        }
+        return height;
+    }
+}
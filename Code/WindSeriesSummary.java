@@ -0,0 +1,106 @@
+// The WindSeriesSummary class is the immutable summary of a stretch of a wind
+// velocity time series acting on one structure: how many samples it holds,
+// its peak wind load and mean wind velocity, and for every failure mode how
+// long the wind load stayed at or above the safety-reduced strength, how long
+// it failed, and how many times it rose to the safety-reduced strength.
+
+public final class WindSeriesSummary{
+    private final long firstSample;
+    private final long samples;
+    private final double sampleSeconds;
+    private final double peakLoad;
+    private final double peakVelocity;
+    private final double meanVelocity;
+    private final long[] samplesAbove;
+    private final long[] samplesFailing;
+    private final long[] exceedances;
+
+    // Constructs a WindSeriesSummary object for the following statistics
+    // firstSample: The index of the first sample summarized, from 0.
+    // samples: The number of samples summarized.
+    // sampleSeconds: The time between two samples in seconds.
+    // peakLoad: The largest wind load in N.
+    // peakVelocity: The wind velocity of the largest wind load in m/s.
+    // meanVelocity: The mean wind velocity in m/s.
+    // samplesAbove, samplesFailing, exceedances: By failure mode, the
+    //             number of samples which were not a PASS, the number which
+    //             were a FAIL, and the number of times a PASS was followed
+    //             by a sample which was not.
+
+    WindSeriesSummary(long firstSample, long samples, double sampleSeconds,
+                      double peakLoad, double peakVelocity,
+                      double meanVelocity, long[] samplesAbove,
+                      long[] samplesFailing, long[] exceedances){
+        this.firstSample = firstSample;
+        this.samples = samples;
+        this.sampleSeconds = sampleSeconds;
+        this.peakLoad = peakLoad;
+        this.peakVelocity = peakVelocity;
+        this.meanVelocity = meanVelocity;
+        this.samplesAbove = samplesAbove.clone();
+        this.samplesFailing = samplesFailing.clone();
+        this.exceedances = exceedances.clone();
+    }
+
+    public long getFirstSample(){
+        return this.firstSample;
+    }
+
+    public long getSamples(){
+        return this.samples;
+    }
+
+    // Returns: The time the summary covers in seconds.
+
+    public double getDuration(){
+        return this.samples * this.sampleSeconds;
+    }
+
+    // Returns: The largest wind load in N, or 0 without samples.
+
+    public double getPeakLoad(){
+        return this.peakLoad;
+    }
+
+    // Returns: The wind velocity in m/s at which the peak load occurred.
+
+    public double getPeakVelocity(){
+        return this.peakVelocity;
+    }
+
+    // Returns: The mean wind velocity in m/s, or NaN without samples.
+
+    public double getMeanVelocity(){
+        return this.meanVelocity;
+    }
+
+    // Behavior: Returns how long the wind load was at or above the
+    // safety-reduced strength of a failure mode, so the mode was not a
+    // PASS.
+    // Exceptions: None
+    // Returns: The time in seconds.
+    // Parameters: mode: The failure mode.
+
+    public double getTimeAbove(FailureMode mode){
+        return samplesAbove[mode.ordinal()] * sampleSeconds;
+    }
+
+    // Behavior: Returns how long a failure mode was a FAIL.
+    // Exceptions: None
+    // Returns: The time in seconds.
+    // Parameters: mode: The failure mode.
+
+    public double getTimeFailing(FailureMode mode){
+        return samplesFailing[mode.ordinal()] * sampleSeconds;
+    }
+
+    // Behavior: Returns how many times the wind load rose to the
+    // safety-reduced strength of a failure mode from below it.
+    // Exceptions: None
+    // Returns: The number of exceedances.
+    // Parameters: mode: The failure mode.
+
+    public long getExceedances(FailureMode mode){
+        return exceedances[mode.ordinal()];
+    }
+}
@@ -0,0 +1,461 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.function.*;
+
+// The WindTimeSeries class follows one structure through a time series of
+// wind velocities, such as an anemometer log, one sample at a time. For every
+// sample it calculates the wind pressure and wind load with the same
+// operations as WindLoadingEvaluator and compares the load with the strengths
+// of the structure, which do not depend on the wind and are calculated once.
+//
+// It keeps running statistics instead of the samples: the peak load, and for
+// every failure mode the time spent at or above the safety-reduced strength,
+// the time spent failing and the number of exceedances. The loads are also
+// counted into load cycles by a RainflowCounter for fatigue analysis. Every
+// summaryInterval samples the statistics of the last period are handed to a
+// listener as a WindSeriesSummary. The memory used does not depend on the
+// length of the series, and adding a sample allocates nothing, so a series is
+// read in a single pass however long it is.
+//
+// A series file holds wind velocities in km/h, like the scenario files. A
+// text file holds one sample per line, the velocity being the last field of
+// the line, so a time stamp may come first; lines whose last field is not a
+// number, such as a header, are skipped. A binary file holds nothing but the
+// velocities as little-endian doubles.
+
+public final class WindTimeSeries{
+    public static final int DEFAULT_LEVELS = 128;
+
+    // The size of the buffer files are read through.
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final double coefficient;
+    private final double area;
+    private final double[] strengths;
+    private final double[] safetyStrengths;
+    private final double sampleSeconds;
+    private final long summaryInterval;
+    private final Consumer<WindSeriesSummary> listener;
+    private final RainflowCounter rainflow;
+
+    // Whether the previous sample was not a PASS, by failure mode.
+    private final boolean[] above;
+
+    // The statistics of the current period.
+    private long periodStart;
+    private long periodSamples;
+    private double periodVelocitySum;
+    private double periodPeakLoad;
+    private double periodPeakVelocity;
+    private final long[] periodAbove;
+    private final long[] periodFailing;
+    private final long[] periodExceedances;
+
+    // The statistics of the earlier periods.
+    private double totalVelocitySum;
+    private double totalPeakLoad;
+    private double totalPeakVelocity;
+    private final long[] totalAbove;
+    private final long[] totalFailing;
+    private final long[] totalExceedances;
+
+    // Constructs a WindTimeSeries object for the following structure
+    // structure: The building, air and material. Its wind velocity is not
+    //            used.
+    // sampleSeconds: The time between two samples in seconds.
+    // summaryInterval: The number of samples in each period handed to the
+    //                  listener.
+    // maximumVelocity: The highest wind velocity in m/s the rainflow levels
+    //                  reach; loads above it are counted at the top level.
+    // listener: Receives the summary of every period, or null.
+
+    public WindTimeSeries(WindLoadingInput structure, double sampleSeconds,
+                          long summaryInterval, double maximumVelocity,
+                          Consumer<WindSeriesSummary> listener){
+        if(!(sampleSeconds > 0) || summaryInterval < 1){
+            throw new IllegalArgumentException("The sample time and the "
+                    + "summary interval must be positive.");
+        }
+        WindLoadingResult result = new WindLoadingEvaluator()
+                                            .evaluate(structure);
+        this.coefficient = 0.5 * structure.getAirDensity()
+                                * result.getDragCoefficient();
+        this.area = result.getCrossSectionalArea();
+
+        FailureMode[] modes = FailureMode.values();
+        this.strengths = new double[modes.length];
+        this.safetyStrengths = new double[modes.length];
+        for(FailureMode mode : modes){
+            this.strengths[mode.ordinal()] = result.getStrength(mode);
+            this.safetyStrengths[mode.ordinal()] =
+                                            result.getSafetyStrength(mode);
+        }
+        this.sampleSeconds = sampleSeconds;
+        this.summaryInterval = summaryInterval;
+        this.listener = listener;
+        this.rainflow = new RainflowCounter(DEFAULT_LEVELS, 0,
+                                            windLoad(maximumVelocity));
+
+        this.above = new boolean[modes.length];
+        this.periodAbove = new long[modes.length];
+        this.periodFailing = new long[modes.length];
+        this.periodExceedances = new long[modes.length];
+        this.totalAbove = new long[modes.length];
+        this.totalFailing = new long[modes.length];
+        this.totalExceedances = new long[modes.length];
+    }
+
+    // Behavior: The add method adds the next sample of the series. It
+    // updates the statistics of the current period and the rainflow count,
+    // and hands the period to the listener once it is complete.
+    //
+    // Exceptions: None
+    //
+    // Returns: None
+    //
+    // Parameters: windVelocity: The wind velocity of the sample in m/s.
+
+    public void add(double windVelocity){
+        double windLoad = windLoad(windVelocity);
+        periodVelocitySum += windVelocity;
+        if(windLoad > periodPeakLoad){
+            periodPeakLoad = windLoad;
+            periodPeakVelocity = windVelocity;
+        }
+        for(int m = 0; m < above.length; m++){
+            // The same comparisons as Verdict.of.
+            boolean reached = windLoad >= safetyStrengths[m];
+            if(reached){
+                periodAbove[m]++;
+                if(!above[m]){
+                    periodExceedances[m]++;
+                }
+                if(windLoad >= strengths[m]){
+                    periodFailing[m]++;
+                }
+            }
+            above[m] = reached;
+        }
+        rainflow.add(windLoad);
+
+        if(++periodSamples == summaryInterval){
+            endPeriod();
+        }
+    }
+
+    // Behavior: Hands the samples since the last complete period to the
+    // listener as a shorter period, such as at the end of a series. Nothing
+    // happens when there are none.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    public void flush(){
+        if(periodSamples > 0){
+            endPeriod();
+        }
+    }
+
+    // Behavior: The readText method adds every sample of a text series
+    // file. The file is parsed straight from a reused buffer, so only
+    // numbers too long to be converted exactly by the quick path allocate.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read.
+    //
+    // Returns: The number of samples added.
+    //
+    // Parameters: file: The text file of wind velocities in km/h.
+
+    public long readText(File file) throws IOException{
+        TextParser parser = new TextParser(this);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        try(FileChannel channel = FileChannel.open(file.toPath(),
+                                                StandardOpenOption.READ)){
+            while(channel.read(buffer) >= 0){
+                parser.parse(buffer.array(), buffer.position());
+                buffer.clear();
+            }
+        }
+        parser.endLine();
+        return parser.samples;
+    }
+
+    // Behavior: The readBinary method adds every sample of a binary series
+    // file, reading it through a reused direct buffer.
+    //
+    // Exceptions: Throws an IOException if the file cannot be read or its
+    // length is not a whole number of doubles.
+    //
+    // Returns: The number of samples added.
+    //
+    // Parameters: file: The binary file of wind velocities in km/h.
+
+    public long readBinary(File file) throws IOException{
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES)
+                                      .order(ByteOrder.LITTLE_ENDIAN);
+        long samples = 0;
+        try(FileChannel channel = FileChannel.open(file.toPath(),
+                                                StandardOpenOption.READ)){
+            while(channel.read(buffer) >= 0){
+                buffer.flip();
+                while(buffer.remaining() >= Double.BYTES){
+                    add(buffer.getDouble() / 3.6);
+                    samples++;
+                }
+                buffer.compact();
+            }
+        }
+        if(buffer.position() != 0){
+            throw new IOException(file + " does not hold a whole number of "
+                    + "samples.");
+        }
+        return samples;
+    }
+
+    // Behavior: Returns the statistics of every sample added so far.
+    // Exceptions: None
+    // Returns: The summary of the whole series.
+    // Parameters: None
+
+    public WindSeriesSummary getTotal(){
+        long samples = periodStart + periodSamples;
+        long[] samplesAbove = new long[above.length];
+        long[] samplesFailing = new long[above.length];
+        long[] exceedances = new long[above.length];
+        for(int m = 0; m < above.length; m++){
+            samplesAbove[m] = totalAbove[m] + periodAbove[m];
+            samplesFailing[m] = totalFailing[m] + periodFailing[m];
+            exceedances[m] = totalExceedances[m] + periodExceedances[m];
+        }
+        boolean periodPeak = periodPeakLoad > totalPeakLoad;
+        return new WindSeriesSummary(0, samples, sampleSeconds,
+                periodPeak ? periodPeakLoad : totalPeakLoad,
+                periodPeak ? periodPeakVelocity : totalPeakVelocity,
+                (totalVelocitySum + periodVelocitySum) / samples,
+                samplesAbove, samplesFailing, exceedances);
+    }
+
+    // Returns: The rainflow count of the wind loads, in N.
+
+    public RainflowCounter getRainflow(){
+        return this.rainflow;
+    }
+
+    // Behavior: Calculates the wind load with the same operations as
+    // WindLoadingEvaluator.
+    // Exceptions: None
+    // Returns: The wind load in N.
+    // Parameters: windVelocity: The wind velocity in m/s.
+
+    private double windLoad(double windVelocity){
+        return (coefficient * (windVelocity * windVelocity)) * area;
+    }
+
+    // Behavior: Hands the current period to the listener, adds it to the
+    // totals and starts the next period.
+    // Exceptions: None
+    // Returns: None
+    // Parameters: None
+
+    private void endPeriod(){
+        if(listener != null){
+            listener.accept(new WindSeriesSummary(periodStart, periodSamples,
+                    sampleSeconds, periodPeakLoad, periodPeakVelocity,
+                    periodVelocitySum / periodSamples, periodAbove,
+                    periodFailing, periodExceedances));
+        }
+        totalVelocitySum += periodVelocitySum;
+        if(periodPeakLoad > totalPeakLoad){
+            totalPeakLoad = periodPeakLoad;
+            totalPeakVelocity = periodPeakVelocity;
+        }
+        for(int m = 0; m < above.length; m++){
+            totalAbove[m] += periodAbove[m];
+            totalFailing[m] += periodFailing[m];
+            totalExceedances[m] += periodExceedances[m];
+            periodAbove[m] = 0;
+            periodFailing[m] = 0;
+            periodExceedances[m] = 0;
+        }
+        periodStart += periodSamples;
+        periodSamples = 0;
+        periodVelocitySum = 0;
+        periodPeakLoad = 0;
+        periodPeakVelocity = 0;
+    }
+
+    // The TextParser class splits the bytes of a text series file into
+    // lines and fields and converts the last field of each line into a
+    // sample, keeping its state between buffers so a line may span two.
+
+    private static final class TextParser{
+        // The longest field kept; longer fields are not numbers.
+        private static final int FIELD_BYTES = 64;
+        // The powers of ten which are exact doubles.
+        private static final double[] POWERS = new double[23];
+
+        static{
+            POWERS[0] = 1;
+            for(int i = 1; i < POWERS.length; i++){
+                POWERS[i] = POWERS[i - 1] * 10;
+            }
+        }
+
+        private final WindTimeSeries series;
+        private final byte[] field;
+        private int fieldLength;
+        private boolean fieldEnded;
+        private long samples;
+
+        private TextParser(WindTimeSeries series){
+            this.series = series;
+            this.field = new byte[FIELD_BYTES + 1];
+        }
+
+        // Behavior: Parses the next bytes of the file.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: bytes: The buffer holding the bytes.
+        //             length: The number of bytes in the buffer.
+
+        private void parse(byte[] bytes, int length){
+            for(int i = 0; i < length; i++){
+                byte b = bytes[i];
+                if(b == '\n'){
+                    endLine();
+                }
+                else if(b == ',' || b == ';' || b == ' ' || b == '\t'
+                                 || b == '\r'){
+                    fieldEnded = true;
+                }
+                else{
+                    if(fieldEnded){
+                        fieldLength = 0;
+                        fieldEnded = false;
+                    }
+                    if(fieldLength <= FIELD_BYTES){
+                        field[fieldLength++] = b;
+                    }
+                }
+            }
+        }
+
+        // Behavior: Adds the last field of the current line as a sample if
+        // it is a number, and starts a new line.
+        // Exceptions: None
+        // Returns: None
+        // Parameters: None
+
+        private void endLine(){
+            if(fieldLength > 0 && fieldLength <= FIELD_BYTES){
+                double velocity = number();
+                if(!Double.isNaN(velocity)){
+                    series.add(velocity / 3.6);
+                    samples++;
+                }
+            }
+            fieldLength = 0;
+            fieldEnded = false;
+        }
+
+        // Behavior: The number method converts the current field into a
+        // number. A field of at most 15 significant digits with a decimal
+        // exponent of at most 22 is converted with one exact multiplication
+        // or division, which rounds the same as Double.parseDouble; any
+        // other field is handed to Double.parseDouble.
+        //
+        // Exceptions: None
+        //
+        // Returns: The number, or NaN if the field is not a number.
+        //
+        // Parameters: None
+
+        private double number(){
+            int i = 0;
+            boolean negative = false;
+            if(field[0] == '-' || field[0] == '+'){
+                negative = field[0] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int significant = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean point = false;
+            for(; i < fieldLength; i++){
+                byte b = field[i];
+                if(b >= '0' && b <= '9'){
+                    digits++;
+                    if(mantissa != 0 || b != '0'){
+                        significant++;
+                    }
+                    if(significant <= 15){
+                        mantissa = mantissa * 10 + (b - '0');
+                        if(point){
+                            exponent--;
+                        }
+                    }
+                    else if(!point){
+                        exponent++;
+                    }
+                }
+                else if(b == '.' && !point){
+                    point = true;
+                }
+                else{
+                    break;
+                }
+            }
+            if(digits == 0){
+                return slowNumber();
+            }
+            if(i < fieldLength){
+                if(field[i] != 'e' && field[i] != 'E'){
+                    return Double.NaN;
+                }
+                i++;
+                boolean negativeExponent = false;
+                if(i < fieldLength && (field[i] == '-' || field[i] == '+')){
+                    negativeExponent = field[i] == '-';
+                    i++;
+                }
+                if(i == fieldLength){
+                    return Double.NaN;
+                }
+                int power = 0;
+                for(; i < fieldLength; i++){
+                    byte b = field[i];
+                    if(b < '0' || b > '9'){
+                        return Double.NaN;
+                    }
+                    power = Math.min(power * 10 + (b - '0'), 1 << 20);
+                }
+                exponent += negativeExponent ? -power : power;
+            }
+            if(significant > 15 || exponent > 22 || exponent < -22){
+                return slowNumber();
+            }
+            double value = exponent < 0 ? mantissa / POWERS[-exponent]
+                                        : mantissa * POWERS[exponent];
+            return negative ? -value : value;
+        }
+
+        // Behavior: Converts the current field with Double.parseDouble.
+        // Exceptions: None
+        // Returns: The number, or NaN if the field is not a number.
+        // Parameters: None
+
+        private double slowNumber(){
+            try{
+                return Double.parseDouble(new String(field, 0, fieldLength,
+                                                StandardCharsets.US_ASCII));
+            }
+            catch(NumberFormatException e){
+                return Double.NaN;
+            }
+        }
+    }
+}